@@ -0,0 +1,22 @@
+package com.project.Tadafur_api.application.dto.analytics;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * The budget and payment totals of one hierarchy node as rolled up from its projects,
+ * next to the values stored in its calculated_total_* columns.
+ */
+@Data
+@Builder
+public class BudgetRollupDto {
+    private String level;
+    private Long id;
+    private BigDecimal totalBudget;           // Sum of the planned budgets of the projects beneath the node
+    private BigDecimal totalPayments;         // Sum of the payments made to those projects
+    private BigDecimal storedTotalBudget;     // calculated_total_budget as stored in the database
+    private BigDecimal storedTotalPayments;   // calculated_total_payments as stored in the database
+    private boolean consistent;
+}
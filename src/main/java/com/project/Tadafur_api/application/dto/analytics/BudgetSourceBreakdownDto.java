@@ -0,0 +1,32 @@
+package com.project.Tadafur_api.application.dto.analytics;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The planned budget and payments of the projects beneath a hierarchy node, broken down
+ * by funding source.
+ */
+@Data
+@Builder
+public class BudgetSourceBreakdownDto {
+    private String level;
+    private Long id;
+    private String allocation;                // split or full
+    private Integer projectCount;
+    private BigDecimal totalBudget;
+    private BigDecimal totalPayments;
+    private List<SourceShare> sources;
+
+    @Data
+    @Builder
+    public static class SourceShare {
+        private Integer sourceId;             // Null for the projects without a funding source
+        private Integer projectCount;
+        private BigDecimal budget;
+        private BigDecimal payments;
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.Tadafur_api.application.dto.analytics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.project.Tadafur_api.application.dto.strategy.response.StrategyResponseDto;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Everything an owner dashboard renders, in one response. Sections that were not
+ * requested are omitted; the others carry their own status.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DashboardDto {
+    private Long ownerId;
+    private Instant generatedAt;
+    private Long durationMs;
+    private boolean complete;    // Whether every requested section is OK
+    private DashboardSectionDto<List<StrategyResponseDto>> strategies;
+    private DashboardSectionDto<List<StrategicHealthDto>> health;
+    private DashboardSectionDto<List<ProjectSpendingTrendDto>> spending;
+    private DashboardSectionDto<HierarchyCountsDto> hierarchyCounts;
+    private DashboardSectionDto<OverdueProjectsDto> overdue;
+}
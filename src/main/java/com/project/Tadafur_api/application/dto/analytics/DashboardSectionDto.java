@@ -0,0 +1,24 @@
+package com.project.Tadafur_api.application.dto.analytics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * One section of the dashboard: its data when it completed in time, otherwise the reason
+ * it is missing.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DashboardSectionDto<T> {
+
+    public enum Status {
+        OK, FAILED, TIMED_OUT
+    }
+
+    private Status status;
+    private T data;
+    private String error;       // Set when the section failed or timed out
+    private Long durationMs;
+}
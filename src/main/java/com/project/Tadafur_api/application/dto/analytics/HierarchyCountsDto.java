@@ -0,0 +1,15 @@
+package com.project.Tadafur_api.application.dto.analytics;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class HierarchyCountsDto {
+    private Long strategies;
+    private Long perspectives;
+    private Long goals;
+    private Long programs;
+    private Long initiatives;
+    private Long projects;
+}
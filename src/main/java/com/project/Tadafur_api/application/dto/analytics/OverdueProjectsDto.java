@@ -0,0 +1,37 @@
+package com.project.Tadafur_api.application.dto.analytics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Schedule totals of the portfolio (or one owner's projects) as of a day, with the most
+ * overdue projects first.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OverdueProjectsDto {
+    private LocalDate asOf;
+    private Integer projectCount;
+    private Integer delayedProjectCount;
+    private Double averageDelayDays;    // Over the delayed projects only
+    private Integer maxDelayDays;
+    private List<OverdueProject> projects;
+
+    @Data
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class OverdueProject {
+        private Long projectId;
+        private String projectName;
+        private Long ownerId;
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private Integer delayDays;
+        private Double percentTimeElapsed;
+    }
+}
@@ -0,0 +1,26 @@
+package com.project.Tadafur_api.application.dto.analytics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The progress of one hierarchy node as propagated from its projects under each model,
+ * next to the values stored in its calculated_ and hybrid_progress_percent columns.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProgressRollupDto {
+    private String level;
+    private Long id;
+    private BigDecimal effortProgress;            // Weighted by contributionPercent
+    private BigDecimal averageProgress;           // Plain mean of the children
+    private BigDecimal hybridProgress;            // Mean of the two above
+    private BigDecimal storedCalculatedProgress;  // calculated_progress_percent as stored in the database
+    private BigDecimal storedHybridProgress;      // hybrid_progress_percent as stored in the database
+    private List<ProgressRollupDto> children;
+}
@@ -0,0 +1,32 @@
+package com.project.Tadafur_api.application.dto.analytics;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Projects grouped by one dimension, with the count and the sum and mean of one measure
+ * per group.
+ */
+@Data
+@Builder
+public class ProjectFactGroupsDto {
+    private String groupBy;
+    private String measure;
+    private Integer projectCount;      // Projects that passed the filters
+    private Instant dataAsOf;          // When the in-memory facts were last brought up to date
+    private List<Group> groups;
+
+    @Data
+    @Builder
+    public static class Group {
+        private String key;            // null for projects without a value for the dimension
+        private Integer count;
+        private Integer valueCount;    // Projects with a value for the measure
+        private BigDecimal sum;
+        private BigDecimal average;    // Over valueCount
+    }
+}
@@ -1,5 +1,6 @@
 package com.project.Tadafur_api.application.dto.analytics;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Data;
 import lombok.Getter;
@@ -8,20 +9,27 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
+/**
+ * The cumulative spend curve of a project, initiative or strategy.
+ */
 @Data
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ProjectSpendingTrendDto {
-    private Long projectId;
-    private String projectName;
+    private String level; // "project", "initiative" or "strategy"
+    private Long id;
+    private String name;
+    private String granularity; // "day", "week" or "month"
     private BigDecimal plannedTotalBudget;
-    private List<PaymentDto> payments;
+    private BigDecimal totalSpend;
     private List<DataPoint> dataPoints;
 
     @Getter
     @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     public static class DataPoint {
-        private LocalDate date;
-        private BigDecimal cumulativeActualSpend;
-        private BigDecimal cumulativePlannedSpend;
+        private LocalDate date; // First day of the bucket
+        private BigDecimal cumulativeActualSpend; // Payments up to the end of the bucket
+        private BigDecimal cumulativePlannedSpend; // Planned budgets spread evenly over each project's start..end dates
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.project.Tadafur_api.application.dto.analytics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * The state of a report generation job. {@code totalRows} is counted when the job
+ * starts, so {@code rowsWritten / totalRows} is its progress.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReportJobDto {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    private String id;
+    private String type;
+    private String format;
+    private Status status;
+    private Long rowsWritten;
+    private Long totalRows;
+    private Double percentComplete;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private Instant expiresAt;      // When the result is deleted
+    private String fileName;
+    private Long sizeBytes;
+    private String error;
+}
@@ -0,0 +1,37 @@
+package com.project.Tadafur_api.application.dto.analytics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A report to generate. The filters that do not apply to the report type are ignored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportRequestDto {
+
+    @NotBlank
+    @Schema(description = "portfolio-status, spending-by-project or work-item-status", example = "portfolio-status")
+    private String type;
+
+    @Schema(description = "csv or xlsx; defaults to csv", example = "xlsx")
+    private String format;
+
+    @Schema(description = "Optional: only the projects of this owner", example = "101")
+    private Long ownerId;
+
+    @Schema(description = "Optional: only the projects of this strategy (portfolio status)", example = "1")
+    private Long strategyId;
+
+    @Schema(description = "Optional: only this project (spending and work-item status)", example = "42")
+    private Long projectId;
+
+    @Schema(description = "Language code for the names; defaults to en", example = "en")
+    private String lang;
+}
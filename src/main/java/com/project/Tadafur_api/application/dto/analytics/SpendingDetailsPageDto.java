@@ -0,0 +1,22 @@
+package com.project.Tadafur_api.application.dto.analytics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One keyset page of spending details. A project whose payments span several pages
+ * appears on each of them with that page's payments; its summary always covers all
+ * of its payments.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SpendingDetailsPageDto {
+    private List<ProjectSpendingDetailsDto> projects;
+    private int size; // Number of payment rows on this page
+    private boolean hasMore;
+    private String nextCursor; // Pass back as 'cursor' to get the next page; absent on the last page
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Data
 @Builder
@@ -17,4 +18,7 @@ public class StrategicHealthDto {
     private Double scheduleVarianceDays; // Average days ahead (negative) or behind (positive) schedule
     private Integer activeRisks; // Placeholder for future risk analysis
     private String healthStatus; // e.g., "On-Track", "At-Risk", "Off-Track"
+    private BigDecimal paymentsInPeriod; // Only for bounded date ranges: payments made within the period
+    private LocalDate periodFrom;
+    private LocalDate periodTo;
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.project.Tadafur_api.application.dto.analytics;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection for the grouped strategic health query: one row per strategy with
+ * the project totals the health indicators are derived from.
+ */
+public interface StrategyHealthAggregate {
+    Long getStrategyId();
+    String getStrategyName();
+    Long getProjectCount();
+    BigDecimal getProgressSum();
+    BigDecimal getPlannedBudget();
+    BigDecimal getActualCost();
+    Long getDelayedProjectCount();
+    Long getTotalDelayDays();
+    Boolean getHasCriticalStatus();
+}
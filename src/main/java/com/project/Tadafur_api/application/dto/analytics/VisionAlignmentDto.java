@@ -0,0 +1,40 @@
+package com.project.Tadafur_api.application.dto.analytics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The nodes of one level aligned with any or all of some vision priorities, with totals
+ * over all of them and the first nodes in id order.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class VisionAlignmentDto {
+    private String level;
+    private List<Integer> visionPriorities;
+    private String match;
+    private Long ownerId;
+    private Integer nodeCount;
+    private BigDecimal plannedBudget;
+    private BigDecimal spent;               // Rolled-up project payments
+    private BigDecimal averageProgress;     // Hybrid propagated progress, over the nodes with a value
+    private List<AlignedNode> nodes;
+
+    @Data
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class AlignedNode {
+        private Long id;
+        private String name;
+        private Long ownerId;
+        private BigDecimal plannedBudget;
+        private BigDecimal spent;
+        private BigDecimal progress;
+        private int[] visionPriorities;
+    }
+}
@@ -0,0 +1,34 @@
+package com.project.Tadafur_api.application.dto.analytics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Every vision priority of one level with its totals, and how many nodes each pair of
+ * priorities shares.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class VisionAlignmentMatrixDto {
+    private String level;
+    private Long ownerId;
+    private List<Integer> visionPriorities;
+    private List<Row> rows;
+
+    @Data
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Row {
+        private Integer visionPriority;
+        private Integer nodeCount;
+        private BigDecimal plannedBudget;
+        private BigDecimal spent;
+        private BigDecimal averageProgress;
+        private int[] coAligned;            // Nodes shared with each priority, in the order of visionPriorities
+    }
+}
@@ -0,0 +1,22 @@
+package com.project.Tadafur_api.application.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The result of a multi-get by ids: the found entities in the order their ids were
+ * requested (each once), and the requested ids that do not exist.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDto<T> {
+
+    private List<T> content;
+    private List<Long> missingIds;
+}
@@ -1,5 +1,43 @@
 package com.project.Tadafur_api.application.dto.common;
 
-// TODO: Implement the class
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A filter over the fields of a hierarchy entity: all conditions must hold.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class FilterDto {
+
+    @Schema(description = "The conditions, combined with AND; none matches everything")
+    private List<Condition> conditions;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Condition {
+
+        @Schema(description = "An entity field, as in the response", example = "plannedTotalBudget")
+        private String field;
+
+        @Schema(description = "eq, ne, in, lt, lte, gt, gte, between, is-null, is-not-null, contains-any or contains-all",
+                example = "gte")
+        private String op;
+
+        @Schema(description = "The operand of eq, ne, lt, lte, gt and gte", example = "1000000")
+        private Object value;
+
+        @Schema(description = "The operands of in, between (from and to), contains-any and contains-all",
+                example = "[3, 7]")
+        private List<Object> values;
+    }
 }
@@ -0,0 +1,22 @@
+package com.project.Tadafur_api.application.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list. Pass {@code pagination.nextCursor} back as
+ * {@code cursor} to read the next page; it is absent on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPageDto<T> {
+
+    private List<T> content;
+    private PaginationDto pagination;
+}
@@ -1,28 +1,35 @@
 // File: application/dto/common/PaginationDto.java
 package com.project.Tadafur_api.application.dto.common;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 /**
- * Common Pagination DTO for paginated responses
+ * Common Pagination DTO for paginated responses.
+ *
+ * Keyset (cursor) pages have no page number and carry {@code nextCursor} instead;
+ * their {@code totalElements} and {@code totalPages} are only set when the client asked
+ * for the total.
  */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PaginationDto {
 
-    private int page;
+    private Integer page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements;
+    private Integer totalPages;
     private boolean first;
     private boolean last;
     private boolean hasNext;
     private boolean hasPrevious;
     private String sortBy;
     private String sortDirection;
-}
\ No newline at end of file
+    private String nextCursor;
+}
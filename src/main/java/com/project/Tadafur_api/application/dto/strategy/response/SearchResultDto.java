@@ -0,0 +1,34 @@
+package com.project.Tadafur_api.application.dto.strategy.response;
+
+import com.project.Tadafur_api.application.dto.common.PaginationDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of full-text search hits across the hierarchy, best first.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDto {
+
+    private List<Hit> content;
+    private PaginationDto pagination;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Hit {
+        /** strategy, perspective, goal, program, initiative, project or work-item. */
+        private String level;
+        private Long id;
+        private String name;
+        private double score;
+    }
+}
@@ -4,6 +4,7 @@ import com.project.Tadafur_api.application.dto.strategy.response.StrategyRespons
 import com.project.Tadafur_api.domain.strategy.entity.Strategy;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -39,6 +40,8 @@ public class StrategyMapper {
                 .plannedTotalBudget(strategy.getPlannedTotalBudget())
                 .calculatedTotalBudget(strategy.getCalculatedTotalBudget())
                 .calculatedTotalPayments(strategy.getCalculatedTotalPayments())
+                .budgetSources(strategy.getBudgetSources() == null ? null
+                        : Arrays.stream(strategy.getBudgetSources()).boxed().collect(Collectors.toList()))
                 .build();
     }
 
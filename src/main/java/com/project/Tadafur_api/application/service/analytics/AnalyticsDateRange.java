@@ -0,0 +1,62 @@
+package com.project.Tadafur_api.application.service.analytics;
+
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.Locale;
+
+/**
+ * A resolved analytics period. {@code current} has no bounds and means "as of now, all
+ * projects"; every other range is an inclusive day interval.
+ *
+ * @param name the normalized range name
+ * @param from first day of the period, or null for {@code current}
+ * @param to   last day of the period, or null for {@code current}
+ */
+public record AnalyticsDateRange(String name, LocalDate from, LocalDate to) {
+
+    public static final String CURRENT = "current";
+    public static final String LAST_QUARTER = "last-quarter";
+    public static final String YEAR_TO_DATE = "ytd";
+    public static final String CUSTOM = "custom";
+
+    public boolean isCurrent() {
+        return from == null;
+    }
+
+    public boolean contains(LocalDate day) {
+        return isCurrent() || (!day.isBefore(from) && !day.isAfter(to));
+    }
+
+    /**
+     * Resolves a named range relative to {@code today}: {@code current}, {@code last-quarter}
+     * (the previous calendar quarter), {@code ytd} (January 1st to today) or {@code custom},
+     * which requires {@code from} and {@code to}.
+     *
+     * @throws IllegalArgumentException if the name is unknown or the custom bounds are
+     *                                  missing or reversed.
+     */
+    public static AnalyticsDateRange resolve(String dateRange, LocalDate from, LocalDate to, LocalDate today) {
+        String name = dateRange == null ? CURRENT : dateRange.trim().toLowerCase(Locale.ROOT);
+        return switch (name) {
+            case CURRENT -> new AnalyticsDateRange(CURRENT, null, null);
+            case LAST_QUARTER -> {
+                LocalDate quarterStart = today.with(IsoFields.DAY_OF_QUARTER, 1);
+                yield new AnalyticsDateRange(LAST_QUARTER, quarterStart.minusMonths(3), quarterStart.minusDays(1));
+            }
+            case YEAR_TO_DATE -> new AnalyticsDateRange(YEAR_TO_DATE, today.withDayOfYear(1), today);
+            case CUSTOM -> custom(from, to);
+            default -> throw new IllegalArgumentException("Unknown dateRange '" + dateRange
+                    + "'. Supported values: current, last-quarter, ytd, custom.");
+        };
+    }
+
+    private static AnalyticsDateRange custom(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("A custom dateRange requires both 'from' and 'to' dates.");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'.");
+        }
+        return new AnalyticsDateRange(CUSTOM, from, to);
+    }
+}
@@ -1,26 +1,45 @@
 package com.project.Tadafur_api.application.service.analytics;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.project.Tadafur_api.application.dto.analytics.*;
 import com.project.Tadafur_api.domain.strategy.entity.Strategy;
 import com.project.Tadafur_api.domain.strategy.repository.*;
-import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository.ProjectPaymentDetails;
+import com.project.Tadafur_api.domain.strategy.repository.BudgetPaymentRepository.EntityPaymentTotal;
+import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository.LocalizedProjectPaymentDetails;
+import com.project.Tadafur_api.domain.strategy.service.BudgetAggregationService;
+import com.project.Tadafur_api.domain.strategy.service.ProgressCalculationService;
+import com.project.Tadafur_api.domain.strategy.service.VisionAlignmentService;
+import com.project.Tadafur_api.domain.strategy.valueobject.HierarchyLevel;
+import com.project.Tadafur_api.domain.strategy.valueobject.Money;
 import com.project.Tadafur_api.shared.exception.ResourceNotFoundException;
+import com.project.Tadafur_api.shared.util.CursorCodec;
+import com.project.Tadafur_api.shared.util.TranslationCodec;
+import com.project.Tadafur_api.shared.util.EnumUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -31,68 +50,198 @@ public class AnalyticsService {
     private final StrategyRepository strategyRepository;
     private final ProjectRepository projectRepository;
     private final BudgetPaymentRepository budgetPaymentRepository;
+    private final TranslationCodec translationCodec;
+    private final ObjectMapper objectMapper;
+    private final BudgetAggregationService budgetAggregationService;
+    private final ProgressCalculationService progressCalculationService;
+    private final ProjectFactStore projectFactStore;
+    private final VisionAlignmentService visionAlignmentService;
 
     private static final String DEFAULT_LANG = "en";
+    private static final int MAX_SPENDING_PAGE_SIZE = 1000;
+    private static final int MAX_ALIGNED_NODES = 1000;
 
     // --- High-Performance Spending Details API Methods (UNCHANGED) ---
 
     public List<ProjectSpendingDetailsDto> getSpendingDetails(Long projectId, Long ownerId, String lang) {
         log.info("Fetching spending details efficiently for projectId: [{}] and ownerId: [{}]", projectId, ownerId);
-        List<ProjectPaymentDetails> flatResults = projectRepository.getProjectPaymentDetails(projectId, ownerId);
+        List<LocalizedProjectPaymentDetails> flatResults = projectRepository.getLocalizedProjectPaymentDetails(projectId, ownerId, lang);
 
-        Map<Long, List<ProjectPaymentDetails>> groupedByProject = flatResults.stream()
-                .collect(Collectors.groupingBy(ProjectPaymentDetails::getProjectId));
+        Map<Long, List<LocalizedProjectPaymentDetails>> groupedByProject = flatResults.stream()
+                .collect(Collectors.groupingBy(LocalizedProjectPaymentDetails::getProjectId));
 
         return groupedByProject.values().stream()
-                .map(projectData -> buildDetailsForProject(projectData, lang))
+                .map(this::buildDetailsForProject)
                 .collect(Collectors.toList());
     }
 
-    private ProjectSpendingDetailsDto buildDetailsForProject(List<ProjectPaymentDetails> projectData, String lang) {
-        ProjectPaymentDetails firstRecord = projectData.get(0);
+    /**
+     * Returns one keyset page of spending details: at most {@code size} payment rows
+     * ordered by (project id, payment date, payment id), starting after {@code cursor}.
+     * Project summaries are totalled over all of a project's payments, not just the
+     * ones on the page.
+     *
+     * @param cursor the nextCursor of the previous page, or null for the first page.
+     * @throws IllegalArgumentException if the cursor is invalid or the size is out of range.
+     */
+    public SpendingDetailsPageDto getSpendingDetailsPage(Long projectId, Long ownerId, String lang, String cursor, int size) {
+        if (size < 1 || size > MAX_SPENDING_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SPENDING_PAGE_SIZE + ".");
+        }
+        Long afterProjectId = null;
+        LocalDate afterPaymentDate = null;
+        Long afterPaymentId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            CursorCodec.Cursor position = CursorCodec.decode(cursor, 3);
+            afterProjectId = position.getLong(0);
+            afterPaymentDate = position.getDate(1);
+            afterPaymentId = position.getLong(2);
+            if (afterProjectId == null) {
+                throw CursorCodec.invalidCursor();
+            }
+        }
+        log.info("Fetching spending details page for projectId: [{}], ownerId: [{}], after project [{}]", projectId, ownerId, afterProjectId);
+
+        List<LocalizedProjectPaymentDetails> rows = afterProjectId == null
+                ? projectRepository.getLocalizedProjectPaymentDetailsFirstPage(projectId, ownerId, lang, size + 1)
+                : projectRepository.getLocalizedProjectPaymentDetailsPage(
+                        projectId, ownerId, lang, afterProjectId, afterPaymentDate, afterPaymentId, size + 1);
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+
+        Map<Long, List<LocalizedProjectPaymentDetails>> groupedByProject = rows.stream()
+                .collect(Collectors.groupingBy(LocalizedProjectPaymentDetails::getProjectId, LinkedHashMap::new, Collectors.toList()));
+        Map<Long, BigDecimal> paymentTotals = groupedByProject.isEmpty() ? Map.of()
+                : budgetPaymentRepository.getProjectPaymentTotals(groupedByProject.keySet()).stream()
+                .collect(Collectors.toMap(EntityPaymentTotal::getEntityId, EntityPaymentTotal::getTotal));
+
+        String nextCursor = null;
+        if (hasMore) {
+            LocalizedProjectPaymentDetails last = rows.get(rows.size() - 1);
+            nextCursor = CursorCodec.encode(last.getProjectId(), last.getPaymentDate(), last.getPaymentId());
+        }
+        return SpendingDetailsPageDto.builder()
+                .projects(groupedByProject.entrySet().stream()
+                        .map(e -> buildDetailsForProject(e.getValue(), paymentTotals.getOrDefault(e.getKey(), BigDecimal.ZERO)))
+                        .collect(Collectors.toList()))
+                .size(rows.size())
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Writes the spending details as NDJSON, one {@link ProjectSpendingDetailsDto} per line,
+     * while the rows are read from a database cursor. Only one project's payments are held
+     * in memory at a time.
+     */
+    public void streamSpendingDetails(Long projectId, Long ownerId, String lang, OutputStream out) throws IOException {
+        log.info("Streaming spending details for projectId: [{}] and ownerId: [{}]", projectId, ownerId);
+        try (Stream<LocalizedProjectPaymentDetails> rows = projectRepository.streamLocalizedProjectPaymentDetails(projectId, ownerId, lang);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            // The generator buffers and flushes on close, not after every line.
+            ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            List<LocalizedProjectPaymentDetails> project = new ArrayList<>();
+            Iterator<LocalizedProjectPaymentDetails> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                LocalizedProjectPaymentDetails row = iterator.next();
+                if (!project.isEmpty() && !project.get(0).getProjectId().equals(row.getProjectId())) {
+                    writeLine(writer, generator, buildDetailsForProject(project));
+                    project.clear();
+                }
+                project.add(row);
+            }
+            if (!project.isEmpty()) {
+                writeLine(writer, generator, buildDetailsForProject(project));
+            }
+        }
+    }
+
+    private static void writeLine(ObjectWriter writer, JsonGenerator generator, ProjectSpendingDetailsDto details)
+            throws IOException {
+        writer.writeValue(generator, details);
+        generator.writeRaw('\n');
+    }
+
+    private ProjectSpendingDetailsDto buildDetailsForProject(List<LocalizedProjectPaymentDetails> projectData) {
+        return buildDetailsForProject(projectData, null);
+    }
+
+    /**
+     * @param paymentTotal the project's total payments, or null to sum the payments in
+     *                     {@code projectData}.
+     */
+    private ProjectSpendingDetailsDto buildDetailsForProject(List<LocalizedProjectPaymentDetails> projectData, BigDecimal paymentTotal) {
+        LocalizedProjectPaymentDetails firstRecord = projectData.get(0);
         List<PaymentTransactionDto> paymentDtos = projectData.stream()
                 .filter(p -> p.getPaymentId() != null)
                 .map(p -> PaymentTransactionDto.builder()
                         .id(p.getPaymentId())
                         .paymentDate(p.getPaymentDate())
                         .amount(p.getPaymentAmount())
-                        .paymentNotes(parseJsonMap(p.getNotesTranslations()))
+                        .paymentNotes(translationCodec.decode(p.getNotesTranslations()))
                         .createdBy(p.getPaymentCreatedBy())
                         .createdAt(p.getPaymentCreatedAt())
                         .build())
                 .collect(Collectors.toList());
-        BigDecimal totalPayments = paymentDtos.stream().map(PaymentTransactionDto::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal totalPayments = paymentTotal;
+        if (totalPayments == null) {
+            Money.Accumulator sum = Money.accumulator();
+            for (PaymentTransactionDto payment : paymentDtos) {
+                sum.add(Money.round(payment.getAmount()));
+            }
+            totalPayments = sum.toBigDecimal();
+        }
         SpendingSummaryDto summary = SpendingSummaryDto.builder()
                 .plannedTotalBudget(firstRecord.getPlannedTotalBudget())
                 .paymentBudget(totalPayments)
                 .build();
         return ProjectSpendingDetailsDto.builder()
                 .projectId(firstRecord.getProjectId())
-                .projectName(getTranslatedValue(parseJsonMap(firstRecord.getNameTranslations()), lang, "Unknown Project"))
+                .projectName(Optional.ofNullable(firstRecord.getProjectName()).orElse("Unknown Project"))
                 .summary(summary)
                 .payments(paymentDtos)
                 .build();
     }
 
-    // --- REFACTORED: High-Performance Strategic Health Methods ---
+    // --- Strategic Health Methods (aggregated per strategy in the database) ---
 
     public List<StrategicHealthDto> getStrategicHealth(String dateRange, Long ownerId, String lang) {
-        log.info("Calculating strategic health using single query with ownerId: {}", ownerId);
-        List<StrategyHealthDataResult> allHealthData = strategyRepository.getStrategicHealthData(null, ownerId);
+        log.info("Calculating strategic health using grouped query with ownerId: {}", ownerId);
+        return computeStrategicHealth(ownerId, lang, LocalDate.now());
+    }
 
-        Map<Long, List<StrategyHealthDataResult>> groupedByStrategy = allHealthData.stream()
-                .collect(Collectors.groupingBy(StrategyHealthDataResult::getStrategyId));
+    /**
+     * Health of every strategy with projects (optionally only the owner's projects),
+     * with delays measured against {@code today}. Ordered by strategy id.
+     */
+    public List<StrategicHealthDto> computeStrategicHealth(Long ownerId, String lang, LocalDate today) {
+        return strategyRepository.getStrategicHealthAggregates(null, ownerId, lang, today).stream()
+                .map(this::buildHealthDto)
+                .collect(Collectors.toList());
+    }
 
-        return groupedByStrategy.values().stream()
-                .map(strategyData -> buildHealthDtoFromData(strategyData, lang))
+    /**
+     * Same as {@link #computeStrategicHealth(Long, String, LocalDate)}, for the given
+     * strategies only. Strategies without matching projects are absent from the result.
+     */
+    public List<StrategicHealthDto> computeStrategicHealth(Collection<Long> strategyIds, Long ownerId, String lang, LocalDate today) {
+        if (strategyIds.isEmpty()) {
+            return List.of();
+        }
+        return strategyRepository.getStrategicHealthAggregatesFor(strategyIds, ownerId, lang, today).stream()
+                .map(this::buildHealthDto)
                 .collect(Collectors.toList());
     }
 
     public StrategicHealthDto getStrategicHealthForSingleStrategy(Long strategyId, String dateRange, String lang) {
-        log.info("Calculating strategic health for single Strategy ID: {} using single query.", strategyId);
-        List<StrategyHealthDataResult> strategyData = strategyRepository.getStrategicHealthData(strategyId, null);
+        log.info("Calculating strategic health for single Strategy ID: {} using grouped query.", strategyId);
+        List<StrategyHealthAggregate> aggregates = strategyRepository.getStrategicHealthAggregates(strategyId, null, lang, LocalDate.now());
 
-        if (strategyData == null || strategyData.isEmpty()) {
+        if (aggregates.isEmpty()) {
             Strategy strategy = strategyRepository.findById(strategyId)
                     .orElseThrow(() -> new ResourceNotFoundException("Strategy", "id", strategyId));
             return StrategicHealthDto.builder()
@@ -101,75 +250,252 @@ public class AnalyticsService {
                     .healthStatus("No Data")
                     .build();
         }
-        return buildHealthDtoFromData(strategyData, lang);
+        return buildHealthDto(aggregates.get(0));
     }
 
-    private StrategicHealthDto buildHealthDtoFromData(List<StrategyHealthDataResult> strategyData, String lang) {
-        StrategyHealthDataResult firstRecord = strategyData.get(0);
-        BigDecimal overallProgress = calculateOverallProgressFromData(strategyData);
-        BigDecimal budgetVariance = calculateBudgetVarianceFromData(strategyData);
-        Double scheduleVariance = calculateScheduleVarianceFromData(strategyData);
-        boolean hasCriticalError = strategyData.stream()
-                .anyMatch(p -> (p.getPlanningStatusCode() != null && !"OK".equalsIgnoreCase(p.getPlanningStatusCode())) ||
-                        (p.getProgressStatusCode() != null && !"OK".equalsIgnoreCase(p.getProgressStatusCode())));
+    private StrategicHealthDto buildHealthDto(StrategyHealthAggregate aggregate) {
+        return buildHealthDto(aggregate.getStrategyId(), aggregate.getStrategyName(), aggregate.getProjectCount(),
+                aggregate.getProgressSum(), Money.round(aggregate.getPlannedBudget()), Money.round(aggregate.getActualCost()),
+                aggregate.getDelayedProjectCount(), aggregate.getTotalDelayDays(),
+                Boolean.TRUE.equals(aggregate.getHasCriticalStatus()));
+    }
+
+    /**
+     * Derives the health indicators from a strategy's project totals: the mean
+     * progress (2 decimals, half-up), planned minus actual budget, and the mean
+     * delay of the delayed projects. {@code projectCount} must be positive.
+     */
+    static StrategicHealthDto buildHealthDto(Long strategyId, String strategyName, long projectCount,
+                                             BigDecimal progressSum, Money plannedBudget, Money actualCost,
+                                             long delayedProjects, long totalDelayDays, boolean hasCriticalStatus) {
+        BigDecimal overallProgress = progressSum.divide(BigDecimal.valueOf(projectCount), 2, RoundingMode.HALF_UP);
+        Money budgetVariance = plannedBudget.subtract(actualCost);
+        Double scheduleVariance = delayedProjects == 0 ? 0.0 : (double) totalDelayDays / delayedProjects;
+
         String healthStatus = "On-Track";
-        if (hasCriticalError) {
+        if (hasCriticalStatus) {
             healthStatus = "Off-Track";
-        } else if (overallProgress.compareTo(new BigDecimal("50")) < 0 || budgetVariance.compareTo(BigDecimal.ZERO) < 0 || scheduleVariance > 15) {
+        } else if (overallProgress.compareTo(new BigDecimal("50")) < 0 || budgetVariance.isNegative() || scheduleVariance > 15) {
             healthStatus = "At-Risk";
         }
         return StrategicHealthDto.builder()
-                .strategyId(firstRecord.getStrategyId())
-                .strategyName(getTranslatedValue(parseJsonMap(firstRecord.getNameTranslations()), lang, "Unknown Strategy"))
+                .strategyId(strategyId)
+                .strategyName(Optional.ofNullable(strategyName).orElse("Unknown Strategy"))
                 .overallProgress(overallProgress)
-                .budgetVariance(budgetVariance)
+                .budgetVariance(budgetVariance.toBigDecimal())
                 .scheduleVarianceDays(scheduleVariance)
                 .activeRisks(0)
                 .healthStatus(healthStatus)
                 .build();
     }
 
-    // --- Helper methods for health calculations, operating on the DTO results ---
-
-    private BigDecimal calculateOverallProgressFromData(List<StrategyHealthDataResult> data) {
-        if (data.isEmpty()) return BigDecimal.ZERO;
-        BigDecimal totalProgress = data.stream()
-                .map(p -> p.getCalculatedProgressPercent() != null ? p.getCalculatedProgressPercent() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        return totalProgress.divide(new BigDecimal(data.size()), 2, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal calculateBudgetVarianceFromData(List<StrategyHealthDataResult> data) {
-        BigDecimal totalPlanned = data.stream()
-                .map(p -> p.getPlannedTotalBudget() != null ? p.getPlannedTotalBudget() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        BigDecimal totalActual = data.stream()
-                .map(p -> p.getActualCost() != null ? p.getActualCost() : BigDecimal.ZERO)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        return totalPlanned.subtract(totalActual);
-    }
-
-    private Double calculateScheduleVarianceFromData(List<StrategyHealthDataResult> data) {
-        LocalDate today = LocalDate.now();
-        List<StrategyHealthDataResult> delayedProjects = data.stream()
-                .filter(p -> p.getProgressStatusCode() != null && !"COMPLETED".equalsIgnoreCase(p.getProgressStatusCode()))
-                .filter(p -> p.getEndDate() != null && today.isAfter(p.getEndDate()))
-                .toList();
-        if (delayedProjects.isEmpty()) return 0.0;
-        long totalDelayDays = delayedProjects.stream()
-                .mapToLong(p -> ChronoUnit.DAYS.between(p.getEndDate(), today))
-                .sum();
-        return (double) totalDelayDays / delayedProjects.size();
-    }
-
-    private Map<String, String> parseJsonMap(String json) {
-        if (json == null || json.isEmpty()) return Collections.emptyMap();
-        try {
-            return new ObjectMapper().readValue(json, new TypeReference<>() {});
-        } catch (Exception e) {
-            log.error("Error parsing JSONB string from database: {}", json, e);
-            return Collections.emptyMap();
+    // --- Budget roll-up ---
+
+    /**
+     * @throws IllegalArgumentException for an unknown level.
+     * @throws ResourceNotFoundException if there is no such node.
+     */
+    public BudgetRollupDto getBudgetRollup(String level, Long id) {
+        HierarchyLevel hierarchyLevel = EnumUtils.parse(HierarchyLevel.class, "level", level);
+        return budgetAggregationService.getRollup(hierarchyLevel, id)
+                .map(this::toBudgetRollupDto)
+                .orElseThrow(() -> new ResourceNotFoundException(hierarchyLevel.name().charAt(0)
+                        + hierarchyLevel.name().substring(1).toLowerCase(Locale.ROOT), "id", id));
+    }
+
+    public List<BudgetRollupDto> getBudgetRollupDiscrepancies(String level) {
+        return budgetAggregationService.findDiscrepancies(EnumUtils.parse(HierarchyLevel.class, "level", level)).stream()
+                .map(this::toBudgetRollupDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @throws IllegalArgumentException for an unknown level or allocation.
+     */
+    public BudgetSourceBreakdownDto getBudgetSourceBreakdown(String level, Long id, String allocation) {
+        HierarchyLevel hierarchyLevel = EnumUtils.parse(HierarchyLevel.class, "level", level);
+        BudgetAggregationService.SourceAllocation parsedAllocation =
+                EnumUtils.parse(BudgetAggregationService.SourceAllocation.class, "allocation", allocation);
+        BudgetAggregationService.SourceBreakdown breakdown = budgetAggregationService
+                .getSourceBreakdown(hierarchyLevel, id, parsedAllocation)
+                .orElseThrow(() -> new ResourceNotFoundException(hierarchyLevel.name().charAt(0)
+                        + hierarchyLevel.name().substring(1).toLowerCase(Locale.ROOT), "id", id));
+        return BudgetSourceBreakdownDto.builder()
+                .level(hierarchyLevel.name().toLowerCase(Locale.ROOT))
+                .id(id)
+                .allocation(parsedAllocation.name().toLowerCase(Locale.ROOT))
+                .projectCount(breakdown.projectCount())
+                .totalBudget(breakdown.totalBudget().toBigDecimal())
+                .totalPayments(breakdown.totalPayments().toBigDecimal())
+                .sources(breakdown.sources().stream()
+                        .map(share -> BudgetSourceBreakdownDto.SourceShare.builder()
+                                .sourceId(share.sourceId())
+                                .projectCount(share.projectCount())
+                                .budget(share.budget().toBigDecimal())
+                                .payments(share.payments().toBigDecimal())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private BudgetRollupDto toBudgetRollupDto(BudgetAggregationService.BudgetRollup rollup) {
+        return BudgetRollupDto.builder()
+                .level(rollup.level().name().toLowerCase(Locale.ROOT))
+                .id(rollup.id())
+                .totalBudget(rollup.totalBudget())
+                .totalPayments(rollup.totalPayments())
+                .storedTotalBudget(rollup.storedTotalBudget())
+                .storedTotalPayments(rollup.storedTotalPayments())
+                .consistent(rollup.consistent())
+                .build();
+    }
+
+    // --- Progress roll-up ---
+
+    /**
+     * @param includeChildren whether to add the node's direct children.
+     * @throws IllegalArgumentException for an unknown level.
+     * @throws ResourceNotFoundException if there is no such node.
+     */
+    public ProgressRollupDto getProgressRollup(String level, Long id, boolean includeChildren) {
+        HierarchyLevel hierarchyLevel = EnumUtils.parse(HierarchyLevel.class, "level", level);
+        ProgressRollupDto dto = progressCalculationService.getRollup(hierarchyLevel, id)
+                .map(this::toProgressRollupDto)
+                .orElseThrow(() -> new ResourceNotFoundException(hierarchyLevel.name().charAt(0)
+                        + hierarchyLevel.name().substring(1).toLowerCase(Locale.ROOT), "id", id));
+        if (includeChildren) {
+            dto.setChildren(progressCalculationService.getChildRollups(hierarchyLevel, id).orElse(List.of()).stream()
+                    .map(this::toProgressRollupDto)
+                    .collect(Collectors.toList()));
         }
+        return dto;
+    }
+
+    private ProgressRollupDto toProgressRollupDto(ProgressCalculationService.ProgressRollup rollup) {
+        return ProgressRollupDto.builder()
+                .level(rollup.level().name().toLowerCase(Locale.ROOT))
+                .id(rollup.id())
+                .effortProgress(rollup.effortProgress())
+                .averageProgress(rollup.averageProgress())
+                .hybridProgress(rollup.hybridProgress())
+                .storedCalculatedProgress(rollup.storedCalculatedProgress())
+                .storedHybridProgress(rollup.storedHybridProgress())
+                .build();
+    }
+
+    // --- Project facts ---
+
+    /**
+     * Groups the in-memory project facts. Null filters are ignored.
+     *
+     * @throws IllegalArgumentException for an unknown dimension or measure.
+     */
+    public ProjectFactGroupsDto getProjectFactGroups(String groupBy, String measure, Long ownerId, Long strategyId,
+                                                     String planningStatus, String progressStatus, Long priorityId,
+                                                     Long statusId, Long visionPriority) {
+        ProjectFactStore.Dimension dimension = EnumUtils.parse(ProjectFactStore.Dimension.class, "groupBy", groupBy);
+        ProjectFactStore.Measure parsedMeasure = EnumUtils.parse(ProjectFactStore.Measure.class, "measure", measure);
+        Map<ProjectFactStore.Dimension, String> filters = new EnumMap<>(ProjectFactStore.Dimension.class);
+        putFilter(filters, ProjectFactStore.Dimension.OWNER, ownerId);
+        putFilter(filters, ProjectFactStore.Dimension.STRATEGY, strategyId);
+        putFilter(filters, ProjectFactStore.Dimension.PLANNING_STATUS, planningStatus);
+        putFilter(filters, ProjectFactStore.Dimension.PROGRESS_STATUS, progressStatus);
+        putFilter(filters, ProjectFactStore.Dimension.PRIORITY, priorityId);
+        putFilter(filters, ProjectFactStore.Dimension.STATUS, statusId);
+        putFilter(filters, ProjectFactStore.Dimension.VISION_PRIORITY, visionPriority);
+
+        ProjectFactStore.QueryResult result = projectFactStore.query(filters, dimension, parsedMeasure);
+        return ProjectFactGroupsDto.builder()
+                .groupBy(dimension.name().toLowerCase(Locale.ROOT))
+                .measure(parsedMeasure.name().toLowerCase(Locale.ROOT))
+                .projectCount(result.projectCount())
+                .dataAsOf(result.loadedAt())
+                .groups(result.groups().stream()
+                        .map(g -> ProjectFactGroupsDto.Group.builder()
+                                .key(g.key())
+                                .count(g.count())
+                                .valueCount(g.valueCount())
+                                .sum(g.sum())
+                                .average(g.average())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private static void putFilter(Map<ProjectFactStore.Dimension, String> filters, ProjectFactStore.Dimension dimension, Object value) {
+        if (value != null) {
+            filters.put(dimension, value.toString());
+        }
+    }
+
+    // --- Vision alignment ---
+
+    /**
+     * The nodes of a level aligned with any or all of the given vision priorities.
+     *
+     * @throws IllegalArgumentException for an unknown level or match, a level without vision
+     *                                  priorities, no priorities or a limit out of range.
+     */
+    public VisionAlignmentDto getVisionAlignment(String level, List<Integer> priorities, String match, Long ownerId,
+                                                 int limit, String lang) {
+        if (limit < 0 || limit > MAX_ALIGNED_NODES) {
+            throw new IllegalArgumentException("limit must be between 0 and " + MAX_ALIGNED_NODES + ".");
+        }
+        HierarchyLevel hierarchyLevel = EnumUtils.parse(HierarchyLevel.class, "level", level);
+        VisionAlignmentService.Match parsedMatch = EnumUtils.parse(VisionAlignmentService.Match.class, "match", match);
+        VisionAlignmentService.Alignment alignment =
+                visionAlignmentService.findAligned(hierarchyLevel, priorities, parsedMatch, ownerId, limit);
+
+        Map<Long, String> names = alignment.nodes().isEmpty() ? Map.of()
+                : strategyRepository.getLocalizedNodeNames(hierarchyLevel.ordinal(),
+                        alignment.nodes().stream().map(VisionAlignmentService.AlignedNode::id).toList(), lang).stream()
+                .filter(n -> n.getName() != null)
+                .collect(Collectors.toMap(StrategyRepository.LocalizedNodeName::getId, StrategyRepository.LocalizedNodeName::getName));
+        VisionAlignmentService.Totals totals = alignment.totals();
+        return VisionAlignmentDto.builder()
+                .level(hierarchyLevel.name().toLowerCase(Locale.ROOT))
+                .visionPriorities(priorities.stream().distinct().sorted().toList())
+                .match(parsedMatch.name().toLowerCase(Locale.ROOT))
+                .ownerId(ownerId)
+                .nodeCount(totals.nodeCount())
+                .plannedBudget(totals.plannedBudget().toBigDecimal())
+                .spent(totals.spent().toBigDecimal())
+                .averageProgress(totals.averageProgress())
+                .nodes(alignment.nodes().stream()
+                        .map(node -> VisionAlignmentDto.AlignedNode.builder()
+                                .id(node.id())
+                                .name(names.get(node.id()))
+                                .ownerId(node.ownerId())
+                                .plannedBudget(node.plannedBudget())
+                                .spent(node.spent())
+                                .progress(node.progress())
+                                .visionPriorities(node.visionPriorities())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * @throws IllegalArgumentException for an unknown level or a level without vision priorities.
+     */
+    public VisionAlignmentMatrixDto getVisionAlignmentMatrix(String level, Long ownerId) {
+        HierarchyLevel hierarchyLevel = EnumUtils.parse(HierarchyLevel.class, "level", level);
+        VisionAlignmentService.AlignmentMatrix matrix = visionAlignmentService.getMatrix(hierarchyLevel, ownerId);
+        return VisionAlignmentMatrixDto.builder()
+                .level(hierarchyLevel.name().toLowerCase(Locale.ROOT))
+                .ownerId(ownerId)
+                .visionPriorities(Arrays.stream(matrix.priorities()).boxed().toList())
+                .rows(matrix.rows().stream()
+                        .map(row -> VisionAlignmentMatrixDto.Row.builder()
+                                .visionPriority(row.priority())
+                                .nodeCount(row.totals().nodeCount())
+                                .plannedBudget(row.totals().plannedBudget().toBigDecimal())
+                                .spent(row.totals().spent().toBigDecimal())
+                                .averageProgress(row.totals().averageProgress())
+                                .coAligned(row.coAligned())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
     }
 
     private String getTranslatedValue(Map<String, String> translations, String lang, String fallback) {
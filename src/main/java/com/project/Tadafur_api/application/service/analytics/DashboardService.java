@@ -0,0 +1,198 @@
+package com.project.Tadafur_api.application.service.analytics;
+
+import com.project.Tadafur_api.application.dto.analytics.*;
+import com.project.Tadafur_api.application.dto.strategy.response.StrategyResponseDto;
+import com.project.Tadafur_api.application.service.strategy.StrategyService;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository.HierarchyCounts;
+import com.project.Tadafur_api.shared.util.MultilingualUtils;
+import com.project.Tadafur_api.shared.util.EnumUtils;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ * Assembles the owner dashboard from the analytics it shows, with the sections computed
+ * concurrently on virtual threads.
+ *
+ * Every section has its own deadline of {@code app.analytics.dashboard.section-timeout-ms}
+ * from the start of the request, so the response takes about as long as the slowest section
+ * rather than the sum of them. A section that fails or misses its deadline is returned with
+ * that status and without data, while the others are still returned. A timed-out section is
+ * cancelled, but may keep its database call running until the call returns; that is why the
+ * executor is shared instead of being closed, and waited for, per request.
+ *
+ * Virtual threads are not a limit on database work, so at most
+ * {@code app.analytics.dashboard.max-concurrent-sections} sections run at once across all
+ * requests, well below the connection pool size; the others wait for a permit within their
+ * deadline.
+ */
+@Service
+@Slf4j
+public class DashboardService {
+
+    private static final int SPENDING_MAX_POINTS = 24;
+    private static final int SPENDING_LIMIT = 100;
+    private static final int OVERDUE_LIMIT = 10;
+
+    private final StrategyService strategyService;
+    private final StrategicHealthSnapshotService healthSnapshotService;
+    private final SpendingTrendService spendingTrendService;
+    private final ProjectScheduleService projectScheduleService;
+    private final StrategyRepository strategyRepository;
+    private final long sectionTimeoutNanos;
+    private final Semaphore sectionPermits;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DashboardService(StrategyService strategyService,
+                            StrategicHealthSnapshotService healthSnapshotService,
+                            SpendingTrendService spendingTrendService,
+                            ProjectScheduleService projectScheduleService,
+                            StrategyRepository strategyRepository,
+                            @Value("${app.analytics.dashboard.section-timeout-ms:5000}") long sectionTimeoutMillis,
+                            @Value("${app.analytics.dashboard.max-concurrent-sections:10}") int maxConcurrentSections) {
+        this.strategyService = strategyService;
+        this.healthSnapshotService = healthSnapshotService;
+        this.spendingTrendService = spendingTrendService;
+        this.projectScheduleService = projectScheduleService;
+        this.strategyRepository = strategyRepository;
+        this.sectionTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sectionTimeoutMillis);
+        this.sectionPermits = new Semaphore(Math.max(1, maxConcurrentSections), true);
+    }
+
+    public enum Section {
+        STRATEGIES, HEALTH, SPENDING, HIERARCHY_COUNTS, OVERDUE
+    }
+
+    /**
+     * Parses a comma-separated list of section names; null or blank means all sections.
+     *
+     * @throws IllegalArgumentException for an unknown section.
+     */
+    public static Set<Section> parseSections(String sections) {
+        if (sections == null || sections.isBlank()) {
+            return EnumSet.allOf(Section.class);
+        }
+        Set<Section> parsed = EnumSet.noneOf(Section.class);
+        for (String section : sections.split(",")) {
+            parsed.add(EnumUtils.parse(Section.class, "section", section));
+        }
+        return parsed;
+    }
+
+    /**
+     * @param ownerId if set, every section is limited to that owner's strategies or projects.
+     */
+    public DashboardDto getDashboard(Long ownerId, String requestedLang, Set<Section> sections) {
+        String lang = MultilingualUtils.validateLanguage(requestedLang);
+        long started = System.nanoTime();
+        long deadline = started + sectionTimeoutNanos;
+        log.info("Building dashboard sections {} for ownerId: {}", sections, ownerId);
+
+        Future<Timed<List<StrategyResponseDto>>> strategies =
+                submit(sections, Section.STRATEGIES, () -> strategyService.getStrategies(Optional.ofNullable(ownerId), lang));
+        Future<Timed<List<StrategicHealthDto>>> health =
+                submit(sections, Section.HEALTH, () -> healthSnapshotService.getStrategicHealth(ownerId, lang).data());
+        Future<Timed<List<ProjectSpendingTrendDto>>> spending =
+                submit(sections, Section.SPENDING, () -> spendingTrendService.getSpendingTrends("strategy", null, ownerId,
+                        "month", SPENDING_MAX_POINTS, SPENDING_LIMIT, lang));
+        Future<Timed<HierarchyCountsDto>> hierarchyCounts =
+                submit(sections, Section.HIERARCHY_COUNTS, () -> toDto(strategyRepository.getHierarchyCounts(ownerId)));
+        Future<Timed<OverdueProjectsDto>> overdue =
+                submit(sections, Section.OVERDUE, () -> projectScheduleService.getOverdueProjects(ownerId, 1, OVERDUE_LIMIT, lang));
+
+        DashboardDto dashboard = DashboardDto.builder()
+                .ownerId(ownerId)
+                .strategies(await(Section.STRATEGIES, strategies, deadline))
+                .health(await(Section.HEALTH, health, deadline))
+                .spending(await(Section.SPENDING, spending, deadline))
+                .hierarchyCounts(await(Section.HIERARCHY_COUNTS, hierarchyCounts, deadline))
+                .overdue(await(Section.OVERDUE, overdue, deadline))
+                .build();
+        dashboard.setComplete(Stream.of(dashboard.getStrategies(), dashboard.getHealth(), dashboard.getSpending(),
+                        dashboard.getHierarchyCounts(), dashboard.getOverdue())
+                .filter(Objects::nonNull)
+                .allMatch(section -> section.getStatus() == DashboardSectionDto.Status.OK));
+        dashboard.setGeneratedAt(Instant.now());
+        dashboard.setDurationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return dashboard;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> Future<Timed<T>> submit(Set<Section> sections, Section section, Callable<T> task) {
+        if (!sections.contains(section)) {
+            return null;
+        }
+        return executor.submit(() -> {
+            sectionPermits.acquire();
+            try {
+                long started = System.nanoTime();
+                T result = task.call();
+                return new Timed<>(result, System.nanoTime() - started);
+            } finally {
+                sectionPermits.release();
+            }
+        });
+    }
+
+    private <T> DashboardSectionDto<T> await(Section section, Future<Timed<T>> future, long deadline) {
+        if (future == null) {
+            return null;
+        }
+        try {
+            Timed<T> result = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return DashboardSectionDto.<T>builder()
+                    .status(DashboardSectionDto.Status.OK)
+                    .data(result.value())
+                    .durationMs(TimeUnit.NANOSECONDS.toMillis(result.nanos()))
+                    .build();
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Dashboard section {} timed out", section);
+            return DashboardSectionDto.<T>builder()
+                    .status(DashboardSectionDto.Status.TIMED_OUT)
+                    .error("The section did not complete within " + TimeUnit.NANOSECONDS.toMillis(sectionTimeoutNanos) + " ms.")
+                    .durationMs(TimeUnit.NANOSECONDS.toMillis(sectionTimeoutNanos))
+                    .build();
+        } catch (ExecutionException e) {
+            log.error("Dashboard section {} failed", section, e.getCause());
+            return failed("The section could not be computed.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return failed("The request was interrupted.");
+        }
+    }
+
+    private static <T> DashboardSectionDto<T> failed(String error) {
+        return DashboardSectionDto.<T>builder()
+                .status(DashboardSectionDto.Status.FAILED)
+                .error(error)
+                .build();
+    }
+
+    private static HierarchyCountsDto toDto(HierarchyCounts counts) {
+        return HierarchyCountsDto.builder()
+                .strategies(counts.getStrategies())
+                .perspectives(counts.getPerspectives())
+                .goals(counts.getGoals())
+                .programs(counts.getPrograms())
+                .initiatives(counts.getInitiatives())
+                .projects(counts.getProjects())
+                .build();
+    }
+
+    private record Timed<T>(T value, long nanos) {
+    }
+}
@@ -0,0 +1,539 @@
+package com.project.Tadafur_api.application.service.analytics;
+
+import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository;
+import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository.ProjectFactRow;
+import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository.ProjectVersion;
+import com.project.Tadafur_api.domain.strategy.service.ScheduleEngine;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Table;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Watermarks;
+import com.project.Tadafur_api.domain.strategy.valueobject.Money;
+import com.project.Tadafur_api.domain.strategy.valueobject.Timeline;
+import com.project.Tadafur_api.shared.util.SqlArrayUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * An in-memory, column-oriented copy of the project facts that portfolio slice-and-dice
+ * queries need, so that they are answered without going to the database.
+ *
+ * Each fact is a primitive array with one slot per project: ids in {@code long[]}, amounts
+ * in {@link Money} minor units, progress in {@code double[]} (NaN when missing), dates as
+ * epoch days and status codes as indexes into a dictionary of their distinct upper-cased
+ * values. Vision priorities, of which a project can have several, are kept in CSR form.
+ *
+ * The store is first loaded by the first query or refresh tick. On every later tick in which
+ * the project table changed, {@link #onWatermarks} compares every project's xmin with the
+ * loaded one and re-reads only the projects that were added or changed, building the next
+ * copy of the columns from the previous one; readers always see a complete, immutable copy.
+ * Changes above the project level (which can move a project to another strategy) and large
+ * change sets reload everything.
+ *
+ * The same copy also backs the portfolio {@link #scheduleColumns() schedule columns}.
+ */
+@Service
+@Slf4j
+public class ProjectFactStore implements TableWatermarks.Listener {
+
+    private static final long NONE = Long.MIN_VALUE;
+    private static final int NO_CODE = -1;
+    private static final int ID_CHUNK_SIZE = 1000;
+    private static final int PLANNED = 1;
+    private static final int ACTUAL = 2;
+
+    private final ProjectRepository projectRepository;
+    private final TableWatermarks tableWatermarks;
+
+    private volatile Facts facts;
+
+    public ProjectFactStore(ProjectRepository projectRepository, TableWatermarks tableWatermarks) {
+        this.projectRepository = projectRepository;
+        this.tableWatermarks = tableWatermarks;
+    }
+
+    public enum Dimension {
+        OWNER, STRATEGY, PLANNING_STATUS, PROGRESS_STATUS, PRIORITY, STATUS, VISION_PRIORITY
+    }
+
+    public enum Measure {
+        PLANNED_BUDGET, ACTUAL_COST, PROGRESS
+    }
+
+    /**
+     * The projects of one group: their count, and the sum and mean of the measure over the
+     * {@code valueCount} projects that have a value. A null key groups the projects without
+     * a value for the dimension.
+     */
+    public record Group(String key, int count, int valueCount, BigDecimal sum, BigDecimal average) {
+    }
+
+    /**
+     * @param projectCount the number of projects that passed the filters.
+     * @param loadedAt     when the facts were last brought up to date.
+     */
+    public record QueryResult(int projectCount, List<Group> groups, Instant loadedAt) {
+    }
+
+    /**
+     * Filters the projects, groups them and aggregates the measure per group. Groups are
+     * ordered by key, numerically for id dimensions. With VISION_PRIORITY, a project counts
+     * in the group of each of its priorities.
+     *
+     * @param filters the required value per dimension; all must match. For
+     *                VISION_PRIORITY, the project must have that priority.
+     * @throws IllegalArgumentException if an id dimension is filtered by a non-number.
+     */
+    public QueryResult query(Map<Dimension, String> filters, Dimension groupBy, Measure measure) {
+        Facts current = facts();
+        int[] selected = current.filter(filters);
+        Map<Long, Accumulator> groups = new HashMap<>();
+        for (int row : selected) {
+            if (groupBy == Dimension.VISION_PRIORITY) {
+                int from = current.visionOffsets[row];
+                int to = current.visionOffsets[row + 1];
+                if (from == to) {
+                    groups.computeIfAbsent(NONE, k -> new Accumulator()).add(current, row, measure);
+                }
+                for (int v = from; v < to; v++) {
+                    groups.computeIfAbsent((long) current.visionValues[v], k -> new Accumulator()).add(current, row, measure);
+                }
+            } else {
+                groups.computeIfAbsent(current.key(groupBy, row), k -> new Accumulator()).add(current, row, measure);
+            }
+        }
+        List<Group> result = groups.entrySet().stream()
+                .map(e -> e.getValue().toGroup(current.label(groupBy, e.getKey()), measure))
+                .sorted(groupOrder(groupBy))
+                .collect(Collectors.toList());
+        return new QueryResult(selected.length, result, current.loadedAt);
+    }
+
+    /**
+     * The timelines of all projects, built once per copy of the facts. A project is open
+     * when its progress status is set and is not COMPLETED, the same rule the strategic
+     * health delay uses.
+     */
+    public ScheduleEngine.Columns scheduleColumns() {
+        return facts().scheduleColumns();
+    }
+
+    @Override
+    public synchronized void onWatermarks(Watermarks watermarks) {
+        try {
+            Facts current = facts;
+            if (current == null || !current.upperWatermark.equals(watermarks.of(Table.UPPER_HIERARCHY))) {
+                load(watermarks);
+                return;
+            }
+            String projectWatermark = watermarks.of(Table.PROJECT);
+            if (projectWatermark.equals(current.projectWatermark)) {
+                current.loadedAt = Instant.now();
+                return;
+            }
+            List<ProjectVersion> versions = projectRepository.getProjectVersions();
+            Set<Long> live = new HashSet<>(versions.size() * 2);
+            List<Long> changed = new ArrayList<>();
+            for (ProjectVersion version : versions) {
+                live.add(version.getId());
+                Integer row = current.rowById.get(version.getId());
+                if (row == null || current.versions[row] != version.getVersion()) {
+                    changed.add(version.getId());
+                }
+            }
+            int removed = 0;
+            for (long id : current.ids) {
+                if (!live.contains(id)) removed++;
+            }
+            if (changed.isEmpty() && removed == 0) {
+                current.projectWatermark = projectWatermark;
+                current.loadedAt = Instant.now();
+                return;
+            }
+            if (changed.size() + removed > Math.max(ID_CHUNK_SIZE, current.size() / 10)) {
+                load(watermarks);
+                return;
+            }
+            List<ProjectFactRow> rows = new ArrayList<>();
+            for (int from = 0; from < changed.size(); from += ID_CHUNK_SIZE) {
+                rows.addAll(projectRepository.getProjectFactRowsByIds(changed.subList(from, Math.min(changed.size(), from + ID_CHUNK_SIZE))));
+            }
+            Set<Long> replaced = new HashSet<>(changed);
+            Builder builder = new Builder(current.size() + rows.size(), current.codes);
+            for (int row = 0; row < current.size(); row++) {
+                if (live.contains(current.ids[row]) && !replaced.contains(current.ids[row])) {
+                    builder.copy(current, row);
+                }
+            }
+            rows.forEach(builder::add);
+            facts = builder.build(current.upperWatermark, projectWatermark);
+            log.info("Applied {} changed and {} removed projects to the project facts", rows.size(), removed);
+        } catch (RuntimeException e) {
+            log.error("Could not refresh the project facts; keeping the loaded ones", e);
+        }
+    }
+
+    private Facts facts() {
+        Facts current = facts;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (facts == null) {
+                load(tableWatermarks.current());
+            }
+            return facts;
+        }
+    }
+
+    /**
+     * The watermark is read before the rows, so that a change committed while loading
+     * triggers another load on the next refresh.
+     */
+    private void load(Watermarks watermarks) {
+        long started = System.nanoTime();
+        List<ProjectFactRow> rows = projectRepository.getProjectFactRows();
+        Builder builder = new Builder(rows.size(), List.of());
+        rows.forEach(builder::add);
+        facts = builder.build(watermarks.of(Table.UPPER_HIERARCHY), watermarks.of(Table.PROJECT));
+        log.info("Loaded the facts of {} projects in {} ms", rows.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static Comparator<Group> groupOrder(Dimension groupBy) {
+        Comparator<String> keys = switch (groupBy) {
+            case PLANNING_STATUS, PROGRESS_STATUS -> Comparator.naturalOrder();
+            default -> Comparator.comparingLong(Long::parseLong);
+        };
+        return Comparator.comparing(Group::key, Comparator.nullsLast(keys));
+    }
+
+    /**
+     * One immutable copy of the columns. Only the project watermark and the time the copy
+     * was last found current change, under the store's monitor.
+     */
+    private static final class Facts {
+        final long[] ids;
+        final long[] versions;
+        final long[] parentIds;
+        final long[] ownerIds;
+        final long[] strategyIds;
+        final long[] plannedBudgets;
+        final long[] actualCosts;
+        final int[] amountMask;
+        final double[] progress;
+        final int[] startDays;
+        final int[] endDays;
+        final int[] planningStatus;
+        final int[] progressStatus;
+        final long[] priorityIds;
+        final long[] statusIds;
+        final int[] visionOffsets;
+        final int[] visionValues;
+        final List<String> codes;
+        final Map<Long, Integer> rowById;
+        final String upperWatermark;
+        volatile String projectWatermark;
+        volatile Instant loadedAt = Instant.now();
+        private volatile ScheduleEngine.Columns schedule;
+
+        private Facts(Builder b, String upperWatermark, String projectWatermark) {
+            int n = b.size;
+            this.ids = Arrays.copyOf(b.ids, n);
+            this.versions = Arrays.copyOf(b.versions, n);
+            this.parentIds = Arrays.copyOf(b.parentIds, n);
+            this.ownerIds = Arrays.copyOf(b.ownerIds, n);
+            this.strategyIds = Arrays.copyOf(b.strategyIds, n);
+            this.plannedBudgets = Arrays.copyOf(b.plannedBudgets, n);
+            this.actualCosts = Arrays.copyOf(b.actualCosts, n);
+            this.amountMask = Arrays.copyOf(b.amountMask, n);
+            this.progress = Arrays.copyOf(b.progress, n);
+            this.startDays = Arrays.copyOf(b.startDays, n);
+            this.endDays = Arrays.copyOf(b.endDays, n);
+            this.planningStatus = Arrays.copyOf(b.planningStatus, n);
+            this.progressStatus = Arrays.copyOf(b.progressStatus, n);
+            this.priorityIds = Arrays.copyOf(b.priorityIds, n);
+            this.statusIds = Arrays.copyOf(b.statusIds, n);
+            this.visionOffsets = Arrays.copyOf(b.visionOffsets, n + 1);
+            this.visionValues = Arrays.copyOf(b.visionValues, b.visionSize);
+            this.codes = List.copyOf(b.codes);
+            this.upperWatermark = upperWatermark;
+            this.projectWatermark = projectWatermark;
+            this.rowById = new HashMap<>(n * 2);
+            for (int row = 0; row < n; row++) {
+                rowById.put(ids[row], row);
+            }
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        /**
+         * Built on first use; two concurrent first calls may both build it.
+         */
+        ScheduleEngine.Columns scheduleColumns() {
+            ScheduleEngine.Columns columns = schedule;
+            if (columns == null) {
+                columns = new ScheduleEngine.Columns(size());
+                for (int row = 0; row < size(); row++) {
+                    boolean open = progressStatus[row] != NO_CODE && !"COMPLETED".equals(codes.get(progressStatus[row]));
+                    columns.set(row, ids[row], ownerIds[row] == NONE ? null : ownerIds[row],
+                            Timeline.ofEpochDays(startDays[row], endDays[row]), open);
+                }
+                schedule = columns;
+            }
+            return columns;
+        }
+
+        /**
+         * The rows matching every filter, in row order.
+         */
+        int[] filter(Map<Dimension, String> filters) {
+            Dimension[] dimensions = new Dimension[filters.size()];
+            long[] values = new long[filters.size()];
+            int conditions = 0;
+            for (Map.Entry<Dimension, String> filter : filters.entrySet()) {
+                Long value = value(filter.getKey(), filter.getValue());
+                if (value == null) {
+                    return new int[0];
+                }
+                dimensions[conditions] = filter.getKey();
+                values[conditions++] = value;
+            }
+            int[] rows = new int[size()];
+            int count = 0;
+            for (int row = 0; row < rows.length; row++) {
+                boolean match = true;
+                for (int c = 0; c < conditions && match; c++) {
+                    match = dimensions[c] == Dimension.VISION_PRIORITY
+                            ? hasVisionPriority(row, values[c])
+                            : key(dimensions[c], row) == values[c];
+                }
+                if (match) {
+                    rows[count++] = row;
+                }
+            }
+            return Arrays.copyOf(rows, count);
+        }
+
+        /**
+         * The encoded form of a filter value, or null if no project can match it.
+         */
+        private Long value(Dimension dimension, String value) {
+            return switch (dimension) {
+                case PLANNING_STATUS, PROGRESS_STATUS -> {
+                    int code = codes.indexOf(value.trim().toUpperCase(Locale.ROOT));
+                    yield code < 0 ? null : (long) code;
+                }
+                default -> {
+                    try {
+                        yield Long.parseLong(value.trim());
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid " + dimension.name().toLowerCase(Locale.ROOT)
+                                + " filter '" + value + "'; a number is expected.");
+                    }
+                }
+            };
+        }
+
+        private boolean hasVisionPriority(int row, long priority) {
+            for (int v = visionOffsets[row]; v < visionOffsets[row + 1]; v++) {
+                if (visionValues[v] == priority) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * The group key of a row; {@link #NONE} when the row has no value. Not used for
+         * VISION_PRIORITY.
+         */
+        long key(Dimension dimension, int row) {
+            return switch (dimension) {
+                case OWNER -> ownerIds[row];
+                case STRATEGY -> strategyIds[row];
+                case PLANNING_STATUS -> planningStatus[row] == NO_CODE ? NONE : planningStatus[row];
+                case PROGRESS_STATUS -> progressStatus[row] == NO_CODE ? NONE : progressStatus[row];
+                case PRIORITY -> priorityIds[row];
+                case STATUS -> statusIds[row];
+                case VISION_PRIORITY -> throw new IllegalStateException("Vision priorities are multi-valued");
+            };
+        }
+
+        String label(Dimension dimension, long key) {
+            if (key == NONE) {
+                return null;
+            }
+            return switch (dimension) {
+                case PLANNING_STATUS, PROGRESS_STATUS -> codes.get((int) key);
+                default -> Long.toString(key);
+            };
+        }
+    }
+
+    /**
+     * Collects rows into growing columns, reusing the status dictionary of the previous copy.
+     */
+    private static final class Builder {
+        int size;
+        int visionSize;
+        long[] ids;
+        long[] versions;
+        long[] parentIds;
+        long[] ownerIds;
+        long[] strategyIds;
+        long[] plannedBudgets;
+        long[] actualCosts;
+        int[] amountMask;
+        double[] progress;
+        int[] startDays;
+        int[] endDays;
+        int[] planningStatus;
+        int[] progressStatus;
+        long[] priorityIds;
+        long[] statusIds;
+        int[] visionOffsets;
+        int[] visionValues = new int[16];
+        final List<String> codes;
+        final Map<String, Integer> codeIndex = new HashMap<>();
+
+        Builder(int capacity, List<String> codes) {
+            ids = new long[capacity];
+            versions = new long[capacity];
+            parentIds = new long[capacity];
+            ownerIds = new long[capacity];
+            strategyIds = new long[capacity];
+            plannedBudgets = new long[capacity];
+            actualCosts = new long[capacity];
+            amountMask = new int[capacity];
+            progress = new double[capacity];
+            startDays = new int[capacity];
+            endDays = new int[capacity];
+            planningStatus = new int[capacity];
+            progressStatus = new int[capacity];
+            priorityIds = new long[capacity];
+            statusIds = new long[capacity];
+            visionOffsets = new int[capacity + 1];
+            this.codes = new ArrayList<>(codes);
+            for (int i = 0; i < codes.size(); i++) {
+                codeIndex.put(codes.get(i), i);
+            }
+        }
+
+        void add(ProjectFactRow row) {
+            int i = size++;
+            ids[i] = row.getId();
+            versions[i] = row.getVersion();
+            parentIds[i] = orNone(row.getParentId());
+            ownerIds[i] = orNone(row.getOwnerId());
+            strategyIds[i] = orNone(row.getStrategyId());
+            plannedBudgets[i] = row.getPlannedTotalBudget() == null ? 0 : Money.round(row.getPlannedTotalBudget()).minorUnits();
+            actualCosts[i] = row.getActualCost() == null ? 0 : Money.round(row.getActualCost()).minorUnits();
+            amountMask[i] = (row.getPlannedTotalBudget() == null ? 0 : PLANNED) | (row.getActualCost() == null ? 0 : ACTUAL);
+            progress[i] = row.getCalculatedProgressPercent() == null ? Double.NaN : row.getCalculatedProgressPercent().doubleValue();
+            startDays[i] = Timeline.toEpochDay(row.getStartDate());
+            endDays[i] = Timeline.toEpochDay(row.getEndDate());
+            planningStatus[i] = code(row.getPlanningStatusCode());
+            progressStatus[i] = code(row.getProgressStatusCode());
+            priorityIds[i] = row.getPriorityId() == null ? NONE : row.getPriorityId();
+            statusIds[i] = row.getStatusId() == null ? NONE : row.getStatusId();
+            for (int priority : SqlArrayUtils.parseIntArray(row.getVisionPriorities())) {
+                addVisionPriority(priority);
+            }
+            visionOffsets[i + 1] = visionSize;
+        }
+
+        void copy(Facts from, int row) {
+            int i = size++;
+            ids[i] = from.ids[row];
+            versions[i] = from.versions[row];
+            parentIds[i] = from.parentIds[row];
+            ownerIds[i] = from.ownerIds[row];
+            strategyIds[i] = from.strategyIds[row];
+            plannedBudgets[i] = from.plannedBudgets[row];
+            actualCosts[i] = from.actualCosts[row];
+            amountMask[i] = from.amountMask[row];
+            progress[i] = from.progress[row];
+            startDays[i] = from.startDays[row];
+            endDays[i] = from.endDays[row];
+            planningStatus[i] = from.planningStatus[row];
+            progressStatus[i] = from.progressStatus[row];
+            priorityIds[i] = from.priorityIds[row];
+            statusIds[i] = from.statusIds[row];
+            for (int v = from.visionOffsets[row]; v < from.visionOffsets[row + 1]; v++) {
+                addVisionPriority(from.visionValues[v]);
+            }
+            visionOffsets[i + 1] = visionSize;
+        }
+
+        Facts build(String upperWatermark, String projectWatermark) {
+            return new Facts(this, upperWatermark, projectWatermark);
+        }
+
+        private void addVisionPriority(int priority) {
+            if (visionSize == visionValues.length) {
+                visionValues = Arrays.copyOf(visionValues, visionSize * 2);
+            }
+            visionValues[visionSize++] = priority;
+        }
+
+        private int code(String status) {
+            if (status == null || status.isBlank()) {
+                return NO_CODE;
+            }
+            return codeIndex.computeIfAbsent(status.trim().toUpperCase(Locale.ROOT), c -> {
+                codes.add(c);
+                return codes.size() - 1;
+            });
+        }
+
+        private static long orNone(Long value) {
+            return value == null ? NONE : value;
+        }
+    }
+
+    private static final class Accumulator {
+        int count;
+        int valueCount;
+        long minorUnits;
+        double total;
+
+        void add(Facts facts, int row, Measure measure) {
+            count++;
+            switch (measure) {
+                case PLANNED_BUDGET -> addAmount(facts.plannedBudgets[row], (facts.amountMask[row] & PLANNED) != 0);
+                case ACTUAL_COST -> addAmount(facts.actualCosts[row], (facts.amountMask[row] & ACTUAL) != 0);
+                case PROGRESS -> {
+                    if (!Double.isNaN(facts.progress[row])) {
+                        valueCount++;
+                        total += facts.progress[row];
+                    }
+                }
+            }
+        }
+
+        private void addAmount(long amount, boolean present) {
+            if (present) {
+                valueCount++;
+                minorUnits = Math.addExact(minorUnits, amount);
+            }
+        }
+
+        Group toGroup(String key, Measure measure) {
+            if (measure == Measure.PROGRESS) {
+                return new Group(key, count, valueCount, BigDecimal.valueOf(total).setScale(2, RoundingMode.HALF_UP),
+                        valueCount == 0 ? null : BigDecimal.valueOf(total / valueCount).setScale(2, RoundingMode.HALF_UP));
+            }
+            BigDecimal sum = Money.toBigDecimal(minorUnits);
+            BigDecimal average = valueCount == 0 ? null
+                    : sum.divide(BigDecimal.valueOf(valueCount), 2, RoundingMode.HALF_UP);
+            return new Group(key, count, valueCount, sum, average);
+        }
+    }
+}
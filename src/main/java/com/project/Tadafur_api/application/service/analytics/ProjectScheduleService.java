@@ -0,0 +1,91 @@
+package com.project.Tadafur_api.application.service.analytics;
+
+import com.project.Tadafur_api.application.dto.analytics.OverdueProjectsDto;
+import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository;
+import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository.LocalizedProjectName;
+import com.project.Tadafur_api.domain.strategy.service.ScheduleEngine;
+import com.project.Tadafur_api.domain.strategy.valueobject.Timeline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Schedule analytics over the whole project portfolio.
+ *
+ * Every project's timeline is held in memory as {@link ScheduleEngine.Columns}, so that a
+ * report is a few passes over primitive arrays rather than a query. The columns come from
+ * the {@link ProjectFactStore}, which keeps them current.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProjectScheduleService {
+
+    public static final int MAX_OVERDUE_LIMIT = 1000;
+
+    private final ProjectRepository projectRepository;
+    private final ProjectFactStore projectFactStore;
+
+    /**
+     * @param ownerId      if set, only that owner's projects are counted and listed.
+     * @param minDelayDays only projects at least this many days overdue are listed.
+     * @param limit        the maximum number of projects to list, most overdue first
+     *                     (ties by id).
+     * @throws IllegalArgumentException if minDelayDays is below 1 or the limit is out of range.
+     */
+    public OverdueProjectsDto getOverdueProjects(Long ownerId, int minDelayDays, int limit, String lang) {
+        if (minDelayDays < 1) {
+            throw new IllegalArgumentException("minDelayDays must be at least 1.");
+        }
+        if (limit < 0 || limit > MAX_OVERDUE_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 0 and " + MAX_OVERDUE_LIMIT + ".");
+        }
+        ScheduleEngine.Columns loaded = projectFactStore.scheduleColumns();
+        LocalDate asOf = LocalDate.now();
+        int today = Timeline.toEpochDay(asOf);
+
+        int[] delays = new int[loaded.size()];
+        ScheduleEngine.delayDays(loaded, today, delays);
+        ScheduleEngine.Summary summary = ownerId == null
+                ? ScheduleEngine.summarize(delays)
+                : ScheduleEngine.summarize(loaded, delays, ownerId);
+
+        List<Integer> overdue = new ArrayList<>();
+        for (int i = 0; i < delays.length; i++) {
+            if (delays[i] >= minDelayDays && (ownerId == null || loaded.ownedBy(i, ownerId))) {
+                overdue.add(i);
+            }
+        }
+        overdue.sort(Comparator.<Integer>comparingInt(i -> -delays[i]).thenComparingLong(loaded::id));
+        List<Integer> listed = overdue.subList(0, Math.min(limit, overdue.size()));
+
+        Map<Long, String> names = listed.isEmpty() ? Map.of()
+                : projectRepository.getLocalizedProjectNames(listed.stream().map(loaded::id).toList(), lang).stream()
+                        .collect(HashMap::new, (map, n) -> map.put(n.getId(), n.getName()), HashMap::putAll);
+        List<OverdueProjectsDto.OverdueProject> projects = listed.stream()
+                .map(i -> {
+                    Timeline timeline = loaded.timeline(i);
+                    return OverdueProjectsDto.OverdueProject.builder()
+                            .projectId(loaded.id(i))
+                            .projectName(Optional.ofNullable(names.get(loaded.id(i))).orElse("Unknown Project"))
+                            .ownerId(loaded.ownerId(i))
+                            .startDate(timeline.startDate())
+                            .endDate(timeline.endDate())
+                            .delayDays(delays[i])
+                            .percentTimeElapsed(timeline.isScheduled() ? Math.round(timeline.percentTimeElapsed(today) * 100) / 100.0 : null)
+                            .build();
+                })
+                .collect(Collectors.toList());
+
+        return OverdueProjectsDto.builder()
+                .asOf(asOf)
+                .projectCount(summary.projectCount())
+                .delayedProjectCount(summary.delayedProjectCount())
+                .averageDelayDays(summary.averageDelayDays())
+                .maxDelayDays(summary.maxDelayDays())
+                .projects(projects)
+                .build();
+    }
+}
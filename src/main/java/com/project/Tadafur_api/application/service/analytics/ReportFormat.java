@@ -0,0 +1,39 @@
+package com.project.Tadafur_api.application.service.analytics;
+
+import com.project.Tadafur_api.shared.util.CsvReportWriter;
+import com.project.Tadafur_api.shared.util.ReportRowWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * The file formats a report can be written in.
+ */
+public enum ReportFormat {
+
+    CSV("csv", "text/csv; charset=UTF-8"),
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private final String extension;
+    private final String contentType;
+
+    ReportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    ReportRowWriter open(OutputStream out) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvReportWriter(out);
+            case XLSX -> new XlsxReportWriter(out);
+        };
+    }
+}
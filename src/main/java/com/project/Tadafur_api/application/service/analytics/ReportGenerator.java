@@ -0,0 +1,109 @@
+package com.project.Tadafur_api.application.service.analytics;
+
+import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository;
+import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository.LocalizedProjectPaymentDetails;
+import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository.PortfolioStatusRow;
+import com.project.Tadafur_api.domain.strategy.repository.ProjectWorkItemRepository;
+import com.project.Tadafur_api.domain.strategy.repository.ProjectWorkItemRepository.WorkItemStatusRow;
+import com.project.Tadafur_api.shared.util.ReportRowWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Writes the reports from database cursors. Rows go straight from the cursor to the
+ * writer, so memory use does not depend on the size of the report.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ReportGenerator {
+
+    private final ProjectRepository projectRepository;
+    private final ProjectWorkItemRepository workItemRepository;
+
+    /**
+     * The filters of a report; the ones that do not apply to the type are ignored.
+     */
+    public record Criteria(Long ownerId, Long strategyId, Long projectId, String lang) {
+    }
+
+    /**
+     * Number of data rows {@link #generate} will write, for progress reporting.
+     */
+    public long countRows(ReportType type, Criteria criteria) {
+        return switch (type) {
+            case PORTFOLIO_STATUS -> projectRepository.countPortfolioStatusRows(criteria.ownerId(), criteria.strategyId());
+            case SPENDING_BY_PROJECT -> projectRepository.countLocalizedProjectPaymentDetails(criteria.projectId(), criteria.ownerId());
+            case WORK_ITEM_STATUS -> workItemRepository.countWorkItemStatusRows(criteria.projectId(), criteria.ownerId());
+        };
+    }
+
+    /**
+     * Writes the header and the rows, adding each row to {@code rowsWritten}. Stops with an
+     * {@link InterruptedIOException} when the thread is interrupted.
+     */
+    public void generate(ReportType type, ReportFormat format, Criteria criteria, OutputStream out,
+                         AtomicLong rowsWritten) throws IOException {
+        try (ReportRowWriter writer = format.open(out)) {
+            writer.writeHeader(type.columns());
+            switch (type) {
+                case PORTFOLIO_STATUS -> {
+                    try (Stream<PortfolioStatusRow> rows = projectRepository.streamPortfolioStatusRows(
+                            criteria.ownerId(), criteria.strategyId(), criteria.lang())) {
+                        Iterator<PortfolioStatusRow> iterator = rows.iterator();
+                        while (iterator.hasNext()) {
+                            PortfolioStatusRow row = iterator.next();
+                            writer.writeRow(row.getProjectId(), row.getProjectName(), row.getStrategyId(), row.getOwnerId(),
+                                    row.getStartDate(), row.getEndDate(), row.getPlanningStatusCode(),
+                                    row.getProgressStatusCode(), row.getCalculatedProgressPercent(),
+                                    row.getPlannedTotalBudget(), row.getActualCost(), row.getTotalPayments());
+                            advance(rowsWritten);
+                        }
+                    }
+                }
+                case SPENDING_BY_PROJECT -> {
+                    try (Stream<LocalizedProjectPaymentDetails> rows = projectRepository.streamLocalizedProjectPaymentDetails(
+                            criteria.projectId(), criteria.ownerId(), criteria.lang())) {
+                        Iterator<LocalizedProjectPaymentDetails> iterator = rows.iterator();
+                        while (iterator.hasNext()) {
+                            LocalizedProjectPaymentDetails row = iterator.next();
+                            writer.writeRow(row.getProjectId(), row.getProjectName(), row.getPlannedTotalBudget(),
+                                    row.getPaymentId(), row.getPaymentDate(), row.getPaymentAmount(),
+                                    row.getPaymentCreatedBy(), row.getPaymentCreatedAt());
+                            advance(rowsWritten);
+                        }
+                    }
+                }
+                case WORK_ITEM_STATUS -> {
+                    try (Stream<WorkItemStatusRow> rows = workItemRepository.streamWorkItemStatusRows(
+                            criteria.projectId(), criteria.ownerId(), criteria.lang())) {
+                        Iterator<WorkItemStatusRow> iterator = rows.iterator();
+                        while (iterator.hasNext()) {
+                            WorkItemStatusRow row = iterator.next();
+                            writer.writeRow(row.getWorkItemId(), row.getWorkItemName(), row.getProjectId(),
+                                    row.getProjectName(), row.getParentId(), row.getStatusId(), row.getPriorityId(),
+                                    row.getAssigneeUserId(), row.getPlannedStartDate(), row.getPlannedDueDate(),
+                                    row.getActualStartDate(), row.getActualDueDate(), row.getProgressPercent());
+                            advance(rowsWritten);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void advance(AtomicLong rowsWritten) throws InterruptedIOException {
+        rowsWritten.incrementAndGet();
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Report generation was cancelled");
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.project.Tadafur_api.application.service.analytics;
+
+import com.project.Tadafur_api.application.dto.analytics.ReportJobDto;
+import com.project.Tadafur_api.application.dto.analytics.ReportJobDto.Status;
+import com.project.Tadafur_api.application.dto.analytics.ReportRequestDto;
+import com.project.Tadafur_api.shared.exception.BusinessValidationException;
+import com.project.Tadafur_api.shared.exception.ResourceNotFoundException;
+import com.project.Tadafur_api.shared.util.EnumUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Runs report generation as background jobs.
+ *
+ * At most {@code app.reporting.max-concurrent-jobs} reports are generated at once, each
+ * holding one database connection, and at most {@code app.reporting.queue-capacity} wait
+ * for a thread; further submissions are rejected. Reports are written to files under
+ * {@code app.reporting.directory} and kept for {@code app.reporting.retention-ms} after
+ * the job finishes. The jobs themselves are only kept in memory, so the job files left from
+ * a previous run are deleted on startup; other files in the directory are left alone.
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final String PARTIAL_SUFFIX = ".part";
+    /** The names of the files a job writes: its UUID with the partial or a format's suffix. */
+    private static final Pattern JOB_FILE = Pattern.compile(
+            "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\.(part|csv|xlsx)");
+
+    private final ReportGenerator reportGenerator;
+    private final Path directory;
+    private final long retentionMillis;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    public ReportJobService(ReportGenerator reportGenerator,
+                            @Value("${app.reporting.directory:${java.io.tmpdir}/tadafur-reports}") String directory,
+                            @Value("${app.reporting.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                            @Value("${app.reporting.queue-capacity:20}") int queueCapacity,
+                            @Value("${app.reporting.retention-ms:3600000}") long retentionMillis) {
+        this.reportGenerator = reportGenerator;
+        this.directory = Path.of(directory);
+        this.retentionMillis = retentionMillis;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+            Thread thread = new Thread(task, "report-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * The file of a completed report.
+     */
+    public record ReportFile(Path path, String fileName, String contentType, long sizeBytes) {
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (JOB_FILE.matcher(file.getFileName().toString()).matches() && Files.isRegularFile(file)) {
+                    deleteQuietly(file);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues a report.
+     *
+     * @throws IllegalArgumentException   for an unknown type or format.
+     * @throws RejectedExecutionException when the queue is full.
+     */
+    public ReportJobDto submit(ReportRequestDto request) {
+        ReportType type = EnumUtils.parse(ReportType.class, "type", request.getType());
+        ReportFormat format = request.getFormat() == null || request.getFormat().isBlank()
+                ? ReportFormat.CSV
+                : EnumUtils.parse(ReportFormat.class, "format", request.getFormat());
+        String lang = request.getLang() == null || request.getLang().isBlank() ? "en" : request.getLang();
+        ReportGenerator.Criteria criteria =
+                new ReportGenerator.Criteria(request.getOwnerId(), request.getStrategyId(), request.getProjectId(), lang);
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), type, format, criteria);
+        jobs.put(job.id, job);
+        try {
+            job.future = executor.submit(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new RejectedExecutionException("Too many reports are being generated. Please try again later.", e);
+        }
+        log.info("Queued {} report {} as {}", type, job.id, format);
+        return toDto(job);
+    }
+
+    public ReportJobDto getJob(String id) {
+        return toDto(require(id));
+    }
+
+    /**
+     * @throws BusinessValidationException if the report is not completed.
+     */
+    public ReportFile getFile(String id) {
+        ReportJob job = require(id);
+        synchronized (job) {
+            if (job.status != Status.COMPLETED) {
+                throw new BusinessValidationException("Report " + id + " is " + job.status + ", not COMPLETED.");
+            }
+            return new ReportFile(job.file, job.fileName(), job.format.contentType(), job.sizeBytes);
+        }
+    }
+
+    /**
+     * Cancels the job if it has not finished, and deletes it and its file.
+     */
+    public void delete(String id) {
+        ReportJob job = require(id);
+        synchronized (job) {
+            if (job.status == Status.QUEUED || job.status == Status.RUNNING) {
+                job.finish(Status.CANCELLED, null);
+            }
+        }
+        Future<?> future = job.future;
+        if (future != null) {
+            future.cancel(true);
+            executor.purge();
+        }
+        jobs.remove(id);
+        if (job.file != null) {
+            deleteQuietly(job.file);
+        }
+        log.info("Deleted report {}", id);
+    }
+
+    @Scheduled(fixedDelayString = "${app.reporting.cleanup-interval-ms:60000}")
+    void purgeExpired() {
+        Instant now = Instant.now();
+        jobs.values().removeIf(job -> {
+            Instant expiresAt = job.expiresAt();
+            if (expiresAt == null || expiresAt.isAfter(now)) {
+                return false;
+            }
+            if (job.file != null) {
+                deleteQuietly(job.file);
+            }
+            return true;
+        });
+    }
+
+    private void run(ReportJob job) {
+        synchronized (job) {
+            if (job.status != Status.QUEUED) {
+                return;
+            }
+            job.status = Status.RUNNING;
+            job.startedAt = Instant.now();
+        }
+        Path partial = directory.resolve(job.id + PARTIAL_SUFFIX);
+        try {
+            job.totalRows = reportGenerator.countRows(job.type, job.criteria);
+            try (OutputStream out = Files.newOutputStream(partial)) {
+                reportGenerator.generate(job.type, job.format, job.criteria, out, job.rowsWritten);
+            }
+            Path file = Files.move(partial, directory.resolve(job.id + "." + job.format.extension()),
+                    StandardCopyOption.REPLACE_EXISTING);
+            synchronized (job) {
+                if (job.status == Status.CANCELLED) {
+                    deleteQuietly(file);
+                    return;
+                }
+                job.file = file;
+                job.sizeBytes = Files.size(file);
+                job.finish(Status.COMPLETED, null);
+            }
+            log.info("Generated report {} with {} rows", job.id, job.rowsWritten.get());
+        } catch (Exception e) {
+            deleteQuietly(partial);
+            synchronized (job) {
+                if (job.status == Status.CANCELLED) {
+                    return;
+                }
+                if (e instanceof InterruptedIOException || Thread.currentThread().isInterrupted()) {
+                    job.finish(Status.CANCELLED, null);
+                    return;
+                }
+                log.error("Report {} failed", job.id, e);
+                job.finish(Status.FAILED, "The report could not be generated.");
+            }
+        }
+    }
+
+    private ReportJob require(String id) {
+        ReportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Report job", "id", id);
+        }
+        return job;
+    }
+
+    private ReportJobDto toDto(ReportJob job) {
+        synchronized (job) {
+            long written = job.rowsWritten.get();
+            Double percent = null;
+            if (job.status == Status.COMPLETED) {
+                percent = 100.0;
+            } else if (job.totalRows != null) {
+                percent = job.totalRows == 0 ? 0.0 : Math.min(100.0, Math.round(written * 1000.0 / job.totalRows) / 10.0);
+            }
+            return ReportJobDto.builder()
+                    .id(job.id)
+                    .type(job.type.fileStem())
+                    .format(job.format.extension())
+                    .status(job.status)
+                    .rowsWritten(written)
+                    .totalRows(job.totalRows)
+                    .percentComplete(percent)
+                    .submittedAt(job.submittedAt)
+                    .startedAt(job.startedAt)
+                    .finishedAt(job.finishedAt)
+                    .expiresAt(job.expiresAt())
+                    .fileName(job.status == Status.COMPLETED ? job.fileName() : null)
+                    .sizeBytes(job.status == Status.COMPLETED ? job.sizeBytes : null)
+                    .error(job.error)
+                    .build();
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report file {}", file, e);
+        }
+    }
+
+    /**
+     * A job and its state; the state is guarded by the job's monitor, except for the row
+     * counter, which the generating thread updates without locking.
+     */
+    private final class ReportJob {
+        private final String id;
+        private final ReportType type;
+        private final ReportFormat format;
+        private final ReportGenerator.Criteria criteria;
+        private final Instant submittedAt = Instant.now();
+        private final AtomicLong rowsWritten = new AtomicLong();
+        private volatile Future<?> future;
+        private volatile Long totalRows;
+        private Status status = Status.QUEUED;
+        private Instant startedAt;
+        private Instant finishedAt;
+        private Path file;
+        private Long sizeBytes;
+        private String error;
+
+        private ReportJob(String id, ReportType type, ReportFormat format, ReportGenerator.Criteria criteria) {
+            this.id = id;
+            this.type = type;
+            this.format = format;
+            this.criteria = criteria;
+        }
+
+        private void finish(Status status, String error) {
+            this.status = status;
+            this.error = error;
+            this.finishedAt = Instant.now();
+        }
+
+        private synchronized Instant expiresAt() {
+            return finishedAt == null ? null : finishedAt.plusMillis(retentionMillis);
+        }
+
+        private String fileName() {
+            return type.fileStem() + "-" + FILE_TIMESTAMP.format(submittedAt) + "." + format.extension();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.project.Tadafur_api.application.service.analytics;
+
+import java.util.List;
+
+/**
+ * The reports that can be generated, with the columns of each.
+ */
+public enum ReportType {
+
+    PORTFOLIO_STATUS("portfolio-status", List.of(
+            "Project ID", "Project", "Strategy ID", "Owner ID", "Start Date", "End Date", "Planning Status",
+            "Progress Status", "Progress %", "Planned Budget", "Actual Cost", "Total Payments")),
+
+    SPENDING_BY_PROJECT("spending-by-project", List.of(
+            "Project ID", "Project", "Planned Budget", "Payment ID", "Payment Date", "Amount", "Created By", "Created At")),
+
+    WORK_ITEM_STATUS("work-item-status", List.of(
+            "Work Item ID", "Work Item", "Project ID", "Project", "Parent ID", "Status ID", "Priority ID", "Assignee ID",
+            "Planned Start", "Planned Due", "Actual Start", "Actual Due", "Progress %"));
+
+    private final String fileStem;
+    private final List<String> columns;
+
+    ReportType(String fileStem, List<String> columns) {
+        this.fileStem = fileStem;
+        this.columns = columns;
+    }
+
+    public String fileStem() {
+        return fileStem;
+    }
+
+    public List<String> columns() {
+        return columns;
+    }
+}
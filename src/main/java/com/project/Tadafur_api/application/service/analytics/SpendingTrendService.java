@@ -0,0 +1,243 @@
+package com.project.Tadafur_api.application.service.analytics;
+
+import com.project.Tadafur_api.application.dto.analytics.ProjectSpendingTrendDto;
+import com.project.Tadafur_api.domain.strategy.repository.BudgetPaymentRepository;
+import com.project.Tadafur_api.domain.strategy.repository.BudgetPaymentRepository.SpendBucket;
+import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository;
+import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository.SpendPlanRow;
+import com.project.Tadafur_api.domain.strategy.valueobject.Money;
+import com.project.Tadafur_api.shared.util.EnumUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Builds cumulative spend curves for projects, initiatives or strategies.
+ *
+ * Payments are summed per time bucket in SQL ({@code date_trunc}), so only one row per
+ * entity and bucket is transferred, and both queries are restricted in SQL to the first
+ * {@code limit} entities. The running totals are then accumulated in a
+ * {@code long[]} of {@link Money} minor units, and so is the planned curve, which spreads
+ * each project's planned budget evenly over its start..end dates and is accumulated from
+ * a per-day slope difference array in a single walk over the days.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class SpendingTrendService {
+
+    public static final int MAX_LIMIT = 1000;
+
+    private final BudgetPaymentRepository budgetPaymentRepository;
+    private final ProjectRepository projectRepository;
+
+    public enum Level {
+        PROJECT, INITIATIVE, STRATEGY
+    }
+
+    public enum Granularity {
+        DAY, WEEK, MONTH;
+
+        LocalDate truncate(LocalDate date) {
+            return switch (this) {
+                case DAY -> date;
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+            };
+        }
+
+        LocalDate next(LocalDate bucket) {
+            return switch (this) {
+                case DAY -> bucket.plusDays(1);
+                case WEEK -> bucket.plusWeeks(1);
+                case MONTH -> bucket.plusMonths(1);
+            };
+        }
+
+        String sqlField() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * @param maxPoints if set, each curve is down-sampled to at most this many evenly
+     *                  spaced points; the last point is always kept.
+     * @param limit     the maximum number of curves, the lowest ids first.
+     * @throws IllegalArgumentException for an unknown level or granularity, a maxPoints
+     *                                  below 2 or a limit out of range.
+     */
+    public List<ProjectSpendingTrendDto> getSpendingTrends(String level, Long id, Long ownerId, String granularity,
+                                                           Integer maxPoints, int limit, String lang) {
+        Level parsedLevel = EnumUtils.parse(Level.class, "level", level);
+        Granularity parsedGranularity = EnumUtils.parse(Granularity.class, "granularity", granularity);
+        if (maxPoints != null && maxPoints < 2) {
+            throw new IllegalArgumentException("maxPoints must be at least 2.");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        log.info("Building {} spending trends per {} for id: {} and ownerId: {}", parsedGranularity, parsedLevel, id, ownerId);
+
+        String field = parsedGranularity.sqlField();
+        List<SpendPlanRow> plan;
+        List<SpendBucket> buckets;
+        switch (parsedLevel) {
+            case PROJECT -> {
+                plan = projectRepository.getProjectSpendPlan(id, ownerId, limit, lang);
+                buckets = budgetPaymentRepository.getProjectSpendBuckets(id, ownerId, limit, field);
+            }
+            case INITIATIVE -> {
+                plan = projectRepository.getInitiativeSpendPlan(id, ownerId, limit, lang);
+                buckets = budgetPaymentRepository.getInitiativeSpendBuckets(id, ownerId, limit, field);
+            }
+            default -> {
+                plan = projectRepository.getStrategySpendPlan(id, ownerId, limit, lang);
+                buckets = budgetPaymentRepository.getStrategySpendBuckets(id, ownerId, limit, field);
+            }
+        }
+
+        // The plan rows are ordered by entity id, so the curves come out lowest id first.
+        Map<Long, List<SpendPlanRow>> planByEntity = new LinkedHashMap<>();
+        for (SpendPlanRow row : plan) {
+            planByEntity.computeIfAbsent(row.getEntityId(), k -> new ArrayList<>()).add(row);
+        }
+        Map<Long, List<SpendBucket>> bucketsByEntity = buckets.stream()
+                .filter(b -> b.getEntityId() != null)
+                .collect(Collectors.groupingBy(SpendBucket::getEntityId));
+
+        return planByEntity.entrySet().stream()
+                .map(e -> buildTrend(parsedLevel, parsedGranularity, e.getKey(), e.getValue(),
+                        bucketsByEntity.getOrDefault(e.getKey(), List.of()), maxPoints))
+                .collect(Collectors.toList());
+    }
+
+    private ProjectSpendingTrendDto buildTrend(Level level, Granularity granularity, Long entityId,
+                                               List<SpendPlanRow> projects, List<SpendBucket> spend, Integer maxPoints) {
+        Money.Accumulator plannedTotal = Money.accumulator();
+        for (SpendPlanRow project : projects) {
+            if (project.getPlannedTotalBudget() != null) {
+                plannedTotal.add(Money.round(project.getPlannedTotalBudget()));
+            }
+        }
+        List<SpendPlanRow> scheduled = projects.stream()
+                .filter(p -> p.getPlannedTotalBudget() != null && p.getStartDate() != null && p.getEndDate() != null
+                        && !p.getEndDate().isBefore(p.getStartDate()))
+                .toList();
+
+        // The series runs from the first to the last bucket touched by a payment or a schedule.
+        LocalDate min = null;
+        LocalDate max = null;
+        for (SpendBucket bucket : spend) {
+            min = min == null || bucket.getBucket().isBefore(min) ? bucket.getBucket() : min;
+            max = max == null || bucket.getBucket().isAfter(max) ? bucket.getBucket() : max;
+        }
+        for (SpendPlanRow project : scheduled) {
+            min = min == null || project.getStartDate().isBefore(min) ? project.getStartDate() : min;
+            max = max == null || project.getEndDate().isAfter(max) ? project.getEndDate() : max;
+        }
+
+        ProjectSpendingTrendDto.ProjectSpendingTrendDtoBuilder trend = ProjectSpendingTrendDto.builder()
+                .level(level.name().toLowerCase(Locale.ROOT))
+                .id(entityId)
+                .name(projects.get(0).getEntityName())
+                .granularity(granularity.sqlField())
+                .plannedTotalBudget(plannedTotal.toBigDecimal());
+        if (min == null) {
+            return trend.totalSpend(Money.ZERO.toBigDecimal()).dataPoints(List.of()).build();
+        }
+
+        List<LocalDate> starts = new ArrayList<>();
+        for (LocalDate bucket = granularity.truncate(min); !bucket.isAfter(max); bucket = granularity.next(bucket)) {
+            starts.add(bucket);
+        }
+        int n = starts.size();
+        LocalDate seriesEnd = granularity.next(starts.get(n - 1)).minusDays(1);
+
+        long[] actual = new long[n];
+        int i = 0;
+        for (SpendBucket bucket : spend) {
+            while (starts.get(i).isBefore(bucket.getBucket())) i++;
+            if (bucket.getAmount() != null) {
+                actual[i] = Math.addExact(actual[i], Money.round(bucket.getAmount()).minorUnits());
+            }
+        }
+        for (i = 1; i < n; i++) {
+            actual[i] = Math.addExact(actual[i], actual[i - 1]);
+        }
+
+        long[] planned = scheduled.isEmpty() ? null : plannedCurve(scheduled, starts, granularity, seriesEnd);
+
+        List<ProjectSpendingTrendDto.DataPoint> points = new ArrayList<>();
+        for (int index : sampleIndices(n, maxPoints)) {
+            points.add(ProjectSpendingTrendDto.DataPoint.builder()
+                    .date(starts.get(index))
+                    .cumulativeActualSpend(Money.toBigDecimal(actual[index]))
+                    .cumulativePlannedSpend(planned == null ? null : Money.toBigDecimal(planned[index]))
+                    .build());
+        }
+        return trend
+                .totalSpend(Money.toBigDecimal(actual[n - 1]))
+                .dataPoints(points)
+                .build();
+    }
+
+    /**
+     * Cumulative planned spend at the end of every bucket, in minor units. Each project adds
+     * a constant daily rate from its start date through its end date, with the remainder of
+     * the division spread one minor unit per day over its first days, so a project's curve
+     * ends at exactly its planned budget. The rate changes are recorded in a difference
+     * array and integrated twice while walking the days once.
+     */
+    private static long[] plannedCurve(List<SpendPlanRow> projects, List<LocalDate> starts,
+                                       Granularity granularity, LocalDate seriesEnd) {
+        long firstDay = starts.get(0).toEpochDay();
+        int days = (int) (seriesEnd.toEpochDay() - firstDay + 1);
+        long[] rateChange = new long[days + 1];
+        for (SpendPlanRow project : projects) {
+            int from = (int) (project.getStartDate().toEpochDay() - firstDay);
+            int to = (int) (project.getEndDate().toEpochDay() - firstDay);
+            long budget = Money.round(project.getPlannedTotalBudget()).minorUnits();
+            int length = to - from + 1;
+            long rate = Math.floorDiv(budget, length);
+            int remainder = Math.floorMod(budget, length);
+            rateChange[from] = Math.addExact(rateChange[from], rate);
+            rateChange[to + 1] = Math.subtractExact(rateChange[to + 1], rate);
+            rateChange[from]++;
+            rateChange[from + remainder]--;
+        }
+
+        long[] cumulative = new long[starts.size()];
+        long rate = 0;
+        long total = 0;
+        int bucket = 0;
+        long bucketEnd = granularity.next(starts.get(0)).toEpochDay() - firstDay - 1;
+        for (int day = 0; day < days; day++) {
+            rate = Math.addExact(rate, rateChange[day]);
+            total = Math.addExact(total, rate);
+            if (day == bucketEnd) {
+                cumulative[bucket++] = total;
+                if (bucket < starts.size()) {
+                    bucketEnd = granularity.next(starts.get(bucket)).toEpochDay() - firstDay - 1;
+                }
+            }
+        }
+        return cumulative;
+    }
+
+    private static int[] sampleIndices(int n, Integer maxPoints) {
+        int count = maxPoints == null ? n : Math.min(n, maxPoints);
+        int[] indices = new int[count];
+        for (int k = 0; k < count; k++) {
+            indices[k] = count == 1 ? n - 1 : (int) ((long) k * (n - 1) / (count - 1));
+        }
+        return indices;
+    }
+}
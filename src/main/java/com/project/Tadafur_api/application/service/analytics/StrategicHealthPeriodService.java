@@ -0,0 +1,291 @@
+package com.project.Tadafur_api.application.service.analytics;
+
+import com.project.Tadafur_api.application.dto.analytics.StrategicHealthDto;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository.StrategyHealthDayBucket;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository.StrategyPaymentDayBucket;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Table;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Watermarks;
+import com.project.Tadafur_api.domain.strategy.valueobject.Money;
+import com.project.Tadafur_api.shared.exception.ResourceNotFoundException;
+import com.project.Tadafur_api.shared.util.MultilingualUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Strategic health for bounded date ranges, computed from in-memory monthly buckets.
+ *
+ * A project belongs to a period when its end date falls inside it, and a payment when its
+ * payment date does. Both are loaded once, pre-grouped by strategy, owner and day, and
+ * arranged into month buckets that carry the totals of the whole month (overall and per
+ * owner) next to their day rows. A range sums the whole months it covers and only walks the
+ * day rows of the partial months at its edges. Delays are measured against today, from the
+ * open-project count and the sum of their end dates, so the buckets stay valid across days.
+ *
+ * The buckets are reloaded when the hierarchy or payment tables change, as seen by
+ * {@link TableWatermarks}.
+ */
+@Service
+@Slf4j
+public class StrategicHealthPeriodService implements TableWatermarks.Listener {
+
+    private static final Set<Table> SOURCES = EnumSet.of(Table.STRATEGY, Table.PERSPECTIVE, Table.GOAL,
+            Table.PROGRAM, Table.INITIATIVE, Table.PROJECT, Table.BUDGET_PAYMENT);
+
+    private final StrategyRepository strategyRepository;
+    private final TableWatermarks tableWatermarks;
+
+    private final Map<String, Map<Long, String>> namesByLanguage = new ConcurrentHashMap<>();
+    private volatile Map<Long, NavigableMap<YearMonth, MonthBucket>> bucketsByStrategy;
+    private volatile String watermark;
+
+    public StrategicHealthPeriodService(StrategyRepository strategyRepository, TableWatermarks tableWatermarks) {
+        this.strategyRepository = strategyRepository;
+        this.tableWatermarks = tableWatermarks;
+    }
+
+    /**
+     * Health of every strategy with projects due or payments made in the range, ordered by
+     * strategy id. Strategies with payments but no projects due are reported as "No Data".
+     */
+    public List<StrategicHealthDto> getStrategicHealth(AnalyticsDateRange range, Long ownerId, String lang) {
+        Map<Long, NavigableMap<YearMonth, MonthBucket>> buckets = buckets();
+        Map<Long, String> names = names(lang);
+        LocalDate today = LocalDate.now();
+        List<StrategicHealthDto> result = new ArrayList<>();
+        buckets.forEach((strategyId, months) -> {
+            PeriodTotals totals = sum(months, range, ownerId, today);
+            if (totals.projectCount > 0 || totals.paymentCount > 0) {
+                result.add(toDto(strategyId, names.get(strategyId), totals, range));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @throws ResourceNotFoundException if the strategy does not exist.
+     */
+    public StrategicHealthDto getStrategicHealthForStrategy(Long strategyId, AnalyticsDateRange range, String lang) {
+        Map<Long, String> names = names(lang);
+        if (!names.containsKey(strategyId)) {
+            throw new ResourceNotFoundException("Strategy", "id", strategyId);
+        }
+        NavigableMap<YearMonth, MonthBucket> months = buckets().getOrDefault(strategyId, Collections.emptyNavigableMap());
+        return toDto(strategyId, names.get(strategyId), sum(months, range, null, LocalDate.now()), range);
+    }
+
+    @Override
+    public void onWatermarks(Watermarks watermarks) {
+        try {
+            String current = watermarks.of(SOURCES);
+            if (!current.equals(watermark)) {
+                load(current);
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not refresh strategic health buckets; keeping the loaded ones", e);
+        }
+    }
+
+    private Map<Long, NavigableMap<YearMonth, MonthBucket>> buckets() {
+        Map<Long, NavigableMap<YearMonth, MonthBucket>> loaded = bucketsByStrategy;
+        if (loaded != null) {
+            return loaded;
+        }
+        synchronized (this) {
+            if (bucketsByStrategy == null) {
+                load(tableWatermarks.current().of(SOURCES));
+            }
+            return bucketsByStrategy;
+        }
+    }
+
+    /**
+     * The language is normalized first, so that the cache holds one map per supported language.
+     */
+    private Map<Long, String> names(String lang) {
+        return namesByLanguage.computeIfAbsent(MultilingualUtils.validateLanguage(lang), l -> strategyRepository.getLocalizedStrategyNames(l).stream()
+                .collect(HashMap::new, (map, n) -> map.put(n.getId(), n.getName()), HashMap::putAll));
+    }
+
+    /**
+     * The watermark is read before the buckets, so that a change committed while loading
+     * triggers another load on the next refresh.
+     */
+    private synchronized void load(String sourceWatermark) {
+        log.info("Loading strategic health day buckets");
+        Map<Long, NavigableMap<YearMonth, MonthBucket>> loaded = new TreeMap<>();
+        for (StrategyHealthDayBucket row : strategyRepository.getStrategyHealthDayBuckets()) {
+            DayTotals day = new DayTotals(row.getDay(), row.getOwnerId());
+            day.projectCount = row.getProjectCount();
+            day.progressSum = row.getProgressSum();
+            day.plannedBudget = Money.round(row.getPlannedBudget()).minorUnits();
+            day.actualCost = Money.round(row.getActualCost()).minorUnits();
+            day.openProjectCount = row.getOpenProjectCount();
+            day.criticalProjectCount = row.getCriticalProjectCount();
+            month(loaded, row.getStrategyId(), row.getDay()).add(day);
+        }
+        for (StrategyPaymentDayBucket row : strategyRepository.getStrategyPaymentDayBuckets()) {
+            DayTotals day = new DayTotals(row.getDay(), row.getOwnerId());
+            day.paymentCount = row.getPaymentCount();
+            day.payments = Money.round(row.getAmount()).minorUnits();
+            month(loaded, row.getStrategyId(), row.getDay()).add(day);
+        }
+        long dayRows = loaded.values().stream().flatMap(m -> m.values().stream()).mapToLong(m -> m.days.size()).sum();
+        log.info("Loaded {} day rows for {} strategies", dayRows, loaded.size());
+
+        bucketsByStrategy = Collections.unmodifiableMap(loaded);
+        namesByLanguage.clear();
+        watermark = sourceWatermark;
+    }
+
+    private static MonthBucket month(Map<Long, NavigableMap<YearMonth, MonthBucket>> buckets, Long strategyId, LocalDate day) {
+        return buckets.computeIfAbsent(strategyId, id -> new TreeMap<>())
+                .computeIfAbsent(YearMonth.from(day), MonthBucket::new);
+    }
+
+    private static PeriodTotals sum(NavigableMap<YearMonth, MonthBucket> months, AnalyticsDateRange range,
+                                    Long ownerId, LocalDate today) {
+        PeriodTotals totals = new PeriodTotals(today.toEpochDay());
+        for (MonthBucket month : months.subMap(YearMonth.from(range.from()), true, YearMonth.from(range.to()), true).values()) {
+            boolean inside = !month.firstDay.isBefore(range.from()) && !month.lastDay.isAfter(range.to());
+            boolean clearOfToday = month.lastDay.isBefore(today) || month.firstDay.isAfter(today);
+            if (inside && clearOfToday) {
+                MonthTotals monthTotals = ownerId == null ? month.all : month.byOwner.get(ownerId);
+                if (monthTotals != null) {
+                    totals.addMonth(monthTotals, month.lastDay.isBefore(today));
+                }
+            } else {
+                for (DayTotals day : month.days) {
+                    if (range.contains(day.day) && (ownerId == null || ownerId.equals(day.ownerId))) {
+                        totals.addDay(day);
+                    }
+                }
+            }
+        }
+        return totals;
+    }
+
+    private static StrategicHealthDto toDto(Long strategyId, String name, PeriodTotals totals, AnalyticsDateRange range) {
+        StrategicHealthDto dto;
+        if (totals.projectCount > 0) {
+            dto = AnalyticsService.buildHealthDto(strategyId, name, totals.projectCount, totals.progressSum,
+                    Money.ofMinorUnits(totals.plannedBudget), Money.ofMinorUnits(totals.actualCost), totals.delayedProjectCount, totals.totalDelayDays,
+                    totals.criticalProjectCount > 0);
+        } else {
+            dto = StrategicHealthDto.builder()
+                    .strategyId(strategyId)
+                    .strategyName(Optional.ofNullable(name).orElse("Unknown Strategy"))
+                    .healthStatus("No Data")
+                    .build();
+        }
+        dto.setPaymentsInPeriod(Money.toBigDecimal(totals.payments));
+        dto.setPeriodFrom(range.from());
+        dto.setPeriodTo(range.to());
+        return dto;
+    }
+
+    /**
+     * Project and payment totals shared by day rows and month totals. Amounts are in
+     * {@link Money} minor units.
+     */
+    private static class Totals {
+        long projectCount;
+        BigDecimal progressSum = BigDecimal.ZERO;
+        long plannedBudget;
+        long actualCost;
+        long openProjectCount;
+        long criticalProjectCount;
+        long paymentCount;
+        long payments;
+
+        void add(Totals other) {
+            projectCount += other.projectCount;
+            progressSum = progressSum.add(other.progressSum);
+            plannedBudget = Math.addExact(plannedBudget, other.plannedBudget);
+            actualCost = Math.addExact(actualCost, other.actualCost);
+            openProjectCount += other.openProjectCount;
+            criticalProjectCount += other.criticalProjectCount;
+            paymentCount += other.paymentCount;
+            payments = Math.addExact(payments, other.payments);
+        }
+    }
+
+    /**
+     * The totals of one strategy, owner and day.
+     */
+    private static final class DayTotals extends Totals {
+        final LocalDate day;
+        final Long ownerId;
+
+        DayTotals(LocalDate day, Long ownerId) {
+            this.day = day;
+            this.ownerId = ownerId;
+        }
+    }
+
+    /**
+     * Month totals also keep the sum of the open projects' end dates (as epoch days), so
+     * that their total delay against any later date is one multiplication away.
+     */
+    private static final class MonthTotals extends Totals {
+        long openEndEpochDaySum;
+
+        void add(DayTotals day) {
+            super.add(day);
+            openEndEpochDaySum += day.openProjectCount * day.day.toEpochDay();
+        }
+    }
+
+    private static final class MonthBucket {
+        final LocalDate firstDay;
+        final LocalDate lastDay;
+        final MonthTotals all = new MonthTotals();
+        final Map<Long, MonthTotals> byOwner = new HashMap<>();
+        final List<DayTotals> days = new ArrayList<>();
+
+        MonthBucket(YearMonth month) {
+            this.firstDay = month.atDay(1);
+            this.lastDay = month.atEndOfMonth();
+        }
+
+        void add(DayTotals day) {
+            days.add(day);
+            all.add(day);
+            byOwner.computeIfAbsent(day.ownerId, id -> new MonthTotals()).add(day);
+        }
+    }
+
+    private static final class PeriodTotals extends Totals {
+        final long todayEpochDay;
+        long delayedProjectCount;
+        long totalDelayDays;
+
+        PeriodTotals(long todayEpochDay) {
+            this.todayEpochDay = todayEpochDay;
+        }
+
+        void addMonth(MonthTotals month, boolean beforeToday) {
+            add(month);
+            if (beforeToday) {
+                delayedProjectCount += month.openProjectCount;
+                totalDelayDays += month.openProjectCount * todayEpochDay - month.openEndEpochDaySum;
+            }
+        }
+
+        void addDay(DayTotals day) {
+            add(day);
+            long endEpochDay = day.day.toEpochDay();
+            if (endEpochDay < todayEpochDay) {
+                delayedProjectCount += day.openProjectCount;
+                totalDelayDays += day.openProjectCount * (todayEpochDay - endEpochDay);
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.project.Tadafur_api.application.service.analytics;
+
+import com.project.Tadafur_api.application.dto.analytics.StrategicHealthDto;
+import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository.StrategyChangeFingerprint;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Table;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Watermarks;
+import com.project.Tadafur_api.shared.util.MultilingualUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Serves strategic health from in-memory snapshots instead of recomputing it on every request.
+ *
+ * A snapshot holds the {@link StrategicHealthDto} of every strategy for one owner filter and
+ * language. It is built the first time that combination is requested and then kept current on
+ * every {@link TableWatermarks} tick. When the hierarchy tables changed, the per-strategy change
+ * fingerprints (see {@link StrategyRepository#getStrategyChangeFingerprints()}) are compared
+ * with the ones each snapshot was built from and only the strategies that differ are
+ * recomputed; otherwise the snapshots are just marked verified. Delays depend on the current
+ * date, so a snapshot is rebuilt in full when the day changes. Snapshots that have not been
+ * read for the idle timeout are dropped, except the unfiltered English one, which is kept warm.
+ *
+ * Every snapshot is re-checked on each tick, so the number of them is bounded: the language
+ * is normalized to a supported one, an owner without projects gets an empty list without a
+ * snapshot, and once {@code app.analytics.health-snapshot.max-snapshots} exist the least
+ * recently read one is dropped to make room.
+ */
+@Service
+@Slf4j
+public class StrategicHealthSnapshotService implements TableWatermarks.Listener {
+
+    private static final SnapshotKey DEFAULT_KEY = new SnapshotKey(null, "en");
+
+    private final AnalyticsService analyticsService;
+    private final StrategyRepository strategyRepository;
+    private final ProjectRepository projectRepository;
+    private final long idleTimeoutMillis;
+    private final int maxSnapshots;
+
+    private final Map<SnapshotKey, Entry> entries = new ConcurrentHashMap<>();
+    /** The hierarchy watermark at which the fingerprints were last compared. */
+    private volatile String comparedWatermark;
+
+    public StrategicHealthSnapshotService(AnalyticsService analyticsService,
+                                          StrategyRepository strategyRepository,
+                                          ProjectRepository projectRepository,
+                                          @Value("${app.analytics.health-snapshot.idle-timeout-ms:3600000}") long idleTimeoutMillis,
+                                          @Value("${app.analytics.health-snapshot.max-snapshots:100}") int maxSnapshots) {
+        this.analyticsService = analyticsService;
+        this.strategyRepository = strategyRepository;
+        this.projectRepository = projectRepository;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxSnapshots = Math.max(1, maxSnapshots);
+    }
+
+    /**
+     * Health data together with the times its snapshot was last rebuilt and last verified
+     * against the database.
+     */
+    public record HealthSnapshot<T>(T data, Instant builtAt, Instant verifiedAt) {
+
+        /**
+         * Seconds since the snapshot was last known to match the database.
+         */
+        public long ageSeconds() {
+            return Math.max(0, Duration.between(verifiedAt, Instant.now()).getSeconds());
+        }
+    }
+
+    /**
+     * An {@code ownerId} that owns no projects gets an empty list, and no snapshot is kept for it.
+     */
+    public HealthSnapshot<List<StrategicHealthDto>> getStrategicHealth(Long ownerId, String lang) {
+        SnapshotKey key = new SnapshotKey(ownerId, MultilingualUtils.validateLanguage(lang));
+        if (ownerId != null && !entries.containsKey(key) && !projectRepository.existsByOwnerId(ownerId)) {
+            Instant now = Instant.now();
+            return new HealthSnapshot<>(List.of(), now, now);
+        }
+        State state = read(key);
+        return new HealthSnapshot<>(List.copyOf(state.byStrategyId().values()), state.builtAt(), state.verifiedAt());
+    }
+
+    /**
+     * Strategies without projects are not part of any snapshot; for those the live
+     * result ("No Data", or 404 for an unknown id) is returned.
+     */
+    public HealthSnapshot<StrategicHealthDto> getStrategicHealthForStrategy(Long strategyId, String lang) {
+        State state = read(new SnapshotKey(null, MultilingualUtils.validateLanguage(lang)));
+        StrategicHealthDto health = state.byStrategyId().get(strategyId);
+        if (health == null) {
+            Instant now = Instant.now();
+            return new HealthSnapshot<>(analyticsService.getStrategicHealthForSingleStrategy(strategyId, "current", lang), now, now);
+        }
+        return new HealthSnapshot<>(health, state.builtAt(), state.verifiedAt());
+    }
+
+    @Override
+    public void onWatermarks(Watermarks watermarks) {
+        long nowMillis = System.currentTimeMillis();
+        entries.entrySet().removeIf(e -> !e.getKey().equals(DEFAULT_KEY)
+                && nowMillis - e.getValue().lastReadMillis > idleTimeoutMillis);
+        String watermark = watermarks.of(Table.HIERARCHY);
+        Map<Long, String> fingerprints;
+        try {
+            if (!entries.containsKey(DEFAULT_KEY)) {
+                read(DEFAULT_KEY);
+                comparedWatermark = watermark;
+                return;
+            }
+            // Unchanged tables mean unchanged fingerprints, so each snapshot keeps its own.
+            fingerprints = watermark.equals(comparedWatermark) ? null : loadFingerprints();
+        } catch (RuntimeException e) {
+            log.error("Could not read strategy change fingerprints; keeping current health snapshots", e);
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        entries.forEach((key, entry) -> {
+            try {
+                State state = entry.state;
+                entry.state = refresh(key, state, fingerprints != null ? fingerprints : state.fingerprints(), today);
+            } catch (RuntimeException e) {
+                log.error("Could not refresh strategic health snapshot for {}", key, e);
+            }
+        });
+        comparedWatermark = watermark;
+    }
+
+    /**
+     * A missing snapshot is built outside the map, so that its queries do not hold up
+     * reads of other keys. Two concurrent first reads may both build it; one of them wins.
+     */
+    private State read(SnapshotKey key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            Entry built = new Entry(build(key, loadFingerprints(), LocalDate.now()));
+            makeRoom();
+            entry = entries.putIfAbsent(key, built);
+            if (entry == null) {
+                entry = built;
+            }
+        }
+        entry.lastReadMillis = System.currentTimeMillis();
+        return entry.state;
+    }
+
+    private void makeRoom() {
+        while (entries.size() >= maxSnapshots) {
+            Optional<SnapshotKey> leastRecentlyRead = entries.entrySet().stream()
+                    .filter(e -> !e.getKey().equals(DEFAULT_KEY))
+                    .min(Comparator.comparingLong(e -> e.getValue().lastReadMillis))
+                    .map(Map.Entry::getKey);
+            if (leastRecentlyRead.isEmpty()) {
+                return;
+            }
+            log.info("Dropping strategic health snapshot for {} to stay within {} snapshots",
+                    leastRecentlyRead.get(), maxSnapshots);
+            entries.remove(leastRecentlyRead.get());
+        }
+    }
+
+    /**
+     * The fingerprints must be read before the health rows, so that any change committed in
+     * between shows up as a difference on the next refresh.
+     */
+    private State build(SnapshotKey key, Map<Long, String> fingerprints, LocalDate today) {
+        log.info("Building strategic health snapshot for {}", key);
+        Map<Long, StrategicHealthDto> byStrategyId = new TreeMap<>();
+        analyticsService.computeStrategicHealth(key.ownerId(), key.lang(), today)
+                .forEach(health -> byStrategyId.put(health.getStrategyId(), health));
+        Instant now = Instant.now();
+        return new State(Collections.unmodifiableMap(byStrategyId), fingerprints, today, now, now);
+    }
+
+    private State refresh(SnapshotKey key, State state, Map<Long, String> fingerprints, LocalDate today) {
+        if (!state.asOf().equals(today)) {
+            return build(key, fingerprints, today);
+        }
+
+        Set<Long> removed = new HashSet<>(state.fingerprints().keySet());
+        removed.removeAll(fingerprints.keySet());
+        Set<Long> changed = fingerprints.entrySet().stream()
+                .filter(e -> !e.getValue().equals(state.fingerprints().get(e.getKey())))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+        Instant now = Instant.now();
+        if (removed.isEmpty() && changed.isEmpty()) {
+            return new State(state.byStrategyId(), fingerprints, today, state.builtAt(), now);
+        }
+
+        log.info("Refreshing strategic health snapshot for {}: {} changed, {} removed strategies",
+                key, changed.size(), removed.size());
+        Map<Long, StrategicHealthDto> byStrategyId = new TreeMap<>(state.byStrategyId());
+        byStrategyId.keySet().removeAll(removed);
+        byStrategyId.keySet().removeAll(changed);
+        analyticsService.computeStrategicHealth(changed, key.ownerId(), key.lang(), today)
+                .forEach(health -> byStrategyId.put(health.getStrategyId(), health));
+        return new State(Collections.unmodifiableMap(byStrategyId), fingerprints, today, now, now);
+    }
+
+    private Map<Long, String> loadFingerprints() {
+        return strategyRepository.getStrategyChangeFingerprints().stream()
+                .collect(Collectors.toUnmodifiableMap(StrategyChangeFingerprint::getStrategyId,
+                        StrategyChangeFingerprint::getFingerprint));
+    }
+
+    private record SnapshotKey(Long ownerId, String lang) {
+    }
+
+    /**
+     * An immutable snapshot and the fingerprints it is known to be consistent with.
+     */
+    private record State(Map<Long, StrategicHealthDto> byStrategyId,
+                         Map<Long, String> fingerprints,
+                         LocalDate asOf,
+                         Instant builtAt,
+                         Instant verifiedAt) {
+    }
+
+    private static final class Entry {
+        private volatile State state;
+        private volatile long lastReadMillis;
+
+        private Entry(State state) {
+            this.state = state;
+            this.lastReadMillis = System.currentTimeMillis();
+        }
+    }
+}
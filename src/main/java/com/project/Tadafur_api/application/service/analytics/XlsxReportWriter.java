@@ -0,0 +1,205 @@
+package com.project.Tadafur_api.application.service.analytics;
+
+import com.project.Tadafur_api.shared.util.ReportRowWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * An XLSX workbook written as a stream: the sheet XML is deflated into the zip as the rows
+ * arrive, and the small parts of the package that list the sheets are added on close.
+ *
+ * A sheet holds at most 1,048,576 rows, so a report that reaches the limit continues on a
+ * new sheet ("Report 2", "Report 3", ...), which starts with the header row again.
+ *
+ * Text is written as inline strings rather than through a shared string table, which
+ * would have to be held in memory until the end. Dates and timestamps are written as ISO
+ * text, since the workbook has no number formats, and numbers as plain numeric cells. The
+ * package still has a minimal style sheet with the default font and cell format, which some
+ * spreadsheet applications require.
+ */
+final class XlsxReportWriter implements ReportRowWriter {
+
+    private static final String SHEET_START = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <worksheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main"><sheetData>""";
+
+    private static final String SHEET_END = "</sheetData></worksheet>";
+
+    private static final String CONTENT_TYPES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+            <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+            <Default Extension="xml" ContentType="application/xml"/>\
+            <Override PartName="/xl/workbook.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+            <Override PartName="/xl/styles.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml"/>\
+            %s</Types>""";
+
+    private static final String SHEET_CONTENT_TYPE = "<Override PartName=\"/xl/worksheets/sheet%d.xml\" "
+            + "ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>";
+
+    private static final String ROOT_RELATIONSHIPS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>\
+            </Relationships>""";
+
+    private static final String WORKBOOK = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+            xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+            <sheets>%s</sheets></workbook>""";
+
+    private static final String SHEET = "<sheet name=\"%s\" sheetId=\"%d\" r:id=\"rId%d\"/>";
+
+    private static final String WORKBOOK_RELATIONSHIPS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="styles" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles" Target="styles.xml"/>\
+            %s</Relationships>""";
+
+    private static final String SHEET_RELATIONSHIP = "<Relationship Id=\"rId%d\" "
+            + "Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" "
+            + "Target=\"worksheets/sheet%d.xml\"/>";
+
+    private static final String STYLES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <styleSheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">\
+            <fonts count="1"><font><sz val="11"/><name val="Calibri"/></font></fonts>\
+            <fills count="2"><fill><patternFill patternType="none"/></fill><fill><patternFill patternType="gray125"/></fill></fills>\
+            <borders count="1"><border><left/><right/><top/><bottom/><diagonal/></border></borders>\
+            <cellStyleXfs count="1"><xf numFmtId="0" fontId="0" fillId="0" borderId="0"/></cellStyleXfs>\
+            <cellXfs count="1"><xf numFmtId="0" fontId="0" fillId="0" borderId="0" xfId="0"/></cellXfs>\
+            <cellStyles count="1"><cellStyle name="Normal" xfId="0" builtinId="0"/></cellStyles>\
+            </styleSheet>""";
+
+    /** The most rows a sheet can hold. */
+    static final int MAX_ROWS_PER_SHEET = 1_048_576;
+
+    private final ZipOutputStream zip;
+    private final Writer writer;
+    private final int maxRowsPerSheet;
+    private Object[] header;
+    private int sheetCount;
+    private int rowNumber;
+
+    XlsxReportWriter(OutputStream out) throws IOException {
+        this(out, MAX_ROWS_PER_SHEET);
+    }
+
+    XlsxReportWriter(OutputStream out, int maxRowsPerSheet) throws IOException {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        this.writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+        this.maxRowsPerSheet = maxRowsPerSheet;
+        startSheet();
+    }
+
+    @Override
+    public void writeHeader(List<String> columns) throws IOException {
+        header = columns.toArray();
+        writeRow(header);
+    }
+
+    @Override
+    public void writeRow(Object... cells) throws IOException {
+        if (rowNumber == maxRowsPerSheet) {
+            endSheet();
+            startSheet();
+            if (header != null) {
+                writeRow(header);
+            }
+        }
+        rowNumber++;
+        writer.write("<row r=\"");
+        writer.write(Integer.toString(rowNumber));
+        writer.write("\">");
+        for (Object cell : cells) {
+            writeCell(cell);
+        }
+        writer.write("</row>");
+    }
+
+    private void writeCell(Object cell) throws IOException {
+        if (cell == null) {
+            writer.write("<c/>");
+            return;
+        }
+        if (cell instanceof Number number) {
+            writer.write("<c><v>");
+            writer.write(number instanceof BigDecimal decimal ? decimal.toPlainString() : number.toString());
+            writer.write("</v></c>");
+            return;
+        }
+        writer.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+        writeEscaped(cell.toString());
+        writer.write("</t></is></c>");
+    }
+
+    /**
+     * Escapes the XML markup characters and drops the control characters XML 1.0 does
+     * not allow.
+     */
+    private void writeEscaped(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> writer.write("&amp;");
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                default -> {
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private void startSheet() throws IOException {
+        sheetCount++;
+        rowNumber = 0;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet" + sheetCount + ".xml"));
+        writer.write(SHEET_START);
+    }
+
+    private void endSheet() throws IOException {
+        writer.write(SHEET_END);
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    @Override
+    public void close() throws IOException {
+        endSheet();
+        StringBuilder contentTypes = new StringBuilder();
+        StringBuilder sheets = new StringBuilder();
+        StringBuilder relationships = new StringBuilder();
+        for (int sheet = 1; sheet <= sheetCount; sheet++) {
+            String name = sheet == 1 ? "Report" : "Report " + sheet;
+            contentTypes.append(SHEET_CONTENT_TYPE.formatted(sheet));
+            sheets.append(SHEET.formatted(name, sheet, sheet));
+            relationships.append(SHEET_RELATIONSHIP.formatted(sheet, sheet));
+        }
+        writeEntry("[Content_Types].xml", CONTENT_TYPES.formatted(contentTypes));
+        writeEntry("_rels/.rels", ROOT_RELATIONSHIPS);
+        writeEntry("xl/workbook.xml", WORKBOOK.formatted(sheets));
+        writeEntry("xl/_rels/workbook.xml.rels", WORKBOOK_RELATIONSHIPS.formatted(relationships));
+        writeEntry("xl/styles.xml", STYLES);
+        writer.close();
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content);
+        writer.flush();
+        zip.closeEntry();
+    }
+}
@@ -0,0 +1,74 @@
+package com.project.Tadafur_api.application.service.strategy;
+
+import com.project.Tadafur_api.application.dto.common.BatchResultDto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Loads a list of entities by id for the multi-get endpoints.
+ *
+ * The ids are deduplicated and read with {@code IN} queries of at most
+ * {@value #CHUNK_SIZE} ids, well under the Postgres limit of 32767 bind parameters per
+ * statement, so a request costs one query per chunk instead of one HTTP round trip per id.
+ * Each entity is mapped once however often its id is repeated, and the results keep the
+ * order of the request.
+ */
+@Component
+class BatchLoader {
+
+    static final int MAX_IDS = 5000;
+    private static final int CHUNK_SIZE = 1000;
+
+    /**
+     * Must be called inside a transaction.
+     *
+     * @throws IllegalArgumentException if {@code ids} is empty, holds a null or more than
+     *                                  {@value #MAX_IDS} distinct ids.
+     */
+    <E, D> BatchResultDto<D> load(JpaRepository<E, Long> repository, List<Long> ids, Function<E, Long> idOf,
+                                  Function<E, D> mapper) {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one id is required.");
+        }
+        Set<Long> requested = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null) {
+                throw new IllegalArgumentException("ids must be a comma-separated list of numbers.");
+            }
+            requested.add(id);
+        }
+        if (requested.size() > MAX_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_IDS + " ids can be requested at once.");
+        }
+
+        Map<Long, D> found = new HashMap<>(requested.size() * 2);
+        List<Long> chunk = new ArrayList<>(Math.min(CHUNK_SIZE, requested.size()));
+        for (Iterator<Long> it = requested.iterator(); it.hasNext(); ) {
+            chunk.add(it.next());
+            if (chunk.size() == CHUNK_SIZE || !it.hasNext()) {
+                for (E entity : repository.findAllById(chunk)) {
+                    found.put(idOf.apply(entity), mapper.apply(entity));
+                }
+                chunk.clear();
+            }
+        }
+
+        List<D> content = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            D dto = found.get(id);
+            if (dto != null) {
+                content.add(dto);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return BatchResultDto.<D>builder()
+                .content(content)
+                .missingIds(missingIds)
+                .build();
+    }
+}
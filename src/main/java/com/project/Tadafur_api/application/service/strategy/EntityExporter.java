@@ -0,0 +1,97 @@
+package com.project.Tadafur_api.application.service.strategy;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.Tadafur_api.shared.util.CsvReportWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes entities read from a database cursor as NDJSON or CSV, one line per entity.
+ * Each entity is detached from the persistence context once it has been written, so
+ * that neither the context nor the heap grows with the size of the table.
+ */
+@Component
+@RequiredArgsConstructor
+class EntityExporter {
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * A CSV column: its header and how to read it from the DTO.
+     */
+    record Column<D>(String header, Function<D, Object> value) {
+    }
+
+    /**
+     * Must be called inside a transaction; closes {@code entities} and {@code out}.
+     *
+     * @return the number of entities written.
+     */
+    <E, D> long export(Stream<E> entities, Function<E, D> mapper, List<Column<D>> columns,
+                       ExportFormat format, OutputStream out) throws IOException {
+        try (entities) {
+            Iterator<E> iterator = entities.iterator();
+            return format == ExportFormat.CSV
+                    ? writeCsv(iterator, mapper, columns, out)
+                    : writeNdjson(iterator, mapper, out);
+        }
+    }
+
+    private <E, D> long writeNdjson(Iterator<E> entities, Function<E, D> mapper, OutputStream out) throws IOException {
+        long count = 0;
+        // The generator buffers and flushes on close, not after every line.
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            while (entities.hasNext()) {
+                E entity = entities.next();
+                writer.writeValue(generator, mapper.apply(entity));
+                generator.writeRaw('\n');
+                entityManager.detach(entity);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private <E, D> long writeCsv(Iterator<E> entities, Function<E, D> mapper, List<Column<D>> columns,
+                                 OutputStream out) throws IOException {
+        long count = 0;
+        Object[] cells = new Object[columns.size()];
+        try (CsvReportWriter writer = new CsvReportWriter(out)) {
+            writer.writeHeader(columns.stream().map(Column::header).toList());
+            while (entities.hasNext()) {
+                E entity = entities.next();
+                D dto = mapper.apply(entity);
+                for (int i = 0; i < cells.length; i++) {
+                    cells[i] = columns.get(i).value().apply(dto);
+                }
+                writer.writeRow(cells);
+                entityManager.detach(entity);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * An integer array as one CSV cell, e.g. {@code 1;4;7}.
+     */
+    static String joinIds(int[] ids) {
+        return ids == null ? null : Arrays.stream(ids).mapToObj(Integer::toString).collect(Collectors.joining(";"));
+    }
+}
@@ -0,0 +1,174 @@
+package com.project.Tadafur_api.application.service.strategy;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import jakarta.persistence.metamodel.Attribute;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.beans.PropertyDescriptor;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reads only the requested fields of an entity into its response DTO (sparse fieldsets).
+ *
+ * The fields are selected as a tuple query, so only their columns are read and no entity
+ * is loaded, which also means Hibernate keeps no snapshot to dirty-check. The localized
+ * name and description are resolved in SQL, like in the native queries, instead of
+ * reading whole translation maps. A DTO field maps to the entity attribute of the same
+ * name; the fields that are not requested stay null and are left out of the JSON. The id
+ * is always included.
+ */
+@Component
+@RequiredArgsConstructor
+class FieldProjector {
+
+    private static final String ID = "id";
+    private static final String DEFAULT_LANG = "en";
+
+    /**
+     * The localized DTO fields and the translation attributes they are read from.
+     */
+    private static final Map<String, String> LOCALIZED = Map.of(
+            "name", "nameTranslations",
+            "description", "descriptionTranslations");
+
+    private final EntityManager entityManager;
+
+    private final Map<Class<?>, Set<String>> supportedFields = new ConcurrentHashMap<>();
+
+    /**
+     * Parses a comma-separated list of fields; null when {@code fields} is null or blank,
+     * which means the full DTO.
+     */
+    static Set<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> parsed = new LinkedHashSet<>();
+        parsed.add(ID);
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                parsed.add(field.trim());
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Reads {@code fields} of the entities matching {@code filter}, in id order. Must be
+     * called inside a transaction.
+     *
+     * @param fields the output of {@link #parse}.
+     * @throws IllegalArgumentException for a field the DTO does not have or that is not
+     *                                  read from a column.
+     */
+    <E, D> List<D> project(Class<E> entityClass, Specification<E> filter, Set<String> fields, Class<D> dtoClass,
+                           String lang) {
+        List<Tuple> rows = select(entityClass, filter, fields, dtoClass, lang, Sort.by(ID), null);
+        List<D> dtos = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            dtos.add(toDto(row, fields, dtoClass));
+        }
+        return dtos;
+    }
+
+    /**
+     * Reads {@code fields}, plus the properties of {@code sort} under their own names, of
+     * the entities matching {@code filter}, in {@code sort} order. Must be called inside a
+     * transaction.
+     *
+     * @param fields the output of {@link #parse}.
+     * @param limit  the maximum number of rows, or null for all.
+     * @throws IllegalArgumentException for a field the DTO does not have or that is not
+     *                                  read from a column.
+     */
+    <E> List<Tuple> select(Class<E> entityClass, Specification<E> filter, Set<String> fields, Class<?> dtoClass,
+                           String lang, Sort sort, Integer limit) {
+        Set<String> supported = supportedFields.computeIfAbsent(dtoClass,
+                type -> supportedFields(entityClass, type));
+        for (String field : fields) {
+            if (!supported.contains(field)) {
+                throw new IllegalArgumentException("Invalid field: " + field + ". Supported fields: "
+                        + String.join(", ", new TreeSet<>(supported)) + ".");
+            }
+        }
+        String languageCode = Optional.ofNullable(lang).orElse(DEFAULT_LANG);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<E> root = query.from(entityClass);
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            String translations = LOCALIZED.get(field);
+            Expression<?> column = translations == null
+                    ? root.get(field)
+                    : cb.coalesce(translated(cb, root.get(translations), languageCode),
+                    translated(cb, root.get(translations), DEFAULT_LANG));
+            selections.add(column.alias(field));
+        }
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Path<?> property = root.get(order.getProperty());
+            if (!fields.contains(order.getProperty())) {
+                selections.add(property.alias(order.getProperty()));
+            }
+            orders.add(order.isAscending() ? cb.asc(property) : cb.desc(property));
+        }
+        query.multiselect(selections);
+        Predicate predicate = filter == null ? null : filter.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(orders);
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (limit != null) {
+            typed.setMaxResults(limit);
+        }
+        return typed.getResultList();
+    }
+
+    /**
+     * A DTO with {@code fields} set from a row of {@link #select}.
+     */
+    <D> D toDto(Tuple row, Set<String> fields, Class<D> dtoClass) {
+        D dto = BeanUtils.instantiateClass(dtoClass);
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(dto);
+        for (String field : fields) {
+            wrapper.setPropertyValue(field, row.get(field));
+        }
+        return dto;
+    }
+
+    private static Expression<String> translated(CriteriaBuilder cb, Expression<?> translations, String lang) {
+        return cb.function("jsonb_extract_path_text", String.class, translations, cb.literal(lang));
+    }
+
+    /**
+     * The writable DTO properties that are either localized or an entity attribute.
+     */
+    private Set<String> supportedFields(Class<?> entityClass, Class<?> dtoClass) {
+        Set<String> attributes = entityManager.getMetamodel().entity(entityClass).getSingularAttributes().stream()
+                .map(Attribute::getName)
+                .collect(Collectors.toSet());
+        Set<String> supported = new HashSet<>();
+        for (PropertyDescriptor property : BeanUtils.getPropertyDescriptors(dtoClass)) {
+            String name = property.getName();
+            if (property.getWriteMethod() != null
+                    && (attributes.contains(name) || attributes.contains(LOCALIZED.get(name)))) {
+                supported.add(name);
+            }
+        }
+        return Collections.unmodifiableSet(supported);
+    }
+}
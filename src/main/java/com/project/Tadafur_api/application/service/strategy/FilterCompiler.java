@@ -0,0 +1,248 @@
+package com.project.Tadafur_api.application.service.strategy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.Tadafur_api.application.dto.common.FilterDto;
+import com.project.Tadafur_api.shared.util.EnumUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles a {@link FilterDto} into a JPA Criteria {@link Specification} over a hierarchy
+ * entity, with every value bound as a query parameter.
+ *
+ * Compiling a filter resolves its fields against the entity metamodel and checks that each
+ * operator fits the field type. That only depends on the filter's shape (its fields and
+ * operators), so the resolved terms are kept by shape and a repeated shape skips the
+ * metamodel lookups; this is a small saving, as the lookups are cheap. The conditions are
+ * put in a canonical order, with the key columns (id, owner and parent ids) and equality
+ * tests first: Postgres plans an AND independently of its order, but the same shape then
+ * always renders as the same SQL. Array conditions render as {@code @>} (contains-all) and
+ * {@code &&} (contains-any), which a GIN index on the column can serve.
+ */
+@Component
+@RequiredArgsConstructor
+class FilterCompiler {
+
+    private static final int MAX_CONDITIONS = 20;
+    private static final int MAX_VALUES = 1000;
+    private static final int MAX_CACHED_SHAPES = 500;
+
+    /**
+     * The columns that are expected to be indexed: the primary key and the foreign keys
+     * the list endpoints filter by.
+     */
+    private static final Set<String> KEY_FIELDS = Set.of("id", "ownerId", "parentId", "projectId", "assigneeUserId");
+
+    private static final Set<Class<?>> ORDERED_TYPES = Set.of(
+            Long.class, Integer.class, Double.class, BigDecimal.class, LocalDate.class, LocalDateTime.class);
+    private static final Set<Class<?>> DISCRETE_TYPES = Set.of(String.class, Boolean.class);
+
+    enum Operator {
+        // In the canonical order of the conditions.
+        EQ, IN, IS_NULL, BETWEEN, LT, LTE, GT, GTE, CONTAINS_ALL, CONTAINS_ANY, NE, IS_NOT_NULL;
+
+        static Operator parse(String op) {
+            return EnumUtils.parse(Operator.class, "op", op);
+        }
+
+        String label() {
+            return EnumUtils.label(this);
+        }
+    }
+
+    private enum Kind {
+        ORDERED(EnumSet.allOf(Operator.class)),
+        DISCRETE(EnumSet.of(Operator.EQ, Operator.NE, Operator.IN, Operator.IS_NULL, Operator.IS_NOT_NULL)),
+        ARRAY(EnumSet.of(Operator.CONTAINS_ANY, Operator.CONTAINS_ALL, Operator.IS_NULL, Operator.IS_NOT_NULL));
+
+        private final Set<Operator> operators;
+
+        Kind(Set<Operator> operators) {
+            this.operators = operators;
+        }
+    }
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, List<Term>> compiled = new ConcurrentHashMap<>();
+
+    /**
+     * @return the filter as a specification, or null when it has no conditions.
+     * @throws IllegalArgumentException for an unknown field or operator, an operator that
+     *                                  does not fit the field, or a missing or invalid value.
+     */
+    <E> Specification<E> compile(Class<E> entityClass, FilterDto filter) {
+        if (filter == null || filter.getConditions() == null || filter.getConditions().isEmpty()) {
+            return null;
+        }
+        if (filter.getConditions().size() > MAX_CONDITIONS) {
+            throw new IllegalArgumentException("A filter can have at most " + MAX_CONDITIONS + " conditions.");
+        }
+        List<Condition> conditions = filter.getConditions().stream()
+                .map(Condition::of)
+                .sorted(Comparator.comparing(Condition::rank)
+                        .thenComparing(Condition::op)
+                        .thenComparing(Condition::field))
+                .toList();
+        String signature = entityClass.getName() + conditions.stream()
+                .map(c -> c.field + ':' + c.op)
+                .collect(Collectors.joining(",", "[", "]"));
+        List<Term> terms = compiled.get(signature);
+        if (terms == null) {
+            terms = compileTerms(entityClass, conditions);
+            if (compiled.size() < MAX_CACHED_SHAPES) {
+                compiled.put(signature, terms);
+            }
+        }
+
+        List<Bound> bound = new ArrayList<>(terms.size());
+        for (int i = 0; i < terms.size(); i++) {
+            bound.add(bind(terms.get(i), conditions.get(i)));
+        }
+        return (root, query, cb) -> cb.and(bound.stream()
+                .map(b -> toPredicate(cb, root.get(b.term.field), b))
+                .toArray(Predicate[]::new));
+    }
+
+    private List<Term> compileTerms(Class<?> entityClass, List<Condition> conditions) {
+        EntityType<?> entity = entityManager.getMetamodel().entity(entityClass);
+        Map<String, Attribute<?, ?>> attributes = entity.getSingularAttributes().stream()
+                .filter(a -> kindOf(a.getJavaType()) != null)
+                .collect(Collectors.toMap(Attribute::getName, a -> a));
+        List<Term> terms = new ArrayList<>(conditions.size());
+        for (Condition condition : conditions) {
+            Attribute<?, ?> attribute = attributes.get(condition.field);
+            if (attribute == null) {
+                throw new IllegalArgumentException("Invalid filter field: " + condition.field + ". Supported fields: "
+                        + String.join(", ", new TreeSet<>(attributes.keySet())) + ".");
+            }
+            Kind kind = kindOf(attribute.getJavaType());
+            if (!kind.operators.contains(condition.op)) {
+                throw new IllegalArgumentException("The " + condition.op.label() + " op does not apply to "
+                        + condition.field + ". Supported ops: "
+                        + kind.operators.stream().map(Operator::label).collect(Collectors.joining(", ")) + ".");
+            }
+            Class<?> valueType = kind == Kind.ARRAY ? Integer.class : attribute.getJavaType();
+            terms.add(new Term(condition.field, condition.op, valueType));
+        }
+        return List.copyOf(terms);
+    }
+
+    private static Kind kindOf(Class<?> type) {
+        if (ORDERED_TYPES.contains(type)) return Kind.ORDERED;
+        if (DISCRETE_TYPES.contains(type)) return Kind.DISCRETE;
+        if (type == int[].class) return Kind.ARRAY;
+        return null;
+    }
+
+    /**
+     * Checks the number of values the operator takes and converts them to the field type.
+     */
+    private Bound bind(Term term, Condition condition) {
+        List<Object> values = condition.values;
+        boolean valid = switch (term.op) {
+            case IS_NULL, IS_NOT_NULL -> values.isEmpty();
+            case BETWEEN -> values.size() == 2;
+            case IN, CONTAINS_ANY, CONTAINS_ALL -> !values.isEmpty() && values.size() <= MAX_VALUES;
+            default -> values.size() == 1;
+        };
+        if (!valid) {
+            throw new IllegalArgumentException("Invalid number of values for " + term.field + " " + term.op.label()
+                    + ": " + values.size() + ".");
+        }
+        List<Object> converted = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (value == null) {
+                throw new IllegalArgumentException("Null value for " + term.field + " " + term.op.label()
+                        + ". Use is-null or is-not-null.");
+            }
+            try {
+                converted.add(objectMapper.convertValue(value, term.valueType));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid value for " + term.field + ": " + value + ".");
+            }
+        }
+        return new Bound(term, converted);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Predicate toPredicate(CriteriaBuilder cb, Path field, Bound bound) {
+        List<Object> values = bound.values;
+        Comparable first = values.isEmpty() ? null : (Comparable) values.get(0);
+        return switch (bound.term.op) {
+            case EQ -> cb.equal(field, first);
+            case NE -> cb.notEqual(field, first);
+            case IN -> field.in(values);
+            case LT -> cb.lessThan(field, first);
+            case LTE -> cb.lessThanOrEqualTo(field, first);
+            case GT -> cb.greaterThan(field, first);
+            case GTE -> cb.greaterThanOrEqualTo(field, first);
+            case BETWEEN -> cb.between(field, first, (Comparable) values.get(1));
+            case IS_NULL -> cb.isNull(field);
+            case IS_NOT_NULL -> cb.isNotNull(field);
+            case CONTAINS_ANY -> arrayTest(cb, "int_array_overlaps", field, values);
+            case CONTAINS_ALL -> arrayTest(cb, "int_array_contains", field, values);
+        };
+    }
+
+    /**
+     * {@code array @> values} or {@code array && values}, through the functions registered by
+     * ArrayFunctionContributor. The values are bound as one integer[] parameter; a literal
+     * would be rendered inline, which Hibernate cannot do for arrays.
+     */
+    private static Predicate arrayTest(CriteriaBuilder cb, String function, Expression<?> array, List<Object> values) {
+        int[] elements = values.stream().mapToInt(v -> (Integer) v).toArray();
+        return cb.isTrue(cb.function(function, Boolean.class, array, ((HibernateCriteriaBuilder) cb).value(elements)));
+    }
+
+    /**
+     * A condition of the request, with its operands in one list.
+     */
+    private record Condition(String field, Operator op, List<Object> values) {
+
+        static Condition of(FilterDto.Condition condition) {
+            if (condition == null || condition.getField() == null || condition.getField().isBlank()) {
+                throw new IllegalArgumentException("Every filter condition needs a field.");
+            }
+            List<Object> values = new ArrayList<>();
+            if (condition.getValue() != null) {
+                values.add(condition.getValue());
+            }
+            if (condition.getValues() != null) {
+                values.addAll(condition.getValues());
+            }
+            return new Condition(condition.getField().trim(), Operator.parse(condition.getOp()), values);
+        }
+
+        int rank() {
+            return KEY_FIELDS.contains(field) ? 0 : 1;
+        }
+    }
+
+    /**
+     * A compiled condition: the field resolved against the entity and the type its values
+     * are converted to.
+     */
+    private record Term(String field, Operator op, Class<?> valueType) {
+    }
+
+    private record Bound(Term term, List<Object> values) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.project.Tadafur_api.application.service.strategy;
+
+import com.project.Tadafur_api.application.dto.strategy.response.hierarchy.*;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository.FlatHierarchyResult;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Assembles the flat rows of {@code StrategyRepository.getLocalizedFlatHierarchy} into nested nodes
+ * in a single pass.
+ *
+ * The query sorts rows by strategy, perspective, goal, program, initiative and project id,
+ * so every node's rows are contiguous. The walker keeps only the ids of the currently open
+ * path and closes a node as soon as the id at its level changes. No intermediate maps or
+ * per-level row lists are built, and siblings always come out in id order.
+ */
+public final class FlatHierarchyAssembler {
+
+    /**
+     * The levels of a flat hierarchy row, from the root down.
+     */
+    public enum Level {
+        STRATEGY, PERSPECTIVE, GOAL, PROGRAM, INITIATIVE, PROJECT
+    }
+
+    /**
+     * Receives the nodes of the tree in depth-first order while the rows are walked.
+     * {@code name} is the value of the row's name column for that level.
+     */
+    public interface NodeVisitor {
+        void open(Level level, Long id, String name);
+
+        void close(Level level);
+    }
+
+    private static final Level[] LEVELS = Level.values();
+
+    private FlatHierarchyAssembler() {
+    }
+
+    /**
+     * Walks rows sorted by the hierarchy ids and reports every node exactly once.
+     * A null id ends the path for that row (the LEFT JOIN found no child).
+     */
+    public static void walk(Iterator<? extends FlatHierarchyResult> rows, NodeVisitor visitor) {
+        Long[] openIds = new Long[LEVELS.length];
+        int depth = 0;
+        while (rows.hasNext()) {
+            FlatHierarchyResult row = rows.next();
+
+            int common = 0;
+            while (common < depth && openIds[common].equals(idAt(row, LEVELS[common]))) {
+                common++;
+            }
+            while (depth > common) {
+                visitor.close(LEVELS[--depth]);
+            }
+            while (depth < LEVELS.length) {
+                Long id = idAt(row, LEVELS[depth]);
+                if (id == null) break;
+                visitor.open(LEVELS[depth], id, nameAt(row, LEVELS[depth]));
+                openIds[depth++] = id;
+            }
+        }
+        while (depth > 0) {
+            visitor.close(LEVELS[--depth]);
+        }
+    }
+
+    /**
+     * Builds the strategy DTO trees from sorted rows.
+     *
+     * @param nameResolver turns the name column into the display name.
+     */
+    public static List<StrategyHierarchyDto> assemble(Iterator<? extends FlatHierarchyResult> rows,
+                                                      Function<String, String> nameResolver) {
+        DtoBuilder builder = new DtoBuilder(nameResolver);
+        walk(rows, builder);
+        return builder.strategies;
+    }
+
+    private static Long idAt(FlatHierarchyResult row, Level level) {
+        return switch (level) {
+            case STRATEGY -> row.getStrategyId();
+            case PERSPECTIVE -> row.getPerspectiveId();
+            case GOAL -> row.getGoalId();
+            case PROGRAM -> row.getProgramId();
+            case INITIATIVE -> row.getInitiativeId();
+            case PROJECT -> row.getProjectId();
+        };
+    }
+
+    private static String nameAt(FlatHierarchyResult row, Level level) {
+        return switch (level) {
+            case STRATEGY -> row.getStrategyName();
+            case PERSPECTIVE -> row.getPerspectiveName();
+            case GOAL -> row.getGoalName();
+            case PROGRAM -> row.getProgramName();
+            case INITIATIVE -> row.getInitiativeName();
+            case PROJECT -> row.getProjectName();
+        };
+    }
+
+    /**
+     * Appends each opened node to the children of the node currently open one level up.
+     */
+    private static final class DtoBuilder implements NodeVisitor {
+
+        private final Function<String, String> nameResolver;
+        private final List<StrategyHierarchyDto> strategies = new ArrayList<>();
+
+        private StrategyHierarchyDto strategy;
+        private PerspectiveHierarchyDto perspective;
+        private GoalHierarchyDto goal;
+        private ProgramHierarchyDto program;
+        private InitiativeHierarchyDto initiative;
+
+        private DtoBuilder(Function<String, String> nameResolver) {
+            this.nameResolver = nameResolver;
+        }
+
+        @Override
+        public void open(Level level, Long id, String columnName) {
+            String name = nameResolver.apply(columnName);
+            switch (level) {
+                case STRATEGY -> {
+                    strategy = StrategyHierarchyDto.builder().id(id).name(name).perspectives(new ArrayList<>()).build();
+                    strategies.add(strategy);
+                }
+                case PERSPECTIVE -> {
+                    perspective = PerspectiveHierarchyDto.builder().id(id).name(name).goals(new ArrayList<>()).build();
+                    strategy.getPerspectives().add(perspective);
+                }
+                case GOAL -> {
+                    goal = GoalHierarchyDto.builder().id(id).name(name).programs(new ArrayList<>()).build();
+                    perspective.getGoals().add(goal);
+                }
+                case PROGRAM -> {
+                    program = ProgramHierarchyDto.builder().id(id).name(name).initiatives(new ArrayList<>()).build();
+                    goal.getPrograms().add(program);
+                }
+                case INITIATIVE -> {
+                    initiative = InitiativeHierarchyDto.builder().id(id).name(name).projects(new ArrayList<>()).build();
+                    program.getInitiatives().add(initiative);
+                }
+                case PROJECT -> initiative.getProjects().add(ProjectHierarchyDto.builder().id(id).name(name).build());
+            }
+        }
+
+        @Override
+        public void close(Level level) {
+            // Nodes are complete once appended; nothing to finish here.
+        }
+    }
+}
@@ -1,6 +1,9 @@
 // File: src/main/java/com/project/Tadafur_api/application/service/strategy/GoalService.java
 package com.project.Tadafur_api.application.service.strategy;
 
+import com.project.Tadafur_api.application.dto.common.BatchResultDto;
+import com.project.Tadafur_api.application.dto.common.FilterDto;
+import com.project.Tadafur_api.application.dto.common.KeysetPageDto;
 import com.project.Tadafur_api.application.dto.strategy.response.GoalResponseDto;
 import com.project.Tadafur_api.application.mapper.strategy.GoalMapper;
 import com.project.Tadafur_api.domain.strategy.entity.Goal;
@@ -8,6 +11,7 @@ import com.project.Tadafur_api.domain.strategy.repository.GoalRepository;
 import com.project.Tadafur_api.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +26,9 @@ public class GoalService {
 
     private final GoalRepository goalRepository;
     private final GoalMapper goalMapper;
+    private final KeysetPaginator keysetPaginator;
+    private final FilterCompiler filterCompiler;
+    private final BatchLoader batchLoader;
 
     /**
      * NEW METHOD: Gets goals based on an optional owner ID.
@@ -38,6 +45,30 @@ public class GoalService {
         return goalMapper.toResponseDtoList(goals, lang);
     }
 
+    /**
+     * Gets one keyset page of goals, optionally filtered by ownerId and perspectiveId.
+     * See {@link KeysetPaginator} for the size, sort and cursor parameters.
+     */
+    public KeysetPageDto<GoalResponseDto> getGoalPage(Long ownerId, Long perspectiveId, Integer size, String sort,
+                                                      String cursor, boolean includeTotal, String lang) {
+        log.info("Fetching a page of goals for ownerId: {}, perspectiveId: {}, sort: {}", ownerId, perspectiveId, sort);
+        Specification<Goal> filter = Specification.where(KeysetPaginator.<Goal>equal("ownerId", ownerId))
+                .and(KeysetPaginator.equal("parentId", perspectiveId));
+        return keysetPaginator.page(goalRepository, Goal.class, filter, size, sort, cursor, includeTotal,
+                entity -> goalMapper.toResponseDto(entity, lang));
+    }
+
+    /**
+     * Gets one keyset page of the goals matching {@code filter}. See {@link FilterCompiler}
+     * for the filter and {@link KeysetPaginator} for the other parameters.
+     */
+    public KeysetPageDto<GoalResponseDto> searchGoals(FilterDto filter, Integer size, String sort, String cursor,
+                                                      boolean includeTotal, String lang) {
+        log.info("Searching goals with filter: {}, sort: {}", filter, sort);
+        return keysetPaginator.page(goalRepository, Goal.class, filterCompiler.compile(Goal.class, filter),
+                size, sort, cursor, includeTotal, entity -> goalMapper.toResponseDto(entity, lang));
+    }
+
     /**
      * UNCHANGED METHOD: Gets a single goal by its ID.
      */
@@ -48,6 +79,15 @@ public class GoalService {
         return goalMapper.toResponseDto(goal, lang);
     }
 
+    /**
+     * Gets the goals with the given ids, in the order of {@code ids}; the ids that do
+     * not exist are returned as missing instead of failing the request.
+     */
+    public BatchResultDto<GoalResponseDto> getByIds(List<Long> ids, String lang) {
+        log.info("Fetching {} goals by id for language: {}", ids == null ? 0 : ids.size(), lang);
+        return batchLoader.load(goalRepository, ids, Goal::getId, entity -> goalMapper.toResponseDto(entity, lang));
+    }
+
     /**
      * UNCHANGED METHOD: Gets all goals belonging to a specific perspective.
      */
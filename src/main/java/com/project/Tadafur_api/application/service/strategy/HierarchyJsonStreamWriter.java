@@ -0,0 +1,73 @@
+package com.project.Tadafur_api.application.service.strategy;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.project.Tadafur_api.application.service.strategy.FlatHierarchyAssembler.Level;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+
+/**
+ * Writes the nodes reported by {@link FlatHierarchyAssembler#walk} straight to a
+ * {@link JsonGenerator}, producing the same JSON as serializing the
+ * {@code StrategyHierarchyDto} list would, without ever holding the tree in memory.
+ *
+ * The hierarchy DTOs use {@code NON_EMPTY} inclusion, so a children array is only
+ * started when the first child arrives and empty names are left out.
+ */
+class HierarchyJsonStreamWriter implements FlatHierarchyAssembler.NodeVisitor {
+
+    private final JsonGenerator generator;
+    private final Function<String, String> nameResolver;
+    private final boolean[] childrenStarted = new boolean[Level.values().length];
+
+    HierarchyJsonStreamWriter(JsonGenerator generator, Function<String, String> nameResolver) {
+        this.generator = generator;
+        this.nameResolver = nameResolver;
+    }
+
+    @Override
+    public void open(Level level, Long id, String columnName) {
+        try {
+            if (level != Level.STRATEGY) {
+                int parent = level.ordinal() - 1;
+                if (!childrenStarted[parent]) {
+                    generator.writeArrayFieldStart(childrenField(Level.values()[parent]));
+                    childrenStarted[parent] = true;
+                }
+            }
+            generator.writeStartObject();
+            generator.writeNumberField("id", id);
+            String name = nameResolver.apply(columnName);
+            if (name != null && !name.isEmpty()) {
+                generator.writeStringField("name", name);
+            }
+            childrenStarted[level.ordinal()] = false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close(Level level) {
+        try {
+            if (childrenStarted[level.ordinal()]) {
+                generator.writeEndArray();
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String childrenField(Level parent) {
+        return switch (parent) {
+            case STRATEGY -> "perspectives";
+            case PERSPECTIVE -> "goals";
+            case GOAL -> "programs";
+            case PROGRAM -> "initiatives";
+            case INITIATIVE -> "projects";
+            case PROJECT -> throw new IllegalStateException("Projects have no children in the flat hierarchy");
+        };
+    }
+}
@@ -1,7 +1,7 @@
 // File: src/main/java/com/project/Tadafur_api/application/service/strategy/HierarchyService.java
 package com.project.Tadafur_api.application.service.strategy;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.Tadafur_api.application.dto.strategy.response.hierarchy.*;
 import com.project.Tadafur_api.domain.strategy.entity.*;
@@ -12,11 +12,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -31,8 +38,12 @@ public class HierarchyService {
     private final InitiativeRepository initiativeRepository;
     private final ProjectRepository projectRepository;
     private final ProjectWorkItemRepository projectWorkItemRepository;
+    private final ObjectMapper objectMapper;
 
     private static final String DEFAULT_LANG = "en";
+    private static final String UNKNOWN_NAME = "Unknown";
+    /** Parent ids per query, well under the Postgres limit of 32767 bind parameters. */
+    private static final int CHUNK_SIZE = 1000;
 
     /**
      * NEW METHOD: Finds all strategies for a given owner and builds a full
@@ -44,6 +55,7 @@ public class HierarchyService {
      */
     public List<StrategyHierarchyDto> getHierarchiesByOwner(Long ownerId, String lang) {
         log.info("Fetching all strategy hierarchies for owner ID: {}", ownerId);
+        String languageCode = Optional.ofNullable(lang).orElse(DEFAULT_LANG);
 
         // 1. Find all strategies belonging to the specified owner.
         List<Strategy> ownerStrategies = strategyRepository.findByOwnerId(ownerId);
@@ -53,15 +65,15 @@ public class HierarchyService {
             return Collections.emptyList();
         }
 
-        // 2. For each strategy, call the existing getFullHierarchy method and collect the results.
+        // 2. Load every level for all of the owner's strategies at once and assemble the trees.
+        HierarchyLevels levels = loadLevels(ownerStrategies);
         return ownerStrategies.stream()
-                .map(strategy -> getFullHierarchy(strategy.getId(), lang))
+                .map(strategy -> buildStrategyHierarchy(strategy, levels, languageCode))
                 .collect(Collectors.toList());
     }
 
     /**
-     * UNCHANGED METHOD: Gets the full hierarchy for a single strategy.
-     * This is now a reusable helper method for the new getHierarchiesByOwner method.
+     * Gets the full hierarchy for a single strategy, down to its work items.
      */
     public StrategyHierarchyDto getFullHierarchy(Long strategyId, String lang) {
         log.info("Building full hierarchy for Strategy ID: {}", strategyId);
@@ -70,178 +82,168 @@ public class HierarchyService {
         Strategy strategy = strategyRepository.findById(strategyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Strategy", "id", strategyId));
 
-        return StrategyHierarchyDto.builder()
-                .id(strategy.getId())
-                .name(getTranslatedValue(strategy.getNameTranslations(), languageCode))
-                .vision(strategy.getVision())
-                .perspectives(buildPerspectiveHierarchy(strategy.getId(), languageCode))
-                .build();
+        return buildStrategyHierarchy(strategy, loadLevels(List.of(strategy)), languageCode);
     }
 
-    // --- All private helper methods for building the hierarchy remain unchanged ---
-
-    private List<PerspectiveHierarchyDto> buildPerspectiveHierarchy(Long strategyId, String lang) {
-        List<Perspective> perspectives = perspectiveRepository.findByParentId(strategyId);
-        if (perspectives.isEmpty()) return Collections.emptyList();
-        return perspectives.stream().map(p -> PerspectiveHierarchyDto.builder()
-                .id(p.getId())
-                .name(getTranslatedValue(p.getNameTranslations(), lang))
-                .goals(buildGoalHierarchy(p.getId(), lang))
-                .build()
-        ).collect(Collectors.toList());
-    }
-
-    private List<GoalHierarchyDto> buildGoalHierarchy(Long perspectiveId, String lang) {
-        List<Goal> goals = goalRepository.findByParentId(perspectiveId);
-        if (goals.isEmpty()) return Collections.emptyList();
-        return goals.stream().map(g -> GoalHierarchyDto.builder()
-                .id(g.getId())
-                .name(getTranslatedValue(g.getNameTranslations(), lang))
-                .programs(buildProgramHierarchy(g.getId(), lang))
-                .build()
-        ).collect(Collectors.toList());
-    }
-
-    private List<ProgramHierarchyDto> buildProgramHierarchy(Long goalId, String lang) {
-        List<Program> programs = programRepository.findByParentId(goalId);
-        if (programs.isEmpty()) return Collections.emptyList();
-        return programs.stream().map(p -> ProgramHierarchyDto.builder()
-                .id(p.getId())
-                .name(getTranslatedValue(p.getNameTranslations(), lang))
-                .initiatives(buildInitiativeHierarchy(p.getId(), lang))
-                .build()
-        ).collect(Collectors.toList());
-    }
-
-    private List<InitiativeHierarchyDto> buildInitiativeHierarchy(Long programId, String lang) {
-        List<Initiative> initiatives = initiativeRepository.findByParentId(programId);
-        if (initiatives.isEmpty()) return Collections.emptyList();
-        return initiatives.stream().map(i -> InitiativeHierarchyDto.builder()
-                .id(i.getId())
-                .name(getTranslatedValue(i.getNameTranslations(), lang))
-                .projects(buildProjectHierarchy(i.getId(), lang))
-                .build()
-        ).collect(Collectors.toList());
-    }
-
-    private List<ProjectHierarchyDto> buildProjectHierarchy(Long initiativeId, String lang) {
-        List<Project> projects = projectRepository.findByParentId(initiativeId);
-        if (projects.isEmpty()) return Collections.emptyList();
-        return projects.stream().map(p -> ProjectHierarchyDto.builder()
-                .id(p.getId())
-                .name(getTranslatedValue(p.getNameTranslations(), lang))
-                .workItems(buildWorkItemHierarchy(p.getId(), lang))
-                .build()
-        ).collect(Collectors.toList());
-    }
-
-    private List<ProjectWorkItemHierarchyDto> buildWorkItemHierarchy(Long projectId, String lang) {
-        List<ProjectWorkItem> workItems = projectWorkItemRepository.findByProjectId(projectId);
-        if (workItems.isEmpty()) return Collections.emptyList();
-        return workItems.stream().map(wi -> ProjectWorkItemHierarchyDto.builder()
-                .id(wi.getId())
-                .name(getTranslatedValue(wi.getNameTranslations(), lang))
-                .build()
-        ).collect(Collectors.toList());
+    // --- Level-batched loading: one "parent_id IN (...)" query per level and chunk ---
+
+    /**
+     * The descendants of a set of strategies, grouped by parent ID at every level.
+     */
+    private record HierarchyLevels(
+            Map<Long, List<Perspective>> perspectives,
+            Map<Long, List<Goal>> goals,
+            Map<Long, List<Program>> programs,
+            Map<Long, List<Initiative>> initiatives,
+            Map<Long, List<Project>> projects,
+            Map<Long, List<ProjectWorkItem>> workItems) {
     }
 
-    private String getTranslatedValue(Map<String, String> translations, String lang) {
-        return Optional.ofNullable(translations)
-                .map(map -> map.getOrDefault(lang, map.get(DEFAULT_LANG)))
-                .orElse(null);
+    /**
+     * Loads all descendants of the given strategies with one query per level and
+     * {@value #CHUNK_SIZE} parents, regardless of how deep the trees are. A level
+     * with no parents is skipped without touching the database.
+     */
+    private HierarchyLevels loadLevels(List<Strategy> strategies) {
+        List<Long> strategyIds = strategies.stream().map(Strategy::getId).toList();
+        Map<Long, List<Perspective>> perspectives =
+                loadChildren(strategyIds, perspectiveRepository::findByParentIdIn, Perspective::getParentId);
+        Map<Long, List<Goal>> goals =
+                loadChildren(idsOf(perspectives, Perspective::getId), goalRepository::findByParentIdIn, Goal::getParentId);
+        Map<Long, List<Program>> programs =
+                loadChildren(idsOf(goals, Goal::getId), programRepository::findByParentIdIn, Program::getParentId);
+        Map<Long, List<Initiative>> initiatives =
+                loadChildren(idsOf(programs, Program::getId), initiativeRepository::findByParentIdIn, Initiative::getParentId);
+        Map<Long, List<Project>> projects =
+                loadChildren(idsOf(initiatives, Initiative::getId), projectRepository::findByParentIdIn, Project::getParentId);
+        Map<Long, List<ProjectWorkItem>> workItems =
+                loadChildren(idsOf(projects, Project::getId), projectWorkItemRepository::findByProjectIdIn, ProjectWorkItem::getProjectId);
+        return new HierarchyLevels(perspectives, goals, programs, initiatives, projects, workItems);
+    }
+
+    private <T> Map<Long, List<T>> loadChildren(Collection<Long> parentIds,
+                                                Function<Collection<Long>, List<T>> finder,
+                                                Function<T, Long> parentIdOf) {
+        if (parentIds.isEmpty()) return Collections.emptyMap();
+        List<Long> ids = List.copyOf(parentIds);
+        Map<Long, List<T>> children = new LinkedHashMap<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            // Each parent is in one chunk only, so its children all come from the same query.
+            for (T child : finder.apply(ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE)))) {
+                children.computeIfAbsent(parentIdOf.apply(child), id -> new ArrayList<>()).add(child);
+            }
+        }
+        return children;
     }
 
-    public List<StrategyHierarchyDto> getFastFullHierarchy(Long strategyId, Long ownerId, String lang) {
-        log.info("Building full hierarchy efficiently with strategyId: {} and ownerId: {}", strategyId, ownerId);
-        List<StrategyRepository.FlatHierarchyResult> flatData = strategyRepository.getFlatHierarchy(strategyId, ownerId);
+    private <T> List<Long> idsOf(Map<Long, List<T>> level, Function<T, Long> idOf) {
+        return level.values().stream().flatMap(List::stream).map(idOf).toList();
+    }
 
-        if (flatData.isEmpty()) {
-            return Collections.emptyList();
-        }
+    private StrategyHierarchyDto buildStrategyHierarchy(Strategy strategy, HierarchyLevels levels, String lang) {
+        return StrategyHierarchyDto.builder()
+                .id(strategy.getId())
+                .name(getTranslatedValue(strategy.getNameTranslations(), lang))
+                .vision(strategy.getVision())
+                .perspectives(buildPerspectiveHierarchy(strategy.getId(), levels, lang))
+                .build();
+    }
 
-        Map<Long, List<StrategyRepository.FlatHierarchyResult>> groupedByStrategy = flatData.stream()
-                .collect(Collectors.groupingBy(StrategyRepository.FlatHierarchyResult::getStrategyId));
+    private List<PerspectiveHierarchyDto> buildPerspectiveHierarchy(Long strategyId, HierarchyLevels levels, String lang) {
+        return levels.perspectives().getOrDefault(strategyId, Collections.emptyList()).stream()
+                .map(p -> PerspectiveHierarchyDto.builder()
+                        .id(p.getId())
+                        .name(getTranslatedValue(p.getNameTranslations(), lang))
+                        .goals(buildGoalHierarchy(p.getId(), levels, lang))
+                        .build())
+                .collect(Collectors.toList());
+    }
 
-        return groupedByStrategy.values().stream()
-                .map(strategyData -> buildStrategy(strategyData, lang))
+    private List<GoalHierarchyDto> buildGoalHierarchy(Long perspectiveId, HierarchyLevels levels, String lang) {
+        return levels.goals().getOrDefault(perspectiveId, Collections.emptyList()).stream()
+                .map(g -> GoalHierarchyDto.builder()
+                        .id(g.getId())
+                        .name(getTranslatedValue(g.getNameTranslations(), lang))
+                        .programs(buildProgramHierarchy(g.getId(), levels, lang))
+                        .build())
                 .collect(Collectors.toList());
     }
 
-    private StrategyHierarchyDto buildStrategy(List<StrategyRepository.FlatHierarchyResult> strategyData, String lang) {
-        StrategyRepository.FlatHierarchyResult firstRecord = strategyData.get(0);
-        Map<Long, List<StrategyRepository.FlatHierarchyResult>> perspectives = strategyData.stream()
-                .filter(r -> r.getPerspectiveId() != null)
-                .collect(Collectors.groupingBy(StrategyRepository.FlatHierarchyResult::getPerspectiveId));
-        return StrategyHierarchyDto.builder()
-                .id(firstRecord.getStrategyId())
-                .name(getTranslatedValue(firstRecord.getStrategyName(), lang))
-                .perspectives(perspectives.values().stream().map(data -> buildPerspective(data, lang)).collect(Collectors.toList()))
-                .build();
+    private List<ProgramHierarchyDto> buildProgramHierarchy(Long goalId, HierarchyLevels levels, String lang) {
+        return levels.programs().getOrDefault(goalId, Collections.emptyList()).stream()
+                .map(p -> ProgramHierarchyDto.builder()
+                        .id(p.getId())
+                        .name(getTranslatedValue(p.getNameTranslations(), lang))
+                        .initiatives(buildInitiativeHierarchy(p.getId(), levels, lang))
+                        .build())
+                .collect(Collectors.toList());
     }
 
-    private PerspectiveHierarchyDto buildPerspective(List<StrategyRepository.FlatHierarchyResult> perspectiveData, String lang) {
-        StrategyRepository.FlatHierarchyResult firstRecord = perspectiveData.get(0);
-        Map<Long, List<StrategyRepository.FlatHierarchyResult>> goals = perspectiveData.stream()
-                .filter(r -> r.getGoalId() != null)
-                .collect(Collectors.groupingBy(StrategyRepository.FlatHierarchyResult::getGoalId));
-        return PerspectiveHierarchyDto.builder()
-                .id(firstRecord.getPerspectiveId())
-                .name(getTranslatedValue(firstRecord.getPerspectiveName(), lang))
-                .goals(goals.values().stream().map(data -> buildGoal(data, lang)).collect(Collectors.toList()))
-                .build();
+    private List<InitiativeHierarchyDto> buildInitiativeHierarchy(Long programId, HierarchyLevels levels, String lang) {
+        return levels.initiatives().getOrDefault(programId, Collections.emptyList()).stream()
+                .map(i -> InitiativeHierarchyDto.builder()
+                        .id(i.getId())
+                        .name(getTranslatedValue(i.getNameTranslations(), lang))
+                        .projects(buildProjectHierarchy(i.getId(), levels, lang))
+                        .build())
+                .collect(Collectors.toList());
     }
 
-    private GoalHierarchyDto buildGoal(List<StrategyRepository.FlatHierarchyResult> goalData, String lang) {
-        StrategyRepository.FlatHierarchyResult firstRecord = goalData.get(0);
-        Map<Long, List<StrategyRepository.FlatHierarchyResult>> programs = goalData.stream()
-                .filter(r -> r.getProgramId() != null)
-                .collect(Collectors.groupingBy(StrategyRepository.FlatHierarchyResult::getProgramId));
-        return GoalHierarchyDto.builder()
-                .id(firstRecord.getGoalId())
-                .name(getTranslatedValue(firstRecord.getGoalName(), lang))
-                .programs(programs.values().stream().map(data -> buildProgram(data, lang)).collect(Collectors.toList()))
-                .build();
+    private List<ProjectHierarchyDto> buildProjectHierarchy(Long initiativeId, HierarchyLevels levels, String lang) {
+        return levels.projects().getOrDefault(initiativeId, Collections.emptyList()).stream()
+                .map(p -> ProjectHierarchyDto.builder()
+                        .id(p.getId())
+                        .name(getTranslatedValue(p.getNameTranslations(), lang))
+                        .workItems(buildWorkItemHierarchy(p.getId(), levels, lang))
+                        .build())
+                .collect(Collectors.toList());
     }
 
-    private ProgramHierarchyDto buildProgram(List<StrategyRepository.FlatHierarchyResult> programData, String lang) {
-        StrategyRepository.FlatHierarchyResult firstRecord = programData.get(0);
-        Map<Long, List<StrategyRepository.FlatHierarchyResult>> initiatives = programData.stream()
-                .filter(r -> r.getInitiativeId() != null)
-                .collect(Collectors.groupingBy(StrategyRepository.FlatHierarchyResult::getInitiativeId));
-        return ProgramHierarchyDto.builder()
-                .id(firstRecord.getProgramId())
-                .name(getTranslatedValue(firstRecord.getProgramName(), lang))
-                .initiatives(initiatives.values().stream().map(data -> buildInitiative(data, lang)).collect(Collectors.toList()))
-                .build();
+    private List<ProjectWorkItemHierarchyDto> buildWorkItemHierarchy(Long projectId, HierarchyLevels levels, String lang) {
+        return levels.workItems().getOrDefault(projectId, Collections.emptyList()).stream()
+                .map(wi -> ProjectWorkItemHierarchyDto.builder()
+                        .id(wi.getId())
+                        .name(getTranslatedValue(wi.getNameTranslations(), lang))
+                        .build())
+                .collect(Collectors.toList());
     }
 
-    private InitiativeHierarchyDto buildInitiative(List<StrategyRepository.FlatHierarchyResult> initiativeData, String lang) {
-        StrategyRepository.FlatHierarchyResult firstRecord = initiativeData.get(0);
-        Map<Long, List<StrategyRepository.FlatHierarchyResult>> projects = initiativeData.stream()
-                .filter(r -> r.getProjectId() != null)
-                .collect(Collectors.groupingBy(StrategyRepository.FlatHierarchyResult::getProjectId));
-        return InitiativeHierarchyDto.builder()
-                .id(firstRecord.getInitiativeId())
-                .name(getTranslatedValue(firstRecord.getInitiativeName(), lang))
-                .projects(projects.values().stream().map(data -> buildProject(data.get(0), lang)).collect(Collectors.toList()))
-                .build();
+    private String getTranslatedValue(Map<String, String> translations, String lang) {
+        return Optional.ofNullable(translations)
+                .map(map -> map.getOrDefault(lang, map.get(DEFAULT_LANG)))
+                .orElse(null);
     }
 
-    private ProjectHierarchyDto buildProject(StrategyRepository.FlatHierarchyResult projectData, String lang) {
-        return ProjectHierarchyDto.builder()
-                .id(projectData.getProjectId())
-                .name(getTranslatedValue(projectData.getProjectName(), lang))
-                .build();
+    public List<StrategyHierarchyDto> getFastFullHierarchy(Long strategyId, Long ownerId, String lang) {
+        log.info("Building full hierarchy efficiently with strategyId: {} and ownerId: {}", strategyId, ownerId);
+        List<StrategyRepository.FlatHierarchyResult> flatData = strategyRepository.getLocalizedFlatHierarchy(strategyId, ownerId, lang);
+
+        if (flatData.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Rows arrive sorted by the hierarchy ids with names already translated, so the tree is assembled in one pass.
+        return FlatHierarchyAssembler.assemble(flatData.iterator(), this::nameOrUnknown);
     }
 
-    private String getTranslatedValue(String json, String lang) {
-        if (json == null || json.isEmpty()) return "Unknown";
-        try {
-            Map<String, String> translations = new ObjectMapper().readValue(json, new TypeReference<>() {});
-            return translations.getOrDefault(lang, translations.get("en"));
-        } catch (Exception e) {
-            log.error("Error parsing name_translations JSON: {}", json, e);
-            return "Unknown";
+    /**
+     * Streams the same payload as {@link #getFastFullHierarchy} to {@code out}.
+     * Rows are read from a database cursor and written as JSON as soon as they
+     * arrive, so neither the rows nor the tree are ever fully in memory. The
+     * transaction keeps the cursor open for the whole write.
+     */
+    public void streamFastFullHierarchy(Long strategyId, Long ownerId, String lang, OutputStream out) throws IOException {
+        log.info("Streaming full hierarchy with strategyId: {} and ownerId: {}", strategyId, ownerId);
+        try (Stream<StrategyRepository.FlatHierarchyResult> rows = strategyRepository.streamLocalizedFlatHierarchy(strategyId, ownerId, lang);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            FlatHierarchyAssembler.walk(rows.iterator(),
+                    new HierarchyJsonStreamWriter(generator, this::nameOrUnknown));
+            generator.writeEndArray();
         }
     }
+
+    private String nameOrUnknown(String translatedName) {
+        return Optional.ofNullable(translatedName).orElse(UNKNOWN_NAME);
+    }
 }
@@ -1,6 +1,9 @@
 // File: src/main/java/com/project/Tadafur_api/application/service/strategy/InitiativeService.java
 package com.project.Tadafur_api.application.service.strategy;
 
+import com.project.Tadafur_api.application.dto.common.BatchResultDto;
+import com.project.Tadafur_api.application.dto.common.FilterDto;
+import com.project.Tadafur_api.application.dto.common.KeysetPageDto;
 import com.project.Tadafur_api.application.dto.strategy.response.InitiativeResponseDto;
 import com.project.Tadafur_api.application.mapper.strategy.InitiativeMapper;
 import com.project.Tadafur_api.domain.strategy.entity.Initiative;
@@ -8,6 +11,7 @@ import com.project.Tadafur_api.domain.strategy.repository.InitiativeRepository;
 import com.project.Tadafur_api.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +26,9 @@ public class InitiativeService {
 
     private final InitiativeRepository initiativeRepository;
     private final InitiativeMapper initiativeMapper;
+    private final KeysetPaginator keysetPaginator;
+    private final FilterCompiler filterCompiler;
+    private final BatchLoader batchLoader;
 
     /**
      * NEW METHOD: Gets initiatives based on an optional owner ID.
@@ -38,6 +45,31 @@ public class InitiativeService {
         return initiativeMapper.toResponseDtoList(initiatives, lang);
     }
 
+    /**
+     * Gets one keyset page of initiatives, optionally filtered by ownerId and programId.
+     * See {@link KeysetPaginator} for the size, sort and cursor parameters.
+     */
+    public KeysetPageDto<InitiativeResponseDto> getInitiativePage(Long ownerId, Long programId,
+                                                                  Integer size, String sort, String cursor,
+                                                                  boolean includeTotal, String lang) {
+        log.info("Fetching a page of initiatives for ownerId: {}, programId: {}, sort: {}", ownerId, programId, sort);
+        Specification<Initiative> filter = Specification.where(KeysetPaginator.<Initiative>equal("ownerId", ownerId))
+                .and(KeysetPaginator.equal("parentId", programId));
+        return keysetPaginator.page(initiativeRepository, Initiative.class, filter, size, sort, cursor, includeTotal,
+                entity -> initiativeMapper.toResponseDto(entity, lang));
+    }
+
+    /**
+     * Gets one keyset page of the initiatives matching {@code filter}. See {@link FilterCompiler}
+     * for the filter and {@link KeysetPaginator} for the other parameters.
+     */
+    public KeysetPageDto<InitiativeResponseDto> searchInitiatives(FilterDto filter, Integer size, String sort, String cursor,
+                                                                  boolean includeTotal, String lang) {
+        log.info("Searching initiatives with filter: {}, sort: {}", filter, sort);
+        return keysetPaginator.page(initiativeRepository, Initiative.class, filterCompiler.compile(Initiative.class, filter),
+                size, sort, cursor, includeTotal, entity -> initiativeMapper.toResponseDto(entity, lang));
+    }
+
     /**
      * UNCHANGED METHOD: Gets a single initiative by its ID.
      */
@@ -48,6 +80,15 @@ public class InitiativeService {
         return initiativeMapper.toResponseDto(initiative, lang);
     }
 
+    /**
+     * Gets the initiatives with the given ids, in the order of {@code ids}; the ids that do
+     * not exist are returned as missing instead of failing the request.
+     */
+    public BatchResultDto<InitiativeResponseDto> getByIds(List<Long> ids, String lang) {
+        log.info("Fetching {} initiatives by id for language: {}", ids == null ? 0 : ids.size(), lang);
+        return batchLoader.load(initiativeRepository, ids, Initiative::getId, entity -> initiativeMapper.toResponseDto(entity, lang));
+    }
+
     /**
      * UNCHANGED METHOD: Gets all initiatives belonging to a specific program.
      */
@@ -0,0 +1,246 @@
+package com.project.Tadafur_api.application.service.strategy;
+
+import com.project.Tadafur_api.application.dto.common.KeysetPageDto;
+import com.project.Tadafur_api.application.dto.common.PaginationDto;
+import com.project.Tadafur_api.shared.constants.ApiConstants;
+import com.project.Tadafur_api.shared.util.CursorCodec;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keyset pagination over the hierarchy entities.
+ *
+ * Rows are ordered by the sort field and then by id, and a page starts right after the
+ * last row of the previous one ({@code WHERE (field, id) > (:field, :id)}) instead of
+ * skipping {@code OFFSET} rows, so that a deep page costs the same as the first one. The
+ * position is carried in an opaque cursor, which also records the sort it was made for.
+ * Null sort values follow the database order: last when ascending, first when descending.
+ * The total is counted only when asked for, as it is the one part whose cost grows with
+ * the table.
+ */
+@Component
+@RequiredArgsConstructor
+class KeysetPaginator {
+
+    private static final String ID = "id";
+
+    /**
+     * The field types a list can be sorted by, with how to read them back from a cursor.
+     * Text fields are left out, as their values could contain the cursor separator.
+     */
+    private static final Map<Class<?>, Function<String, ?>> SORTABLE_TYPES = Map.of(
+            Long.class, Long::valueOf,
+            Integer.class, Integer::valueOf,
+            Double.class, Double::valueOf,
+            BigDecimal.class, BigDecimal::new,
+            LocalDate.class, LocalDate::parse,
+            LocalDateTime.class, LocalDateTime::parse);
+
+    private final EntityManager entityManager;
+    private final FieldProjector fieldProjector;
+
+    /**
+     * Builds a filter for {@code field = value}, or no filter when {@code value} is null.
+     */
+    static <E> Specification<E> equal(String field, Object value) {
+        return value == null ? null : (root, query, cb) -> cb.equal(root.get(field), value);
+    }
+
+    /**
+     * Reads one page. Must be called inside a transaction.
+     *
+     * @param size         the page size; {@link ApiConstants#DEFAULT_PAGE_SIZE} if null.
+     * @param sort         {@code field} or {@code field,asc|desc}; by id if null.
+     * @param cursor       the {@code nextCursor} of the previous page, or null for the first.
+     * @param includeTotal whether to count the matching rows as well.
+     * @throws IllegalArgumentException for an invalid size, sort or cursor.
+     */
+    <E, D> KeysetPageDto<D> page(JpaSpecificationExecutor<E> repository, Class<E> entityClass,
+                                 Specification<E> filter, Integer size, String sort, String cursor,
+                                 boolean includeTotal, Function<E, D> mapper) {
+        return page(repository, entityClass, filter, size, sort, cursor, includeTotal,
+                (seek, order, limit) -> repository.findBy(seek, query -> query.sortBy(order).limit(limit).all()),
+                (entity, property) -> PropertyAccessorFactory.forBeanPropertyAccess(entity).getPropertyValue(property),
+                mapper);
+    }
+
+    /**
+     * Same as {@link #page(JpaSpecificationExecutor, Class, Specification, Integer, String, String, boolean, Function)},
+     * but reads and sets only {@code fields} of the DTOs, as {@link FieldProjector} does.
+     *
+     * @param fields the output of {@link FieldProjector#parse}.
+     * @throws IllegalArgumentException for an invalid size, sort, cursor or field.
+     */
+    <E, D> KeysetPageDto<D> page(JpaSpecificationExecutor<E> repository, Class<E> entityClass,
+                                 Specification<E> filter, Integer size, String sort, String cursor,
+                                 boolean includeTotal, Set<String> fields, Class<D> dtoClass, String lang) {
+        return page(repository, entityClass, filter, size, sort, cursor, includeTotal,
+                (seek, order, limit) -> fieldProjector.select(entityClass, seek, fields, dtoClass, lang, order, limit),
+                Tuple::get,
+                row -> fieldProjector.toDto(row, fields, dtoClass));
+    }
+
+    /**
+     * Reads up to {@code limit} rows matching {@code filter} in {@code order}.
+     */
+    @FunctionalInterface
+    private interface RowReader<E, R> {
+        List<R> read(Specification<E> filter, Sort order, int limit);
+    }
+
+    /**
+     * @param property reads a property of a row, for the cursor.
+     */
+    private <E, R, D> KeysetPageDto<D> page(JpaSpecificationExecutor<E> repository, Class<E> entityClass,
+                                            Specification<E> filter, Integer size, String sort, String cursor,
+                                            boolean includeTotal, RowReader<E, R> reader,
+                                            BiFunction<R, String, Object> property, Function<R, D> mapper) {
+        int pageSize = size == null ? ApiConstants.DEFAULT_PAGE_SIZE : size;
+        if (pageSize < 1 || pageSize > ApiConstants.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Invalid size: " + size + ". Must be between 1 and "
+                    + ApiConstants.MAX_PAGE_SIZE + ".");
+        }
+        SortKey key = parseSort(entityClass, sort);
+        Specification<E> filtered = Specification.where(filter);
+        Specification<E> seek = cursor == null ? filtered : filtered.and(seek(key, key.decode(cursor)));
+
+        List<R> rows = reader.read(seek,
+                key.field.equals(ID) ? Sort.by(key.direction, ID) : Sort.by(key.direction, key.field, ID),
+                pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<R> content = hasNext ? rows.subList(0, pageSize) : rows;
+
+        PaginationDto.PaginationDtoBuilder pagination = PaginationDto.builder()
+                .size(pageSize)
+                .first(cursor == null)
+                .last(!hasNext)
+                .hasNext(hasNext)
+                .hasPrevious(cursor != null)
+                .sortBy(key.field)
+                .sortDirection(key.direction.name());
+        if (hasNext) {
+            R last = content.get(content.size() - 1);
+            pagination.nextCursor(key.encode(property.apply(last, key.field), property.apply(last, ID)));
+        }
+        if (includeTotal) {
+            long total = repository.count(filtered);
+            pagination.totalElements(total)
+                    .totalPages((int) ((total + pageSize - 1) / pageSize));
+        }
+        return KeysetPageDto.<D>builder()
+                .content(content.stream().map(mapper).collect(Collectors.toList()))
+                .pagination(pagination.build())
+                .build();
+    }
+
+    private SortKey parseSort(Class<?> entityClass, String sort) {
+        if (sort == null || sort.isBlank()) {
+            return new SortKey(ApiConstants.DEFAULT_SORT_BY, Long.class,
+                    Sort.Direction.fromString(ApiConstants.DEFAULT_SORT_DIRECTION));
+        }
+        String[] parts = sort.split(",", -1);
+        String field = parts[0].trim();
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (parts.length > 2) {
+            throw new IllegalArgumentException("Invalid sort: " + sort + ". Expected field or field,asc|desc.");
+        }
+        if (parts.length == 2) {
+            direction = Sort.Direction.fromOptionalString(parts[1].trim())
+                    .orElseThrow(() -> new IllegalArgumentException("Invalid sort direction: " + parts[1].trim()
+                            + ". Supported values: asc, desc."));
+        }
+        EntityType<?> entity = entityManager.getMetamodel().entity(entityClass);
+        Attribute<?, ?> attribute = entity.getSingularAttributes().stream()
+                .filter(a -> a.getName().equals(field) && SORTABLE_TYPES.containsKey(a.getJavaType()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Invalid sort field: " + field
+                        + ". Supported fields: " + entity.getSingularAttributes().stream()
+                        .filter(a -> SORTABLE_TYPES.containsKey(a.getJavaType()))
+                        .map(Attribute::getName)
+                        .sorted()
+                        .collect(Collectors.joining(", ")) + "."));
+        return new SortKey(field, attribute.getJavaType(), direction);
+    }
+
+    /**
+     * The rows after ({@code value}, {@code id}) in the sort order, with nulls last when
+     * ascending and first when descending.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    static <E> Specification<E> seek(SortKey key, Position position) {
+        boolean ascending = key.direction.isAscending();
+        return (root, query, cb) -> {
+            Path<Long> id = root.get(ID);
+            Predicate idAfter = ascending ? cb.greaterThan(id, position.id) : cb.lessThan(id, position.id);
+            if (key.field.equals(ID)) {
+                return idAfter;
+            }
+            Path<Comparable> field = root.get(key.field);
+            Comparable value = position.value;
+            if (value == null) {
+                Predicate nullsAfter = cb.and(cb.isNull(field), idAfter);
+                return ascending ? nullsAfter : cb.or(nullsAfter, cb.isNotNull(field));
+            }
+            Predicate valueAfter = ascending
+                    ? cb.greaterThan(field, value)
+                    : cb.lessThan(field, value);
+            Predicate after = cb.or(valueAfter, cb.and(cb.equal(field, value), idAfter));
+            return ascending ? cb.or(after, cb.isNull(field)) : after;
+        };
+    }
+
+    record SortKey(String field, Class<?> type, Sort.Direction direction) {
+
+        /**
+         * The cursor of the row with sort value {@code value} and id {@code id}.
+         */
+        String encode(Object value, Object id) {
+            return CursorCodec.encode(field, direction.name().toLowerCase(Locale.ROOT), value, id);
+        }
+
+        /**
+         * @throws IllegalArgumentException if the cursor was made for another sort.
+         */
+        Position decode(String token) {
+            CursorCodec.Cursor cursor = CursorCodec.decode(token, 4);
+            if (!field.equals(cursor.getString(0))
+                    || !direction.name().toLowerCase(Locale.ROOT).equals(cursor.getString(1))) {
+                throw CursorCodec.invalidCursor();
+            }
+            Long id = cursor.getLong(3);
+            if (id == null) {
+                throw CursorCodec.invalidCursor();
+            }
+            String value = cursor.getString(2);
+            try {
+                return new Position(value == null ? null : (Comparable<?>) SORTABLE_TYPES.get(type).apply(value), id);
+            } catch (RuntimeException e) {
+                throw CursorCodec.invalidCursor();
+            }
+        }
+    }
+
+    record Position(Comparable<?> value, Long id) {
+    }
+}
@@ -1,6 +1,9 @@
 // File: src/main/java/com/project/Tadafur_api/application/service/strategy/PerspectiveService.java
 package com.project.Tadafur_api.application.service.strategy;
 
+import com.project.Tadafur_api.application.dto.common.BatchResultDto;
+import com.project.Tadafur_api.application.dto.common.FilterDto;
+import com.project.Tadafur_api.application.dto.common.KeysetPageDto;
 import com.project.Tadafur_api.application.dto.strategy.response.PerspectiveResponseDto;
 import com.project.Tadafur_api.application.mapper.strategy.PerspectiveMapper;
 import com.project.Tadafur_api.domain.strategy.entity.Perspective;
@@ -8,6 +11,7 @@ import com.project.Tadafur_api.domain.strategy.repository.PerspectiveRepository;
 import com.project.Tadafur_api.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +26,9 @@ public class PerspectiveService {
 
     private final PerspectiveRepository perspectiveRepository;
     private final PerspectiveMapper perspectiveMapper;
+    private final KeysetPaginator keysetPaginator;
+    private final FilterCompiler filterCompiler;
+    private final BatchLoader batchLoader;
 
     /**
      * NEW METHOD: Gets perspectives based on an optional owner ID.
@@ -39,6 +46,31 @@ public class PerspectiveService {
         return perspectiveMapper.toResponseDtoList(perspectives, lang);
     }
 
+    /**
+     * Gets one keyset page of perspectives, optionally filtered by ownerId and strategyId.
+     * See {@link KeysetPaginator} for the size, sort and cursor parameters.
+     */
+    public KeysetPageDto<PerspectiveResponseDto> getPerspectivePage(Long ownerId, Long strategyId,
+                                                                    Integer size, String sort, String cursor,
+                                                                    boolean includeTotal, String lang) {
+        log.info("Fetching a page of perspectives for ownerId: {}, strategyId: {}, sort: {}", ownerId, strategyId, sort);
+        Specification<Perspective> filter = Specification.where(KeysetPaginator.<Perspective>equal("ownerId", ownerId))
+                .and(KeysetPaginator.equal("parentId", strategyId));
+        return keysetPaginator.page(perspectiveRepository, Perspective.class, filter, size, sort, cursor, includeTotal,
+                entity -> perspectiveMapper.toResponseDto(entity, lang));
+    }
+
+    /**
+     * Gets one keyset page of the perspectives matching {@code filter}. See {@link FilterCompiler}
+     * for the filter and {@link KeysetPaginator} for the other parameters.
+     */
+    public KeysetPageDto<PerspectiveResponseDto> searchPerspectives(FilterDto filter, Integer size, String sort, String cursor,
+                                                                    boolean includeTotal, String lang) {
+        log.info("Searching perspectives with filter: {}, sort: {}", filter, sort);
+        return keysetPaginator.page(perspectiveRepository, Perspective.class, filterCompiler.compile(Perspective.class, filter),
+                size, sort, cursor, includeTotal, entity -> perspectiveMapper.toResponseDto(entity, lang));
+    }
+
     /**
      * UNCHANGED METHOD: Gets a single perspective by its ID.
      */
@@ -49,6 +81,15 @@ public class PerspectiveService {
         return perspectiveMapper.toResponseDto(perspective, lang);
     }
 
+    /**
+     * Gets the perspectives with the given ids, in the order of {@code ids}; the ids that do
+     * not exist are returned as missing instead of failing the request.
+     */
+    public BatchResultDto<PerspectiveResponseDto> getByIds(List<Long> ids, String lang) {
+        log.info("Fetching {} perspectives by id for language: {}", ids == null ? 0 : ids.size(), lang);
+        return batchLoader.load(perspectiveRepository, ids, Perspective::getId, entity -> perspectiveMapper.toResponseDto(entity, lang));
+    }
+
     /**
      * UNCHANGED METHOD: Gets all perspectives belonging to a specific strategy.
      */
@@ -1,6 +1,9 @@
 // File: src/main/java/com/project/Tadafur_api/application/service/strategy/ProgramService.java
 package com.project.Tadafur_api.application.service.strategy;
 
+import com.project.Tadafur_api.application.dto.common.BatchResultDto;
+import com.project.Tadafur_api.application.dto.common.FilterDto;
+import com.project.Tadafur_api.application.dto.common.KeysetPageDto;
 import com.project.Tadafur_api.application.dto.strategy.response.ProgramResponseDto;
 import com.project.Tadafur_api.application.mapper.strategy.ProgramMapper;
 import com.project.Tadafur_api.domain.strategy.entity.Program;
@@ -8,6 +11,7 @@ import com.project.Tadafur_api.domain.strategy.repository.ProgramRepository;
 import com.project.Tadafur_api.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +26,9 @@ public class ProgramService {
 
     private final ProgramRepository programRepository;
     private final ProgramMapper programMapper;
+    private final KeysetPaginator keysetPaginator;
+    private final FilterCompiler filterCompiler;
+    private final BatchLoader batchLoader;
 
     /**
      * NEW METHOD: Gets programs based on an optional owner ID.
@@ -38,6 +45,30 @@ public class ProgramService {
         return programMapper.toResponseDtoList(programs, lang);
     }
 
+    /**
+     * Gets one keyset page of programs, optionally filtered by ownerId and goalId.
+     * See {@link KeysetPaginator} for the size, sort and cursor parameters.
+     */
+    public KeysetPageDto<ProgramResponseDto> getProgramPage(Long ownerId, Long goalId, Integer size, String sort,
+                                                            String cursor, boolean includeTotal, String lang) {
+        log.info("Fetching a page of programs for ownerId: {}, goalId: {}, sort: {}", ownerId, goalId, sort);
+        Specification<Program> filter = Specification.where(KeysetPaginator.<Program>equal("ownerId", ownerId))
+                .and(KeysetPaginator.equal("parentId", goalId));
+        return keysetPaginator.page(programRepository, Program.class, filter, size, sort, cursor, includeTotal,
+                entity -> programMapper.toResponseDto(entity, lang));
+    }
+
+    /**
+     * Gets one keyset page of the programs matching {@code filter}. See {@link FilterCompiler}
+     * for the filter and {@link KeysetPaginator} for the other parameters.
+     */
+    public KeysetPageDto<ProgramResponseDto> searchPrograms(FilterDto filter, Integer size, String sort, String cursor,
+                                                            boolean includeTotal, String lang) {
+        log.info("Searching programs with filter: {}, sort: {}", filter, sort);
+        return keysetPaginator.page(programRepository, Program.class, filterCompiler.compile(Program.class, filter),
+                size, sort, cursor, includeTotal, entity -> programMapper.toResponseDto(entity, lang));
+    }
+
     /**
      * UNCHANGED METHOD: Gets a single program by its ID.
      */
@@ -48,6 +79,15 @@ public class ProgramService {
         return programMapper.toResponseDto(program, lang);
     }
 
+    /**
+     * Gets the programs with the given ids, in the order of {@code ids}; the ids that do
+     * not exist are returned as missing instead of failing the request.
+     */
+    public BatchResultDto<ProgramResponseDto> getByIds(List<Long> ids, String lang) {
+        log.info("Fetching {} programs by id for language: {}", ids == null ? 0 : ids.size(), lang);
+        return batchLoader.load(programRepository, ids, Program::getId, entity -> programMapper.toResponseDto(entity, lang));
+    }
+
     /**
      * UNCHANGED METHOD: Gets all programs belonging to a specific goal.
      */
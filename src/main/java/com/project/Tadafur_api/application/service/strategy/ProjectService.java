@@ -1,18 +1,26 @@
 // File: src/main/java/com/project/Tadafur_api/application/service/strategy/ProjectService.java
 package com.project.Tadafur_api.application.service.strategy;
 
+import com.project.Tadafur_api.application.dto.common.BatchResultDto;
+import com.project.Tadafur_api.application.dto.common.FilterDto;
+import com.project.Tadafur_api.application.dto.common.KeysetPageDto;
 import com.project.Tadafur_api.application.dto.strategy.response.ProjectResponseDto;
 import com.project.Tadafur_api.application.mapper.strategy.ProjectMapper;
+import com.project.Tadafur_api.application.service.strategy.EntityExporter.Column;
 import com.project.Tadafur_api.domain.strategy.entity.Project;
 import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository;
 import com.project.Tadafur_api.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -20,8 +28,46 @@ import java.util.Optional;
 @Transactional(readOnly = true)
 public class ProjectService {
 
+    private static final List<Column<ProjectResponseDto>> EXPORT_COLUMNS = List.of(
+            new Column<>("id", ProjectResponseDto::getId),
+            new Column<>("parentId", ProjectResponseDto::getParentId),
+            new Column<>("name", ProjectResponseDto::getName),
+            new Column<>("description", ProjectResponseDto::getDescription),
+            new Column<>("contributionPercent", ProjectResponseDto::getContributionPercent),
+            new Column<>("ownerId", ProjectResponseDto::getOwnerId),
+            new Column<>("plannedTotalBudget", ProjectResponseDto::getPlannedTotalBudget),
+            new Column<>("type", ProjectResponseDto::getType),
+            new Column<>("startDate", ProjectResponseDto::getStartDate),
+            new Column<>("endDate", ProjectResponseDto::getEndDate),
+            new Column<>("planningStatusCode", ProjectResponseDto::getPlanningStatusCode),
+            new Column<>("progressStatusCode", ProjectResponseDto::getProgressStatusCode),
+            new Column<>("actualCost", ProjectResponseDto::getActualCost),
+            new Column<>("priorityId", ProjectResponseDto::getPriorityId),
+            new Column<>("statusId", ProjectResponseDto::getStatusId),
+            new Column<>("visionPriorities", dto -> EntityExporter.joinIds(dto.getVisionPriorities())),
+            new Column<>("projectMethodologyId", ProjectResponseDto::getProjectMethodologyId),
+            new Column<>("progressByEffort", ProjectResponseDto::getProgressByEffort),
+            new Column<>("progressByAverage", ProjectResponseDto::getProgressByAverage),
+            new Column<>("progressSpecificationId", ProjectResponseDto::getProgressSpecificationId),
+            new Column<>("propagationModelId", ProjectResponseDto::getPropagationModelId),
+            new Column<>("manualProgressByEffort", ProjectResponseDto::getManualProgressByEffort),
+            new Column<>("manualProgressByAverage", ProjectResponseDto::getManualProgressByAverage),
+            new Column<>("calculatedProgressPercent", ProjectResponseDto::getCalculatedProgressPercent),
+            new Column<>("hybridProgressPercent", ProjectResponseDto::getHybridProgressPercent),
+            new Column<>("calculatedTotalBudget", ProjectResponseDto::getCalculatedTotalBudget),
+            new Column<>("calculatedTotalPayments", ProjectResponseDto::getCalculatedTotalPayments),
+            new Column<>("summarySentDate", ProjectResponseDto::getSummarySentDate),
+            new Column<>("summaryPeriod", ProjectResponseDto::getSummaryPeriod),
+            new Column<>("budgetSources", dto -> EntityExporter.joinIds(dto.getBudgetSources())),
+            new Column<>("ownerNodeId", ProjectResponseDto::getOwnerNodeId));
+
     private final ProjectRepository projectRepository;
     private final ProjectMapper projectMapper;
+    private final KeysetPaginator keysetPaginator;
+    private final FilterCompiler filterCompiler;
+    private final BatchLoader batchLoader;
+    private final FieldProjector fieldProjector;
+    private final EntityExporter entityExporter;
 
     /**
      * NEW METHOD: Gets projects based on an optional owner ID.
@@ -38,6 +84,62 @@ public class ProjectService {
         return projectMapper.toResponseDtoList(projects, lang);
     }
 
+    /**
+     * Same as {@link #getProjects(Optional, String)}, but reads and sets only {@code fields},
+     * a comma-separated list of DTO fields; all of them when null or blank.
+     */
+    public List<ProjectResponseDto> getProjects(Optional<Long> ownerId, String fields, String lang) {
+        Set<String> selected = FieldProjector.parse(fields);
+        if (selected == null) {
+            return getProjects(ownerId, lang);
+        }
+        log.info("Fetching fields {} of projects for owner ID: {}", selected, ownerId.orElse(null));
+        return fieldProjector.project(Project.class, KeysetPaginator.equal("ownerId", ownerId.orElse(null)), selected,
+                ProjectResponseDto.class, lang);
+    }
+
+    /**
+     * Gets one keyset page of projects, optionally filtered by ownerId and initiativeId.
+     * See {@link KeysetPaginator} for the size, sort and cursor parameters. Reads and sets
+     * only {@code fields}, a comma-separated list of DTO fields; all of them when null or blank.
+     */
+    public KeysetPageDto<ProjectResponseDto> getProjectPage(Long ownerId, Long initiativeId, Integer size, String sort,
+                                                            String cursor, boolean includeTotal, String fields,
+                                                            String lang) {
+        log.info("Fetching a page of projects for ownerId: {}, initiativeId: {}, sort: {}", ownerId, initiativeId, sort);
+        Specification<Project> filter = Specification.where(KeysetPaginator.<Project>equal("ownerId", ownerId))
+                .and(KeysetPaginator.equal("parentId", initiativeId));
+        Set<String> selected = FieldProjector.parse(fields);
+        if (selected != null) {
+            return keysetPaginator.page(projectRepository, Project.class, filter, size, sort, cursor, includeTotal,
+                    selected, ProjectResponseDto.class, lang);
+        }
+        return keysetPaginator.page(projectRepository, Project.class, filter, size, sort, cursor, includeTotal,
+                entity -> projectMapper.toResponseDto(entity, lang));
+    }
+
+    /**
+     * Gets one keyset page of the projects matching {@code filter}. See {@link FilterCompiler}
+     * for the filter and {@link KeysetPaginator} for the other parameters.
+     */
+    public KeysetPageDto<ProjectResponseDto> searchProjects(FilterDto filter, Integer size, String sort, String cursor,
+                                                            boolean includeTotal, String lang) {
+        log.info("Searching projects with filter: {}, sort: {}", filter, sort);
+        return keysetPaginator.page(projectRepository, Project.class, filterCompiler.compile(Project.class, filter),
+                size, sort, cursor, includeTotal, entity -> projectMapper.toResponseDto(entity, lang));
+    }
+
+    /**
+     * Writes the same projects as {@link #getProjects} to {@code out}, one per line, while
+     * they are read from a database cursor.
+     */
+    public void exportProjects(Long ownerId, String lang, ExportFormat format, OutputStream out) throws IOException {
+        log.info("Exporting projects for owner ID: {} as {}", ownerId, format);
+        long count = entityExporter.export(projectRepository.streamByOwnerId(ownerId),
+                project -> projectMapper.toResponseDto(project, lang), EXPORT_COLUMNS, format, out);
+        log.info("Exported {} projects", count);
+    }
+
     /**
      * UNCHANGED METHOD: Gets a single project by its ID.
      */
@@ -48,6 +150,31 @@ public class ProjectService {
         return projectMapper.toResponseDto(project, lang);
     }
 
+    /**
+     * Gets the projects with the given ids, in the order of {@code ids}; the ids that do
+     * not exist are returned as missing instead of failing the request.
+     */
+    public BatchResultDto<ProjectResponseDto> getByIds(List<Long> ids, String lang) {
+        log.info("Fetching {} projects by id for language: {}", ids == null ? 0 : ids.size(), lang);
+        return batchLoader.load(projectRepository, ids, Project::getId, entity -> projectMapper.toResponseDto(entity, lang));
+    }
+
+    /**
+     * Same as {@link #getById(Long, String)}, but reads and sets only {@code fields}; all
+     * of them when null or blank.
+     */
+    public ProjectResponseDto getById(Long id, String fields, String lang) {
+        Set<String> selected = FieldProjector.parse(fields);
+        if (selected == null) {
+            return getById(id, lang);
+        }
+        log.info("Fetching fields {} of project with ID: {}", selected, id);
+        return fieldProjector.project(Project.class, KeysetPaginator.equal("id", id), selected,
+                        ProjectResponseDto.class, lang).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", id));
+    }
+
     /**
      * UNCHANGED METHOD: Gets all projects belonging to a specific initiative.
      */
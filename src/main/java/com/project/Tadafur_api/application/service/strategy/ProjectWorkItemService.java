@@ -1,18 +1,26 @@
 // File: src/main/java/com/project/Tadafur_api/application/service/strategy/ProjectWorkItemService.java
 package com.project.Tadafur_api.application.service.strategy;
 
+import com.project.Tadafur_api.application.dto.common.BatchResultDto;
+import com.project.Tadafur_api.application.dto.common.FilterDto;
+import com.project.Tadafur_api.application.dto.common.KeysetPageDto;
 import com.project.Tadafur_api.application.dto.strategy.response.ProjectWorkItemResponseDto;
 import com.project.Tadafur_api.application.mapper.strategy.ProjectWorkItemMapper;
+import com.project.Tadafur_api.application.service.strategy.EntityExporter.Column;
 import com.project.Tadafur_api.domain.strategy.entity.ProjectWorkItem;
 import com.project.Tadafur_api.domain.strategy.repository.ProjectWorkItemRepository;
 import com.project.Tadafur_api.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -20,8 +28,41 @@ import java.util.Optional;
 @Transactional(readOnly = true)
 public class ProjectWorkItemService {
 
+    private static final List<Column<ProjectWorkItemResponseDto>> EXPORT_COLUMNS = List.of(
+            new Column<>("id", ProjectWorkItemResponseDto::getId),
+            new Column<>("projectId", ProjectWorkItemResponseDto::getProjectId),
+            new Column<>("parentId", ProjectWorkItemResponseDto::getParentId),
+            new Column<>("name", ProjectWorkItemResponseDto::getName),
+            new Column<>("description", ProjectWorkItemResponseDto::getDescription),
+            new Column<>("priorityId", ProjectWorkItemResponseDto::getPriorityId),
+            new Column<>("statusId", ProjectWorkItemResponseDto::getStatusId),
+            new Column<>("assigneeUserId", ProjectWorkItemResponseDto::getAssigneeUserId),
+            new Column<>("estimatedTime", ProjectWorkItemResponseDto::getEstimatedTime),
+            new Column<>("estimatedTimeUnit", ProjectWorkItemResponseDto::getEstimatedTimeUnit),
+            new Column<>("actualTime", ProjectWorkItemResponseDto::getActualTime),
+            new Column<>("actualTimeUnit", ProjectWorkItemResponseDto::getActualTimeUnit),
+            new Column<>("plannedStartDate", ProjectWorkItemResponseDto::getPlannedStartDate),
+            new Column<>("plannedDueDate", ProjectWorkItemResponseDto::getPlannedDueDate),
+            new Column<>("actualStartDate", ProjectWorkItemResponseDto::getActualStartDate),
+            new Column<>("actualDueDate", ProjectWorkItemResponseDto::getActualDueDate),
+            new Column<>("progressPercent", ProjectWorkItemResponseDto::getProgressPercent),
+            new Column<>("workItemGroupId", ProjectWorkItemResponseDto::getWorkItemGroupId),
+            new Column<>("level", ProjectWorkItemResponseDto::getLevel),
+            new Column<>("itemSort", ProjectWorkItemResponseDto::getItemSort),
+            new Column<>("verificationResult", ProjectWorkItemResponseDto::getVerificationResult),
+            new Column<>("progressByEffort", ProjectWorkItemResponseDto::getProgressByEffort),
+            new Column<>("progressByAverage", ProjectWorkItemResponseDto::getProgressByAverage),
+            new Column<>("manualProgressByEffort", ProjectWorkItemResponseDto::getManualProgressByEffort),
+            new Column<>("manualProgressByAverage", ProjectWorkItemResponseDto::getManualProgressByAverage),
+            new Column<>("isAddedFromCustom", ProjectWorkItemResponseDto::getIsAddedFromCustom));
+
     private final ProjectWorkItemRepository workItemRepository;
     private final ProjectWorkItemMapper workItemMapper;
+    private final KeysetPaginator keysetPaginator;
+    private final FilterCompiler filterCompiler;
+    private final BatchLoader batchLoader;
+    private final FieldProjector fieldProjector;
+    private final EntityExporter entityExporter;
 
     /**
      * THIS IS THE MISSING METHOD THAT IS NOW ADDED.
@@ -39,6 +80,62 @@ public class ProjectWorkItemService {
         return workItemMapper.toResponseDtoList(workItems, lang);
     }
 
+    /**
+     * Same as {@link #getWorkItems(Optional, String)}, but reads and sets only {@code fields},
+     * a comma-separated list of DTO fields; all of them when null or blank.
+     */
+    public List<ProjectWorkItemResponseDto> getWorkItems(Optional<Integer> assigneeUserId, String fields, String lang) {
+        Set<String> selected = FieldProjector.parse(fields);
+        if (selected == null) {
+            return getWorkItems(assigneeUserId, lang);
+        }
+        log.info("Fetching fields {} of work items for assignee user ID: {}", selected, assigneeUserId.orElse(null));
+        return fieldProjector.project(ProjectWorkItem.class, KeysetPaginator.equal("assigneeUserId", assigneeUserId.orElse(null)), selected,
+                ProjectWorkItemResponseDto.class, lang);
+    }
+
+    /**
+     * Gets one keyset page of work items, optionally filtered by assigneeUserId and projectId.
+     * See {@link KeysetPaginator} for the size, sort and cursor parameters. Reads and sets
+     * only {@code fields}, a comma-separated list of DTO fields; all of them when null or blank.
+     */
+    public KeysetPageDto<ProjectWorkItemResponseDto> getWorkItemPage(Integer assigneeUserId, Long projectId,
+                                                                     Integer size, String sort, String cursor,
+                                                                     boolean includeTotal, String fields, String lang) {
+        log.info("Fetching a page of work items for assigneeUserId: {}, projectId: {}, sort: {}", assigneeUserId, projectId, sort);
+        Specification<ProjectWorkItem> filter = Specification.where(KeysetPaginator.<ProjectWorkItem>equal("assigneeUserId", assigneeUserId))
+                .and(KeysetPaginator.equal("projectId", projectId));
+        Set<String> selected = FieldProjector.parse(fields);
+        if (selected != null) {
+            return keysetPaginator.page(workItemRepository, ProjectWorkItem.class, filter, size, sort, cursor, includeTotal,
+                    selected, ProjectWorkItemResponseDto.class, lang);
+        }
+        return keysetPaginator.page(workItemRepository, ProjectWorkItem.class, filter, size, sort, cursor, includeTotal,
+                entity -> workItemMapper.toResponseDto(entity, lang));
+    }
+
+    /**
+     * Gets one keyset page of the work items matching {@code filter}. See {@link FilterCompiler}
+     * for the filter and {@link KeysetPaginator} for the other parameters.
+     */
+    public KeysetPageDto<ProjectWorkItemResponseDto> searchWorkItems(FilterDto filter, Integer size, String sort, String cursor,
+                                                                     boolean includeTotal, String lang) {
+        log.info("Searching work items with filter: {}, sort: {}", filter, sort);
+        return keysetPaginator.page(workItemRepository, ProjectWorkItem.class, filterCompiler.compile(ProjectWorkItem.class, filter),
+                size, sort, cursor, includeTotal, entity -> workItemMapper.toResponseDto(entity, lang));
+    }
+
+    /**
+     * Writes the same work items as {@link #getWorkItems} to {@code out}, one per line,
+     * while they are read from a database cursor.
+     */
+    public void exportWorkItems(Integer assigneeUserId, String lang, ExportFormat format, OutputStream out) throws IOException {
+        log.info("Exporting work items for assignee user ID: {} as {}", assigneeUserId, format);
+        long count = entityExporter.export(workItemRepository.streamByAssigneeUserId(assigneeUserId),
+                workItem -> workItemMapper.toResponseDto(workItem, lang), EXPORT_COLUMNS, format, out);
+        log.info("Exported {} work items", count);
+    }
+
     /**
      * UNCHANGED METHOD: Gets a single work item by its ID.
      */
@@ -49,6 +146,31 @@ public class ProjectWorkItemService {
         return workItemMapper.toResponseDto(workItem, lang);
     }
 
+    /**
+     * Gets the work items with the given ids, in the order of {@code ids}; the ids that do
+     * not exist are returned as missing instead of failing the request.
+     */
+    public BatchResultDto<ProjectWorkItemResponseDto> getByIds(List<Long> ids, String lang) {
+        log.info("Fetching {} work items by id for language: {}", ids == null ? 0 : ids.size(), lang);
+        return batchLoader.load(workItemRepository, ids, ProjectWorkItem::getId, entity -> workItemMapper.toResponseDto(entity, lang));
+    }
+
+    /**
+     * Same as {@link #getById(Long, String)}, but reads and sets only {@code fields}; all
+     * of them when null or blank.
+     */
+    public ProjectWorkItemResponseDto getById(Long id, String fields, String lang) {
+        Set<String> selected = FieldProjector.parse(fields);
+        if (selected == null) {
+            return getById(id, lang);
+        }
+        log.info("Fetching fields {} of work item with ID: {}", selected, id);
+        return fieldProjector.project(ProjectWorkItem.class, KeysetPaginator.equal("id", id), selected,
+                        ProjectWorkItemResponseDto.class, lang).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("ProjectWorkItem", "id", id));
+    }
+
     /**
      * UNCHANGED METHOD: Gets all work items belonging to a specific project.
      */
@@ -0,0 +1,109 @@
+package com.project.Tadafur_api.application.service.strategy;
+
+import com.project.Tadafur_api.application.dto.common.PaginationDto;
+import com.project.Tadafur_api.application.dto.strategy.response.SearchResultDto;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository;
+import com.project.Tadafur_api.domain.strategy.service.SearchIndexService;
+import com.project.Tadafur_api.domain.strategy.service.SearchIndexService.Kind;
+import com.project.Tadafur_api.shared.constants.ApiConstants;
+import com.project.Tadafur_api.shared.util.EnumUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text search over the names and descriptions of every hierarchy level, served from
+ * the in-memory {@link SearchIndexService}. Only the names of the hits on the page are
+ * read from the database, in the requested language.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class SearchService {
+
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final SearchIndexService searchIndexService;
+    private final StrategyRepository strategyRepository;
+
+    /**
+     * @param levels the levels to search, as level names or "work-item"; all when empty.
+     * @param page   zero-based.
+     * @throws IllegalArgumentException for a blank or too long query, one without searchable
+     *                                  words, an unknown level or an invalid page or size.
+     */
+    public SearchResultDto search(String query, List<String> levels, int page, int size, String lang) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("A search query is required.");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("The search query can have at most " + MAX_QUERY_LENGTH + " characters.");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative.");
+        }
+        if (size < 1 || size > ApiConstants.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + ApiConstants.MAX_PAGE_SIZE + ".");
+        }
+        Set<Kind> kinds = parseKinds(levels);
+        log.info("Searching {} for '{}', page {}", kinds.isEmpty() ? "all levels" : kinds, query, page);
+
+        long offset = (long) page * size;
+        SearchIndexService.SearchResult result = searchIndexService.search(query.trim(), kinds,
+                (int) Math.min(offset, Integer.MAX_VALUE), size);
+
+        Map<Kind, Map<Long, String>> names = new EnumMap<>(Kind.class);
+        result.hits().stream()
+                .collect(Collectors.groupingBy(SearchIndexService.Hit::kind,
+                        Collectors.mapping(SearchIndexService.Hit::id, Collectors.toList())))
+                .forEach((kind, ids) -> names.put(kind, strategyRepository
+                        .getLocalizedNodeNames(kind.ordinal(), ids, lang).stream()
+                        .filter(n -> n.getName() != null)
+                        .collect(Collectors.toMap(StrategyRepository.LocalizedNodeName::getId,
+                                StrategyRepository.LocalizedNodeName::getName))));
+
+        List<SearchResultDto.Hit> content = result.hits().stream()
+                .map(hit -> SearchResultDto.Hit.builder()
+                        .level(EnumUtils.label(hit.kind()))
+                        .id(hit.id())
+                        .name(names.getOrDefault(hit.kind(), Map.of()).get(hit.id()))
+                        .score(Math.round(hit.score() * 1000) / 1000.0)
+                        .build())
+                .toList();
+        int total = result.totalMatches();
+        int totalPages = (total + size - 1) / size;
+        return SearchResultDto.builder()
+                .content(content)
+                .pagination(PaginationDto.builder()
+                        .page(page)
+                        .size(size)
+                        .totalElements((long) total)
+                        .totalPages(totalPages)
+                        .first(page == 0)
+                        .last(page >= totalPages - 1)
+                        .hasNext(page < totalPages - 1)
+                        .hasPrevious(page > 0)
+                        .build())
+                .build();
+    }
+
+    private static Set<Kind> parseKinds(List<String> levels) {
+        Set<Kind> kinds = EnumSet.noneOf(Kind.class);
+        if (levels == null) {
+            return kinds;
+        }
+        for (String level : levels) {
+            if (level == null || level.isBlank()) {
+                continue;
+            }
+            kinds.add(EnumUtils.parse(Kind.class, "level", level));
+        }
+        return kinds;
+    }
+
+}
@@ -1,6 +1,9 @@
 // File: src/main/java/com/project/Tadafur_api/application/service/strategy/StrategyService.java
 package com.project.Tadafur_api.application.service.strategy;
 
+import com.project.Tadafur_api.application.dto.common.BatchResultDto;
+import com.project.Tadafur_api.application.dto.common.FilterDto;
+import com.project.Tadafur_api.application.dto.common.KeysetPageDto;
 import com.project.Tadafur_api.application.dto.strategy.response.StrategyResponseDto;
 import com.project.Tadafur_api.application.mapper.strategy.StrategyMapper;
 import com.project.Tadafur_api.domain.strategy.entity.Strategy;
@@ -8,6 +11,7 @@ import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository;
 import com.project.Tadafur_api.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +26,9 @@ public class StrategyService {
 
     private final StrategyRepository strategyRepository;
     private final StrategyMapper strategyMapper;
+    private final KeysetPaginator keysetPaginator;
+    private final FilterCompiler filterCompiler;
+    private final BatchLoader batchLoader;
 
     /**
      * REFACTORED METHOD: Gets strategies based on an optional owner ID.
@@ -40,6 +47,29 @@ public class StrategyService {
         return strategyMapper.toResponseDtoList(strategies, lang);
     }
 
+    /**
+     * Gets one keyset page of strategies, optionally filtered by ownerId.
+     * See {@link KeysetPaginator} for the size, sort and cursor parameters.
+     */
+    public KeysetPageDto<StrategyResponseDto> getStrategyPage(Long ownerId, Integer size, String sort,
+                                                              String cursor, boolean includeTotal, String lang) {
+        log.info("Fetching a page of strategies for ownerId: {}, sort: {}", ownerId, sort);
+        Specification<Strategy> filter = KeysetPaginator.equal("ownerId", ownerId);
+        return keysetPaginator.page(strategyRepository, Strategy.class, filter, size, sort, cursor, includeTotal,
+                entity -> strategyMapper.toResponseDto(entity, lang));
+    }
+
+    /**
+     * Gets one keyset page of the strategies matching {@code filter}. See {@link FilterCompiler}
+     * for the filter and {@link KeysetPaginator} for the other parameters.
+     */
+    public KeysetPageDto<StrategyResponseDto> searchStrategies(FilterDto filter, Integer size, String sort, String cursor,
+                                                               boolean includeTotal, String lang) {
+        log.info("Searching strategies with filter: {}, sort: {}", filter, sort);
+        return keysetPaginator.page(strategyRepository, Strategy.class, filterCompiler.compile(Strategy.class, filter),
+                size, sort, cursor, includeTotal, entity -> strategyMapper.toResponseDto(entity, lang));
+    }
+
     /**
      * Gets a single strategy by its ID. (This method is unchanged).
      */
@@ -49,4 +79,13 @@ public class StrategyService {
                 .orElseThrow(() -> new ResourceNotFoundException("Strategy", "id", id));
         return strategyMapper.toResponseDto(strategy, lang);
     }
+
+    /**
+     * Gets the strategies with the given ids, in the order of {@code ids}; the ids that do
+     * not exist are returned as missing instead of failing the request.
+     */
+    public BatchResultDto<StrategyResponseDto> getByIds(List<Long> ids, String lang) {
+        log.info("Fetching {} strategies by id for language: {}", ids == null ? 0 : ids.size(), lang);
+        return batchLoader.load(strategyRepository, ids, Strategy::getId, entity -> strategyMapper.toResponseDto(entity, lang));
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.project.Tadafur_api.domain.strategy.entity;
 
+import io.hypersistence.utils.hibernate.type.array.IntArrayType;
 import io.hypersistence.utils.hibernate.type.json.JsonType;
 import jakarta.persistence.*;
 import lombok.*;
@@ -56,6 +57,7 @@ public class Strategy implements Serializable {
     @Column(name = "calculated_total_payments")
     private BigDecimal calculatedTotalPayments;
 
+    @Type(IntArrayType.class)
     @Column(name = "budget_sources", columnDefinition = "integer[]")
-    private String budgetSources; // Keep as String for array type, or use a converter
+    private int[] budgetSources;
 }
\ No newline at end of file
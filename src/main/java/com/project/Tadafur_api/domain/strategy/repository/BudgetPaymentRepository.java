@@ -2,11 +2,150 @@ package com.project.Tadafur_api.domain.strategy.repository;
 
 import com.project.Tadafur_api.domain.strategy.entity.BudgetPayment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface BudgetPaymentRepository extends JpaRepository<BudgetPayment, Long> {
     List<BudgetPayment> findByEntityIdAndEntityCode(Long entityId, String entityCode);
-}
\ No newline at end of file
+
+    public interface EntityPaymentTotal {
+        Long getEntityId();
+        BigDecimal getTotal();
+    }
+
+    /**
+     * The total paid to each of the given projects, across all of their payments.
+     */
+    @Query(value = """
+        SELECT
+            bp.entity_id AS "entityId",
+            SUM(bp.amount) AS "total"
+        FROM
+            budget_payments bp
+        WHERE
+            bp.entity_code = 'PROJECT'
+            AND bp.entity_id IN (:projectIds)
+        GROUP BY
+            bp.entity_id
+    """, nativeQuery = true)
+    List<EntityPaymentTotal> getProjectPaymentTotals(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * The payments of one project, initiative or strategy within one time bucket.
+     */
+    public interface SpendBucket {
+        Long getEntityId();
+        LocalDate getBucket();
+        BigDecimal getAmount();
+    }
+
+    /**
+     * Bucket column, sum and joins shared by the spend bucket queries. {@code :granularity}
+     * is a date_trunc field ('day', 'week' or 'month'); weeks start on Monday.
+     */
+    String SPEND_BUCKET_COLUMNS = """
+            CAST(date_trunc(:granularity, bp.payment_date) AS date) AS "bucket",
+            SUM(bp.amount) AS "amount"
+        FROM
+            budget_payments bp
+        JOIN
+            project proj ON proj.id = bp.entity_id AND bp.entity_code = 'PROJECT'
+    """;
+
+    String SPEND_BUCKET_GROUPING = """
+            AND (:ownerId IS NULL OR proj.owner_id = :ownerId)
+        GROUP BY
+            1, 2
+        ORDER BY
+            1, 2
+    """;
+
+    @Query(value = SpendSql.PROJECTS + "SELECT proj.id AS \"entityId\"," + SPEND_BUCKET_COLUMNS
+            + " WHERE proj.id IN (SELECT id FROM entities)" + SPEND_BUCKET_GROUPING, nativeQuery = true)
+    List<SpendBucket> getProjectSpendBuckets(@Param("id") Long projectId,
+                                             @Param("ownerId") Long ownerId,
+                                             @Param("limit") int limit,
+                                             @Param("granularity") String granularity);
+
+    @Query(value = SpendSql.INITIATIVES + "SELECT proj.parent_id AS \"entityId\"," + SPEND_BUCKET_COLUMNS
+            + " WHERE proj.parent_id IN (SELECT id FROM entities)" + SPEND_BUCKET_GROUPING, nativeQuery = true)
+    List<SpendBucket> getInitiativeSpendBuckets(@Param("id") Long initiativeId,
+                                                @Param("ownerId") Long ownerId,
+                                                @Param("limit") int limit,
+                                                @Param("granularity") String granularity);
+
+    @Query(value = SpendSql.STRATEGIES + "SELECT p.parent_id AS \"entityId\"," + SPEND_BUCKET_COLUMNS + """
+        JOIN
+            initiative i ON i.id = proj.parent_id
+        JOIN
+            program prog ON prog.id = i.parent_id
+        JOIN
+            goal g ON g.id = prog.parent_id
+        JOIN
+            perspective p ON p.id = g.parent_id
+        WHERE
+            p.parent_id IN (SELECT id FROM entities)
+    """ + SPEND_BUCKET_GROUPING, nativeQuery = true)
+    List<SpendBucket> getStrategySpendBuckets(@Param("id") Long strategyId,
+                                              @Param("ownerId") Long ownerId,
+                                              @Param("limit") int limit,
+                                              @Param("granularity") String granularity);
+
+    /**
+     * The project payments with an id above a watermark, totalled per project. The
+     * count, xmin sum and highest id let the caller extend its payment watermark.
+     */
+    public interface ProjectPaymentDelta {
+        Long getProjectId();
+        BigDecimal getTotal();
+        Long getPaymentCount();
+        Long getXminSum();
+        Long getMaxId();
+    }
+
+    @Query(value = """
+        SELECT
+            bp.entity_id AS "projectId",
+            COALESCE(SUM(bp.amount), 0) AS "total",
+            COUNT(*) AS "paymentCount",
+            CAST(SUM(bp.xmin::text::bigint) AS bigint) AS "xminSum",
+            MAX(bp.id) AS "maxId"
+        FROM
+            budget_payments bp
+        WHERE
+            bp.entity_code = 'PROJECT'
+            AND bp.id > :afterId
+        GROUP BY
+            bp.entity_id
+    """, nativeQuery = true)
+    List<ProjectPaymentDelta> getProjectPaymentDeltas(@Param("afterId") long afterId);
+
+    public interface PaymentWatermark {
+        Long getPaymentCount();
+        Long getXminSum();
+    }
+
+    /**
+     * Count and xmin total of the project payments up to an id. Differs from the
+     * values accumulated through {@link #getProjectPaymentDeltas} once any of those
+     * payments is edited or deleted, or one with a lower id is committed late.
+     */
+    @Query(value = """
+        SELECT
+            COUNT(*) AS "paymentCount",
+            CAST(COALESCE(SUM(bp.xmin::text::bigint), 0) AS bigint) AS "xminSum"
+        FROM
+            budget_payments bp
+        WHERE
+            bp.entity_code = 'PROJECT'
+            AND bp.id <= :upToId
+    """, nativeQuery = true)
+    PaymentWatermark getProjectPaymentWatermark(@Param("upToId") long upToId);
+}
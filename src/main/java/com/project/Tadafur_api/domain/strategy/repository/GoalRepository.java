@@ -3,16 +3,24 @@ package com.project.Tadafur_api.domain.strategy.repository;
 
 import com.project.Tadafur_api.domain.strategy.entity.Goal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface GoalRepository extends JpaRepository<Goal, Long> {
+public interface GoalRepository extends JpaRepository<Goal, Long>, JpaSpecificationExecutor<Goal> {
 
     // This method is unchanged: It finds all goals for a specific perspective.
     List<Goal> findByParentId(Long parentId);
 
+    /**
+     * Finds the goals of several perspectives in one query. Used by the
+     * hierarchy loader to fetch a whole level with a single round trip.
+     */
+    List<Goal> findByParentIdIn(Collection<Long> parentIds);
+
     /**
      * NEW METHOD: Finds all goals owned by a specific authority.
      * This will be used for the new ownerId filter.
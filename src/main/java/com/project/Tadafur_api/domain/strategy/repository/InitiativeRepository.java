@@ -3,16 +3,24 @@ package com.project.Tadafur_api.domain.strategy.repository;
 
 import com.project.Tadafur_api.domain.strategy.entity.Initiative;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface InitiativeRepository extends JpaRepository<Initiative, Long> {
+public interface InitiativeRepository extends JpaRepository<Initiative, Long>, JpaSpecificationExecutor<Initiative> {
 
     // This method is unchanged: It finds all initiatives for a specific program.
     List<Initiative> findByParentId(Long parentId);
 
+    /**
+     * Finds the initiatives of several programs in one query. Used by the
+     * hierarchy loader to fetch a whole level with a single round trip.
+     */
+    List<Initiative> findByParentIdIn(Collection<Long> parentIds);
+
     /**
      * NEW METHOD: Finds all initiatives owned by a specific authority.
      */
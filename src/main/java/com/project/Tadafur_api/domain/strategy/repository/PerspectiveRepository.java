@@ -3,16 +3,24 @@ package com.project.Tadafur_api.domain.strategy.repository;
 
 import com.project.Tadafur_api.domain.strategy.entity.Perspective;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface PerspectiveRepository extends JpaRepository<Perspective, Long> {
+public interface PerspectiveRepository extends JpaRepository<Perspective, Long>, JpaSpecificationExecutor<Perspective> {
 
     // THIS METHOD IS UNCHANGED: It finds all perspectives for a specific strategy.
     List<Perspective> findByParentId(Long parentId);
 
+    /**
+     * Finds the perspectives of several strategies in one query. Used by the
+     * hierarchy loader to fetch a whole level with a single round trip.
+     */
+    List<Perspective> findByParentIdIn(Collection<Long> parentIds);
+
     /**
      * NEW METHOD: Finds all perspectives owned by a specific authority.
      * This will be used for the new ownerId filter.
@@ -3,16 +3,24 @@ package com.project.Tadafur_api.domain.strategy.repository;
 
 import com.project.Tadafur_api.domain.strategy.entity.Program;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ProgramRepository extends JpaRepository<Program, Long> {
+public interface ProgramRepository extends JpaRepository<Program, Long>, JpaSpecificationExecutor<Program> {
 
     // This method is unchanged: It finds all programs for a specific goal.
     List<Program> findByParentId(Long parentId);
 
+    /**
+     * Finds the programs of several goals in one query. Used by the
+     * hierarchy loader to fetch a whole level with a single round trip.
+     */
+    List<Program> findByParentIdIn(Collection<Long> parentIds);
+
     /**
      * NEW METHOD: Finds all programs owned by a specific authority.
      */
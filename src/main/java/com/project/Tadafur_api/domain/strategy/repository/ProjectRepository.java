@@ -1,15 +1,21 @@
 package com.project.Tadafur_api.domain.strategy.repository;
 
 import com.project.Tadafur_api.domain.strategy.entity.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, JpaSpecificationExecutor<Project> {
 
     /**
      * Finds all projects that are direct children of a given initiative.
@@ -17,12 +23,31 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
      */
     List<Project> findByParentId(Long parentId);
 
+    /**
+     * Finds the projects of several initiatives in one query. Used by the
+     * hierarchy loader to fetch a whole level with a single round trip.
+     */
+    List<Project> findByParentIdIn(Collection<Long> parentIds);
+
     /**
      * Finds all projects assigned to a specific owner. This is used by the
      * analytics service to filter the projects before processing.
      */
     List<Project> findByOwnerId(Long ownerId);
 
+    boolean existsByOwnerId(Long ownerId);
+
+    /**
+     * All projects, or the projects of one owner, in id order through a forward-only
+     * cursor. Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Project p WHERE (:ownerId IS NULL OR p.ownerId = :ownerId) ORDER BY p.id")
+    Stream<Project> streamByOwnerId(@Param("ownerId") Long ownerId);
+
     /**
      * A projection interface to map the results from our efficient native SQL query.
      * This helps Spring Data JPA correctly handle the custom columns returned by the query.
@@ -70,4 +95,427 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
             @Param("projectId") Long projectId,
             @Param("ownerId") Long ownerId
     );
-}
\ No newline at end of file
+
+    /**
+     * Same columns as {@link ProjectPaymentDetails}, except that the project name
+     * has already been translated by the database.
+     */
+    public interface LocalizedProjectPaymentDetails {
+        Long getProjectId();
+        String getProjectName();
+        java.math.BigDecimal getPlannedTotalBudget();
+        Long getPaymentId();
+        java.time.LocalDate getPaymentDate();
+        java.math.BigDecimal getPaymentAmount();
+        String getNotesTranslations();
+        String getPaymentCreatedBy();
+        java.time.LocalDateTime getPaymentCreatedAt();
+    }
+
+    /**
+     * Select list and joins shared by the localized payment details queries. The
+     * project name is resolved to {@code :lang} in SQL (falling back to English,
+     * Arabic and then any non-blank translation) so the name_translations JSON
+     * never leaves the database.
+     */
+    String LOCALIZED_PAYMENT_DETAILS_SELECT = """
+        SELECT
+            p.id AS "projectId",
+            """ + TranslationSql.NAME_OF + "p.name_translations" + TranslationSql.END_NAME + """
+            AS "projectName",
+            p.planned_total_budget AS "plannedTotalBudget",
+            bp.id AS "paymentId",
+            bp.payment_date AS "paymentDate",
+            bp.amount AS "paymentAmount",
+            bp.note_translations AS "notesTranslations",
+            bp.created_by AS "paymentCreatedBy",
+            bp.created_at AS "paymentCreatedAt"
+        FROM
+            project p
+        LEFT JOIN
+            budget_payments bp ON p.id = bp.entity_id AND bp.entity_code = 'PROJECT'
+        WHERE
+            (:projectId IS NULL OR p.id = :projectId) AND
+            (:ownerId IS NULL OR p.owner_id = :ownerId)
+    """;
+
+    /**
+     * Same rows as {@link #getProjectPaymentDetails}, with the project name
+     * translated in SQL.
+     */
+    @Query(value = LOCALIZED_PAYMENT_DETAILS_SELECT + """
+        ORDER BY
+            p.id, bp.payment_date
+    """, nativeQuery = true)
+    List<LocalizedProjectPaymentDetails> getLocalizedProjectPaymentDetails(
+            @Param("projectId") Long projectId,
+            @Param("ownerId") Long ownerId,
+            @Param("lang") String lang
+    );
+
+    /**
+     * The first keyset page of {@link #getLocalizedProjectPaymentDetails}, ordered by
+     * (project id, payment date, payment id). {@link #getLocalizedProjectPaymentDetailsPage}
+     * reads the pages after it.
+     */
+    @Query(value = LOCALIZED_PAYMENT_DETAILS_SELECT + """
+        ORDER BY
+            p.id, bp.payment_date, bp.id
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<LocalizedProjectPaymentDetails> getLocalizedProjectPaymentDetailsFirstPage(
+            @Param("projectId") Long projectId,
+            @Param("ownerId") Long ownerId,
+            @Param("lang") String lang,
+            @Param("limit") int limit
+    );
+
+    /**
+     * One keyset page of {@link #getLocalizedProjectPaymentDetails} after the given
+     * position, seeking with a single row-value comparison the planner can use as an index
+     * range. A project without payments is a single row with a null payment; a position
+     * without a payment makes the comparison null on that project, so the page continues
+     * with the next one.
+     */
+    @Query(value = LOCALIZED_PAYMENT_DETAILS_SELECT + """
+            AND (p.id, bp.payment_date, bp.id)
+                > (:afterProjectId, CAST(:afterPaymentDate AS date), CAST(:afterPaymentId AS bigint))
+        ORDER BY
+            p.id, bp.payment_date, bp.id
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<LocalizedProjectPaymentDetails> getLocalizedProjectPaymentDetailsPage(
+            @Param("projectId") Long projectId,
+            @Param("ownerId") Long ownerId,
+            @Param("lang") String lang,
+            @Param("afterProjectId") Long afterProjectId,
+            @Param("afterPaymentDate") java.time.LocalDate afterPaymentDate,
+            @Param("afterPaymentId") Long afterPaymentId,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Same rows as the keyset pages, read through a forward-only cursor in batches
+     * of the fetch size. Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = LOCALIZED_PAYMENT_DETAILS_SELECT + """
+        ORDER BY
+            p.id, bp.payment_date, bp.id
+    """, nativeQuery = true)
+    Stream<LocalizedProjectPaymentDetails> streamLocalizedProjectPaymentDetails(
+            @Param("projectId") Long projectId,
+            @Param("ownerId") Long ownerId,
+            @Param("lang") String lang
+    );
+
+    /**
+     * Number of rows {@link #streamLocalizedProjectPaymentDetails} returns for the same filters.
+     */
+    @Query(value = """
+        SELECT
+            count(*)
+        FROM
+            project p
+        LEFT JOIN
+            budget_payments bp ON p.id = bp.entity_id AND bp.entity_code = 'PROJECT'
+        WHERE
+            (:projectId IS NULL OR p.id = :projectId) AND
+            (:ownerId IS NULL OR p.owner_id = :ownerId)
+    """, nativeQuery = true)
+    long countLocalizedProjectPaymentDetails(@Param("projectId") Long projectId, @Param("ownerId") Long ownerId);
+
+    /**
+     * The schedule and planned budget of one project, labelled with the project,
+     * initiative or strategy it is reported under.
+     */
+    public interface SpendPlanRow {
+        Long getEntityId();
+        String getEntityName();
+        java.time.LocalDate getStartDate();
+        java.time.LocalDate getEndDate();
+        java.math.BigDecimal getPlannedTotalBudget();
+    }
+
+    String SPEND_PLAN_COLUMNS = """
+            proj.start_date AS "startDate",
+            proj.end_date AS "endDate",
+            proj.planned_total_budget AS "plannedTotalBudget"
+        FROM
+            project proj
+    """;
+
+    @Query(value = SpendSql.PROJECTS + """
+        SELECT
+            proj.id AS "entityId",
+            """ + TranslationSql.NAME_OF + "proj.name_translations" + TranslationSql.END_NAME + """
+            AS "entityName",
+    """ + SPEND_PLAN_COLUMNS + """
+        WHERE
+            proj.id IN (SELECT id FROM entities)
+        ORDER BY
+            proj.id
+    """, nativeQuery = true)
+    List<SpendPlanRow> getProjectSpendPlan(@Param("id") Long projectId,
+                                           @Param("ownerId") Long ownerId,
+                                           @Param("limit") int limit,
+                                           @Param("lang") String lang);
+
+    @Query(value = SpendSql.INITIATIVES + """
+        SELECT
+            i.id AS "entityId",
+            """ + TranslationSql.NAME_OF + "i.name_translations" + TranslationSql.END_NAME + """
+            AS "entityName",
+    """ + SPEND_PLAN_COLUMNS + """
+        JOIN
+            initiative i ON i.id = proj.parent_id
+        WHERE
+            i.id IN (SELECT id FROM entities)
+            AND (:ownerId IS NULL OR proj.owner_id = :ownerId)
+        ORDER BY
+            i.id
+    """, nativeQuery = true)
+    List<SpendPlanRow> getInitiativeSpendPlan(@Param("id") Long initiativeId,
+                                              @Param("ownerId") Long ownerId,
+                                              @Param("limit") int limit,
+                                              @Param("lang") String lang);
+
+    @Query(value = SpendSql.STRATEGIES + """
+        SELECT
+            s.id AS "entityId",
+            """ + TranslationSql.NAME_OF + "s.name_translations" + TranslationSql.END_NAME + """
+            AS "entityName",
+    """ + SPEND_PLAN_COLUMNS + """
+        JOIN
+            initiative i ON i.id = proj.parent_id
+        JOIN
+            program prog ON prog.id = i.parent_id
+        JOIN
+            goal g ON g.id = prog.parent_id
+        JOIN
+            perspective p ON p.id = g.parent_id
+        JOIN
+            strategy s ON s.id = p.parent_id
+        WHERE
+            s.id IN (SELECT id FROM entities)
+            AND (:ownerId IS NULL OR proj.owner_id = :ownerId)
+        ORDER BY
+            s.id
+    """, nativeQuery = true)
+    List<SpendPlanRow> getStrategySpendPlan(@Param("id") Long strategyId,
+                                            @Param("ownerId") Long ownerId,
+                                            @Param("limit") int limit,
+                                            @Param("lang") String lang);
+
+    /**
+     * The progress inputs of one project.
+     */
+    public interface ProjectProgressRow {
+        Long getId();
+        Long getParentId();
+        Double getContributionPercent();
+        java.math.BigDecimal getProgressByEffort();
+        java.math.BigDecimal getProgressByAverage();
+        java.math.BigDecimal getManualProgressByEffort();
+        java.math.BigDecimal getManualProgressByAverage();
+        java.math.BigDecimal getCalculatedProgressPercent();
+        java.math.BigDecimal getHybridProgressPercent();
+    }
+
+    @Query(value = """
+        SELECT
+            proj.id AS "id",
+            proj.parent_id AS "parentId",
+            proj.contributionpercent AS "contributionPercent",
+            proj.progress_by_effort AS "progressByEffort",
+            proj.progress_by_average AS "progressByAverage",
+            proj.manual_progress_by_effort AS "manualProgressByEffort",
+            proj.manual_progress_by_average AS "manualProgressByAverage",
+            proj.calculated_progress_percent AS "calculatedProgressPercent",
+            proj.hybrid_progress_percent AS "hybridProgressPercent"
+        FROM
+            project proj
+        ORDER BY
+            proj.id
+    """, nativeQuery = true)
+    List<ProjectProgressRow> getProjectProgressRows();
+
+    public interface LocalizedProjectName {
+        Long getId();
+        String getName();
+    }
+
+    @Query(value = """
+        SELECT
+            proj.id AS "id",
+            """ + TranslationSql.NAME_OF + "proj.name_translations" + TranslationSql.END_NAME + """
+            AS "name"
+        FROM
+            project proj
+        WHERE
+            proj.id IN (:ids)
+    """, nativeQuery = true)
+    List<LocalizedProjectName> getLocalizedProjectNames(@Param("ids") Collection<Long> ids, @Param("lang") String lang);
+
+    /**
+     * The analytics facts of one project. {@code version} is the row's xmin, and
+     * {@code visionPriorities} is the vision_priorities array joined with commas.
+     */
+    public interface ProjectFactRow {
+        Long getId();
+        Long getVersion();
+        Long getParentId();
+        Long getOwnerId();
+        Long getStrategyId();
+        java.math.BigDecimal getPlannedTotalBudget();
+        java.math.BigDecimal getActualCost();
+        java.math.BigDecimal getCalculatedProgressPercent();
+        java.time.LocalDate getStartDate();
+        java.time.LocalDate getEndDate();
+        String getPlanningStatusCode();
+        String getProgressStatusCode();
+        Integer getPriorityId();
+        Integer getStatusId();
+        String getVisionPriorities();
+    }
+
+    String PROJECT_FACT_SELECT = """
+        SELECT
+            proj.id AS "id",
+            CAST(proj.xmin::text AS bigint) AS "version",
+            proj.parent_id AS "parentId",
+            proj.owner_id AS "ownerId",
+            p.parent_id AS "strategyId",
+            proj.planned_total_budget AS "plannedTotalBudget",
+            proj.actual_cost AS "actualCost",
+            proj.calculated_progress_percent AS "calculatedProgressPercent",
+            proj.start_date AS "startDate",
+            proj.end_date AS "endDate",
+            proj.planning_status_code AS "planningStatusCode",
+            proj.progress_status_code AS "progressStatusCode",
+            proj.priority_id AS "priorityId",
+            proj.status_id AS "statusId",
+            array_to_string(proj.vision_priorities, ',') AS "visionPriorities"
+        FROM
+            project proj
+        LEFT JOIN
+            initiative i ON i.id = proj.parent_id
+        LEFT JOIN
+            program prog ON prog.id = i.parent_id
+        LEFT JOIN
+            goal g ON g.id = prog.parent_id
+        LEFT JOIN
+            perspective p ON p.id = g.parent_id
+    """;
+
+    @Query(value = PROJECT_FACT_SELECT + """
+        ORDER BY
+            proj.id
+    """, nativeQuery = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    List<ProjectFactRow> getProjectFactRows();
+
+    @Query(value = PROJECT_FACT_SELECT + """
+        WHERE
+            proj.id IN (:ids)
+        ORDER BY
+            proj.id
+    """, nativeQuery = true)
+    List<ProjectFactRow> getProjectFactRowsByIds(@Param("ids") Collection<Long> ids);
+
+    public interface ProjectVersion {
+        Long getId();
+        Long getVersion();
+    }
+
+    /**
+     * The xmin of every project, to find the ones changed since a load.
+     */
+    @Query(value = """
+        SELECT proj.id AS "id", CAST(proj.xmin::text AS bigint) AS "version" FROM project proj
+    """, nativeQuery = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    List<ProjectVersion> getProjectVersions();
+
+    /**
+     * One project of the portfolio status report.
+     */
+    public interface PortfolioStatusRow {
+        Long getProjectId();
+        String getProjectName();
+        Long getStrategyId();
+        Long getOwnerId();
+        java.time.LocalDate getStartDate();
+        java.time.LocalDate getEndDate();
+        String getPlanningStatusCode();
+        String getProgressStatusCode();
+        java.math.BigDecimal getCalculatedProgressPercent();
+        java.math.BigDecimal getPlannedTotalBudget();
+        java.math.BigDecimal getActualCost();
+        java.math.BigDecimal getTotalPayments();
+    }
+
+    /**
+     * Joins and filters shared by the portfolio status queries. The strategy is reached
+     * through the project's initiative, program, goal and perspective.
+     */
+    String PORTFOLIO_STATUS_FROM = """
+        FROM
+            project proj
+        LEFT JOIN
+            initiative i ON i.id = proj.parent_id
+        LEFT JOIN
+            program prog ON prog.id = i.parent_id
+        LEFT JOIN
+            goal g ON g.id = prog.parent_id
+        LEFT JOIN
+            perspective p ON p.id = g.parent_id
+        WHERE
+            (:ownerId IS NULL OR proj.owner_id = :ownerId)
+            AND (:strategyId IS NULL OR p.parent_id = :strategyId)
+    """;
+
+    /**
+     * The portfolio status rows read through a forward-only cursor. Must be consumed
+     * inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = """
+        SELECT
+            proj.id AS "projectId",
+            """ + TranslationSql.NAME_OF + "proj.name_translations" + TranslationSql.END_NAME + """
+            AS "projectName",
+            p.parent_id AS "strategyId",
+            proj.owner_id AS "ownerId",
+            proj.start_date AS "startDate",
+            proj.end_date AS "endDate",
+            proj.planning_status_code AS "planningStatusCode",
+            proj.progress_status_code AS "progressStatusCode",
+            proj.calculated_progress_percent AS "calculatedProgressPercent",
+            proj.planned_total_budget AS "plannedTotalBudget",
+            proj.actual_cost AS "actualCost",
+            (SELECT COALESCE(SUM(bp.amount), 0) FROM budget_payments bp
+             WHERE bp.entity_code = 'PROJECT' AND bp.entity_id = proj.id) AS "totalPayments"
+    """ + PORTFOLIO_STATUS_FROM + """
+        ORDER BY
+            proj.id
+    """, nativeQuery = true)
+    Stream<PortfolioStatusRow> streamPortfolioStatusRows(@Param("ownerId") Long ownerId,
+                                                         @Param("strategyId") Long strategyId,
+                                                         @Param("lang") String lang);
+
+    @Query(value = "SELECT count(*) " + PORTFOLIO_STATUS_FROM, nativeQuery = true)
+    long countPortfolioStatusRows(@Param("ownerId") Long ownerId, @Param("strategyId") Long strategyId);
+}
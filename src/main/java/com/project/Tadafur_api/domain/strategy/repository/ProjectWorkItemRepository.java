@@ -2,19 +2,115 @@
 package com.project.Tadafur_api.domain.strategy.repository;
 
 import com.project.Tadafur_api.domain.strategy.entity.ProjectWorkItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProjectWorkItemRepository extends JpaRepository<ProjectWorkItem, Long> {
+public interface ProjectWorkItemRepository extends JpaRepository<ProjectWorkItem, Long>, JpaSpecificationExecutor<ProjectWorkItem> {
 
     // This method is unchanged: It finds all work items for a specific project.
     List<ProjectWorkItem> findByProjectId(Long projectId);
 
+    /**
+     * Finds the work items of several projects in one query. Used by the
+     * hierarchy loader to fetch a whole level with a single round trip.
+     */
+    List<ProjectWorkItem> findByProjectIdIn(Collection<Long> projectIds);
+
     /**
      * NEW METHOD: Finds all work items assigned to a specific user.
      */
     List<ProjectWorkItem> findByAssigneeUserId(Integer assigneeUserId);
+
+    /**
+     * All work items, or the work items of one assignee, in id order through a
+     * forward-only cursor. Must be consumed inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT w FROM ProjectWorkItem w WHERE (:assigneeUserId IS NULL OR w.assigneeUserId = :assigneeUserId) ORDER BY w.id")
+    Stream<ProjectWorkItem> streamByAssigneeUserId(@Param("assigneeUserId") Integer assigneeUserId);
+
+    /**
+     * One work item of the work-item status report.
+     */
+    public interface WorkItemStatusRow {
+        Long getWorkItemId();
+        String getWorkItemName();
+        Long getProjectId();
+        String getProjectName();
+        Long getParentId();
+        Integer getStatusId();
+        Integer getPriorityId();
+        Integer getAssigneeUserId();
+        LocalDate getPlannedStartDate();
+        LocalDate getPlannedDueDate();
+        LocalDate getActualStartDate();
+        LocalDate getActualDueDate();
+        BigDecimal getProgressPercent();
+    }
+
+    /**
+     * Joins and filters shared by the work-item status queries.
+     */
+    String WORK_ITEM_STATUS_FROM = """
+        FROM
+            project_work_item w
+        JOIN
+            project p ON p.id = w.project_id
+        WHERE
+            (:projectId IS NULL OR w.project_id = :projectId)
+            AND (:ownerId IS NULL OR p.owner_id = :ownerId)
+    """;
+
+    /**
+     * The work-item status rows, names translated to {@code :lang} as in the project
+     * payment queries, read through a forward-only cursor. Must be consumed inside a
+     * transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = """
+        SELECT
+            w.id AS "workItemId",
+            """ + TranslationSql.NAME_OF + "w.name_translations" + TranslationSql.END_NAME + """
+            AS "workItemName",
+            w.project_id AS "projectId",
+            """ + TranslationSql.NAME_OF + "p.name_translations" + TranslationSql.END_NAME + """
+            AS "projectName",
+            w.parent_id AS "parentId",
+            w.status_id AS "statusId",
+            w.priority_id AS "priorityId",
+            w.assignee_user_id AS "assigneeUserId",
+            w.planned_start_date AS "plannedStartDate",
+            w.planned_due_date AS "plannedDueDate",
+            w.actual_start_date AS "actualStartDate",
+            w.actual_due_date AS "actualDueDate",
+            w.progress_percent AS "progressPercent"
+    """ + WORK_ITEM_STATUS_FROM + """
+        ORDER BY
+            w.project_id, w.id
+    """, nativeQuery = true)
+    Stream<WorkItemStatusRow> streamWorkItemStatusRows(@Param("projectId") Long projectId,
+                                                       @Param("ownerId") Long ownerId,
+                                                       @Param("lang") String lang);
+
+    @Query(value = "SELECT count(*) " + WORK_ITEM_STATUS_FROM, nativeQuery = true)
+    long countWorkItemStatusRows(@Param("projectId") Long projectId, @Param("ownerId") Long ownerId);
 }
@@ -0,0 +1,55 @@
+package com.project.Tadafur_api.domain.strategy.repository;
+
+/**
+ * SQL fragments shared by the spend plan and spend bucket queries, so that both read the
+ * same entities.
+ *
+ * Each one opens a query with a CTE named {@code entities}: the ids of the first
+ * {@code :limit} projects, initiatives or strategies, by id, that have a project matching
+ * {@code :id} and {@code :ownerId}. The query then restricts itself to
+ * {@code IN (SELECT id FROM entities)}, so no rows are read for the entities past the limit.
+ */
+final class SpendSql {
+
+    static final String PROJECTS = """
+        WITH entities AS (
+            SELECT proj.id
+            FROM project proj
+            WHERE (:id IS NULL OR proj.id = :id)
+              AND (:ownerId IS NULL OR proj.owner_id = :ownerId)
+            ORDER BY proj.id
+            LIMIT :limit
+        )
+    """;
+
+    static final String INITIATIVES = """
+        WITH entities AS (
+            SELECT DISTINCT i.id
+            FROM project proj
+            JOIN initiative i ON i.id = proj.parent_id
+            WHERE (:id IS NULL OR i.id = :id)
+              AND (:ownerId IS NULL OR proj.owner_id = :ownerId)
+            ORDER BY i.id
+            LIMIT :limit
+        )
+    """;
+
+    static final String STRATEGIES = """
+        WITH entities AS (
+            SELECT DISTINCT s.id
+            FROM project proj
+            JOIN initiative i ON i.id = proj.parent_id
+            JOIN program prog ON prog.id = i.parent_id
+            JOIN goal g ON g.id = prog.parent_id
+            JOIN perspective p ON p.id = g.parent_id
+            JOIN strategy s ON s.id = p.parent_id
+            WHERE (:id IS NULL OR s.id = :id)
+              AND (:ownerId IS NULL OR proj.owner_id = :ownerId)
+            ORDER BY s.id
+            LIMIT :limit
+        )
+    """;
+
+    private SpendSql() {
+    }
+}
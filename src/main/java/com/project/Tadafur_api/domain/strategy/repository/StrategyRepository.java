@@ -1,40 +1,29 @@
 package com.project.Tadafur_api.domain.strategy.repository;
 
+import com.project.Tadafur_api.application.dto.analytics.StrategyHealthAggregate;
 import com.project.Tadafur_api.application.dto.analytics.StrategyHealthDataResult;
 import com.project.Tadafur_api.domain.strategy.entity.Strategy;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface StrategyRepository extends JpaRepository<Strategy, Long> {
+public interface StrategyRepository extends JpaRepository<Strategy, Long>, JpaSpecificationExecutor<Strategy> {
 
     // This is the method that was causing the build error. It is now restored.
     List<Strategy> findByOwnerId(Long ownerId);
 
-    @Query(
-            value = "SELECT * FROM strategy s WHERE " +
-                    "EXISTS (SELECT 1 FROM jsonb_each_text(s.name_translations) WHERE value ILIKE %:query%) OR " +
-                    "EXISTS (SELECT 1 FROM jsonb_each_text(s.description_translations) WHERE value ILIKE %:query%) OR " +
-                    "s.vision ILIKE %:query%",
-            nativeQuery = true
-    )
-    Page<Strategy> searchStrategies(@Param("query") String query, Pageable pageable);
-
-    @Query(
-            value = "SELECT * FROM strategy s WHERE " +
-                    "EXISTS (SELECT 1 FROM jsonb_each_text(s.name_translations) WHERE value ILIKE %:query%) OR " +
-                    "EXISTS (SELECT 1 FROM jsonb_each_text(s.description_translations) WHERE value ILIKE %:query%) OR " +
-                    "s.vision ILIKE %:query%",
-            nativeQuery = true
-    )
-    List<Strategy> searchStrategiesList(@Param("query") String query);
-
     @Query(value = """
         SELECT
             s.id AS "strategyId",
@@ -67,6 +56,518 @@ public interface StrategyRepository extends JpaRepository<Strategy, Long> {
             @Param("strategyId") Long strategyId,
             @Param("ownerId") Long ownerId
     );
+
+    /**
+     * Select list and joins shared by the strategic health aggregate queries. A
+     * project counts as delayed when it is not COMPLETED and its end date is before
+     * {@code :today}; the strategy name is translated to {@code :lang}.
+     */
+    String HEALTH_AGGREGATE_SELECT = """
+        SELECT
+            s.id AS "strategyId",
+            """ + TranslationSql.NAME_OF + "s.name_translations" + TranslationSql.END_NAME + """
+            AS "strategyName",
+            COUNT(proj.id) AS "projectCount",
+            COALESCE(SUM(proj.calculated_progress_percent), 0) AS "progressSum",
+            COALESCE(SUM(proj.planned_total_budget), 0) AS "plannedBudget",
+            COALESCE(SUM(proj.actual_cost), 0) AS "actualCost",
+            COUNT(*) FILTER (WHERE upper(proj.progress_status_code) <> 'COMPLETED'
+                               AND proj.end_date < CAST(:today AS date)) AS "delayedProjectCount",
+            COALESCE(SUM(CAST(:today AS date) - proj.end_date) FILTER (WHERE upper(proj.progress_status_code) <> 'COMPLETED'
+                               AND proj.end_date < CAST(:today AS date)), 0) AS "totalDelayDays",
+            COALESCE(bool_or(upper(proj.planning_status_code) <> 'OK' OR upper(proj.progress_status_code) <> 'OK'), false) AS "hasCriticalStatus"
+        FROM
+            strategy s
+        LEFT JOIN
+            perspective p ON s.id = p.parent_id
+        LEFT JOIN
+            goal g ON p.id = g.parent_id
+        LEFT JOIN
+            program prog ON g.id = prog.parent_id
+        LEFT JOIN
+            initiative i ON prog.id = i.parent_id
+        LEFT JOIN
+            project proj ON i.id = proj.parent_id
+    """;
+
+    String HEALTH_AGGREGATE_GROUPING = """
+        GROUP BY
+            s.id
+        ORDER BY
+            s.id
+    """;
+
+    /**
+     * Aggregates {@link #getStrategicHealthData} per strategy in the database, so
+     * that only one row per strategy is returned.
+     */
+    @Query(value = HEALTH_AGGREGATE_SELECT + """
+        WHERE
+            (:strategyId IS NULL OR s.id = :strategyId)
+            AND (:ownerId IS NULL OR proj.owner_id = :ownerId)
+            AND proj.id IS NOT NULL
+    """ + HEALTH_AGGREGATE_GROUPING, nativeQuery = true)
+    List<StrategyHealthAggregate> getStrategicHealthAggregates(
+            @Param("strategyId") Long strategyId,
+            @Param("ownerId") Long ownerId,
+            @Param("lang") String lang,
+            @Param("today") LocalDate today
+    );
+
+    /**
+     * Same rows as {@link #getStrategicHealthAggregates}, restricted to the given
+     * strategies. Used to rebuild only the strategies whose projects changed.
+     */
+    @Query(value = HEALTH_AGGREGATE_SELECT + """
+        WHERE
+            s.id IN (:strategyIds)
+            AND (:ownerId IS NULL OR proj.owner_id = :ownerId)
+            AND proj.id IS NOT NULL
+    """ + HEALTH_AGGREGATE_GROUPING, nativeQuery = true)
+    List<StrategyHealthAggregate> getStrategicHealthAggregatesFor(
+            @Param("strategyIds") Collection<Long> strategyIds,
+            @Param("ownerId") Long ownerId,
+            @Param("lang") String lang,
+            @Param("today") LocalDate today
+    );
+
+    /**
+     * Project totals of one strategy and owner for the projects due on one day.
+     */
+    public interface StrategyHealthDayBucket {
+        Long getStrategyId();
+        Long getOwnerId();
+        LocalDate getDay();
+        Long getProjectCount();
+        BigDecimal getProgressSum();
+        BigDecimal getPlannedBudget();
+        BigDecimal getActualCost();
+        Long getOpenProjectCount();
+        Long getCriticalProjectCount();
+    }
+
+    /**
+     * Groups the projects of every strategy by owner and end date. Open projects are
+     * the ones not COMPLETED; critical ones have a planning or progress status other
+     * than OK. Projects without an end date are left out.
+     */
+    @Query(value = """
+        SELECT
+            s.id AS "strategyId",
+            proj.owner_id AS "ownerId",
+            proj.end_date AS "day",
+            COUNT(*) AS "projectCount",
+            COALESCE(SUM(proj.calculated_progress_percent), 0) AS "progressSum",
+            COALESCE(SUM(proj.planned_total_budget), 0) AS "plannedBudget",
+            COALESCE(SUM(proj.actual_cost), 0) AS "actualCost",
+            COUNT(*) FILTER (WHERE upper(proj.progress_status_code) <> 'COMPLETED') AS "openProjectCount",
+            COUNT(*) FILTER (WHERE upper(proj.planning_status_code) <> 'OK' OR upper(proj.progress_status_code) <> 'OK') AS "criticalProjectCount"
+        FROM
+            strategy s
+        JOIN
+            perspective p ON s.id = p.parent_id
+        JOIN
+            goal g ON p.id = g.parent_id
+        JOIN
+            program prog ON g.id = prog.parent_id
+        JOIN
+            initiative i ON prog.id = i.parent_id
+        JOIN
+            project proj ON i.id = proj.parent_id
+        WHERE
+            proj.end_date IS NOT NULL
+        GROUP BY
+            s.id, proj.owner_id, proj.end_date
+    """, nativeQuery = true)
+    List<StrategyHealthDayBucket> getStrategyHealthDayBuckets();
+
+    /**
+     * Payments made on one day to the projects of one strategy and owner.
+     */
+    public interface StrategyPaymentDayBucket {
+        Long getStrategyId();
+        Long getOwnerId();
+        LocalDate getDay();
+        Long getPaymentCount();
+        BigDecimal getAmount();
+    }
+
+    @Query(value = """
+        SELECT
+            s.id AS "strategyId",
+            proj.owner_id AS "ownerId",
+            bp.payment_date AS "day",
+            COUNT(*) AS "paymentCount",
+            COALESCE(SUM(bp.amount), 0) AS "amount"
+        FROM
+            strategy s
+        JOIN
+            perspective p ON s.id = p.parent_id
+        JOIN
+            goal g ON p.id = g.parent_id
+        JOIN
+            program prog ON g.id = prog.parent_id
+        JOIN
+            initiative i ON prog.id = i.parent_id
+        JOIN
+            project proj ON i.id = proj.parent_id
+        JOIN
+            budget_payments bp ON bp.entity_id = proj.id AND bp.entity_code = 'PROJECT'
+        GROUP BY
+            s.id, proj.owner_id, bp.payment_date
+    """, nativeQuery = true)
+    List<StrategyPaymentDayBucket> getStrategyPaymentDayBuckets();
+
+    /**
+     * The insert, update and delete counters of the tables in {@link #getTableWatermarks()},
+     * summed per table from pg_stat_user_tables, in TableWatermarks.Table order and separated
+     * by '|'. Reading them touches no table data. The counters only grow, and a committed
+     * change reaches them within seconds, so they tell TableWatermarks when the scan below
+     * is worth running.
+     */
+    @Query(value = """
+        SELECT string_agg(COALESCE(st.n_tup_ins + st.n_tup_upd + st.n_tup_del, 0)::text, '|' ORDER BY t.ord)
+        FROM
+            unnest(ARRAY['strategy', 'perspective', 'goal', 'program', 'initiative', 'project',
+                         'project_work_item', 'budget_payments']) WITH ORDINALITY AS t(relname, ord)
+        LEFT JOIN
+            pg_stat_user_tables st ON st.relname = t.relname AND st.schemaname = current_schema()
+    """, nativeQuery = true)
+    String getTableActivity();
+
+    /**
+     * The row count and xmin total of every table the in-memory views are built from, in
+     * TableWatermarks.Table order and separated by '|'. A part changes on any insert,
+     * update or delete in its table. This is not cheap: every table is scanned in full, so
+     * TableWatermarks only reads it when {@link #getTableActivity()} moved, and shares it
+     * with all of its users.
+     */
+    @Query(value = """
+        SELECT concat_ws('|',
+            (SELECT count(*) || ':' || COALESCE(sum(xmin::text::bigint), 0) FROM strategy),
+            (SELECT count(*) || ':' || COALESCE(sum(xmin::text::bigint), 0) FROM perspective),
+            (SELECT count(*) || ':' || COALESCE(sum(xmin::text::bigint), 0) FROM goal),
+            (SELECT count(*) || ':' || COALESCE(sum(xmin::text::bigint), 0) FROM program),
+            (SELECT count(*) || ':' || COALESCE(sum(xmin::text::bigint), 0) FROM initiative),
+            (SELECT count(*) || ':' || COALESCE(sum(xmin::text::bigint), 0) FROM project),
+            (SELECT count(*) || ':' || COALESCE(sum(xmin::text::bigint), 0) FROM project_work_item),
+            (SELECT count(*) || ':' || COALESCE(sum(xmin::text::bigint), 0) FROM budget_payments))
+    """, nativeQuery = true)
+    String getTableWatermarks();
+
+    public interface LocalizedStrategyName {
+        Long getId();
+        String getName();
+    }
+
+    @Query(value = """
+        SELECT
+            s.id AS "id",
+            """ + TranslationSql.NAME_OF + "s.name_translations" + TranslationSql.END_NAME + """
+            AS "name"
+        FROM
+            strategy s
+    """, nativeQuery = true)
+    List<LocalizedStrategyName> getLocalizedStrategyNames(@Param("lang") String lang);
+
+    /**
+     * One node of any hierarchy level with its budget columns. {@code level} is the
+     * HierarchyLevel ordinal (0 = strategy ... 5 = project), and {@code budgetSources}
+     * the comma-separated funding source ids, or null.
+     */
+    public interface HierarchyBudgetRow {
+        Integer getLevel();
+        Long getId();
+        Long getParentId();
+        BigDecimal getPlannedTotalBudget();
+        BigDecimal getCalculatedTotalBudget();
+        BigDecimal getCalculatedTotalPayments();
+        String getBudgetSources();
+    }
+
+    @Query(value = """
+        SELECT 0 AS "level", s.id AS "id", CAST(NULL AS bigint) AS "parentId", s.planned_total_budget AS "plannedTotalBudget",
+               s.calculated_total_budget AS "calculatedTotalBudget", s.calculated_total_payments AS "calculatedTotalPayments",
+               array_to_string(s.budget_sources, ',') AS "budgetSources"
+        FROM strategy s
+        UNION ALL
+        SELECT 1, p.id, p.parent_id, p.planned_total_budget, p.calculated_total_budget, p.calculated_total_payments,
+               array_to_string(p.budget_sources, ',')
+        FROM perspective p
+        UNION ALL
+        SELECT 2, g.id, g.parent_id, g.planned_total_budget, g.calculated_total_budget, g.calculated_total_payments,
+               array_to_string(g.budget_sources, ',')
+        FROM goal g
+        UNION ALL
+        SELECT 3, prog.id, prog.parent_id, prog.planned_total_budget, prog.calculated_total_budget, prog.calculated_total_payments,
+               array_to_string(prog.budget_sources, ',')
+        FROM program prog
+        UNION ALL
+        SELECT 4, i.id, i.parent_id, i.planned_total_budget, i.calculated_total_budget, i.calculated_total_payments,
+               array_to_string(i.budget_sources, ',')
+        FROM initiative i
+        UNION ALL
+        SELECT 5, proj.id, proj.parent_id, proj.planned_total_budget, proj.calculated_total_budget, proj.calculated_total_payments,
+               array_to_string(proj.budget_sources, ',')
+        FROM project proj
+        ORDER BY 1, 2
+    """, nativeQuery = true)
+    List<HierarchyBudgetRow> getHierarchyBudgetRows();
+
+    /**
+     * One node of the levels above projects with its progress columns. {@code level}
+     * is the HierarchyLevel ordinal (0 = strategy ... 4 = initiative); columns a level
+     * does not have are null.
+     */
+    public interface HierarchyProgressRow {
+        Integer getLevel();
+        Long getId();
+        Long getParentId();
+        Double getContributionPercent();
+        BigDecimal getCalculatedProgressPercent();
+        BigDecimal getHybridProgressPercent();
+    }
+
+    @Query(value = """
+        SELECT 0 AS "level", s.id AS "id", CAST(NULL AS bigint) AS "parentId", CAST(NULL AS double precision) AS "contributionPercent",
+               CAST(NULL AS numeric) AS "calculatedProgressPercent", CAST(NULL AS numeric) AS "hybridProgressPercent"
+        FROM strategy s
+        UNION ALL
+        SELECT 1, p.id, p.parent_id, NULL, NULL, NULL
+        FROM perspective p
+        UNION ALL
+        SELECT 2, g.id, g.parent_id, NULL, g.calculated_progress_percent, g.hybrid_progress_percent
+        FROM goal g
+        UNION ALL
+        SELECT 3, prog.id, prog.parent_id, prog.contributionpercent, prog.calculated_progress_percent, prog.hybrid_progress_percent
+        FROM program prog
+        UNION ALL
+        SELECT 4, i.id, i.parent_id, i.contributionpercent, i.calculated_progress_percent, i.hybrid_progress_percent
+        FROM initiative i
+        ORDER BY 1, 2
+    """, nativeQuery = true)
+    List<HierarchyProgressRow> getUpperHierarchyProgressRows();
+
+    /**
+     * One node aligned with at least one vision priority. {@code level} is the
+     * HierarchyLevel ordinal (2 = goal ... 5 = project) and {@code visionPriorities} the
+     * comma-separated priority ids; a goal has a single one.
+     */
+    public interface VisionAlignmentRow {
+        Integer getLevel();
+        Long getId();
+        Long getOwnerId();
+        String getVisionPriorities();
+        BigDecimal getPlannedTotalBudget();
+    }
+
+    @Query(value = """
+        SELECT 2 AS "level", g.id AS "id", g.owner_id AS "ownerId", CAST(g.vision_priority AS text) AS "visionPriorities",
+               g.planned_total_budget AS "plannedTotalBudget"
+        FROM goal g
+        WHERE g.vision_priority IS NOT NULL
+        UNION ALL
+        SELECT 3, prog.id, prog.owner_id, array_to_string(prog.vision_priorities, ','), prog.planned_total_budget
+        FROM program prog
+        WHERE cardinality(prog.vision_priorities) > 0
+        UNION ALL
+        SELECT 4, i.id, i.owner_id, array_to_string(i.vision_priorities, ','), i.planned_total_budget
+        FROM initiative i
+        WHERE cardinality(i.vision_priorities) > 0
+        UNION ALL
+        SELECT 5, proj.id, proj.owner_id, array_to_string(proj.vision_priorities, ','), proj.planned_total_budget
+        FROM project proj
+        WHERE cardinality(proj.vision_priorities) > 0
+        ORDER BY 1, 2
+    """, nativeQuery = true)
+    List<VisionAlignmentRow> getVisionAlignmentRows();
+
+    public interface LocalizedNodeName {
+        Long getId();
+        String getName();
+    }
+
+    /**
+     * The names of some nodes of one level, translated to {@code :lang} with the usual
+     * fallbacks. {@code level} is the HierarchyLevel ordinal, or 6 for work items.
+     */
+    @Query(value = """
+        SELECT
+            n.id AS "id",
+            """ + TranslationSql.NAME_OF + "n.name_translations" + TranslationSql.END_NAME + """
+            AS "name"
+        FROM (
+            SELECT 0 AS level, id, name_translations FROM strategy
+            UNION ALL
+            SELECT 1, id, name_translations FROM perspective
+            UNION ALL
+            SELECT 2, id, name_translations FROM goal
+            UNION ALL
+            SELECT 3, id, name_translations FROM program
+            UNION ALL
+            SELECT 4, id, name_translations FROM initiative
+            UNION ALL
+            SELECT 5, id, name_translations FROM project
+            UNION ALL
+            SELECT 6, id, name_translations FROM project_work_item
+        ) n
+        WHERE
+            n.level = :level AND n.id IN (:ids)
+    """, nativeQuery = true)
+    List<LocalizedNodeName> getLocalizedNodeNames(@Param("level") int level,
+                                                  @Param("ids") Collection<Long> ids,
+                                                  @Param("lang") String lang);
+
+    /**
+     * The text of one searchable row: its names and its descriptions in every language,
+     * each joined with spaces, plus the vision for strategies. {@code version} is the
+     * row's xmin.
+     */
+    public interface SearchDocumentRow {
+        Long getId();
+        Long getVersion();
+        String getName();
+        String getDescription();
+    }
+
+    /**
+     * The searchable rows; {@code kind} is the HierarchyLevel ordinal, or 6 for work items.
+     */
+    String SEARCH_DOCUMENT_SELECT = """
+        SELECT
+            d.id AS "id",
+            d.version AS "version",
+            (SELECT string_agg(t.value, ' ') FROM jsonb_each_text(d.name_translations) t) AS "name",
+            concat_ws(' ', (SELECT string_agg(t.value, ' ') FROM jsonb_each_text(d.description_translations) t),
+                      d.vision) AS "description"
+        FROM (
+            SELECT 0 AS kind, id, CAST(xmin::text AS bigint) AS version, name_translations, description_translations, vision FROM strategy
+            UNION ALL
+            SELECT 1, id, CAST(xmin::text AS bigint), name_translations, description_translations, NULL FROM perspective
+            UNION ALL
+            SELECT 2, id, CAST(xmin::text AS bigint), name_translations, description_translations, NULL FROM goal
+            UNION ALL
+            SELECT 3, id, CAST(xmin::text AS bigint), name_translations, description_translations, NULL FROM program
+            UNION ALL
+            SELECT 4, id, CAST(xmin::text AS bigint), name_translations, description_translations, NULL FROM initiative
+            UNION ALL
+            SELECT 5, id, CAST(xmin::text AS bigint), name_translations, description_translations, NULL FROM project
+            UNION ALL
+            SELECT 6, id, CAST(xmin::text AS bigint), name_translations, description_translations, NULL FROM project_work_item
+        ) d
+        WHERE
+            d.kind = :kind
+    """;
+
+    @Query(value = SEARCH_DOCUMENT_SELECT, nativeQuery = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    List<SearchDocumentRow> getSearchDocuments(@Param("kind") int kind);
+
+    @Query(value = SEARCH_DOCUMENT_SELECT + """
+            AND d.id IN (:ids)
+    """, nativeQuery = true)
+    List<SearchDocumentRow> getSearchDocumentsByIds(@Param("kind") int kind, @Param("ids") Collection<Long> ids);
+
+    public interface SearchVersionRow {
+        Long getId();
+        Long getVersion();
+    }
+
+    /**
+     * The xmin of every row of one searchable kind, to find the rows changed since a load.
+     */
+    @Query(value = """
+        SELECT d.id AS "id", d.version AS "version"
+        FROM (
+            SELECT 0 AS kind, id, CAST(xmin::text AS bigint) AS version FROM strategy
+            UNION ALL
+            SELECT 1, id, CAST(xmin::text AS bigint) FROM perspective
+            UNION ALL
+            SELECT 2, id, CAST(xmin::text AS bigint) FROM goal
+            UNION ALL
+            SELECT 3, id, CAST(xmin::text AS bigint) FROM program
+            UNION ALL
+            SELECT 4, id, CAST(xmin::text AS bigint) FROM initiative
+            UNION ALL
+            SELECT 5, id, CAST(xmin::text AS bigint) FROM project
+            UNION ALL
+            SELECT 6, id, CAST(xmin::text AS bigint) FROM project_work_item
+        ) d
+        WHERE
+            d.kind = :kind
+    """, nativeQuery = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    List<SearchVersionRow> getSearchVersions(@Param("kind") int kind);
+
+    /**
+     * The number of nodes per level, optionally only those with the given owner.
+     */
+    public interface HierarchyCounts {
+        Long getStrategies();
+        Long getPerspectives();
+        Long getGoals();
+        Long getPrograms();
+        Long getInitiatives();
+        Long getProjects();
+    }
+
+    @Query(value = """
+        SELECT
+            (SELECT count(*) FROM strategy WHERE :ownerId IS NULL OR owner_id = :ownerId) AS "strategies",
+            (SELECT count(*) FROM perspective WHERE :ownerId IS NULL OR owner_id = :ownerId) AS "perspectives",
+            (SELECT count(*) FROM goal WHERE :ownerId IS NULL OR owner_id = :ownerId) AS "goals",
+            (SELECT count(*) FROM program WHERE :ownerId IS NULL OR owner_id = :ownerId) AS "programs",
+            (SELECT count(*) FROM initiative WHERE :ownerId IS NULL OR owner_id = :ownerId) AS "initiatives",
+            (SELECT count(*) FROM project WHERE :ownerId IS NULL OR owner_id = :ownerId) AS "projects"
+    """, nativeQuery = true)
+    HierarchyCounts getHierarchyCounts(@Param("ownerId") Long ownerId);
+
+    /**
+     * A change fingerprint of the rows a strategy's health is computed from.
+     */
+    public interface StrategyChangeFingerprint {
+        Long getStrategyId();
+        String getFingerprint();
+    }
+
+    /**
+     * Fingerprints every strategy that has projects, using the ids and row versions
+     * (xmin) of the strategy and of every node on the path to each project. Any
+     * insert, update, delete or re-parenting on those rows changes the fingerprint,
+     * without reading the data columns themselves.
+     */
+    @Query(value = """
+        SELECT
+            s.id AS "strategyId",
+            md5(string_agg(concat_ws(':', p.id, p.xmin, g.id, g.xmin, prog.id, prog.xmin, i.id, i.xmin, proj.id, proj.xmin),
+                           ',' ORDER BY proj.id) || ':' || min(s.xmin::text)) AS "fingerprint"
+        FROM
+            strategy s
+        JOIN
+            perspective p ON s.id = p.parent_id
+        JOIN
+            goal g ON p.id = g.parent_id
+        JOIN
+            program prog ON g.id = prog.parent_id
+        JOIN
+            initiative i ON prog.id = i.parent_id
+        JOIN
+            project proj ON i.id = proj.parent_id
+        GROUP BY
+            s.id
+    """, nativeQuery = true)
+    List<StrategyChangeFingerprint> getStrategyChangeFingerprints();
+
+    /**
+     * One row per leaf path of the hierarchy, with the names translated to the
+     * requested language.
+     */
     public interface FlatHierarchyResult {
         Long getStrategyId();
         String getStrategyName();
@@ -81,20 +582,12 @@ public interface StrategyRepository extends JpaRepository<Strategy, Long> {
         Long getProjectId();
         String getProjectName();
     }
-    @Query(value = """
-        SELECT
-            s.id AS "strategyId",
-            s.name_translations AS "strategyName",
-            p.id AS "perspectiveId",
-            p.name_translations AS "perspectiveName",
-            g.id AS "goalId",
-            g.name_translations AS "goalName",
-            prog.id AS "programId",
-            prog.name_translations AS "programName",
-            i.id AS "initiativeId",
-            i.name_translations AS "initiativeName",
-            proj.id AS "projectId",
-            proj.name_translations AS "projectName"
+
+    /**
+     * Joins and filters of the flat hierarchy queries. Rows are sorted by
+     * the ids of every level so that each node's rows are contiguous.
+     */
+    String FLAT_HIERARCHY_FROM = """
         FROM
             strategy s
         LEFT JOIN
@@ -117,10 +610,58 @@ public interface StrategyRepository extends JpaRepository<Strategy, Long> {
             )
         ORDER BY
             s.id, p.id, g.id, prog.id, i.id, proj.id
-    """, nativeQuery = true)
-    List<FlatHierarchyResult> getFlatHierarchy(
+    """;
+
+    /**
+     * The flat hierarchy with every name resolved to {@code :lang} in the database,
+     * falling back to English, Arabic and then any non-blank translation, so only
+     * one short string per node crosses the wire.
+     */
+    String LOCALIZED_FLAT_HIERARCHY_QUERY = """
+        SELECT
+            s.id AS "strategyId",
+            """ + TranslationSql.NAME_OF + "s.name_translations" + TranslationSql.END_NAME + """
+            AS "strategyName",
+            p.id AS "perspectiveId",
+            """ + TranslationSql.NAME_OF + "p.name_translations" + TranslationSql.END_NAME + """
+            AS "perspectiveName",
+            g.id AS "goalId",
+            """ + TranslationSql.NAME_OF + "g.name_translations" + TranslationSql.END_NAME + """
+            AS "goalName",
+            prog.id AS "programId",
+            """ + TranslationSql.NAME_OF + "prog.name_translations" + TranslationSql.END_NAME + """
+            AS "programName",
+            i.id AS "initiativeId",
+            """ + TranslationSql.NAME_OF + "i.name_translations" + TranslationSql.END_NAME + """
+            AS "initiativeName",
+            proj.id AS "projectId",
+            """ + TranslationSql.NAME_OF + "proj.name_translations" + TranslationSql.END_NAME + """
+            AS "projectName"
+    """ + FLAT_HIERARCHY_FROM;
+
+    /**
+     * The flat hierarchy, optionally for one strategy and only the projects of one owner.
+     */
+    @Query(value = LOCALIZED_FLAT_HIERARCHY_QUERY, nativeQuery = true)
+    List<FlatHierarchyResult> getLocalizedFlatHierarchy(
             @Param("strategyId") Long strategyId,
-            @Param("ownerId") Long ownerId
+            @Param("ownerId") Long ownerId,
+            @Param("lang") String lang
+    );
+
+    /**
+     * Cursor-backed variant of {@link #getLocalizedFlatHierarchy}. Must be consumed
+     * inside a transaction and closed by the caller.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(value = LOCALIZED_FLAT_HIERARCHY_QUERY, nativeQuery = true)
+    Stream<FlatHierarchyResult> streamLocalizedFlatHierarchy(
+            @Param("strategyId") Long strategyId,
+            @Param("ownerId") Long ownerId,
+            @Param("lang") String lang
     );
 
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.project.Tadafur_api.domain.strategy.repository;
+
+/**
+ * SQL fragments shared by the native queries that translate in the database, so that
+ * every query applies the same fallbacks.
+ */
+final class TranslationSql {
+
+    /**
+     * Opens an expression for the translation of a name_translations jsonb to
+     * {@code :lang}, falling back to English, Arabic and then any non-blank translation.
+     * Append the jsonb expression and then {@link #END_NAME}:
+     * {@code NAME_OF + "s.name_translations" + END_NAME}.
+     */
+    static final String NAME_OF = """
+        (SELECT COALESCE(NULLIF(btrim(tr.translations ->> :lang), ''), NULLIF(btrim(tr.translations ->> 'en'), ''),
+                         NULLIF(btrim(tr.translations ->> 'ar'), ''),
+                         (SELECT t.value FROM jsonb_each_text(tr.translations) t WHERE btrim(t.value) <> '' LIMIT 1))
+         FROM (SELECT\s""";
+
+    static final String END_NAME = " AS translations) tr)";
+
+    private TranslationSql() {
+    }
+}
@@ -1,5 +1,397 @@
 package com.project.Tadafur_api.domain.strategy.service;
 
-// TODO: Implement the class
-public class BudgetAggregationService {
+import com.project.Tadafur_api.domain.strategy.repository.BudgetPaymentRepository;
+import com.project.Tadafur_api.domain.strategy.repository.BudgetPaymentRepository.PaymentWatermark;
+import com.project.Tadafur_api.domain.strategy.repository.BudgetPaymentRepository.ProjectPaymentDelta;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository.HierarchyBudgetRow;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Table;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Watermarks;
+import com.project.Tadafur_api.domain.strategy.valueobject.HierarchyLevel;
+import com.project.Tadafur_api.domain.strategy.valueobject.Money;
+import com.project.Tadafur_api.shared.util.SqlArrayUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Rolls project budgets and payments up the project → initiative → program → goal →
+ * perspective → strategy chain.
+ *
+ * The total budget of a node is the sum of the planned budgets of the projects beneath it
+ * (a project's own planned budget for a project), and its total payments are the sum of the
+ * PROJECT payments in budget_payments for those projects. The totals live in {@code long}
+ * arrays of {@link Money} minor units over a {@link HierarchyTree}:
+ * <ul>
+ *     <li>A full recompute loads the hierarchy and the per-project payment totals with two
+ *     queries and sums every strategy's subtree in post-order, strategies in parallel.</li>
+ *     <li>A new payment only adds its amount to the project and its ancestors, which is
+ *     O(depth).</li>
+ * </ul>
+ * On every {@link TableWatermarks} tick in which budget_payments changed, {@link #onWatermarks}
+ * polls for payments above the last seen id and applies them incrementally. It falls back to
+ * a full recompute when the hierarchy changes or when an already counted payment is edited,
+ * deleted or committed late.
+ *
+ * The same arrays give the {@link #getSourceBreakdown budget-source breakdown} of a subtree.
+ * A project is funded by its own budget_sources, or else by those of its nearest ancestor
+ * that has some; the effective sources are resolved once per load, as indexes into the
+ * sorted source ids, so a breakdown is one scan of the subtree into per-source long arrays.
+ */
+@Service
+@Slf4j
+public class BudgetAggregationService implements TableWatermarks.Listener {
+
+    private final StrategyRepository strategyRepository;
+    private final BudgetPaymentRepository budgetPaymentRepository;
+    private final TableWatermarks tableWatermarks;
+
+    private volatile State state;
+
+    public BudgetAggregationService(StrategyRepository strategyRepository, BudgetPaymentRepository budgetPaymentRepository,
+                                    TableWatermarks tableWatermarks) {
+        this.strategyRepository = strategyRepository;
+        this.budgetPaymentRepository = budgetPaymentRepository;
+        this.tableWatermarks = tableWatermarks;
+    }
+
+    /**
+     * The rolled-up totals of one node next to the values stored in its
+     * calculated_total_budget and calculated_total_payments columns.
+     */
+    public record BudgetRollup(HierarchyLevel level, Long id,
+                               BigDecimal totalBudget, BigDecimal totalPayments,
+                               BigDecimal storedTotalBudget, BigDecimal storedTotalPayments) {
+
+        /**
+         * Whether both stored values are present and numerically equal to the rolled-up ones.
+         */
+        public boolean consistent() {
+            return storedTotalBudget != null && storedTotalBudget.compareTo(totalBudget) == 0
+                    && storedTotalPayments != null && storedTotalPayments.compareTo(totalPayments) == 0;
+        }
+    }
+
+    /**
+     * How a project's amounts are attributed when it has several funding sources.
+     */
+    public enum SourceAllocation {
+        /** Split equally between the sources, so that the shares add up to the totals. */
+        SPLIT,
+        /** Counted in full for every source, so that shares may add up to more than the totals. */
+        FULL
+    }
+
+    /**
+     * The share of one funding source; {@code sourceId} is null for the projects without
+     * any source.
+     */
+    public record SourceShare(Integer sourceId, int projectCount, Money budget, Money payments) {
+    }
+
+    /**
+     * The planned budget and payments of the projects beneath a node by funding source, in
+     * source id order with the unassigned share last.
+     */
+    public record SourceBreakdown(HierarchyLevel level, Long id, int projectCount, Money totalBudget, Money totalPayments,
+                                  List<SourceShare> sources) {
+    }
+
+    public Optional<BudgetRollup> getRollup(HierarchyLevel level, Long id) {
+        State current = loadedState();
+        synchronized (current) {
+            int node = current.tree.indexOf(level, id);
+            return node < 0 ? Optional.empty() : Optional.of(current.rollup(node));
+        }
+    }
+
+    /**
+     * The rolled-up payments of the given nodes of one level in {@link Money} minor units,
+     * in the order of {@code ids}; 0 for an id that is not loaded.
+     */
+    public long[] getTotalPayments(HierarchyLevel level, long[] ids) {
+        State current = loadedState();
+        long[] payments = new long[ids.length];
+        synchronized (current) {
+            for (int i = 0; i < ids.length; i++) {
+                int node = current.tree.indexOf(level, ids[i]);
+                payments[i] = node < 0 ? 0 : current.totalPayments[node];
+            }
+        }
+        return payments;
+    }
+
+    /**
+     * The nodes of a level whose stored totals differ from the rolled-up ones, in id order.
+     */
+    public List<BudgetRollup> findDiscrepancies(HierarchyLevel level) {
+        State current = loadedState();
+        List<BudgetRollup> discrepancies = new ArrayList<>();
+        synchronized (current) {
+            for (int node = 0; node < current.tree.size(); node++) {
+                if (current.tree.level(node) == level) {
+                    BudgetRollup rollup = current.rollup(node);
+                    if (!rollup.consistent()) discrepancies.add(rollup);
+                }
+            }
+        }
+        return discrepancies;
+    }
+
+    /**
+     * @return empty if there is no such node.
+     */
+    public Optional<SourceBreakdown> getSourceBreakdown(HierarchyLevel level, Long id, SourceAllocation allocation) {
+        State current = loadedState();
+        synchronized (current) {
+            int node = current.tree.indexOf(level, id);
+            return node < 0 ? Optional.empty() : Optional.of(current.sourceBreakdown(node, allocation));
+        }
+    }
+
+    /**
+     * Reloads the hierarchy and all payment totals and recomputes every node.
+     */
+    public synchronized void recomputeAll() {
+        long started = System.nanoTime();
+        Watermarks watermarks = tableWatermarks.current();
+        List<HierarchyBudgetRow> rows = strategyRepository.getHierarchyBudgetRows();
+        List<ProjectPaymentDelta> payments = budgetPaymentRepository.getProjectPaymentDeltas(0L);
+
+        HierarchyTree.Builder builder = HierarchyTree.builder();
+        for (HierarchyBudgetRow row : rows) {
+            builder.add(HierarchyLevel.ofOrdinal(row.getLevel()), row.getId(), row.getParentId());
+        }
+        State loaded = new State(builder.build(), watermarks.of(Table.HIERARCHY));
+        loaded.paymentTableWatermark = watermarks.of(Table.BUDGET_PAYMENT);
+        loaded.resolveSources(rows);
+        for (int node = 0; node < rows.size(); node++) {
+            HierarchyBudgetRow row = rows.get(node);
+            loaded.storedBudget[node] = row.getCalculatedTotalBudget();
+            loaded.storedPayments[node] = row.getCalculatedTotalPayments();
+            if (row.getLevel() == HierarchyLevel.PROJECT.ordinal() && row.getPlannedTotalBudget() != null) {
+                loaded.ownBudget[node] = Money.round(row.getPlannedTotalBudget()).minorUnits();
+            }
+        }
+        for (ProjectPaymentDelta payment : payments) {
+            int node = loaded.tree.indexOf(HierarchyLevel.PROJECT, payment.getProjectId());
+            if (node >= 0) {
+                loaded.ownPayments[node] = Money.round(payment.getTotal()).minorUnits();
+            }
+            loaded.advanceWatermark(payment);
+        }
+
+        Arrays.stream(loaded.tree.roots()).parallel().forEach(loaded::sumSubtree);
+        state = loaded;
+        log.info("Recomputed budget roll-up for {} nodes and {} paid projects in {} ms",
+                rows.size(), payments.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public synchronized void onWatermarks(Watermarks watermarks) {
+        try {
+            State current = state;
+            if (current == null || !current.structureWatermark.equals(watermarks.of(Table.HIERARCHY))) {
+                recomputeAll();
+                return;
+            }
+            String paymentTableWatermark = watermarks.of(Table.BUDGET_PAYMENT);
+            if (paymentTableWatermark.equals(current.paymentTableWatermark)) {
+                return;
+            }
+            PaymentWatermark counted = budgetPaymentRepository.getProjectPaymentWatermark(current.lastPaymentId);
+            if (counted.getPaymentCount() != current.paymentCount || counted.getXminSum() != current.paymentXminSum) {
+                log.info("Previously counted payments changed; recomputing the budget roll-up");
+                recomputeAll();
+                return;
+            }
+            List<ProjectPaymentDelta> deltas = budgetPaymentRepository.getProjectPaymentDeltas(current.lastPaymentId);
+            current.paymentTableWatermark = paymentTableWatermark;
+            if (deltas.isEmpty()) {
+                return;
+            }
+            synchronized (current) {
+                for (ProjectPaymentDelta delta : deltas) {
+                    if (!current.addPayment(delta.getProjectId(), Money.round(delta.getTotal()).minorUnits())) {
+                        log.debug("Payment for unknown project {} ignored until the next recompute", delta.getProjectId());
+                    }
+                    current.advanceWatermark(delta);
+                }
+            }
+            log.info("Applied new payments of {} projects to the budget roll-up", deltas.size());
+        } catch (RuntimeException e) {
+            log.error("Could not synchronize the budget roll-up", e);
+        }
+    }
+
+    private State loadedState() {
+        State current = state;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (state == null) {
+                recomputeAll();
+            }
+            return state;
+        }
+    }
+
+    /**
+     * One loaded hierarchy with its per-node values. Reads and incremental updates
+     * synchronize on the instance; a full recompute replaces it.
+     */
+    private static final class State {
+        final HierarchyTree tree;
+        final String structureWatermark;
+        final long[] ownBudget;
+        final long[] ownPayments;
+        final long[] totalBudget;
+        final long[] totalPayments;
+        final BigDecimal[] storedBudget;
+        final BigDecimal[] storedPayments;
+        /** Distinct source ids in ascending order. */
+        int[] sourceIds = new int[0];
+        /** Per node, the indexes into {@link #sourceIds} of its effective sources, or null. */
+        final int[][] effectiveSources;
+        long lastPaymentId;
+        long paymentCount;
+        long paymentXminSum;
+        /** The budget_payments table watermark the payments above were polled at. */
+        String paymentTableWatermark;
+
+        State(HierarchyTree tree, String structureWatermark) {
+            int size = tree.size();
+            this.tree = tree;
+            this.structureWatermark = structureWatermark;
+            this.ownBudget = new long[size];
+            this.ownPayments = new long[size];
+            this.totalBudget = new long[size];
+            this.totalPayments = new long[size];
+            this.storedBudget = new BigDecimal[size];
+            this.storedPayments = new BigDecimal[size];
+            this.effectiveSources = new int[size][];
+        }
+
+        /**
+         * Resolves the effective sources of every node; parents come before their children
+         * in the rows, which are ordered by level.
+         */
+        void resolveSources(List<HierarchyBudgetRow> rows) {
+            int[][] own = new int[rows.size()][];
+            TreeSet<Integer> distinct = new TreeSet<>();
+            for (int node = 0; node < own.length; node++) {
+                own[node] = SqlArrayUtils.parseIntArray(rows.get(node).getBudgetSources());
+                for (int source : own[node]) {
+                    distinct.add(source);
+                }
+            }
+            sourceIds = distinct.stream().mapToInt(Integer::intValue).toArray();
+            for (int node = 0; node < own.length; node++) {
+                if (own[node].length > 0) {
+                    int[] indexes = new int[own[node].length];
+                    for (int i = 0; i < indexes.length; i++) {
+                        indexes[i] = Arrays.binarySearch(sourceIds, own[node][i]);
+                    }
+                    effectiveSources[node] = indexes;
+                } else {
+                    int parent = tree.parent(node);
+                    effectiveSources[node] = parent < 0 ? null : effectiveSources[parent];
+                }
+            }
+        }
+
+        /**
+         * One scan over the projects of the subtree. The last slot of the accumulators is
+         * for the projects without sources. With {@link SourceAllocation#SPLIT}, the minor
+         * units left over by the equal split go to the first sources, so nothing is lost.
+         */
+        SourceBreakdown sourceBreakdown(int root, SourceAllocation allocation) {
+            int unassigned = sourceIds.length;
+            long[] budget = new long[unassigned + 1];
+            long[] payments = new long[unassigned + 1];
+            int[] projects = new int[unassigned + 1];
+            int projectCount = 0;
+            for (int node : tree.postOrder(root)) {
+                if (tree.level(node) != HierarchyLevel.PROJECT) {
+                    continue;
+                }
+                projectCount++;
+                int[] sources = effectiveSources[node];
+                if (sources == null) {
+                    budget[unassigned] = Math.addExact(budget[unassigned], ownBudget[node]);
+                    payments[unassigned] = Math.addExact(payments[unassigned], ownPayments[node]);
+                    projects[unassigned]++;
+                    continue;
+                }
+                int n = allocation == SourceAllocation.SPLIT ? sources.length : 1;
+                long budgetShare = ownBudget[node] / n;
+                long budgetRest = ownBudget[node] % n;
+                long paymentShare = ownPayments[node] / n;
+                long paymentRest = ownPayments[node] % n;
+                for (int i = 0; i < sources.length; i++) {
+                    int source = sources[i];
+                    budget[source] = Math.addExact(budget[source], budgetShare + (i < Math.abs(budgetRest) ? Long.signum(budgetRest) : 0));
+                    payments[source] = Math.addExact(payments[source], paymentShare + (i < Math.abs(paymentRest) ? Long.signum(paymentRest) : 0));
+                    projects[source]++;
+                }
+            }
+            List<SourceShare> shares = new ArrayList<>();
+            for (int source = 0; source <= unassigned; source++) {
+                if (projects[source] > 0) {
+                    shares.add(new SourceShare(source == unassigned ? null : sourceIds[source], projects[source],
+                            Money.ofMinorUnits(budget[source]), Money.ofMinorUnits(payments[source])));
+                }
+            }
+            return new SourceBreakdown(tree.level(root), tree.id(root), projectCount,
+                    Money.ofMinorUnits(totalBudget[root]), Money.ofMinorUnits(totalPayments[root]), shares);
+        }
+
+        /**
+         * Subtrees of different roots are disjoint, so roots can be summed concurrently.
+         */
+        void sumSubtree(int root) {
+            for (int node : tree.postOrder(root)) {
+                long budget = ownBudget[node];
+                long payments = ownPayments[node];
+                for (int c = tree.firstChild(node); c < tree.childEnd(node); c++) {
+                    int child = tree.child(c);
+                    budget = Math.addExact(budget, totalBudget[child]);
+                    payments = Math.addExact(payments, totalPayments[child]);
+                }
+                totalBudget[node] = budget;
+                totalPayments[node] = payments;
+            }
+        }
+
+        boolean addPayment(Long projectId, long minorUnits) {
+            int project = tree.indexOf(HierarchyLevel.PROJECT, projectId);
+            if (project < 0) {
+                return false;
+            }
+            ownPayments[project] = Math.addExact(ownPayments[project], minorUnits);
+            for (int node = project; node >= 0; node = tree.parent(node)) {
+                totalPayments[node] = Math.addExact(totalPayments[node], minorUnits);
+            }
+            return true;
+        }
+
+        void advanceWatermark(ProjectPaymentDelta delta) {
+            lastPaymentId = Math.max(lastPaymentId, delta.getMaxId());
+            paymentCount += delta.getPaymentCount();
+            paymentXminSum += delta.getXminSum();
+        }
+
+        BudgetRollup rollup(int node) {
+            return new BudgetRollup(tree.level(node), tree.id(node),
+                    Money.toBigDecimal(totalBudget[node]), Money.toBigDecimal(totalPayments[node]),
+                    storedBudget[node], storedPayments[node]);
+        }
+    }
 }
@@ -0,0 +1,186 @@
+package com.project.Tadafur_api.domain.strategy.service;
+
+import com.project.Tadafur_api.domain.strategy.valueobject.HierarchyLevel;
+
+import java.util.*;
+
+/**
+ * A compact, immutable in-memory index of the strategy hierarchy.
+ *
+ * Nodes are numbered 0..size-1 in the order they were added. Parents are stored as an
+ * {@code int[]} and children in compressed (CSR) form, so walking a subtree or the path
+ * to the root touches only primitive arrays. Per-node values are kept by the engines in
+ * parallel arrays indexed by node number.
+ */
+public final class HierarchyTree {
+
+    private static final HierarchyLevel[] LEVELS = HierarchyLevel.values();
+
+    private final long[] ids;
+    private final byte[] levels;
+    private final int[] parents;
+    private final int[] childOffsets;
+    private final int[] children;
+    private final int[] roots;
+    private final List<Map<Long, Integer>> indexByLevel;
+
+    private HierarchyTree(long[] ids, byte[] levels, int[] parents, List<Map<Long, Integer>> indexByLevel) {
+        int size = ids.length;
+        this.ids = ids;
+        this.levels = levels;
+        this.parents = parents;
+        this.indexByLevel = indexByLevel;
+
+        int[] childCounts = new int[size + 1];
+        int rootCount = 0;
+        for (int node = 0; node < size; node++) {
+            if (parents[node] < 0) rootCount++;
+            else childCounts[parents[node] + 1]++;
+        }
+        for (int node = 0; node < size; node++) {
+            childCounts[node + 1] += childCounts[node];
+        }
+        this.childOffsets = childCounts;
+        this.children = new int[size - rootCount];
+        this.roots = new int[rootCount];
+        int[] next = Arrays.copyOf(childOffsets, size);
+        int root = 0;
+        for (int node = 0; node < size; node++) {
+            if (parents[node] < 0) roots[root++] = node;
+            else children[next[parents[node]]++] = node;
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long id(int node) {
+        return ids[node];
+    }
+
+    public HierarchyLevel level(int node) {
+        return LEVELS[levels[node]];
+    }
+
+    /**
+     * @return the parent's node number, or -1 for a strategy or an orphan.
+     */
+    public int parent(int node) {
+        return parents[node];
+    }
+
+    /**
+     * @return the node number, or -1 if there is no such node.
+     */
+    public int indexOf(HierarchyLevel level, long id) {
+        Integer node = indexByLevel.get(level.ordinal()).get(id);
+        return node == null ? -1 : node;
+    }
+
+    /**
+     * Nodes without a parent: the strategies, plus any node whose parent is missing.
+     */
+    public int[] roots() {
+        return roots.clone();
+    }
+
+    public int firstChild(int node) {
+        return childOffsets[node];
+    }
+
+    public int childEnd(int node) {
+        return childOffsets[node + 1];
+    }
+
+    /**
+     * The node number of the child at {@code position}, for
+     * {@code firstChild(node) <= position < childEnd(node)}.
+     */
+    public int child(int position) {
+        return children[position];
+    }
+
+    /**
+     * The nodes of the subtree under {@code root} in post-order, so that every node comes
+     * after all of its descendants.
+     */
+    public int[] postOrder(int root) {
+        int[] order = new int[16];
+        int count = 0;
+        int[] stack = new int[16];
+        int[] cursor = new int[16];
+        int depth = 0;
+        stack[0] = root;
+        cursor[0] = childOffsets[root];
+        while (depth >= 0) {
+            int node = stack[depth];
+            if (cursor[depth] < childOffsets[node + 1]) {
+                int child = children[cursor[depth]++];
+                if (++depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                    cursor = Arrays.copyOf(cursor, depth * 2);
+                }
+                stack[depth] = child;
+                cursor[depth] = childOffsets[child];
+            } else {
+                if (count == order.length) order = Arrays.copyOf(order, count * 2);
+                order[count++] = node;
+                depth--;
+            }
+        }
+        return Arrays.copyOf(order, count);
+    }
+
+    /**
+     * Collects nodes level by level; parents are resolved when the tree is built, so
+     * nodes may be added in any order.
+     */
+    public static final class Builder {
+
+        private long[] ids = new long[1024];
+        private byte[] levels = new byte[1024];
+        private long[] parentIds = new long[1024];
+        private boolean[] hasParent = new boolean[1024];
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder add(HierarchyLevel level, long id, Long parentId) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                levels = Arrays.copyOf(levels, capacity);
+                parentIds = Arrays.copyOf(parentIds, capacity);
+                hasParent = Arrays.copyOf(hasParent, capacity);
+            }
+            ids[size] = id;
+            levels[size] = (byte) level.ordinal();
+            hasParent[size] = parentId != null && level != HierarchyLevel.STRATEGY;
+            parentIds[size] = parentId == null ? 0 : parentId;
+            size++;
+            return this;
+        }
+
+        public HierarchyTree build() {
+            List<Map<Long, Integer>> indexByLevel = new ArrayList<>(LEVELS.length);
+            for (int i = 0; i < LEVELS.length; i++) {
+                indexByLevel.add(new HashMap<>());
+            }
+            for (int node = 0; node < size; node++) {
+                indexByLevel.get(levels[node]).put(ids[node], node);
+            }
+            int[] parents = new int[size];
+            for (int node = 0; node < size; node++) {
+                Integer parent = hasParent[node] ? indexByLevel.get(levels[node] - 1).get(parentIds[node]) : null;
+                parents[node] = parent == null ? -1 : parent;
+            }
+            return new HierarchyTree(Arrays.copyOf(ids, size), Arrays.copyOf(levels, size), parents, indexByLevel);
+        }
+    }
+}
@@ -1,5 +1,404 @@
 package com.project.Tadafur_api.domain.strategy.service;
 
-// TODO: Implement the class
-public class ProgressCalculationService {
+import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository;
+import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository.ProjectProgressRow;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository.HierarchyProgressRow;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Table;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Watermarks;
+import com.project.Tadafur_api.domain.strategy.valueobject.HierarchyLevel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Propagates project progress up the project → initiative → program → goal → perspective →
+ * strategy chain.
+ *
+ * Every node gets a value under each propagation model:
+ * <ul>
+ *     <li>EFFORT: a project's manual_progress_by_effort, else progress_by_effort. A parent is
+ *     the mean of its children weighted by their contributionPercent. When none of a parent's
+ *     children has a positive contribution, its children weigh equally; otherwise a child
+ *     without one weighs nothing.</li>
+ *     <li>AVERAGE: a project's manual_progress_by_average, else progress_by_average. A parent
+ *     is the plain mean of its children.</li>
+ *     <li>HYBRID: the mean of a node's EFFORT and AVERAGE values, or the one it has.</li>
+ * </ul>
+ * A project without either value falls back to its calculated_progress_percent. Children
+ * without a value (e.g. an initiative without projects) are left out of their parent's mean.
+ *
+ * Values are kept in double arrays over a {@link HierarchyTree}. A full recompute sums every
+ * strategy's subtree in post-order, strategies in parallel; a change to one project re-sums
+ * the ancestors on its path to the root from their children, which is O(children) per level,
+ * and stops at the first ancestor whose values do not change. A parent is always summed from
+ * its children in the same order, so incremental updates give exactly the values of a full
+ * recompute. On every {@link TableWatermarks} tick in which the project table changed,
+ * {@link #onWatermarks} reloads the project progress columns, applies the projects that
+ * changed and falls back to a full recompute when the levels above projects, a project's
+ * parent or a project's contribution change.
+ */
+@Service
+@Slf4j
+public class ProgressCalculationService implements TableWatermarks.Listener {
+
+    private final StrategyRepository strategyRepository;
+    private final ProjectRepository projectRepository;
+    private final TableWatermarks tableWatermarks;
+
+    private volatile State state;
+
+    public ProgressCalculationService(StrategyRepository strategyRepository, ProjectRepository projectRepository,
+                                      TableWatermarks tableWatermarks) {
+        this.strategyRepository = strategyRepository;
+        this.projectRepository = projectRepository;
+        this.tableWatermarks = tableWatermarks;
+    }
+
+    public enum Model {
+        EFFORT, AVERAGE, HYBRID
+    }
+
+    /**
+     * The propagated progress of one node under each model (null where the node has no
+     * value), next to the values stored in its calculated_ and hybrid_progress_percent columns.
+     */
+    public record ProgressRollup(HierarchyLevel level, Long id,
+                                 BigDecimal effortProgress, BigDecimal averageProgress, BigDecimal hybridProgress,
+                                 BigDecimal storedCalculatedProgress, BigDecimal storedHybridProgress) {
+
+        public BigDecimal progress(Model model) {
+            return switch (model) {
+                case EFFORT -> effortProgress;
+                case AVERAGE -> averageProgress;
+                case HYBRID -> hybridProgress;
+            };
+        }
+    }
+
+    public Optional<ProgressRollup> getRollup(HierarchyLevel level, Long id) {
+        State current = loadedState();
+        synchronized (current) {
+            int node = current.tree.indexOf(level, id);
+            return node < 0 ? Optional.empty() : Optional.of(current.rollup(node));
+        }
+    }
+
+    /**
+     * The propagated progress of the given nodes of one level under {@code model}, in the
+     * order of {@code ids}; null where a node has no value or is not loaded.
+     */
+    public BigDecimal[] getProgress(HierarchyLevel level, long[] ids, Model model) {
+        State current = loadedState();
+        BigDecimal[] progress = new BigDecimal[ids.length];
+        synchronized (current) {
+            for (int i = 0; i < ids.length; i++) {
+                int node = current.tree.indexOf(level, ids[i]);
+                progress[i] = node < 0 ? null : current.rollup(node).progress(model);
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * The direct children of a node, in id order.
+     *
+     * @return empty if there is no such node.
+     */
+    public Optional<List<ProgressRollup>> getChildRollups(HierarchyLevel level, Long id) {
+        State current = loadedState();
+        synchronized (current) {
+            int node = current.tree.indexOf(level, id);
+            if (node < 0) {
+                return Optional.empty();
+            }
+            List<ProgressRollup> children = new ArrayList<>();
+            for (int c = current.tree.firstChild(node); c < current.tree.childEnd(node); c++) {
+                children.add(current.rollup(current.tree.child(c)));
+            }
+            return Optional.of(children);
+        }
+    }
+
+    /**
+     * Reloads the hierarchy and every project's progress inputs and recomputes every node.
+     */
+    public synchronized void recomputeAll() {
+        long started = System.nanoTime();
+        Watermarks watermarks = tableWatermarks.current();
+        List<HierarchyProgressRow> upperRows = strategyRepository.getUpperHierarchyProgressRows();
+        List<ProjectProgressRow> projectRows = projectRepository.getProjectProgressRows();
+
+        HierarchyTree.Builder builder = HierarchyTree.builder();
+        for (HierarchyProgressRow row : upperRows) {
+            builder.add(HierarchyLevel.ofOrdinal(row.getLevel()), row.getId(), row.getParentId());
+        }
+        for (ProjectProgressRow row : projectRows) {
+            builder.add(HierarchyLevel.PROJECT, row.getId(), row.getParentId());
+        }
+        State loaded = new State(builder.build(), watermarks.of(Table.UPPER_HIERARCHY));
+        loaded.projectWatermark = watermarks.of(Table.PROJECT);
+        for (int node = 0; node < upperRows.size(); node++) {
+            HierarchyProgressRow row = upperRows.get(node);
+            loaded.contribution[node] = toDouble(row.getContributionPercent());
+            loaded.storedCalculated[node] = row.getCalculatedProgressPercent();
+            loaded.storedHybrid[node] = row.getHybridProgressPercent();
+        }
+        loaded.projectRows = new ProjectInputs[projectRows.size()];
+        for (int i = 0; i < projectRows.size(); i++) {
+            ProjectProgressRow row = projectRows.get(i);
+            int node = upperRows.size() + i;
+            ProjectInputs inputs = ProjectInputs.of(row);
+            loaded.projectRows[i] = inputs;
+            loaded.contribution[node] = toDouble(row.getContributionPercent());
+            loaded.storedCalculated[node] = row.getCalculatedProgressPercent();
+            loaded.storedHybrid[node] = row.getHybridProgressPercent();
+            loaded.effort[node] = inputs.effort();
+            loaded.average[node] = inputs.average();
+        }
+        loaded.firstProject = upperRows.size();
+
+        loaded.assignWeights();
+        Arrays.stream(loaded.tree.roots()).parallel().forEach(loaded::sumSubtree);
+        state = loaded;
+        log.info("Recomputed progress for {} nodes in {} ms",
+                loaded.tree.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public synchronized void onWatermarks(Watermarks watermarks) {
+        try {
+            State current = state;
+            if (current == null || !current.upperWatermark.equals(watermarks.of(Table.UPPER_HIERARCHY))) {
+                recomputeAll();
+                return;
+            }
+            String projectWatermark = watermarks.of(Table.PROJECT);
+            if (projectWatermark.equals(current.projectWatermark)) {
+                return;
+            }
+            List<ProjectProgressRow> rows = projectRepository.getProjectProgressRows();
+            if (rows.size() != current.projectRows.length) {
+                recomputeAll();
+                return;
+            }
+            List<Integer> changed = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                ProjectProgressRow row = rows.get(i);
+                ProjectInputs loaded = current.projectRows[i];
+                if (!row.getId().equals(loaded.id()) || !Objects.equals(row.getParentId(), loaded.parentId())
+                        || !Objects.equals(row.getContributionPercent(), loaded.contributionPercent())) {
+                    log.info("Project {} moved or was reweighted; recomputing progress", row.getId());
+                    recomputeAll();
+                    return;
+                }
+                if (!ProjectInputs.of(row).equals(loaded)) {
+                    changed.add(i);
+                }
+            }
+            current.projectWatermark = projectWatermark;
+            if (changed.isEmpty()) {
+                return;
+            }
+            synchronized (current) {
+                for (int i : changed) {
+                    ProjectProgressRow row = rows.get(i);
+                    ProjectInputs inputs = ProjectInputs.of(row);
+                    int node = current.firstProject + i;
+                    current.projectRows[i] = inputs;
+                    current.storedCalculated[node] = row.getCalculatedProgressPercent();
+                    current.storedHybrid[node] = row.getHybridProgressPercent();
+                    current.setProject(node, inputs.effort(), inputs.average());
+                }
+            }
+            log.info("Applied progress changes of {} projects", changed.size());
+        } catch (RuntimeException e) {
+            log.error("Could not synchronize project progress", e);
+        }
+    }
+
+    private State loadedState() {
+        State current = state;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (state == null) {
+                recomputeAll();
+            }
+            return state;
+        }
+    }
+
+    private static double toDouble(Number value) {
+        return value == null ? Double.NaN : value.doubleValue();
+    }
+
+    /**
+     * The progress columns of a project as last loaded. The effective inputs pick the
+     * manual value first, then the measured one, then calculated_progress_percent.
+     */
+    private record ProjectInputs(Long id, Long parentId, Double contributionPercent,
+                                 BigDecimal byEffort, BigDecimal byAverage,
+                                 BigDecimal manualByEffort, BigDecimal manualByAverage, BigDecimal calculated) {
+
+        static ProjectInputs of(ProjectProgressRow row) {
+            return new ProjectInputs(row.getId(), row.getParentId(), row.getContributionPercent(),
+                    row.getProgressByEffort(), row.getProgressByAverage(),
+                    row.getManualProgressByEffort(), row.getManualProgressByAverage(),
+                    row.getCalculatedProgressPercent());
+        }
+
+        double effort() {
+            return toDouble(manualByEffort != null ? manualByEffort : byEffort != null ? byEffort : calculated);
+        }
+
+        double average() {
+            return toDouble(manualByAverage != null ? manualByAverage : byAverage != null ? byAverage : calculated);
+        }
+
+        /**
+         * Compares numerically, so that a reload returning another scale is not a change.
+         */
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ProjectInputs other
+                    && Objects.equals(id, other.id) && Objects.equals(parentId, other.parentId)
+                    && Objects.equals(contributionPercent, other.contributionPercent)
+                    && same(byEffort, other.byEffort) && same(byAverage, other.byAverage)
+                    && same(manualByEffort, other.manualByEffort) && same(manualByAverage, other.manualByAverage)
+                    && same(calculated, other.calculated);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, parentId, contributionPercent);
+        }
+
+        private static boolean same(BigDecimal a, BigDecimal b) {
+            return a == null ? b == null : b != null && a.compareTo(b) == 0;
+        }
+    }
+
+    /**
+     * One loaded hierarchy with its per-node values. Reads and incremental updates synchronize
+     * on the instance; a full recompute replaces it.
+     */
+    private static final class State {
+        final HierarchyTree tree;
+        final String upperWatermark;
+        final double[] contribution;
+        final double[] weight;
+        final double[] effort;
+        final double[] average;
+        final BigDecimal[] storedCalculated;
+        final BigDecimal[] storedHybrid;
+        ProjectInputs[] projectRows;
+        int firstProject;
+        /** The project table watermark the project rows were last read at. */
+        String projectWatermark;
+
+        State(HierarchyTree tree, String upperWatermark) {
+            int size = tree.size();
+            this.tree = tree;
+            this.upperWatermark = upperWatermark;
+            this.contribution = new double[size];
+            this.weight = new double[size];
+            this.effort = new double[size];
+            this.average = new double[size];
+            this.storedCalculated = new BigDecimal[size];
+            this.storedHybrid = new BigDecimal[size];
+            Arrays.fill(effort, Double.NaN);
+            Arrays.fill(average, Double.NaN);
+        }
+
+        /**
+         * Sets each node's EFFORT weight within its parent: its contribution when a sibling
+         * has a positive one, otherwise 1.
+         */
+        void assignWeights() {
+            for (int node = 0; node < tree.size(); node++) {
+                boolean weighted = false;
+                for (int c = tree.firstChild(node); c < tree.childEnd(node) && !weighted; c++) {
+                    weighted = contribution[tree.child(c)] > 0;
+                }
+                for (int c = tree.firstChild(node); c < tree.childEnd(node); c++) {
+                    int child = tree.child(c);
+                    weight[child] = !weighted ? 1 : contribution[child] > 0 ? contribution[child] : 0;
+                }
+            }
+        }
+
+        /**
+         * Subtrees of different roots are disjoint, so roots can be summed concurrently.
+         * Project values are set before; any other node is derived from its children.
+         */
+        void sumSubtree(int root) {
+            for (int node : tree.postOrder(root)) {
+                if (tree.level(node) != HierarchyLevel.PROJECT) {
+                    sumChildren(node);
+                }
+            }
+        }
+
+        /**
+         * Sets a project's values and re-sums its ancestors, stopping as soon as an
+         * ancestor's values do not change.
+         */
+        void setProject(int node, double newEffort, double newAverage) {
+            effort[node] = newEffort;
+            average[node] = newAverage;
+            for (int parent = tree.parent(node); parent >= 0; parent = tree.parent(parent)) {
+                double oldEffort = effort[parent];
+                double oldAverage = average[parent];
+                sumChildren(parent);
+                if (Double.compare(oldEffort, effort[parent]) == 0 && Double.compare(oldAverage, average[parent]) == 0) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Derives a node's values from its children that have one; NaN when none has.
+         */
+        private void sumChildren(int node) {
+            double effortSum = 0;
+            double effortWeightSum = 0;
+            double averageSum = 0;
+            int averageCount = 0;
+            for (int c = tree.firstChild(node); c < tree.childEnd(node); c++) {
+                int child = tree.child(c);
+                if (!Double.isNaN(effort[child])) {
+                    effortSum += weight[child] * effort[child];
+                    effortWeightSum += weight[child];
+                }
+                if (!Double.isNaN(average[child])) {
+                    averageSum += average[child];
+                    averageCount++;
+                }
+            }
+            effort[node] = effortWeightSum > 0 ? effortSum / effortWeightSum : Double.NaN;
+            average[node] = averageCount > 0 ? averageSum / averageCount : Double.NaN;
+        }
+
+        ProgressRollup rollup(int node) {
+            double hybrid = Double.isNaN(effort[node]) ? average[node]
+                    : Double.isNaN(average[node]) ? effort[node]
+                    : (effort[node] + average[node]) / 2;
+            return new ProgressRollup(tree.level(node), tree.id(node),
+                    percent(effort[node]), percent(average[node]), percent(hybrid),
+                    storedCalculated[node], storedHybrid[node]);
+        }
+
+        private static BigDecimal percent(double value) {
+            return Double.isNaN(value) ? null : BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+        }
+    }
 }
@@ -0,0 +1,169 @@
+package com.project.Tadafur_api.domain.strategy.service;
+
+import com.project.Tadafur_api.domain.strategy.valueobject.Timeline;
+
+/**
+ * Schedule measures over whole columns of project timelines.
+ *
+ * The columns are parallel primitive arrays, one slot per project. Missing dates are
+ * stored as day 0 and excluded through the 0/1 masks, so that the loops have no
+ * branches and the JIT can vectorize them. The measures call the same static formulas as
+ * the corresponding {@link Timeline} methods, which the JIT inlines.
+ */
+public final class ScheduleEngine {
+
+    private ScheduleEngine() {
+    }
+
+    /**
+     * Project timelines as columns. {@code dueMask} is 1 for open projects with an end
+     * date (the ones that can be delayed), {@code scheduledMask} is 1 for projects whose
+     * timeline {@link Timeline#isScheduled() is scheduled}.
+     */
+    public static final class Columns {
+        private final long[] ids;
+        private final long[] ownerIds;
+        private final int[] startDays;
+        private final int[] endDays;
+        private final int[] dueMask;
+        private final int[] scheduledMask;
+        private final byte[] presentDates;
+
+        public Columns(int size) {
+            this.ids = new long[size];
+            this.ownerIds = new long[size];
+            this.startDays = new int[size];
+            this.endDays = new int[size];
+            this.dueMask = new int[size];
+            this.scheduledMask = new int[size];
+            this.presentDates = new byte[size];
+        }
+
+        /**
+         * @param ownerId the project owner, or null.
+         */
+        public void set(int index, long id, Long ownerId, Timeline timeline, boolean open) {
+            ids[index] = id;
+            ownerIds[index] = ownerId == null ? NO_OWNER : ownerId;
+            startDays[index] = timeline.hasStart() ? timeline.startDay() : 0;
+            endDays[index] = timeline.hasEnd() ? timeline.endDay() : 0;
+            dueMask[index] = open && timeline.hasEnd() ? 1 : 0;
+            scheduledMask[index] = timeline.isScheduled() ? 1 : 0;
+            presentDates[index] = (byte) ((timeline.hasStart() ? START : 0) | (timeline.hasEnd() ? END : 0));
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        public long id(int index) {
+            return ids[index];
+        }
+
+        /**
+         * @return the owner id, or null.
+         */
+        public Long ownerId(int index) {
+            return ownerIds[index] == NO_OWNER ? null : ownerIds[index];
+        }
+
+        public Timeline timeline(int index) {
+            return Timeline.ofEpochDays((presentDates[index] & START) != 0 ? startDays[index] : Timeline.UNSET,
+                    (presentDates[index] & END) != 0 ? endDays[index] : Timeline.UNSET);
+        }
+
+        public boolean ownedBy(int index, long ownerId) {
+            return ownerIds[index] == ownerId;
+        }
+    }
+
+    /**
+     * Marks a project without an owner in {@link Columns}.
+     */
+    static final long NO_OWNER = Long.MIN_VALUE;
+
+    private static final int START = 1;
+    private static final int END = 2;
+
+    /**
+     * Portfolio totals as of one day. {@code averageDelayDays} is over the delayed
+     * projects only, and 0 when there are none.
+     */
+    public record Summary(int projectCount, int delayedProjectCount, long totalDelayDays, int maxDelayDays) {
+
+        public double averageDelayDays() {
+            return delayedProjectCount == 0 ? 0.0 : (double) totalDelayDays / delayedProjectCount;
+        }
+    }
+
+    /**
+     * Days each project is past its end date; 0 for projects that are on time, completed
+     * or without an end date.
+     */
+    public static void delayDays(Columns columns, int today, int[] out) {
+        int[] end = columns.endDays;
+        int[] due = columns.dueMask;
+        for (int i = 0; i < end.length; i++) {
+            out[i] = Timeline.delayDays(end[i], today) * due[i];
+        }
+    }
+
+    /**
+     * Days each open project has left until its end date (negative once overdue); 0 for
+     * completed projects and projects without an end date.
+     */
+    public static void slackDays(Columns columns, int today, int[] out) {
+        int[] end = columns.endDays;
+        int[] due = columns.dueMask;
+        for (int i = 0; i < end.length; i++) {
+            out[i] = (end[i] - today) * due[i];
+        }
+    }
+
+    /**
+     * Share of each project's planned duration elapsed by the end of {@code today}, from
+     * 0 to 100; 0 for projects that are not scheduled.
+     */
+    public static void percentTimeElapsed(Columns columns, int today, float[] out) {
+        int[] start = columns.startDays;
+        int[] end = columns.endDays;
+        int[] scheduled = columns.scheduledMask;
+        for (int i = 0; i < start.length; i++) {
+            out[i] = Timeline.percentTimeElapsed(start[i], end[i], today) * scheduled[i];
+        }
+    }
+
+    /**
+     * @param delays the output of {@link #delayDays} for the same columns.
+     */
+    public static Summary summarize(int[] delays) {
+        int delayed = 0;
+        long total = 0;
+        int max = 0;
+        for (int delay : delays) {
+            delayed += Integer.signum(delay);
+            total += delay;
+            max = Math.max(max, delay);
+        }
+        return new Summary(delays.length, delayed, total, max);
+    }
+
+    /**
+     * Same as {@link #summarize(int[])}, over the projects of one owner only.
+     */
+    public static Summary summarize(Columns columns, int[] delays, long ownerId) {
+        int count = 0;
+        int delayed = 0;
+        long total = 0;
+        int max = 0;
+        for (int i = 0; i < delays.length; i++) {
+            if (columns.ownerIds[i] == ownerId) {
+                count++;
+                delayed += Integer.signum(delays[i]);
+                total += delays[i];
+                max = Math.max(max, delays[i]);
+            }
+        }
+        return new Summary(count, delayed, total, max);
+    }
+}
@@ -0,0 +1,639 @@
+package com.project.Tadafur_api.domain.strategy.service;
+
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository.SearchDocumentRow;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository.SearchVersionRow;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Table;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Watermarks;
+import com.project.Tadafur_api.shared.util.SearchTextAnalyzer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * An in-memory inverted index over the names and descriptions (in every language) of
+ * the strategies, all hierarchy levels and the work items.
+ *
+ * Text goes through {@link SearchTextAnalyzer}, so Arabic spelling variants and English
+ * inflections match. Each term maps to the sorted positions of the rows containing it,
+ * with a weight in which a name occurrence counts {@value #NAME_BOOST} times a description
+ * one, and results are ranked with BM25. Every word of the query must match; the last one
+ * also matches as a prefix, for search as you type. Every row of the query's rarest word is
+ * scored and only the best {@code offset + limit} are kept, in a bounded heap, so the
+ * ranking and the match count cover all matches.
+ *
+ * The index is updated on every {@link TableWatermarks} tick. Only the kinds whose table
+ * watermark changed are looked at, and of those only the rows whose xmin changed are
+ * re-read and re-analyzed. The postings live in two immutable segments: a base segment over
+ * all rows as of the last merge, and a delta segment over the rows changed since, whose
+ * old versions are masked in the base. A tick rebuilds only the delta, which is
+ * O(changed rows); once those exceed a tenth of the base, the two are merged into a new
+ * base. Term statistics leave out the masked rows, so scores are the same as after a
+ * merge. Readers always see a complete, immutable snapshot.
+ */
+@Service
+@Slf4j
+public class SearchIndexService implements TableWatermarks.Listener {
+
+    static final int NAME_BOOST = 3;
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final int MAX_PREFIX_TERMS = 20;
+    private static final float PREFIX_FACTOR = 0.5f;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int ID_CHUNK_SIZE = 1000;
+    private static final int MIN_COMPACTED_TERMS = 10_000;
+    private static final int MIN_MERGED_ROWS = 1000;
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble((Hit h) -> -h.score())
+            .thenComparing(Hit::kind)
+            .thenComparingLong(Hit::id);
+
+    private final StrategyRepository strategyRepository;
+    private final TableWatermarks tableWatermarks;
+
+    /**
+     * The analyzed rows of each kind by id, and the term dictionary their term ids refer
+     * to. Only touched under the monitor. The dictionary only grows, so it is rebuilt by a
+     * full load once it holds four times the live terms. A full load builds both anew and
+     * only replaces them once it succeeded.
+     */
+    private List<Map<Long, Document>> documents;
+    private Dictionary dictionary;
+    private String[] watermarks;
+    /** The segment over all rows as of the last merge, and per kind the ids changed or removed since. */
+    private Segment base;
+    private List<Set<Long>> changedSinceMerge;
+
+    private volatile Snapshot snapshot;
+
+    public SearchIndexService(StrategyRepository strategyRepository, TableWatermarks tableWatermarks) {
+        this.strategyRepository = strategyRepository;
+        this.tableWatermarks = tableWatermarks;
+    }
+
+    /**
+     * What can be searched; the ordinal is the kind of the repository's search queries.
+     */
+    public enum Kind {
+        STRATEGY(Table.STRATEGY), PERSPECTIVE(Table.PERSPECTIVE), GOAL(Table.GOAL), PROGRAM(Table.PROGRAM),
+        INITIATIVE(Table.INITIATIVE), PROJECT(Table.PROJECT), WORK_ITEM(Table.WORK_ITEM);
+
+        private static final Kind[] VALUES = values();
+
+        private final Table table;
+
+        Kind(Table table) {
+            this.table = table;
+        }
+    }
+
+    public record Hit(Kind kind, long id, float score) {
+    }
+
+    /**
+     * One page of hits, best first, and the number of rows that matched.
+     */
+    public record SearchResult(int totalMatches, List<Hit> hits) {
+    }
+
+    /**
+     * @param kinds what to search; all kinds when empty.
+     * @throws IllegalArgumentException if the query has no searchable words.
+     */
+    public SearchResult search(String query, Set<Kind> kinds, int offset, int limit) {
+        List<String> queryTerms = SearchTextAnalyzer.terms(query).stream().distinct().limit(MAX_QUERY_TERMS).toList();
+        if (queryTerms.isEmpty()) {
+            throw new IllegalArgumentException("The query has no searchable words.");
+        }
+        // A last word that is still being typed also matches as a prefix, unless it was
+        // dropped as a stop word or a single character.
+        List<String> queryWords = SearchTextAnalyzer.words(query);
+        String typedWord = null;
+        if (!queryWords.isEmpty() && Character.isLetterOrDigit(query.charAt(query.length() - 1))) {
+            String lastWord = queryWords.get(queryWords.size() - 1);
+            if (SearchTextAnalyzer.terms(lastWord).equals(List.of(queryTerms.get(queryTerms.size() - 1)))) {
+                typedWord = lastWord;
+            }
+        }
+        return loadedSnapshot().search(queryTerms, typedWord, kinds.isEmpty() ? EnumSet.allOf(Kind.class) : kinds,
+                offset, limit);
+    }
+
+    @Override
+    public synchronized void onWatermarks(Watermarks watermarks) {
+        try {
+            refresh(watermarks);
+        } catch (RuntimeException e) {
+            log.error("Could not refresh the search index; keeping the loaded one", e);
+        }
+    }
+
+    private Snapshot loadedSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                refresh(tableWatermarks.current());
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * The watermark is read before the rows, so that a change committed while loading is
+     * picked up by the next refresh.
+     */
+    private void refresh(Watermarks tables) {
+        long started = System.nanoTime();
+        String[] current = new String[Kind.VALUES.length];
+        for (Kind kind : Kind.VALUES) {
+            current[kind.ordinal()] = tables.of(kind.table);
+        }
+        if (watermarks == null || dictionary.size() > 4 * Math.max(MIN_COMPACTED_TERMS, liveTermCount())) {
+            Dictionary loadedDictionary = new Dictionary();
+            List<Map<Long, Document>> loaded = new ArrayList<>(Kind.VALUES.length);
+            for (Kind kind : Kind.VALUES) {
+                loaded.add(load(kind, loadedDictionary));
+            }
+            documents = loaded;
+            dictionary = loadedDictionary;
+            merge();
+            log.info("Indexed {} rows for search", base.size());
+        } else {
+            boolean changed = false;
+            for (Kind kind : Kind.VALUES) {
+                if (!current[kind.ordinal()].equals(watermarks[kind.ordinal()])) {
+                    changed |= update(kind);
+                }
+            }
+            if (!changed && snapshot != null) {
+                watermarks = current;
+                return;
+            }
+            int changedRows = changedSinceMerge.stream().mapToInt(Set::size).sum();
+            if (changedRows > Math.max(MIN_MERGED_ROWS, base.size() / 10)) {
+                merge();
+            }
+        }
+        watermarks = current;
+        snapshot = buildSnapshot();
+        log.info("Built the search index over {} base and {} changed rows in {} ms", base.size(),
+                snapshot.delta.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void merge() {
+        base = new Segment(documents, dictionary.terms);
+        changedSinceMerge = new ArrayList<>(Kind.VALUES.length);
+        for (int k = 0; k < Kind.VALUES.length; k++) {
+            changedSinceMerge.add(new HashSet<>());
+        }
+    }
+
+    /**
+     * The base together with a delta over the live rows changed since the merge, and the
+     * base rows those replace or remove.
+     */
+    private Snapshot buildSnapshot() {
+        List<Map<Long, Document>> changed = new ArrayList<>(Kind.VALUES.length);
+        BitSet masked = new BitSet(base.size());
+        for (Kind kind : Kind.VALUES) {
+            Map<Long, Document> live = documents.get(kind.ordinal());
+            Map<Long, Document> ofKind = new HashMap<>();
+            for (Long id : changedSinceMerge.get(kind.ordinal())) {
+                Document document = live.get(id);
+                if (document != null) {
+                    ofKind.put(id, document);
+                }
+                int row = base.rowOf(kind, id);
+                if (row >= 0) {
+                    masked.set(row);
+                }
+            }
+            changed.add(ofKind);
+        }
+        return new Snapshot(base, new Segment(changed, dictionary.terms), masked);
+    }
+
+    private Map<Long, Document> load(Kind kind, Dictionary dictionary) {
+        List<SearchDocumentRow> rows = strategyRepository.getSearchDocuments(kind.ordinal());
+        Map<Long, Document> loaded = new HashMap<>(rows.size() * 2);
+        for (SearchDocumentRow row : rows) {
+            loaded.put(row.getId(), analyze(row, dictionary));
+        }
+        return loaded;
+    }
+
+    /**
+     * Re-reads the rows of {@code kind} whose xmin changed and drops the deleted ones.
+     *
+     * @return whether anything changed.
+     */
+    private boolean update(Kind kind) {
+        Map<Long, Document> loaded = documents.get(kind.ordinal());
+        Set<Long> changedIds = changedSinceMerge.get(kind.ordinal());
+        List<SearchVersionRow> versions = strategyRepository.getSearchVersions(kind.ordinal());
+        Set<Long> live = new HashSet<>(versions.size() * 2);
+        List<Long> changed = new ArrayList<>();
+        for (SearchVersionRow version : versions) {
+            live.add(version.getId());
+            Document document = loaded.get(version.getId());
+            if (document == null || document.version != version.getVersion()) {
+                changed.add(version.getId());
+            }
+        }
+        List<Long> removed = loaded.keySet().stream().filter(id -> !live.contains(id)).toList();
+        removed.forEach(loaded::remove);
+        changedIds.addAll(removed);
+        changedIds.addAll(changed);
+        if (changed.size() > Math.max(ID_CHUNK_SIZE, loaded.size() / 10)) {
+            Map<Long, Document> reloaded = load(kind, dictionary);
+            changedIds.addAll(reloaded.keySet());
+            changedIds.addAll(loaded.keySet());
+            documents.set(kind.ordinal(), reloaded);
+        } else {
+            for (int from = 0; from < changed.size(); from += ID_CHUNK_SIZE) {
+                List<Long> chunk = changed.subList(from, Math.min(changed.size(), from + ID_CHUNK_SIZE));
+                for (SearchDocumentRow row : strategyRepository.getSearchDocumentsByIds(kind.ordinal(), chunk)) {
+                    loaded.put(row.getId(), analyze(row, dictionary));
+                }
+            }
+        }
+        if (!changed.isEmpty() || !removed.isEmpty()) {
+            log.info("Applied {} changed and {} removed {} rows to the search index", changed.size(), removed.size(),
+                    kind.name().toLowerCase(Locale.ROOT));
+        }
+        return !changed.isEmpty() || !removed.isEmpty();
+    }
+
+    private static Document analyze(SearchDocumentRow row, Dictionary dictionary) {
+        Map<Integer, Integer> weights = new HashMap<>();
+        int length = 0;
+        for (String term : SearchTextAnalyzer.terms(row.getName())) {
+            weights.merge(dictionary.id(term), NAME_BOOST, Integer::sum);
+            length += NAME_BOOST;
+        }
+        for (String term : SearchTextAnalyzer.terms(row.getDescription())) {
+            weights.merge(dictionary.id(term), 1, Integer::sum);
+            length++;
+        }
+        int[] ids = weights.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int[] termWeights = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            termWeights[i] = weights.get(ids[i]);
+        }
+        return new Document(row.getVersion(), ids, termWeights, length);
+    }
+
+    private int liveTermCount() {
+        return base == null ? 0 : base.sortedTerms.length;
+    }
+
+    /**
+     * Every term seen since the last full load, numbered in order of appearance.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> terms = new ArrayList<>();
+
+        int id(String term) {
+            Integer id = ids.get(term);
+            if (id == null) {
+                id = terms.size();
+                ids.put(term, id);
+                terms.add(term);
+            }
+            return id;
+        }
+
+        int size() {
+            return terms.size();
+        }
+    }
+
+    /**
+     * An analyzed row: its distinct term ids in ascending order with their weights, and
+     * its weighted length.
+     */
+    private record Document(long version, int[] termIds, int[] weights, int length) {
+    }
+
+    /**
+     * The postings of a set of rows, numbered by kind and then id. Copies what it needs, so
+     * later changes to the document maps do not reach it.
+     */
+    private static final class Segment {
+        private final Kind[] kinds;
+        private final long[] ids;
+        private final Document[] rows;
+        /** The first row of each kind, and the row count at the end. */
+        private final int[] kindStarts;
+        private final long totalLength;
+        /** Term id to position in {@link #sortedTerms}. */
+        private final Map<Integer, Integer> positions;
+        private final String[] sortedTerms;
+        private final int[][] postings;
+        private final int[][] postingWeights;
+
+        Segment(List<Map<Long, Document>> documents, List<String> dictionary) {
+            int size = documents.stream().mapToInt(Map::size).sum();
+            kinds = new Kind[size];
+            ids = new long[size];
+            rows = new Document[size];
+            kindStarts = new int[Kind.VALUES.length + 1];
+            int row = 0;
+            long length = 0;
+            for (Kind kind : Kind.VALUES) {
+                kindStarts[kind.ordinal()] = row;
+                Map<Long, Document> ofKind = documents.get(kind.ordinal());
+                for (long id : ofKind.keySet().stream().mapToLong(Long::longValue).sorted().toArray()) {
+                    kinds[row] = kind;
+                    ids[row] = id;
+                    rows[row] = ofKind.get(id);
+                    length += rows[row].length;
+                    row++;
+                }
+            }
+            kindStarts[Kind.VALUES.length] = row;
+            totalLength = length;
+
+            Map<Integer, Integer> frequencies = new HashMap<>();
+            for (Document document : rows) {
+                for (int term : document.termIds) {
+                    frequencies.merge(term, 1, Integer::sum);
+                }
+            }
+            Integer[] live = frequencies.keySet().toArray(Integer[]::new);
+            Arrays.sort(live, Comparator.comparing(dictionary::get));
+            positions = new HashMap<>(live.length * 2);
+            sortedTerms = new String[live.length];
+            postings = new int[live.length][];
+            postingWeights = new int[live.length][];
+            for (int p = 0; p < live.length; p++) {
+                int frequency = frequencies.get(live[p]);
+                positions.put(live[p], p);
+                sortedTerms[p] = dictionary.get(live[p]);
+                postings[p] = new int[frequency];
+                postingWeights[p] = new int[frequency];
+            }
+            int[] filled = new int[live.length];
+            for (int r = 0; r < size; r++) {
+                Document document = rows[r];
+                for (int i = 0; i < document.termIds.length; i++) {
+                    int p = positions.get(document.termIds[i]);
+                    postings[p][filled[p]] = r;
+                    postingWeights[p][filled[p]++] = document.weights[i];
+                }
+            }
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        /**
+         * @return the row, or -1 if there is no such row.
+         */
+        int rowOf(Kind kind, long id) {
+            int at = Arrays.binarySearch(ids, kindStarts[kind.ordinal()], kindStarts[kind.ordinal() + 1], id);
+            return at >= 0 ? at : -1;
+        }
+
+        /**
+         * @return the position of {@code term} in {@link #sortedTerms}, or -1.
+         */
+        int find(String term) {
+            int at = Arrays.binarySearch(sortedTerms, term);
+            return at >= 0 ? at : -1;
+        }
+
+        /**
+         * The terms after {@code prefix} in sorted order that start with it.
+         */
+        List<String> termsStartingWith(String prefix) {
+            int at = Arrays.binarySearch(sortedTerms, prefix);
+            int from = at >= 0 ? at + 1 : -at - 1;
+            int to = from;
+            while (to < sortedTerms.length && sortedTerms[to].startsWith(prefix)) {
+                to++;
+            }
+            return Arrays.asList(sortedTerms).subList(from, to);
+        }
+    }
+
+    /**
+     * A base segment with some rows masked, and a delta segment over the changed rows.
+     */
+    private static final class Snapshot {
+        private final Segment base;
+        private final Segment delta;
+        private final BitSet masked;
+        /** By base term position, how many masked rows contain the term. */
+        private final Map<Integer, Integer> maskedFrequencies = new HashMap<>();
+        private final int size;
+        private final float averageLength;
+
+        Snapshot(Segment base, Segment delta, BitSet masked) {
+            this.base = base;
+            this.delta = delta;
+            this.masked = masked;
+            int rows = base.size() + delta.size();
+            long totalLength = base.totalLength + delta.totalLength;
+            for (int row = masked.nextSetBit(0); row >= 0; row = masked.nextSetBit(row + 1)) {
+                rows--;
+                totalLength -= base.rows[row].length;
+                for (int term : base.rows[row].termIds) {
+                    maskedFrequencies.merge(base.positions.get(term), 1, Integer::sum);
+                }
+            }
+            size = rows;
+            averageLength = rows == 0 ? 1 : Math.max(1, (float) totalLength / rows);
+        }
+
+        SearchResult search(List<String> queryTerms, String typedWord, Set<Kind> searched, int offset, int limit) {
+            List<Clause> clauses = new ArrayList<>(queryTerms.size());
+            for (int i = 0; i < queryTerms.size(); i++) {
+                boolean last = i == queryTerms.size() - 1;
+                Clause clause = new Clause();
+                add(clause, queryTerms.get(i), 1f);
+                if (last && typedWord != null) {
+                    addPrefixTerms(clause, queryTerms.get(i));
+                    addPrefixTerms(clause, typedWord);
+                }
+                if (clause.terms.isEmpty()) {
+                    return new SearchResult(0, List.of());
+                }
+                clauses.add(clause);
+            }
+
+            boolean[] allowed = new boolean[Kind.VALUES.length];
+            searched.forEach(k -> allowed[k.ordinal()] = true);
+            TopHits top = new TopHits((long) offset + limit);
+            int matches = collect(base, masked, clauses, allowed, top) + collect(delta, null, clauses, allowed, top);
+            return new SearchResult(matches, top.page(offset));
+        }
+
+        /**
+         * Scores every row of the clause with the fewest postings in {@code segment}, in row
+         * order; a row matches when every clause has a term in it.
+         *
+         * @return the number of matching rows.
+         */
+        private int collect(Segment segment, BitSet masked, List<Clause> clauses, boolean[] allowed, TopHits top) {
+            int[][] positions = new int[clauses.size()][];
+            int driver = 0;
+            long fewest = Long.MAX_VALUE;
+            for (int c = 0; c < clauses.size(); c++) {
+                List<String> terms = clauses.get(c).terms;
+                positions[c] = new int[terms.size()];
+                long count = 0;
+                for (int t = 0; t < terms.size(); t++) {
+                    int p = segment.find(terms.get(t));
+                    positions[c][t] = p;
+                    if (p >= 0) count += segment.postings[p].length;
+                }
+                if (count == 0) {
+                    return 0;
+                }
+                if (count < fewest) {
+                    fewest = count;
+                    driver = c;
+                }
+            }
+
+            int[] lists = positions[driver];
+            int[] cursor = new int[lists.length];
+            int matches = 0;
+            while (true) {
+                int row = Integer.MAX_VALUE;
+                for (int t = 0; t < lists.length; t++) {
+                    if (lists[t] >= 0 && cursor[t] < segment.postings[lists[t]].length) {
+                        row = Math.min(row, segment.postings[lists[t]][cursor[t]]);
+                    }
+                }
+                if (row == Integer.MAX_VALUE) break;
+                for (int t = 0; t < lists.length; t++) {
+                    if (lists[t] >= 0 && cursor[t] < segment.postings[lists[t]].length
+                            && segment.postings[lists[t]][cursor[t]] == row) cursor[t]++;
+                }
+                if (!allowed[segment.kinds[row].ordinal()] || masked != null && masked.get(row)) continue;
+                float score = score(segment, row, clauses, positions);
+                if (score > 0) {
+                    matches++;
+                    top.offer(new Hit(segment.kinds[row], segment.ids[row], score));
+                }
+            }
+            return matches;
+        }
+
+        /**
+         * The BM25 score of a row, summed over the clauses in query order; 0 if a clause
+         * has no term in it.
+         */
+        private float score(Segment segment, int row, List<Clause> clauses, int[][] positions) {
+            float lengthNorm = K1 * (1 - B + B * segment.rows[row].length / averageLength);
+            float score = 0;
+            for (int c = 0; c < clauses.size(); c++) {
+                Clause clause = clauses.get(c);
+                float best = 0;
+                for (int t = 0; t < clause.terms.size(); t++) {
+                    int p = positions[c][t];
+                    int at = p < 0 ? -1 : Arrays.binarySearch(segment.postings[p], row);
+                    if (at >= 0) {
+                        float weight = segment.postingWeights[p][at];
+                        best = Math.max(best, clause.factors.get(t) * clause.idfs.get(t) * weight * (K1 + 1)
+                                / (weight + lengthNorm));
+                    }
+                }
+                if (best == 0) {
+                    return 0;
+                }
+                score += best;
+            }
+            return score;
+        }
+
+        /**
+         * The number of unmasked rows containing {@code term}.
+         */
+        private int frequency(String term) {
+            int p = base.find(term);
+            int inBase = p < 0 ? 0 : base.postings[p].length - maskedFrequencies.getOrDefault(p, 0);
+            int q = delta.find(term);
+            return inBase + (q < 0 ? 0 : delta.postings[q].length);
+        }
+
+        private void add(Clause clause, String term, float factor) {
+            int frequency = frequency(term);
+            if (frequency > 0 && !clause.terms.contains(term)) {
+                clause.terms.add(term);
+                clause.factors.add(factor);
+                clause.idfs.add((float) Math.log(1 + (size - frequency + 0.5) / (frequency + 0.5)));
+            }
+        }
+
+        /**
+         * Adds the first live terms in sorted order that start with {@code prefix}; each
+         * segment offers its first ones, so their union holds the first ones overall.
+         */
+        private void addPrefixTerms(Clause clause, String prefix) {
+            SortedSet<String> candidates = new TreeSet<>();
+            for (Segment segment : List.of(base, delta)) {
+                int offered = 0;
+                for (String term : segment.termsStartingWith(prefix)) {
+                    if (offered == MAX_PREFIX_TERMS) break;
+                    if (frequency(term) > 0) {
+                        candidates.add(term);
+                        offered++;
+                    }
+                }
+            }
+            for (String term : candidates) {
+                if (clause.terms.size() >= MAX_PREFIX_TERMS) break;
+                add(clause, term, PREFIX_FACTOR);
+            }
+        }
+    }
+
+    /**
+     * The alternative terms that satisfy one word of the query, each with its score factor
+     * and idf.
+     */
+    private static final class Clause {
+        private final List<String> terms = new ArrayList<>();
+        private final List<Float> factors = new ArrayList<>();
+        private final List<Float> idfs = new ArrayList<>();
+    }
+
+    /**
+     * The best {@code capacity} hits offered, in a heap whose head is the worst of them.
+     */
+    private static final class TopHits {
+        private final long capacity;
+        private final PriorityQueue<Hit> heap = new PriorityQueue<>(RANKING.reversed());
+
+        TopHits(long capacity) {
+            this.capacity = capacity;
+        }
+
+        void offer(Hit hit) {
+            if (heap.size() < capacity) {
+                heap.add(hit);
+            } else if (RANKING.compare(hit, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        }
+
+        /**
+         * The kept hits from {@code offset} on, best first.
+         */
+        List<Hit> page(int offset) {
+            List<Hit> best = new ArrayList<>(heap);
+            best.sort(RANKING);
+            return offset >= best.size() ? List.of() : List.copyOf(best.subList(offset, best.size()));
+        }
+    }
+}
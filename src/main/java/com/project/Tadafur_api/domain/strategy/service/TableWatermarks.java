@@ -0,0 +1,120 @@
+package com.project.Tadafur_api.domain.strategy.service;
+
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The one change detector behind every in-memory view of the database.
+ *
+ * A table's watermark is its row count and xmin total, which changes on any insert, update
+ * or delete. Computing it scans the table, so on each refresh tick
+ * ({@code app.data-refresh.interval-ms}) only the tables' pg_stat_user_tables counters are
+ * read, and all watermarks are read with one query only when those moved. A change that is
+ * not yet in the counters is picked up on a later tick. The watermarks are then handed to
+ * every {@link Listener}, each of which only reloads when the tables it is built from changed.
+ * Listeners run one after another on the tick's thread, in their {@code @Order}.
+ */
+@Service
+@Slf4j
+public class TableWatermarks {
+
+    public enum Table {
+        // In the order of StrategyRepository.getTableWatermarks().
+        STRATEGY, PERSPECTIVE, GOAL, PROGRAM, INITIATIVE, PROJECT, WORK_ITEM, BUDGET_PAYMENT;
+
+        /** The levels above projects. */
+        public static final Set<Table> UPPER_HIERARCHY = EnumSet.range(STRATEGY, INITIATIVE);
+        /** The levels from strategy down to project. */
+        public static final Set<Table> HIERARCHY = EnumSet.range(STRATEGY, PROJECT);
+    }
+
+    /**
+     * Receives the watermarks of every refresh tick.
+     */
+    public interface Listener {
+        void onWatermarks(Watermarks watermarks);
+    }
+
+    /**
+     * The watermarks of all tables at one point in time.
+     */
+    public record Watermarks(List<String> parts) {
+
+        public String of(Table table) {
+            return parts.get(table.ordinal());
+        }
+
+        /**
+         * One value that changes whenever any of {@code tables} does.
+         */
+        public String of(Set<Table> tables) {
+            return tables.stream().map(this::of).collect(Collectors.joining("|"));
+        }
+    }
+
+    private final StrategyRepository strategyRepository;
+    private final ObjectProvider<Listener> listeners;
+
+    private volatile Watermarks last;
+    /** The table activity counters read just before {@link #last}. */
+    private volatile String lastActivity;
+
+    public TableWatermarks(StrategyRepository strategyRepository, ObjectProvider<Listener> listeners) {
+        this.strategyRepository = strategyRepository;
+        this.listeners = listeners;
+    }
+
+    /**
+     * The watermarks of the last tick, or freshly read ones before the first. A view that
+     * loads with these and then sees a later tick's value reloads once more, which errs on
+     * the safe side.
+     */
+    public Watermarks current() {
+        Watermarks current = last;
+        return current != null ? current : read();
+    }
+
+    @Scheduled(initialDelayString = "${app.data-refresh.initial-delay-ms:10000}",
+            fixedDelayString = "${app.data-refresh.interval-ms:30000}")
+    public void tick() {
+        Watermarks watermarks;
+        try {
+            watermarks = read();
+        } catch (RuntimeException e) {
+            log.error("Could not read the table watermarks; skipping this refresh", e);
+            return;
+        }
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onWatermarks(watermarks);
+            } catch (RuntimeException e) {
+                log.error("Could not refresh {}", listener.getClass().getSimpleName(), e);
+            }
+        });
+    }
+
+    private synchronized Watermarks read() {
+        // Read before the watermarks, so a change in between only costs one more read.
+        String activity = strategyRepository.getTableActivity();
+        Watermarks current = last;
+        if (current != null && activity != null && activity.equals(lastActivity)) {
+            return current;
+        }
+        String[] parts = strategyRepository.getTableWatermarks().split("\\|", -1);
+        if (parts.length != Table.values().length) {
+            throw new IllegalStateException("Expected " + Table.values().length + " table watermarks, got " + parts.length);
+        }
+        Watermarks watermarks = new Watermarks(List.of(parts));
+        last = watermarks;
+        lastActivity = activity;
+        return watermarks;
+    }
+}
@@ -1,5 +1,324 @@
 package com.project.Tadafur_api.domain.strategy.service;
 
-// TODO: Implement the class
-public class VisionAlignmentService {
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository.VisionAlignmentRow;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Table;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Watermarks;
+import com.project.Tadafur_api.domain.strategy.valueobject.HierarchyLevel;
+import com.project.Tadafur_api.domain.strategy.valueobject.Money;
+import com.project.Tadafur_api.shared.util.SqlArrayUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+
+/**
+ * An inverted index from vision priorities to the goals, programs, initiatives and projects
+ * aligned with them.
+ *
+ * The aligned nodes of each level are held in id order in parallel arrays, and every
+ * priority (and owner) maps to a {@link BitSet} over those positions, so "aligned with X",
+ * "with any of X, Y, Z" and "with all of X, Y, Z" are word-wise OR and AND over a few
+ * bitmaps instead of {@code unnest} scans. The index is rebuilt when the hierarchy tables
+ * change, as seen by {@link TableWatermarks}.
+ *
+ * Planned budgets are summed from the index. Spend and progress are read for the nodes of a
+ * result from {@link BudgetAggregationService} (rolled-up payments) and
+ * {@link ProgressCalculationService} (HYBRID progress), so that they mean the same at every
+ * level and follow new payments without a rebuild.
+ */
+@Service
+@Slf4j
+public class VisionAlignmentService implements TableWatermarks.Listener {
+
+    /**
+     * The levels that carry vision priorities.
+     */
+    public static final Set<HierarchyLevel> LEVELS = Collections.unmodifiableSet(EnumSet.of(
+            HierarchyLevel.GOAL, HierarchyLevel.PROGRAM, HierarchyLevel.INITIATIVE, HierarchyLevel.PROJECT));
+
+    private static final long NO_OWNER = Long.MIN_VALUE;
+    private static final BitSet EMPTY = new BitSet();
+
+    private final StrategyRepository strategyRepository;
+    private final TableWatermarks tableWatermarks;
+    private final BudgetAggregationService budgetAggregationService;
+    private final ProgressCalculationService progressCalculationService;
+
+    private volatile State state;
+
+    public VisionAlignmentService(StrategyRepository strategyRepository, TableWatermarks tableWatermarks,
+                                  BudgetAggregationService budgetAggregationService,
+                                  ProgressCalculationService progressCalculationService) {
+        this.strategyRepository = strategyRepository;
+        this.tableWatermarks = tableWatermarks;
+        this.budgetAggregationService = budgetAggregationService;
+        this.progressCalculationService = progressCalculationService;
+    }
+
+    public enum Match {
+        ANY, ALL
+    }
+
+    /**
+     * One aligned node. {@code spent} is its rolled-up payments and {@code progress} its
+     * HYBRID propagated progress, null when it has none.
+     */
+    public record AlignedNode(long id, Long ownerId, BigDecimal plannedBudget, BigDecimal spent, BigDecimal progress,
+                              int[] visionPriorities) {
+    }
+
+    /**
+     * Totals over a set of aligned nodes. {@code averageProgress} is over the nodes that
+     * have a progress value, and null when none has.
+     */
+    public record Totals(int nodeCount, Money plannedBudget, Money spent, BigDecimal averageProgress) {
+    }
+
+    /**
+     * The nodes matching a query, in id order and cut to the requested limit, with the
+     * totals over all of them.
+     */
+    public record Alignment(Totals totals, List<AlignedNode> nodes) {
+    }
+
+    /**
+     * One priority's row of the alignment matrix. {@code coAligned[j]} is the number of
+     * nodes aligned with both this priority and {@code priorities[j]} of the matrix; the
+     * diagonal is the priority's own node count.
+     */
+    public record MatrixRow(int priority, Totals totals, int[] coAligned) {
+    }
+
+    public record AlignmentMatrix(int[] priorities, List<MatrixRow> rows) {
+    }
+
+    /**
+     * The nodes of {@code level} aligned with any or all of {@code priorities}.
+     *
+     * @param ownerId if set, only that owner's nodes.
+     * @throws IllegalArgumentException if the level has no vision priorities or no priority
+     *                                  is given.
+     */
+    public Alignment findAligned(HierarchyLevel level, Collection<Integer> priorities, Match match, Long ownerId,
+                                 int limit) {
+        if (priorities == null || priorities.isEmpty()) {
+            throw new IllegalArgumentException("At least one vision priority is required.");
+        }
+        LevelIndex index = loadedState().index(level);
+        BitSet matches = null;
+        for (int priority : new TreeSet<>(priorities)) {
+            BitSet aligned = index.byPriority.getOrDefault(priority, EMPTY);
+            if (matches == null) {
+                matches = (BitSet) aligned.clone();
+            } else if (match == Match.ALL) {
+                matches.and(aligned);
+            } else {
+                matches.or(aligned);
+            }
+        }
+        index.restrictToOwner(matches, ownerId);
+
+        Measures measures = measures(level, index, matches);
+        List<AlignedNode> nodes = new ArrayList<>(Math.min(limit, matches.cardinality()));
+        for (int i = matches.nextSetBit(0); i >= 0 && nodes.size() < limit; i = matches.nextSetBit(i + 1)) {
+            nodes.add(index.node(i, measures));
+        }
+        return new Alignment(index.totals(matches, measures), nodes);
+    }
+
+    /**
+     * Every priority of {@code level} with its totals and how many nodes it shares with
+     * each other priority.
+     *
+     * @param ownerId if set, only that owner's nodes.
+     */
+    public AlignmentMatrix getMatrix(HierarchyLevel level, Long ownerId) {
+        LevelIndex index = loadedState().index(level);
+        int[] priorities = index.byPriority.keySet().stream().mapToInt(Integer::intValue).toArray();
+        BitSet[] aligned = new BitSet[priorities.length];
+        BitSet any = new BitSet();
+        for (int p = 0; p < priorities.length; p++) {
+            aligned[p] = (BitSet) index.byPriority.get(priorities[p]).clone();
+            index.restrictToOwner(aligned[p], ownerId);
+            any.or(aligned[p]);
+        }
+        Measures measures = measures(level, index, any);
+
+        int[][] coAligned = new int[priorities.length][priorities.length];
+        BitSet both = new BitSet();
+        for (int p = 0; p < priorities.length; p++) {
+            coAligned[p][p] = aligned[p].cardinality();
+            for (int q = p + 1; q < priorities.length; q++) {
+                both.clear();
+                both.or(aligned[p]);
+                both.and(aligned[q]);
+                coAligned[p][q] = coAligned[q][p] = both.cardinality();
+            }
+        }
+        List<MatrixRow> rows = new ArrayList<>(priorities.length);
+        for (int p = 0; p < priorities.length; p++) {
+            rows.add(new MatrixRow(priorities[p], index.totals(aligned[p], measures), coAligned[p]));
+        }
+        return new AlignmentMatrix(priorities, rows);
+    }
+
+    /**
+     * Rebuilds the index from the database.
+     */
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        String watermark = tableWatermarks.current().of(Table.HIERARCHY);
+        List<VisionAlignmentRow> rows = strategyRepository.getVisionAlignmentRows();
+
+        Map<HierarchyLevel, List<VisionAlignmentRow>> byLevel = new EnumMap<>(HierarchyLevel.class);
+        for (HierarchyLevel level : LEVELS) {
+            byLevel.put(level, new ArrayList<>());
+        }
+        for (VisionAlignmentRow row : rows) {
+            byLevel.get(HierarchyLevel.ofOrdinal(row.getLevel())).add(row);
+        }
+        Map<HierarchyLevel, LevelIndex> indexes = new EnumMap<>(HierarchyLevel.class);
+        byLevel.forEach((level, levelRows) -> indexes.put(level, new LevelIndex(levelRows)));
+        state = new State(watermark, indexes);
+        log.info("Indexed vision alignment of {} nodes in {} ms", rows.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public synchronized void onWatermarks(Watermarks watermarks) {
+        try {
+            State current = state;
+            if (current == null || !current.watermark.equals(watermarks.of(Table.HIERARCHY))) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.error("Could not refresh the vision alignment index", e);
+        }
+    }
+
+    /**
+     * Reads the spend and progress of the {@code nodes} positions of {@code index}.
+     */
+    private Measures measures(HierarchyLevel level, LevelIndex index, BitSet nodes) {
+        long[] ids = new long[nodes.cardinality()];
+        int n = 0;
+        for (int i = nodes.nextSetBit(0); i >= 0; i = nodes.nextSetBit(i + 1)) {
+            ids[n++] = index.ids[i];
+        }
+        long[] payments = budgetAggregationService.getTotalPayments(level, ids);
+        BigDecimal[] progress = progressCalculationService.getProgress(level, ids, ProgressCalculationService.Model.HYBRID);
+
+        Measures measures = new Measures(new long[index.ids.length], new BigDecimal[index.ids.length]);
+        n = 0;
+        for (int i = nodes.nextSetBit(0); i >= 0; i = nodes.nextSetBit(i + 1), n++) {
+            measures.spent[i] = payments[n];
+            measures.progress[i] = progress[n];
+        }
+        return measures;
+    }
+
+    /**
+     * The spend and progress of the nodes of a {@link LevelIndex} by position, set only at
+     * the positions they were read for.
+     */
+    private record Measures(long[] spent, BigDecimal[] progress) {
+    }
+
+    private State loadedState() {
+        State current = state;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (state == null) {
+                rebuild();
+            }
+            return state;
+        }
+    }
+
+    private record State(String watermark, Map<HierarchyLevel, LevelIndex> indexes) {
+
+        LevelIndex index(HierarchyLevel level) {
+            LevelIndex index = indexes.get(level);
+            if (index == null) {
+                throw new IllegalArgumentException("The " + level.name().toLowerCase(Locale.ROOT)
+                        + " level has no vision priorities. Supported levels: goal, program, initiative, project.");
+            }
+            return index;
+        }
+    }
+
+    /**
+     * The aligned nodes of one level. Immutable once built; the bitmaps are cloned before
+     * they are combined.
+     */
+    private static final class LevelIndex {
+        private final long[] ids;
+        private final long[] ownerIds;
+        private final long[] plannedBudgets;
+        private final int[][] priorities;
+        private final SortedMap<Integer, BitSet> byPriority = new TreeMap<>();
+        private final Map<Long, BitSet> byOwner = new HashMap<>();
+
+        LevelIndex(List<VisionAlignmentRow> rows) {
+            int size = rows.size();
+            ids = new long[size];
+            ownerIds = new long[size];
+            plannedBudgets = new long[size];
+            priorities = new int[size][];
+            for (int i = 0; i < size; i++) {
+                VisionAlignmentRow row = rows.get(i);
+                ids[i] = row.getId();
+                ownerIds[i] = row.getOwnerId() == null ? NO_OWNER : row.getOwnerId();
+                plannedBudgets[i] = minorUnits(row.getPlannedTotalBudget());
+                priorities[i] = SqlArrayUtils.parseIntArray(row.getVisionPriorities());
+                for (int priority : priorities[i]) {
+                    byPriority.computeIfAbsent(priority, p -> new BitSet(size)).set(i);
+                }
+                if (row.getOwnerId() != null) {
+                    byOwner.computeIfAbsent(row.getOwnerId(), o -> new BitSet(size)).set(i);
+                }
+            }
+        }
+
+        void restrictToOwner(BitSet nodes, Long ownerId) {
+            if (ownerId != null) {
+                nodes.and(byOwner.getOrDefault(ownerId, EMPTY));
+            }
+        }
+
+        AlignedNode node(int i, Measures measures) {
+            return new AlignedNode(ids[i], ownerIds[i] == NO_OWNER ? null : ownerIds[i],
+                    Money.toBigDecimal(plannedBudgets[i]), Money.toBigDecimal(measures.spent[i]), measures.progress[i],
+                    priorities[i].clone());
+        }
+
+        /**
+         * @param measures read for at least the {@code nodes} positions.
+         */
+        Totals totals(BitSet nodes, Measures measures) {
+            Money.Accumulator budget = Money.accumulator();
+            Money.Accumulator spending = Money.accumulator();
+            BigDecimal progressSum = BigDecimal.ZERO;
+            int withProgress = 0;
+            for (int i = nodes.nextSetBit(0); i >= 0; i = nodes.nextSetBit(i + 1)) {
+                budget.addMinorUnits(plannedBudgets[i]);
+                spending.addMinorUnits(measures.spent[i]);
+                if (measures.progress[i] != null) {
+                    progressSum = progressSum.add(measures.progress[i]);
+                    withProgress++;
+                }
+            }
+            BigDecimal average = withProgress == 0 ? null
+                    : progressSum.divide(BigDecimal.valueOf(withProgress), 2, RoundingMode.HALF_UP);
+            return new Totals(nodes.cardinality(), budget.total(), spending.total(), average);
+        }
+
+        private static long minorUnits(BigDecimal amount) {
+            return amount == null ? 0 : Money.round(amount).minorUnits();
+        }
+    }
 }
@@ -0,0 +1,15 @@
+package com.project.Tadafur_api.domain.strategy.valueobject;
+
+/**
+ * The levels of the strategy hierarchy, from the root down. Each level's parent_id
+ * references the level above it.
+ */
+public enum HierarchyLevel {
+    STRATEGY, PERSPECTIVE, GOAL, PROGRAM, INITIATIVE, PROJECT;
+
+    private static final HierarchyLevel[] VALUES = values();
+
+    public static HierarchyLevel ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -1,5 +1,161 @@
 package com.project.Tadafur_api.domain.strategy.valueobject;
 
-// TODO: Implement the class
-public class Money {
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of money held as a {@code long} count of minor units at a fixed scale of
+ * {@value #SCALE} decimals, so that sums do not allocate a {@link BigDecimal} per addition.
+ *
+ * Arithmetic is overflow-checked and throws {@link ArithmeticException} rather than
+ * wrapping; the range is about ±922 trillion. Conversion from {@link BigDecimal} is exact
+ * ({@link #of}) or explicitly rounded ({@link #round}), and {@link #toBigDecimal()} is
+ * meant for the API edge. For bulk sums, use an {@link Accumulator}.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 4;
+    public static final Money ZERO = new Money(0);
+
+    private static final int MIN_OUTPUT_SCALE = 2;
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinorUnits(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * @throws ArithmeticException if the amount has more than {@value #SCALE} significant
+     *                             decimals or is out of range.
+     */
+    public static Money of(BigDecimal amount) {
+        return ofMinorUnits(toMinorUnits(amount));
+    }
+
+    /**
+     * Rounds the amount half-up to {@value #SCALE} decimals.
+     *
+     * @throws ArithmeticException if the amount is out of range.
+     */
+    public static Money round(BigDecimal amount) {
+        return ofMinorUnits(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * The minor units of an amount, for callers that keep amounts in {@code long} arrays.
+     *
+     * @throws ArithmeticException as {@link #of}.
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * The amount with the fewest decimals, but at least two, that represent it exactly
+     * (e.g. 1500.00, 12.345).
+     */
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        BigDecimal value = BigDecimal.valueOf(minorUnits, SCALE);
+        int scale = SCALE;
+        while (scale > MIN_OUTPUT_SCALE && minorUnits % 10 == 0) {
+            minorUnits /= 10;
+            scale--;
+        }
+        return value.setScale(scale, RoundingMode.UNNECESSARY);
+    }
+
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return toBigDecimal(minorUnits);
+    }
+
+    public Money add(Money other) {
+        return ofMinorUnits(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money subtract(Money other) {
+        return ofMinorUnits(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public static Accumulator accumulator() {
+        return new Accumulator();
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && minorUnits == other.minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    /**
+     * A mutable, overflow-checked running total. Not thread-safe.
+     */
+    public static final class Accumulator {
+
+        private long minorUnits;
+
+        private Accumulator() {
+        }
+
+        public Accumulator add(Money amount) {
+            minorUnits = Math.addExact(minorUnits, amount.minorUnits);
+            return this;
+        }
+
+        /**
+         * @throws ArithmeticException as {@link Money#of}.
+         */
+        public Accumulator add(BigDecimal amount) {
+            minorUnits = Math.addExact(minorUnits, toMinorUnits(amount));
+            return this;
+        }
+
+        public Accumulator addMinorUnits(long amount) {
+            minorUnits = Math.addExact(minorUnits, amount);
+            return this;
+        }
+
+        public Accumulator subtract(Money amount) {
+            minorUnits = Math.subtractExact(minorUnits, amount.minorUnits);
+            return this;
+        }
+
+        public Money total() {
+            return ofMinorUnits(minorUnits);
+        }
+
+        public BigDecimal toBigDecimal() {
+            return Money.toBigDecimal(minorUnits);
+        }
+    }
 }
@@ -1,5 +1,137 @@
 package com.project.Tadafur_api.domain.strategy.valueobject;
 
-// TODO: Implement the class
-public class Timeline {
+import java.time.LocalDate;
+
+/**
+ * A planned start..end date range held as epoch days ({@link LocalDate#toEpochDay()}).
+ * Either end may be missing, which is marked by {@link #UNSET}.
+ *
+ * The schedule measures take "today" as an epoch day too, so that callers working
+ * over many timelines convert the current date once. Both dates are inclusive.
+ */
+public final class Timeline {
+
+    public static final int UNSET = Integer.MIN_VALUE;
+    public static final Timeline NONE = new Timeline(UNSET, UNSET);
+
+    private final int startDay;
+    private final int endDay;
+
+    private Timeline(int startDay, int endDay) {
+        this.startDay = startDay;
+        this.endDay = endDay;
+    }
+
+    public static Timeline of(LocalDate start, LocalDate end) {
+        return ofEpochDays(toEpochDay(start), toEpochDay(end));
+    }
+
+    public static Timeline ofEpochDays(int startDay, int endDay) {
+        return startDay == UNSET && endDay == UNSET ? NONE : new Timeline(startDay, endDay);
+    }
+
+    /**
+     * @return the epoch day of {@code date}, or {@link #UNSET} for null.
+     */
+    public static int toEpochDay(LocalDate date) {
+        return date == null ? UNSET : Math.toIntExact(date.toEpochDay());
+    }
+
+    public static LocalDate toDate(int epochDay) {
+        return epochDay == UNSET ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    public int startDay() {
+        return startDay;
+    }
+
+    public int endDay() {
+        return endDay;
+    }
+
+    public LocalDate startDate() {
+        return toDate(startDay);
+    }
+
+    public LocalDate endDate() {
+        return toDate(endDay);
+    }
+
+    public boolean hasStart() {
+        return startDay != UNSET;
+    }
+
+    public boolean hasEnd() {
+        return endDay != UNSET;
+    }
+
+    /**
+     * Whether both dates are set and the end is not before the start.
+     */
+    public boolean isScheduled() {
+        return hasStart() && hasEnd() && endDay >= startDay;
+    }
+
+    /**
+     * Planned length in days, both ends included, or 0 when not scheduled.
+     */
+    public int durationDays() {
+        return isScheduled() ? endDay - startDay + 1 : 0;
+    }
+
+    /**
+     * Days past the end date, or 0 when not overdue or without an end date.
+     */
+    public int delayDays(int today) {
+        return hasEnd() ? delayDays(endDay, today) : 0;
+    }
+
+    /**
+     * Days left until the end date (negative once overdue), or 0 without an end date.
+     */
+    public int slackDays(int today) {
+        return hasEnd() ? endDay - today : 0;
+    }
+
+    /**
+     * Share of the planned duration that has elapsed by the end of {@code today}, from
+     * 0 to 100, or 0 when not scheduled.
+     */
+    public float percentTimeElapsed(int today) {
+        return isScheduled() ? percentTimeElapsed(startDay, endDay, today) : 0f;
+    }
+
+    public boolean contains(int day) {
+        return (!hasStart() || day >= startDay) && (!hasEnd() || day <= endDay);
+    }
+
+    /**
+     * The delay formula shared with the column engine; both days must be set.
+     */
+    public static int delayDays(int endDay, int today) {
+        return Math.max(0, today - endDay);
+    }
+
+    /**
+     * The elapsed-time formula shared with the column engine; both days must be set.
+     */
+    public static float percentTimeElapsed(int startDay, int endDay, int today) {
+        int duration = Math.max(1, endDay - startDay + 1);
+        return Math.min(100f, Math.max(0f, (today - startDay + 1) * 100f / duration));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Timeline other && startDay == other.startDay && endDay == other.endDay;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * startDay + endDay;
+    }
+
+    @Override
+    public String toString() {
+        return startDate() + ".." + endDate();
+    }
 }
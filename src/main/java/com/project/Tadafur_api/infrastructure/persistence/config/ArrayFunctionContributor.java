@@ -0,0 +1,36 @@
+package com.project.Tadafur_api.infrastructure.persistence.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the Postgres array operators for the {@code integer[]} columns, which are
+ * mapped with hypersistence's IntArrayType and so are not accepted by Hibernate's own
+ * array_contains and array_overlaps:
+ * <ul>
+ *     <li>{@code int_array_contains(array, values)} renders {@code array @> values}, true when
+ *     the array holds every value.</li>
+ *     <li>{@code int_array_overlaps(array, values)} renders {@code array && values}, true when
+ *     it holds any of them.</li>
+ * </ul>
+ * Both can use a GIN index on the column. Registered in
+ * META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ */
+public class ArrayFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        var registry = functionContributions.getFunctionRegistry();
+        var booleanType = functionContributions.getTypeConfiguration().getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN);
+        registry.patternDescriptorBuilder("int_array_contains", "(?1 @> ?2)")
+                .setExactArgumentCount(2)
+                .setInvariantType(booleanType)
+                .register();
+        registry.patternDescriptorBuilder("int_array_overlaps", "(?1 && ?2)")
+                .setExactArgumentCount(2)
+                .setInvariantType(booleanType)
+                .register();
+    }
+}
@@ -1,17 +1,37 @@
 package com.project.Tadafur_api.infrastructure.web.controller.analytics;
 
+import com.project.Tadafur_api.application.dto.analytics.BudgetRollupDto;
+import com.project.Tadafur_api.application.dto.analytics.BudgetSourceBreakdownDto;
+import com.project.Tadafur_api.application.dto.analytics.OverdueProjectsDto;
+import com.project.Tadafur_api.application.dto.analytics.ProgressRollupDto;
+import com.project.Tadafur_api.application.dto.analytics.ProjectFactGroupsDto;
 import com.project.Tadafur_api.application.dto.analytics.ProjectSpendingDetailsDto;
+import com.project.Tadafur_api.application.dto.analytics.ProjectSpendingTrendDto;
+import com.project.Tadafur_api.application.dto.analytics.SpendingDetailsPageDto;
 import com.project.Tadafur_api.application.dto.analytics.StrategicHealthDto;
+import com.project.Tadafur_api.application.dto.analytics.VisionAlignmentDto;
+import com.project.Tadafur_api.application.dto.analytics.VisionAlignmentMatrixDto;
+import com.project.Tadafur_api.application.service.analytics.AnalyticsDateRange;
 import com.project.Tadafur_api.application.service.analytics.AnalyticsService;
+import com.project.Tadafur_api.application.service.analytics.ProjectScheduleService;
+import com.project.Tadafur_api.application.service.analytics.SpendingTrendService;
+import com.project.Tadafur_api.application.service.analytics.StrategicHealthPeriodService;
+import com.project.Tadafur_api.application.service.analytics.StrategicHealthSnapshotService;
+import com.project.Tadafur_api.application.service.analytics.StrategicHealthSnapshotService.HealthSnapshot;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Slf4j
@@ -23,6 +43,16 @@ import java.util.List;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final StrategicHealthSnapshotService healthSnapshotService;
+    private final StrategicHealthPeriodService healthPeriodService;
+    private final SpendingTrendService spendingTrendService;
+    private final ProjectScheduleService projectScheduleService;
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private static final String DATE_RANGE_DESCRIPTION = "The time period for the analysis: 'current' (all projects, as of now), " +
+            "'last-quarter', 'ytd' or 'custom' (requires from/to). For bounded ranges only projects due and payments made " +
+            "within the period are counted.";
 
     @GetMapping("/trends/spending-details")
     @Operation(summary = "Get Detailed Spending Information for Projects")
@@ -37,31 +67,239 @@ public class AnalyticsController {
         return ResponseEntity.ok(spendingDetails);
     }
 
+    @GetMapping("/trends/spending-details/page")
+    @Operation(summary = "Get Spending Details One Page at a Time",
+            description = "Returns at most 'size' payments ordered by project, payment date and payment id, grouped by project. " +
+                    "Pass the returned nextCursor as 'cursor' to get the following page. Project summaries always cover all " +
+                    "of a project's payments.")
+    public ResponseEntity<SpendingDetailsPageDto> getSpendingDetailsPage(
+            @Parameter(description = "Optional: The ID of the project to filter by.", example = "1")
+            @RequestParam(required = false) Long id,
+            @Parameter(description = "Optional: The ID of the owner to filter by.", example = "101")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "Optional: The nextCursor of the previous page.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of payments per page (1-1000).", example = "200")
+            @RequestParam(defaultValue = "200") int size,
+            @Parameter(description = "Language code for the project names.", example = "en")
+            @RequestParam(defaultValue = "en") String lang) {
+        return ResponseEntity.ok(analyticsService.getSpendingDetailsPage(id, ownerId, lang, cursor, size));
+    }
+
+    @GetMapping(value = "/trends/spending-details/stream", produces = NDJSON)
+    @Operation(summary = "Stream Spending Details as NDJSON",
+            description = "Writes one project per line, with the same content as /trends/spending-details, while rows " +
+                    "are read from a database cursor.")
+    public ResponseEntity<StreamingResponseBody> streamSpendingDetails(
+            @Parameter(description = "Optional: The ID of the project to filter by.", example = "1")
+            @RequestParam(required = false) Long id,
+            @Parameter(description = "Optional: The ID of the owner to filter by.", example = "101")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "Language code for the project names.", example = "en")
+            @RequestParam(defaultValue = "en") String lang) {
+        StreamingResponseBody body = out -> analyticsService.streamSpendingDetails(id, ownerId, lang, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    @GetMapping("/trends/spending")
+    @Operation(summary = "Get Cumulative Spending Trends",
+            description = "Returns the cumulative actual and planned spend curve of each project, initiative or strategy, " +
+                    "bucketed by day, week or month.")
+    public ResponseEntity<List<ProjectSpendingTrendDto>> getSpendingTrends(
+            @Parameter(description = "The level to aggregate by: project, initiative or strategy.", example = "project")
+            @RequestParam(defaultValue = "project") String level,
+            @Parameter(description = "Optional: The ID of the project, initiative or strategy to filter by.", example = "1")
+            @RequestParam(required = false) Long id,
+            @Parameter(description = "Optional: The ID of the owner to filter projects by.", example = "101")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "The bucket size: day, week or month.", example = "month")
+            @RequestParam(defaultValue = "month") String granularity,
+            @Parameter(description = "Optional: Down-sample each curve to at most this many points (minimum 2).", example = "50")
+            @RequestParam(required = false) Integer maxPoints,
+            @Parameter(description = "The maximum number of curves, lowest ids first (1 to " + SpendingTrendService.MAX_LIMIT + ").", example = "100")
+            @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Language code for the names.", example = "en")
+            @RequestParam(defaultValue = "en") String lang) {
+        return ResponseEntity.ok(spendingTrendService.getSpendingTrends(level, id, ownerId, granularity, maxPoints, limit, lang));
+    }
+
+    @GetMapping("/budget-rollup/{level}/{id}")
+    @Operation(summary = "Get the Rolled-Up Budget of a Hierarchy Node",
+            description = "Returns the budget and payment totals rolled up from the projects beneath the node, next to the " +
+                    "calculated_total_* values stored for it.")
+    public ResponseEntity<BudgetRollupDto> getBudgetRollup(
+            @Parameter(description = "strategy, perspective, goal, program, initiative or project.", example = "strategy")
+            @PathVariable String level,
+            @Parameter(description = "The ID of the node.", example = "1")
+            @PathVariable Long id) {
+        return ResponseEntity.ok(analyticsService.getBudgetRollup(level, id));
+    }
+
+    @GetMapping("/budget-rollup/discrepancies")
+    @Operation(summary = "List Nodes Whose Stored Budget Totals Are Out of Date",
+            description = "Returns every node of the level whose stored calculated_total_* values differ from the rolled-up totals.")
+    public ResponseEntity<List<BudgetRollupDto>> getBudgetRollupDiscrepancies(
+            @Parameter(description = "strategy, perspective, goal, program, initiative or project.", example = "initiative")
+            @RequestParam(defaultValue = "strategy") String level) {
+        return ResponseEntity.ok(analyticsService.getBudgetRollupDiscrepancies(level));
+    }
+
+    @GetMapping("/budget-sources/{level}/{id}")
+    @Operation(summary = "Get the Budget of a Hierarchy Node by Funding Source",
+            description = "Breaks the planned budget and payments of the projects beneath the node down by funding source. " +
+                    "A project without budget sources of its own is funded by those of its nearest ancestor that has some. " +
+                    "With allocation=split, a project with several sources is split equally between them; with full, it " +
+                    "counts in full for each.")
+    public ResponseEntity<BudgetSourceBreakdownDto> getBudgetSourceBreakdown(
+            @Parameter(description = "strategy, perspective, goal, program, initiative or project.", example = "strategy")
+            @PathVariable String level,
+            @Parameter(description = "The ID of the node.", example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "split or full.", example = "split")
+            @RequestParam(defaultValue = "split") String allocation) {
+        return ResponseEntity.ok(analyticsService.getBudgetSourceBreakdown(level, id, allocation));
+    }
+
+    @GetMapping("/progress/{level}/{id}")
+    @Operation(summary = "Get the Propagated Progress of a Hierarchy Node",
+            description = "Returns the node's progress propagated from its projects under the effort (weighted by contribution " +
+                    "percent), average and hybrid models, next to the progress values stored for it.")
+    public ResponseEntity<ProgressRollupDto> getProgressRollup(
+            @Parameter(description = "strategy, perspective, goal, program, initiative or project.", example = "strategy")
+            @PathVariable String level,
+            @Parameter(description = "The ID of the node.", example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Whether to include the node's direct children.", example = "false")
+            @RequestParam(defaultValue = "false") boolean includeChildren) {
+        return ResponseEntity.ok(analyticsService.getProgressRollup(level, id, includeChildren));
+    }
+
+    @GetMapping("/vision-alignment")
+    @Operation(summary = "Get the Nodes Aligned with Vision Priorities",
+            description = "Returns the goals, programs, initiatives or projects aligned with any (or all) of the given vision " +
+                    "priorities, with their total planned budget, spend and average progress, and the first nodes in id order.")
+    public ResponseEntity<VisionAlignmentDto> getVisionAlignment(
+            @Parameter(description = "goal, program, initiative or project.", example = "project")
+            @RequestParam(defaultValue = "project") String level,
+            @Parameter(description = "Comma-separated vision priority IDs.", example = "3,7", required = true)
+            @RequestParam List<Integer> priorities,
+            @Parameter(description = "any or all of the priorities.", example = "any")
+            @RequestParam(defaultValue = "any") String match,
+            @Parameter(description = "Optional: The ID of the owner to filter by.", example = "101")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "Maximum number of nodes to list (0-1000).", example = "100")
+            @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Language code for the names.", example = "en")
+            @RequestParam(defaultValue = "en") String lang) {
+        return ResponseEntity.ok(analyticsService.getVisionAlignment(level, priorities, match, ownerId, limit, lang));
+    }
+
+    @GetMapping("/vision-alignment/matrix")
+    @Operation(summary = "Get the Vision Alignment Matrix",
+            description = "Returns every vision priority of the level with the number, planned budget, spend and average " +
+                    "progress of the nodes aligned with it, and how many nodes it shares with each other priority.")
+    public ResponseEntity<VisionAlignmentMatrixDto> getVisionAlignmentMatrix(
+            @Parameter(description = "goal, program, initiative or project.", example = "project")
+            @RequestParam(defaultValue = "project") String level,
+            @Parameter(description = "Optional: The ID of the owner to filter by.", example = "101")
+            @RequestParam(required = false) Long ownerId) {
+        return ResponseEntity.ok(analyticsService.getVisionAlignmentMatrix(level, ownerId));
+    }
+
+    @GetMapping("/schedule/overdue")
+    @Operation(summary = "Get Overdue Projects",
+            description = "Returns the delay totals of all projects (or one owner's projects) as of today, and lists the most " +
+                    "overdue open projects first. A project is overdue when it is not COMPLETED and its end date has passed.")
+    public ResponseEntity<OverdueProjectsDto> getOverdueProjects(
+            @Parameter(description = "Optional: The ID of the owner to filter projects by.", example = "101")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "Only list projects at least this many days overdue.", example = "1")
+            @RequestParam(defaultValue = "1") int minDelayDays,
+            @Parameter(description = "The maximum number of projects to list (0 to " + ProjectScheduleService.MAX_OVERDUE_LIMIT + ").", example = "50")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "Language code for the project names.", example = "en")
+            @RequestParam(defaultValue = "en") String lang) {
+        return ResponseEntity.ok(projectScheduleService.getOverdueProjects(ownerId, minDelayDays, limit, lang));
+    }
+
+    @GetMapping("/facts/projects")
+    @Operation(summary = "Group Projects by a Dimension",
+            description = "Filters and groups all projects from an in-memory copy of their facts, refreshed in the background, " +
+                    "and returns the count and the sum and mean of the measure per group.")
+    public ResponseEntity<ProjectFactGroupsDto> getProjectFactGroups(
+            @Parameter(description = "owner, strategy, planning-status, progress-status, priority, status or vision-priority.", example = "strategy")
+            @RequestParam(defaultValue = "strategy") String groupBy,
+            @Parameter(description = "planned-budget, actual-cost or progress.", example = "planned-budget")
+            @RequestParam(defaultValue = "planned-budget") String measure,
+            @Parameter(description = "Optional: Only projects of this owner.", example = "101")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "Optional: Only projects under this strategy.", example = "1")
+            @RequestParam(required = false) Long strategyId,
+            @Parameter(description = "Optional: Only projects with this planning status code.", example = "OK")
+            @RequestParam(required = false) String planningStatus,
+            @Parameter(description = "Optional: Only projects with this progress status code.", example = "COMPLETED")
+            @RequestParam(required = false) String progressStatus,
+            @Parameter(description = "Optional: Only projects with this priority id.", example = "1")
+            @RequestParam(required = false) Long priorityId,
+            @Parameter(description = "Optional: Only projects with this status id.", example = "1")
+            @RequestParam(required = false) Long statusId,
+            @Parameter(description = "Optional: Only projects with this vision priority.", example = "1")
+            @RequestParam(required = false) Long visionPriority) {
+        return ResponseEntity.ok(analyticsService.getProjectFactGroups(groupBy, measure, ownerId, strategyId,
+                planningStatus, progressStatus, priorityId, statusId, visionPriority));
+    }
+
     @GetMapping("/strategic-health")
     @Operation(summary = "Get Health Summary for Strategies",
-            description = "Returns a list of strategies and their health. Can be filtered by a project owner's ID.")
+            description = "Returns a list of strategies and their health. Can be filtered by a project owner's ID. " +
+                    "Served from a snapshot that is refreshed in the background; the Age header gives the seconds since " +
+                    "it was last checked against the database and Last-Modified the time it last changed.")
     public ResponseEntity<List<StrategicHealthDto>> getStrategicHealth(
             @Parameter(description = "Optional: The ID of the owner to filter by.")
             @RequestParam(required = false) Long ownerId,
-            @Parameter(description = "The time period for the analysis (e.g., 'current'). Currently a placeholder.", example = "current")
+            @Parameter(description = DATE_RANGE_DESCRIPTION, example = "current")
             @RequestParam(defaultValue = "current") String dateRange,
+            @Parameter(description = "First day of a custom dateRange (yyyy-MM-dd).", example = "2025-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of a custom dateRange (yyyy-MM-dd).", example = "2025-03-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
             @Parameter(description = "Language code for the strategy names.", example = "en")
             @RequestParam(defaultValue = "en") String lang) {
 
-        log.info("Received request for strategic health summaries with ownerId: {}", ownerId);
-        return ResponseEntity.ok(analyticsService.getStrategicHealth(dateRange, ownerId, lang));
+        log.info("Received request for strategic health summaries with ownerId: {} and dateRange: {}", ownerId, dateRange);
+        AnalyticsDateRange range = AnalyticsDateRange.resolve(dateRange, from, to, LocalDate.now());
+        if (!range.isCurrent()) {
+            return ResponseEntity.ok(healthPeriodService.getStrategicHealth(range, ownerId, lang));
+        }
+        return fromSnapshot(healthSnapshotService.getStrategicHealth(ownerId, lang));
     }
 
     @GetMapping("/strategic-health/{strategyId}")
-    @Operation(summary = "Get Overall Strategic Health for a Single Strategy")
+    @Operation(summary = "Get Overall Strategic Health for a Single Strategy",
+            description = "Served from the same background-refreshed snapshot as the summary, with the same Age and Last-Modified headers.")
     public ResponseEntity<StrategicHealthDto> getStrategicHealthForSingleStrategy(
             @Parameter(description = "The ID of the root strategy.", example = "1")
             @PathVariable Long strategyId,
-            @Parameter(description = "The time period for the analysis. Currently a placeholder.", example = "current")
+            @Parameter(description = DATE_RANGE_DESCRIPTION, example = "current")
             @RequestParam(defaultValue = "current") String dateRange,
+            @Parameter(description = "First day of a custom dateRange (yyyy-MM-dd).", example = "2025-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day of a custom dateRange (yyyy-MM-dd).", example = "2025-03-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
             @Parameter(description = "Language code for the strategy name.", example = "en")
             @RequestParam(defaultValue = "en") String lang) {
-        log.info("Received request for strategic health of single strategy ID: {}", strategyId);
-        return ResponseEntity.ok(analyticsService.getStrategicHealthForSingleStrategy(strategyId, dateRange, lang));
+        log.info("Received request for strategic health of single strategy ID: {} and dateRange: {}", strategyId, dateRange);
+        AnalyticsDateRange range = AnalyticsDateRange.resolve(dateRange, from, to, LocalDate.now());
+        if (!range.isCurrent()) {
+            return ResponseEntity.ok(healthPeriodService.getStrategicHealthForStrategy(strategyId, range, lang));
+        }
+        return fromSnapshot(healthSnapshotService.getStrategicHealthForStrategy(strategyId, lang));
+    }
+
+    private static <T> ResponseEntity<T> fromSnapshot(HealthSnapshot<T> snapshot) {
+        return ResponseEntity.ok()
+                .lastModified(snapshot.builtAt())
+                .header(HttpHeaders.AGE, String.valueOf(snapshot.ageSeconds()))
+                .body(snapshot.data());
     }
 }
\ No newline at end of file
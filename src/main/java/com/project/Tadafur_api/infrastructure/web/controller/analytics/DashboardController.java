@@ -1,5 +1,38 @@
 package com.project.Tadafur_api.infrastructure.web.controller.analytics;
 
-// TODO: Implement the class
+import com.project.Tadafur_api.application.dto.analytics.DashboardDto;
+import com.project.Tadafur_api.application.service.analytics.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Analytics & BI", description = "Endpoints for business intelligence and decision-making.")
 public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping("/dashboard")
+    @Operation(summary = "Get an Owner Dashboard in One Call",
+            description = "Returns the strategies, strategic health, monthly spending per strategy, hierarchy counts and most " +
+                    "overdue projects, computed concurrently. Each section has its own status (OK, FAILED or TIMED_OUT); a " +
+                    "section that failed or timed out has no data, and 'complete' is false.")
+    public ResponseEntity<DashboardDto> getDashboard(
+            @Parameter(description = "Optional: The ID of the owner to build the dashboard for.", example = "101")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "Optional: Comma-separated sections to include (strategies, health, spending, " +
+                    "hierarchy-counts, overdue). Defaults to all.", example = "health,overdue")
+            @RequestParam(required = false) String sections,
+            @Parameter(description = "Language code for the names.", example = "en")
+            @RequestParam(defaultValue = "en") String lang) {
+        return ResponseEntity.ok(dashboardService.getDashboard(ownerId, lang, DashboardService.parseSections(sections)));
+    }
 }
@@ -1,5 +1,75 @@
 package com.project.Tadafur_api.infrastructure.web.controller.analytics;
 
-// TODO: Implement the class
+import com.project.Tadafur_api.application.dto.analytics.ReportJobDto;
+import com.project.Tadafur_api.application.dto.analytics.ReportRequestDto;
+import com.project.Tadafur_api.application.service.analytics.ReportJobService;
+import com.project.Tadafur_api.application.service.analytics.ReportJobService.ReportFile;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/analytics/reports")
+@RequiredArgsConstructor
+@Tag(name = "Reports", description = "Endpoints for generating and downloading reports in the background.")
 public class ReportingController {
+
+    private final ReportJobService reportJobService;
+
+    @PostMapping
+    @Operation(summary = "Submit a Report",
+            description = "Queues a portfolio status, spending by project or work-item status report as CSV or XLSX and " +
+                    "returns its job, with the job's URL in the Location header. Returns 503 when too many reports are " +
+                    "queued.")
+    public ResponseEntity<ReportJobDto> submitReport(@Valid @RequestBody ReportRequestDto request) {
+        ReportJobDto job = reportJobService.submit(request);
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(job.getId()).toUri())
+                .body(job);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get a Report Job",
+            description = "Returns the status and progress of a report job. The file can be downloaded once the status is COMPLETED.")
+    public ResponseEntity<ReportJobDto> getReportJob(
+            @Parameter(description = "The ID of the report job.", required = true)
+            @PathVariable String id) {
+        return ResponseEntity.ok(reportJobService.getJob(id));
+    }
+
+    @GetMapping("/{id}/download")
+    @Operation(summary = "Download a Report",
+            description = "Returns the file of a completed report. Returns 409 while the report is not completed.")
+    public ResponseEntity<Resource> downloadReport(
+            @Parameter(description = "The ID of the report job.", required = true)
+            @PathVariable String id) {
+        ReportFile file = reportJobService.getFile(id);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(file.contentType()))
+                .contentLength(file.sizeBytes())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(file.fileName()).build().toString())
+                .body(new FileSystemResource(file.path()));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a Report",
+            description = "Cancels the report if it is still queued or running, and deletes the job and its file.")
+    public ResponseEntity<Void> deleteReport(
+            @Parameter(description = "The ID of the report job.", required = true)
+            @PathVariable String id) {
+        reportJobService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
 }
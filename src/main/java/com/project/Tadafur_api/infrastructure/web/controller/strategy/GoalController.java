@@ -1,6 +1,9 @@
 // File: src/main/java/com/project/Tadafur_api/infrastructure/web/controller/strategy/GoalController.java
 package com.project.Tadafur_api.infrastructure.web.controller.strategy;
 
+import com.project.Tadafur_api.application.dto.common.BatchResultDto;
+import com.project.Tadafur_api.application.dto.common.FilterDto;
+import com.project.Tadafur_api.application.dto.common.KeysetPageDto;
 import com.project.Tadafur_api.application.dto.strategy.response.GoalResponseDto;
 import com.project.Tadafur_api.application.service.strategy.GoalService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -42,6 +45,54 @@ public class GoalController {
         return ResponseEntity.ok(goalService.getGoals(Optional.ofNullable(ownerId), lang));
     }
 
+    /**
+     * Keyset-paginated list. Pass pagination.nextCursor back as cursor for the next page.
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Get a Page of Goals (Keyset Pagination, Multi-Language)")
+    public ResponseEntity<KeysetPageDto<GoalResponseDto>> getGoalPage(
+            @Parameter(description = "Optional: Filter goals by the ID of the owner.")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "Optional: Filter goals by the ID of the parent perspective.")
+            @RequestParam(required = false) Long perspectiveId,
+            @Parameter(description = "Page size, from 1 to 100.")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort as field or field,asc|desc on a numeric or date field; ties are broken by id. Defaults to id,asc.")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "The nextCursor of the previous page; omit for the first page.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Also count the matching goals. Costs a count query.")
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "Language code for translation.")
+            @RequestParam(defaultValue = "en") String lang) {
+        log.info("Received GET request for a page of goals with ownerId: {}, perspectiveId: {}, sort: {}", ownerId, perspectiveId, sort);
+        return ResponseEntity.ok(goalService.getGoalPage(ownerId, perspectiveId, size, sort, cursor, includeTotal, lang));
+    }
+
+    /**
+     * Keyset-paginated list of the goals matching a filter. Pass pagination.nextCursor back
+     * as cursor, with the same filter, for the next page.
+     */
+    @PostMapping("/search")
+    @Operation(summary = "Search Goals with a Filter (Keyset Pagination, Multi-Language)",
+            description = "The filter is a list of conditions on the entity fields, combined with AND, e.g. " +
+                    "{\"conditions\": [{\"field\": \"plannedTotalBudget\", \"op\": \"gte\", \"value\": 1000000}]}.")
+    public ResponseEntity<KeysetPageDto<GoalResponseDto>> searchGoals(
+            @RequestBody(required = false) FilterDto filter,
+            @Parameter(description = "Page size, from 1 to 100.")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort as field or field,asc|desc on a numeric or date field; ties are broken by id. Defaults to id,asc.")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "The nextCursor of the previous page; omit for the first page.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Also count the matching goals. Costs a count query.")
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "Language code for translation.")
+            @RequestParam(defaultValue = "en") String lang) {
+        log.info("Received search request for goals with filter: {}", filter);
+        return ResponseEntity.ok(goalService.searchGoals(filter, size, sort, cursor, includeTotal, lang));
+    }
+
     /**
      * UNCHANGED ENDPOINT
      */
@@ -54,6 +105,19 @@ public class GoalController {
         return ResponseEntity.ok(goalService.getById(id, lang));
     }
 
+    @GetMapping("/batch")
+    @Operation(summary = "Get several Goals by ID (Multi-Language)",
+            description = "Returns the goals in the order of the ids, each once, and lists the ids that do not " +
+                    "exist under missingIds instead of failing.")
+    public ResponseEntity<BatchResultDto<GoalResponseDto>> getGoalsByIds(
+            @Parameter(description = "Comma-separated ids, at most 5000.", example = "1,2,3")
+            @RequestParam List<Long> ids,
+            @Parameter(description = "Language code for translation.")
+            @RequestParam(defaultValue = "en") String lang) {
+        log.info("Received GET request for {} goals by id with language: {}", ids.size(), lang);
+        return ResponseEntity.ok(goalService.getByIds(ids, lang));
+    }
+
     /**
      * UNCHANGED ENDPOINT
      */
@@ -11,9 +11,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -74,4 +76,20 @@ public class HierarchyController {
         log.info("Received GET request for FAST full hierarchy with strategyId: {} and ownerId: {}", strategyId, ownerId);
         return ResponseEntity.ok(hierarchyService.getFastFullHierarchy(strategyId, ownerId, lang));
     }
+
+    @GetMapping(value = "/v2/hierarchy/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Stream Full Strategy Hierarchy",
+            description = "Returns the same payload as /v2/hierarchy, written to the response while rows are read "
+                    + "from a database cursor. Memory use stays constant regardless of the size of the hierarchy.")
+    public ResponseEntity<StreamingResponseBody> streamFastFullHierarchy(
+            @Parameter(description = "Optional: The ID of the root strategy to fetch.")
+            @RequestParam(required = false) Long strategyId,
+            @Parameter(description = "Optional: The ID of an owner to filter projects by.")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "Language code for translation.", example = "en")
+            @RequestParam(defaultValue = "en") String lang) {
+        log.info("Received GET request for STREAMED full hierarchy with strategyId: {} and ownerId: {}", strategyId, ownerId);
+        StreamingResponseBody body = out -> hierarchyService.streamFastFullHierarchy(strategyId, ownerId, lang, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 }
@@ -1,6 +1,9 @@
 // File: src/main/java/com/project/Tadafur_api/infrastructure/web/controller/strategy/ProgramController.java
 package com.project.Tadafur_api.infrastructure.web.controller.strategy;
 
+import com.project.Tadafur_api.application.dto.common.BatchResultDto;
+import com.project.Tadafur_api.application.dto.common.FilterDto;
+import com.project.Tadafur_api.application.dto.common.KeysetPageDto;
 import com.project.Tadafur_api.application.dto.strategy.response.ProgramResponseDto;
 import com.project.Tadafur_api.application.service.strategy.ProgramService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -42,6 +45,54 @@ public class ProgramController {
         return ResponseEntity.ok(programService.getPrograms(Optional.ofNullable(ownerId), lang));
     }
 
+    /**
+     * Keyset-paginated list. Pass pagination.nextCursor back as cursor for the next page.
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Get a Page of Programs (Keyset Pagination, Multi-Language)")
+    public ResponseEntity<KeysetPageDto<ProgramResponseDto>> getProgramPage(
+            @Parameter(description = "Optional: Filter programs by the ID of the owner.")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "Optional: Filter programs by the ID of the parent goal.")
+            @RequestParam(required = false) Long goalId,
+            @Parameter(description = "Page size, from 1 to 100.")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort as field or field,asc|desc on a numeric or date field; ties are broken by id. Defaults to id,asc.")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "The nextCursor of the previous page; omit for the first page.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Also count the matching programs. Costs a count query.")
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "Language code for translation.")
+            @RequestParam(defaultValue = "en") String lang) {
+        log.info("Received GET request for a page of programs with ownerId: {}, goalId: {}, sort: {}", ownerId, goalId, sort);
+        return ResponseEntity.ok(programService.getProgramPage(ownerId, goalId, size, sort, cursor, includeTotal, lang));
+    }
+
+    /**
+     * Keyset-paginated list of the programs matching a filter. Pass pagination.nextCursor back
+     * as cursor, with the same filter, for the next page.
+     */
+    @PostMapping("/search")
+    @Operation(summary = "Search Programs with a Filter (Keyset Pagination, Multi-Language)",
+            description = "The filter is a list of conditions on the entity fields, combined with AND, e.g. " +
+                    "{\"conditions\": [{\"field\": \"plannedTotalBudget\", \"op\": \"gte\", \"value\": 1000000}]}.")
+    public ResponseEntity<KeysetPageDto<ProgramResponseDto>> searchPrograms(
+            @RequestBody(required = false) FilterDto filter,
+            @Parameter(description = "Page size, from 1 to 100.")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort as field or field,asc|desc on a numeric or date field; ties are broken by id. Defaults to id,asc.")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "The nextCursor of the previous page; omit for the first page.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Also count the matching programs. Costs a count query.")
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "Language code for translation.")
+            @RequestParam(defaultValue = "en") String lang) {
+        log.info("Received search request for programs with filter: {}", filter);
+        return ResponseEntity.ok(programService.searchPrograms(filter, size, sort, cursor, includeTotal, lang));
+    }
+
     /**
      * UNCHANGED ENDPOINT
      */
@@ -54,6 +105,19 @@ public class ProgramController {
         return ResponseEntity.ok(programService.getById(id, lang));
     }
 
+    @GetMapping("/batch")
+    @Operation(summary = "Get several Programs by ID (Multi-Language)",
+            description = "Returns the programs in the order of the ids, each once, and lists the ids that do not " +
+                    "exist under missingIds instead of failing.")
+    public ResponseEntity<BatchResultDto<ProgramResponseDto>> getProgramsByIds(
+            @Parameter(description = "Comma-separated ids, at most 5000.", example = "1,2,3")
+            @RequestParam List<Long> ids,
+            @Parameter(description = "Language code for translation.")
+            @RequestParam(defaultValue = "en") String lang) {
+        log.info("Received GET request for {} programs by id with language: {}", ids.size(), lang);
+        return ResponseEntity.ok(programService.getByIds(ids, lang));
+    }
+
     /**
      * UNCHANGED ENDPOINT
      */
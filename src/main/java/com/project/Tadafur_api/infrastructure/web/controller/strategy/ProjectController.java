@@ -1,16 +1,25 @@
 // File: src/main/java/com/project/Tadafur_api/infrastructure/web/controller/strategy/ProjectController.java
 package com.project.Tadafur_api.infrastructure.web.controller.strategy;
 
+import com.project.Tadafur_api.application.dto.common.BatchResultDto;
+import com.project.Tadafur_api.application.dto.common.FilterDto;
+import com.project.Tadafur_api.application.dto.common.KeysetPageDto;
 import com.project.Tadafur_api.application.dto.strategy.response.ProjectResponseDto;
+import com.project.Tadafur_api.application.service.strategy.ExportFormat;
 import com.project.Tadafur_api.application.service.strategy.ProjectService;
+import com.project.Tadafur_api.shared.util.EnumUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -35,11 +44,84 @@ public class ProjectController {
     public ResponseEntity<List<ProjectResponseDto>> getProjects(
             @Parameter(description = "Optional: Filter projects by the ID of the owner.")
             @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "Optional: Comma-separated fields to return, e.g. id,name,statusId. Only their columns are read; all fields when omitted.")
+            @RequestParam(required = false) String fields,
             @Parameter(description = "Language code for translation.")
             @RequestParam(defaultValue = "en") String lang) {
 
         log.info("Received GET request for projects with ownerId: {}", Optional.ofNullable(ownerId).map(String::valueOf).orElse("ALL"));
-        return ResponseEntity.ok(projectService.getProjects(Optional.ofNullable(ownerId), lang));
+        return ResponseEntity.ok(projectService.getProjects(Optional.ofNullable(ownerId), fields, lang));
+    }
+
+    /**
+     * Keyset-paginated list. Pass pagination.nextCursor back as cursor for the next page.
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Get a Page of Projects (Keyset Pagination, Multi-Language)")
+    public ResponseEntity<KeysetPageDto<ProjectResponseDto>> getProjectPage(
+            @Parameter(description = "Optional: Filter projects by the ID of the owner.")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "Optional: Filter projects by the ID of the parent initiative.")
+            @RequestParam(required = false) Long initiativeId,
+            @Parameter(description = "Page size, from 1 to 100.")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort as field or field,asc|desc on a numeric or date field; ties are broken by id. Defaults to id,asc.")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "The nextCursor of the previous page; omit for the first page.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Also count the matching projects. Costs a count query.")
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "Optional: Comma-separated fields to return, e.g. id,name,statusId. Only their columns are read; all fields when omitted.")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Language code for translation.")
+            @RequestParam(defaultValue = "en") String lang) {
+        log.info("Received GET request for a page of projects with ownerId: {}, initiativeId: {}, sort: {}", ownerId, initiativeId, sort);
+        return ResponseEntity.ok(projectService.getProjectPage(ownerId, initiativeId, size, sort, cursor, includeTotal, fields, lang));
+    }
+
+    /**
+     * Keyset-paginated list of the projects matching a filter. Pass pagination.nextCursor back
+     * as cursor, with the same filter, for the next page.
+     */
+    @PostMapping("/search")
+    @Operation(summary = "Search Projects with a Filter (Keyset Pagination, Multi-Language)",
+            description = "The filter is a list of conditions on the entity fields, combined with AND, e.g. " +
+                    "{\"conditions\": [{\"field\": \"plannedTotalBudget\", \"op\": \"gte\", \"value\": 1000000}]}.")
+    public ResponseEntity<KeysetPageDto<ProjectResponseDto>> searchProjects(
+            @RequestBody(required = false) FilterDto filter,
+            @Parameter(description = "Page size, from 1 to 100.")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort as field or field,asc|desc on a numeric or date field; ties are broken by id. Defaults to id,asc.")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "The nextCursor of the previous page; omit for the first page.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Also count the matching projects. Costs a count query.")
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "Language code for translation.")
+            @RequestParam(defaultValue = "en") String lang) {
+        log.info("Received search request for projects with filter: {}", filter);
+        return ResponseEntity.ok(projectService.searchProjects(filter, size, sort, cursor, includeTotal, lang));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export Projects as NDJSON or CSV",
+            description = "Writes the same projects as the list endpoint, one per line, while they are read from a " +
+                    "database cursor, so that the whole table can be exported without holding it in memory.")
+    public ResponseEntity<StreamingResponseBody> exportProjects(
+            @Parameter(description = "Optional: Filter projects by the ID of the owner.")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "ndjson or csv.", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Language code for translation.")
+            @RequestParam(defaultValue = "en") String lang) {
+        ExportFormat exportFormat = EnumUtils.parse(ExportFormat.class, "format", format);
+        log.info("Received export request for projects with ownerId: {} as {}", ownerId, exportFormat);
+        StreamingResponseBody body = out -> projectService.exportProjects(ownerId, lang, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("projects." + exportFormat.extension()).build().toString())
+                .body(body);
     }
 
     /**
@@ -49,9 +131,24 @@ public class ProjectController {
     @Operation(summary = "Get a Project by ID (Multi-Language)")
     public ResponseEntity<ProjectResponseDto> getProjectById(
             @Parameter(description = "Unique identifier of the project.") @PathVariable Long id,
+            @Parameter(description = "Optional: Comma-separated fields to return. Only their columns are read; all fields when omitted.")
+            @RequestParam(required = false) String fields,
             @Parameter(description = "Language code for translation.") @RequestParam(defaultValue = "en") String lang) {
         log.info("Received GET request for project ID: {} with language: {}", id, lang);
-        return ResponseEntity.ok(projectService.getById(id, lang));
+        return ResponseEntity.ok(projectService.getById(id, fields, lang));
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get several Projects by ID (Multi-Language)",
+            description = "Returns the projects in the order of the ids, each once, and lists the ids that do not " +
+                    "exist under missingIds instead of failing.")
+    public ResponseEntity<BatchResultDto<ProjectResponseDto>> getProjectsByIds(
+            @Parameter(description = "Comma-separated ids, at most 5000.", example = "1,2,3")
+            @RequestParam List<Long> ids,
+            @Parameter(description = "Language code for translation.")
+            @RequestParam(defaultValue = "en") String lang) {
+        log.info("Received GET request for {} projects by id with language: {}", ids.size(), lang);
+        return ResponseEntity.ok(projectService.getByIds(ids, lang));
     }
 
     /**
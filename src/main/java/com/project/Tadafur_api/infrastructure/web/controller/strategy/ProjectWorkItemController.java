@@ -1,16 +1,25 @@
 // File: src/main/java/com/project/Tadafur_api/infrastructure/web/controller/strategy/ProjectWorkItemController.java
 package com.project.Tadafur_api.infrastructure.web.controller.strategy;
 
+import com.project.Tadafur_api.application.dto.common.BatchResultDto;
+import com.project.Tadafur_api.application.dto.common.FilterDto;
+import com.project.Tadafur_api.application.dto.common.KeysetPageDto;
 import com.project.Tadafur_api.application.dto.strategy.response.ProjectWorkItemResponseDto;
+import com.project.Tadafur_api.application.service.strategy.ExportFormat;
 import com.project.Tadafur_api.application.service.strategy.ProjectWorkItemService;
+import com.project.Tadafur_api.shared.util.EnumUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -30,21 +39,109 @@ public class ProjectWorkItemController {
     public ResponseEntity<List<ProjectWorkItemResponseDto>> getWorkItems(
             @Parameter(description = "Optional: Filter work items by the ID of the assignee user.")
             @RequestParam(required = false) Integer assigneeUserId,
+            @Parameter(description = "Optional: Comma-separated fields to return, e.g. id,name,statusId. Only their columns are read; all fields when omitted.")
+            @RequestParam(required = false) String fields,
             @Parameter(description = "Language code for translation.")
             @RequestParam(defaultValue = "en") String lang) {
 
         log.info("Received GET request for work items with assigneeUserId: {}", Optional.ofNullable(assigneeUserId).map(String::valueOf).orElse("ALL"));
         // This line will now compile correctly
-        return ResponseEntity.ok(workItemService.getWorkItems(Optional.ofNullable(assigneeUserId), lang));
+        return ResponseEntity.ok(workItemService.getWorkItems(Optional.ofNullable(assigneeUserId), fields, lang));
+    }
+
+    /**
+     * Keyset-paginated list. Pass pagination.nextCursor back as cursor for the next page.
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Get a Page of Work Items (Keyset Pagination, Multi-Language)")
+    public ResponseEntity<KeysetPageDto<ProjectWorkItemResponseDto>> getWorkItemPage(
+            @Parameter(description = "Optional: Filter work items by the ID of the assignee user.")
+            @RequestParam(required = false) Integer assigneeUserId,
+            @Parameter(description = "Optional: Filter work items by the ID of the project.")
+            @RequestParam(required = false) Long projectId,
+            @Parameter(description = "Page size, from 1 to 100.")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort as field or field,asc|desc on a numeric or date field; ties are broken by id. Defaults to id,asc.")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "The nextCursor of the previous page; omit for the first page.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Also count the matching work items. Costs a count query.")
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "Optional: Comma-separated fields to return, e.g. id,name,statusId. Only their columns are read; all fields when omitted.")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Language code for translation.")
+            @RequestParam(defaultValue = "en") String lang) {
+        log.info("Received GET request for a page of work items with assigneeUserId: {}, projectId: {}, sort: {}", assigneeUserId, projectId, sort);
+        return ResponseEntity.ok(workItemService.getWorkItemPage(assigneeUserId, projectId, size, sort, cursor, includeTotal, fields, lang));
+    }
+
+    /**
+     * Keyset-paginated list of the work items matching a filter. Pass pagination.nextCursor back
+     * as cursor, with the same filter, for the next page.
+     */
+    @PostMapping("/search")
+    @Operation(summary = "Search Work Items with a Filter (Keyset Pagination, Multi-Language)",
+            description = "The filter is a list of conditions on the entity fields, combined with AND, e.g. " +
+                    "{\"conditions\": [{\"field\": \"plannedTotalBudget\", \"op\": \"gte\", \"value\": 1000000}]}.")
+    public ResponseEntity<KeysetPageDto<ProjectWorkItemResponseDto>> searchWorkItems(
+            @RequestBody(required = false) FilterDto filter,
+            @Parameter(description = "Page size, from 1 to 100.")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort as field or field,asc|desc on a numeric or date field; ties are broken by id. Defaults to id,asc.")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "The nextCursor of the previous page; omit for the first page.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Also count the matching work items. Costs a count query.")
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "Language code for translation.")
+            @RequestParam(defaultValue = "en") String lang) {
+        log.info("Received search request for work items with filter: {}", filter);
+        return ResponseEntity.ok(workItemService.searchWorkItems(filter, size, sort, cursor, includeTotal, lang));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export Work Items as NDJSON or CSV",
+            description = "Writes the same work items as the list endpoint, one per line, while they are read from a " +
+                    "database cursor, so that the whole table can be exported without holding it in memory.")
+    public ResponseEntity<StreamingResponseBody> exportWorkItems(
+            @Parameter(description = "Optional: Filter work items by the ID of the assignee user.")
+            @RequestParam(required = false) Integer assigneeUserId,
+            @Parameter(description = "ndjson or csv.", example = "ndjson")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Language code for translation.")
+            @RequestParam(defaultValue = "en") String lang) {
+        ExportFormat exportFormat = EnumUtils.parse(ExportFormat.class, "format", format);
+        log.info("Received export request for work items with assigneeUserId: {} as {}", assigneeUserId, exportFormat);
+        StreamingResponseBody body = out -> workItemService.exportWorkItems(assigneeUserId, lang, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("work-items." + exportFormat.extension()).build().toString())
+                .body(body);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get a Work Item by ID (Multi-Language)")
     public ResponseEntity<ProjectWorkItemResponseDto> getWorkItemById(
             @Parameter(description = "Unique identifier of the work item.") @PathVariable Long id,
+            @Parameter(description = "Optional: Comma-separated fields to return. Only their columns are read; all fields when omitted.")
+            @RequestParam(required = false) String fields,
             @Parameter(description = "Language code for translation.") @RequestParam(defaultValue = "en") String lang) {
         log.info("Received GET request for work item ID: {} with language: {}", id, lang);
-        return ResponseEntity.ok(workItemService.getById(id, lang));
+        return ResponseEntity.ok(workItemService.getById(id, fields, lang));
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get several Work Items by ID (Multi-Language)",
+            description = "Returns the work items in the order of the ids, each once, and lists the ids that do not " +
+                    "exist under missingIds instead of failing.")
+    public ResponseEntity<BatchResultDto<ProjectWorkItemResponseDto>> getWorkItemsByIds(
+            @Parameter(description = "Comma-separated ids, at most 5000.", example = "1,2,3")
+            @RequestParam List<Long> ids,
+            @Parameter(description = "Language code for translation.")
+            @RequestParam(defaultValue = "en") String lang) {
+        log.info("Received GET request for {} work items by id with language: {}", ids.size(), lang);
+        return ResponseEntity.ok(workItemService.getByIds(ids, lang));
     }
 
     @GetMapping("/by-project/{projectId}")
@@ -0,0 +1,54 @@
+package com.project.Tadafur_api.infrastructure.web.controller.strategy;
+
+import com.project.Tadafur_api.application.dto.strategy.response.SearchResultDto;
+import com.project.Tadafur_api.application.service.strategy.SearchService;
+import com.project.Tadafur_api.shared.constants.ApiConstants;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping(ApiConstants.API_VERSION + "/search")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Search", description = "Full-text search across the strategic hierarchy.")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping
+    @Operation(summary = "Search the Hierarchy",
+            description = "Searches the names and descriptions of strategies, perspectives, goals, programs, initiatives, "
+                    + "projects and work items in Arabic and English. Arabic spelling variants (diacritics, alef, yaa and "
+                    + "taa marbuta forms, the definite article) and English plurals and -ed/-ing forms match each other. "
+                    + "Every word must match; the last one also matches as a prefix. Results are ranked by relevance.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Search results successfully retrieved."),
+            @ApiResponse(responseCode = "400", description = "Missing query, unknown level or invalid page or size.")
+    })
+    public ResponseEntity<SearchResultDto> search(
+            @Parameter(description = "The words to search for.", example = "digital transformation")
+            @RequestParam String q,
+            @Parameter(description = "Optional: the levels to search (strategy, perspective, goal, program, initiative, "
+                    + "project, work-item); all when omitted.", example = "project,work-item")
+            @RequestParam(required = false) List<String> levels,
+            @Parameter(description = "Zero-based page number.", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size, at most " + ApiConstants.MAX_PAGE_SIZE + ".", example = "20")
+            @RequestParam(defaultValue = "" + ApiConstants.DEFAULT_PAGE_SIZE) int size,
+            @Parameter(description = "Language code for the names of the results.", example = "ar")
+            @RequestParam(defaultValue = "en") String lang) {
+        log.info("Received GET request to search the hierarchy for '{}'", q);
+        return ResponseEntity.ok(searchService.search(q, levels, page, size, lang));
+    }
+}
@@ -1,6 +1,9 @@
 // File: src/main/java/com/project/Tadafur_api/infrastructure/web/controller/strategy/StrategyController.java
 package com.project.Tadafur_api.infrastructure.web.controller.strategy;
 
+import com.project.Tadafur_api.application.dto.common.BatchResultDto;
+import com.project.Tadafur_api.application.dto.common.FilterDto;
+import com.project.Tadafur_api.application.dto.common.KeysetPageDto;
 import com.project.Tadafur_api.application.dto.strategy.response.StrategyResponseDto;
 import com.project.Tadafur_api.application.service.strategy.StrategyService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -42,6 +45,52 @@ public class StrategyController {
         return ResponseEntity.ok(strategyService.getStrategies(Optional.ofNullable(ownerId), lang));
     }
 
+    /**
+     * Keyset-paginated list. Pass pagination.nextCursor back as cursor for the next page.
+     */
+    @GetMapping("/page")
+    @Operation(summary = "Get a Page of Strategies (Keyset Pagination, Multi-Language)")
+    public ResponseEntity<KeysetPageDto<StrategyResponseDto>> getStrategyPage(
+            @Parameter(description = "Optional: Filter strategies by the ID of the owner.")
+            @RequestParam(required = false) Long ownerId,
+            @Parameter(description = "Page size, from 1 to 100.")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort as field or field,asc|desc on a numeric or date field; ties are broken by id. Defaults to id,asc.")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "The nextCursor of the previous page; omit for the first page.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Also count the matching strategies. Costs a count query.")
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "Language code for translation.")
+            @RequestParam(defaultValue = "en") String lang) {
+        log.info("Received GET request for a page of strategies with ownerId: {}, sort: {}", ownerId, sort);
+        return ResponseEntity.ok(strategyService.getStrategyPage(ownerId, size, sort, cursor, includeTotal, lang));
+    }
+
+    /**
+     * Keyset-paginated list of the strategies matching a filter. Pass pagination.nextCursor back
+     * as cursor, with the same filter, for the next page.
+     */
+    @PostMapping("/search")
+    @Operation(summary = "Search Strategies with a Filter (Keyset Pagination, Multi-Language)",
+            description = "The filter is a list of conditions on the entity fields, combined with AND, e.g. " +
+                    "{\"conditions\": [{\"field\": \"plannedTotalBudget\", \"op\": \"gte\", \"value\": 1000000}]}.")
+    public ResponseEntity<KeysetPageDto<StrategyResponseDto>> searchStrategies(
+            @RequestBody(required = false) FilterDto filter,
+            @Parameter(description = "Page size, from 1 to 100.")
+            @RequestParam(required = false) Integer size,
+            @Parameter(description = "Sort as field or field,asc|desc on a numeric or date field; ties are broken by id. Defaults to id,asc.")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "The nextCursor of the previous page; omit for the first page.")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Also count the matching strategies. Costs a count query.")
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "Language code for translation.")
+            @RequestParam(defaultValue = "en") String lang) {
+        log.info("Received search request for strategies with filter: {}", filter);
+        return ResponseEntity.ok(strategyService.searchStrategies(filter, size, sort, cursor, includeTotal, lang));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a Strategy by ID (Multi-Language)")
     public ResponseEntity<StrategyResponseDto> getStrategyById(
@@ -52,4 +101,17 @@ public class StrategyController {
         log.info("Received GET request for strategy ID: {} with language: {}", id, lang);
         return ResponseEntity.ok(strategyService.getById(id, lang));
     }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get several Strategies by ID (Multi-Language)",
+            description = "Returns the strategies in the order of the ids, each once, and lists the ids that do not " +
+                    "exist under missingIds instead of failing.")
+    public ResponseEntity<BatchResultDto<StrategyResponseDto>> getStrategiesByIds(
+            @Parameter(description = "Comma-separated ids, at most 5000.", example = "1,2,3")
+            @RequestParam List<Long> ids,
+            @Parameter(description = "Language code for translation.")
+            @RequestParam(defaultValue = "en") String lang) {
+        log.info("Received GET request for {} strategies by id with language: {}", ids.size(), lang);
+        return ResponseEntity.ok(strategyService.getByIds(ids, lang));
+    }
 }
\ No newline at end of file
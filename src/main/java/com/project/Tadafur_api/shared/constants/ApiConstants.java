@@ -21,8 +21,8 @@ public final class ApiConstants {
     // Pagination defaults
     public static final int DEFAULT_PAGE_SIZE = 20;
     public static final int MAX_PAGE_SIZE = 100;
-    public static final String DEFAULT_SORT_BY = "createdAt";
-    public static final String DEFAULT_SORT_DIRECTION = "DESC";
+    public static final String DEFAULT_SORT_BY = "id";
+    public static final String DEFAULT_SORT_DIRECTION = "ASC";
 
     // Response messages
     public static final String SUCCESS_MESSAGE = "Operation completed successfully";
@@ -0,0 +1,90 @@
+package com.project.Tadafur_api.shared.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV in UTF-8. The file starts with a byte order mark so that spreadsheet
+ * applications read the Arabic names correctly.
+ *
+ * Text that a spreadsheet would take for a formula (starting with =, +, -, @, a tab or a
+ * carriage return) is prefixed with a single quote, so that names taken from the database
+ * cannot run formulas when the file is opened. Numbers are written as they are.
+ */
+public final class CsvReportWriter implements ReportRowWriter {
+
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final Writer writer;
+
+    public CsvReportWriter(OutputStream out) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(BYTE_ORDER_MARK);
+    }
+
+    @Override
+    public void writeHeader(List<String> columns) throws IOException {
+        writeRow(columns.toArray());
+    }
+
+    @Override
+    public void writeRow(Object... cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCell(cells[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeCell(Object cell) throws IOException {
+        if (cell == null) {
+            return;
+        }
+        if (cell instanceof BigDecimal decimal) {
+            writer.write(decimal.toPlainString());
+            return;
+        }
+        if (cell instanceof Number) {
+            writer.write(cell.toString());
+            return;
+        }
+        String text = cell.toString();
+        if (!text.isEmpty() && isFormulaStart(text.charAt(0))) {
+            text = "'" + text;
+        }
+        if (needsQuotes(text)) {
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        } else {
+            writer.write(text);
+        }
+    }
+
+    private static boolean isFormulaStart(char c) {
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+
+    private static boolean needsQuotes(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
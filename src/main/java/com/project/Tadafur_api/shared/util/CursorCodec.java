@@ -0,0 +1,96 @@
+package com.project.Tadafur_api.shared.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+/**
+ * Encodes keyset pagination positions as opaque, URL-safe continuation tokens.
+ *
+ * A token is the Base64url form of the position's values; clients should treat it as
+ * opaque and only pass it back. Anything that does not decode to the expected number of
+ * values is rejected with an {@link IllegalArgumentException}, which the API reports as 400.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+    private static final String NULL = "~";
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Encodes the sort key of the last returned row. Values are written with
+     * {@code toString()}; null is allowed.
+     */
+    public static String encode(Object... values) {
+        String joined = Arrays.stream(values)
+                .map(v -> v == null ? NULL : v.toString())
+                .collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token is malformed or does not hold
+     *                                  exactly {@code size} values.
+     */
+    public static Cursor decode(String token, int size) {
+        String[] values;
+        try {
+            values = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor();
+        }
+        if (values.length != size) {
+            throw invalidCursor();
+        }
+        return new Cursor(values);
+    }
+
+    /**
+     * The error to throw for a token that decodes but does not describe a valid position.
+     */
+    public static IllegalArgumentException invalidCursor() {
+        return new IllegalArgumentException("Invalid cursor. Pass back the nextCursor value of a previous page unchanged.");
+    }
+
+    /**
+     * The decoded values of a token, read by position.
+     */
+    public static final class Cursor {
+
+        private final String[] values;
+
+        private Cursor(String[] values) {
+            this.values = values;
+        }
+
+        public Long getLong(int index) {
+            String value = values[index];
+            if (NULL.equals(value)) return null;
+            try {
+                return Long.valueOf(value);
+            } catch (NumberFormatException e) {
+                throw invalidCursor();
+            }
+        }
+
+        public LocalDate getDate(int index) {
+            String value = values[index];
+            if (NULL.equals(value)) return null;
+            try {
+                return LocalDate.parse(value);
+            } catch (DateTimeParseException e) {
+                throw invalidCursor();
+            }
+        }
+
+        public String getString(int index) {
+            String value = values[index];
+            return NULL.equals(value) ? null : value;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.project.Tadafur_api.shared.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Parsing of enum-valued request parameters.
+ */
+public final class EnumUtils {
+
+    private EnumUtils() {
+    }
+
+    /**
+     * Parses an enum constant case-insensitively, ignoring surrounding blanks and
+     * accepting '-' for '_'.
+     *
+     * @param parameter the parameter name, for the error message.
+     * @throws IllegalArgumentException naming the parameter and the supported values, for
+     *                                  null or an unknown value.
+     */
+    public static <E extends Enum<E>> E parse(Class<E> type, String parameter, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unsupported " + parameter + " '" + value + "'. Supported values: "
+                    + Arrays.stream(type.getEnumConstants()).map(EnumUtils::label).collect(Collectors.joining(", ")) + ".");
+        }
+    }
+
+    /**
+     * The form of a constant that {@link #parse} is documented to accept, e.g. "work-item".
+     */
+    public static String label(Enum<?> constant) {
+        return constant.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -0,0 +1,17 @@
+package com.project.Tadafur_api.shared.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a report one row at a time, without keeping the rows. A cell is a
+ * {@link String}, a {@link Number}, a {@link java.time.temporal.Temporal} or null.
+ * Closing the writer finishes the file and closes the underlying stream.
+ */
+public interface ReportRowWriter extends Closeable {
+
+    void writeHeader(List<String> columns) throws IOException;
+
+    void writeRow(Object... cells) throws IOException;
+}
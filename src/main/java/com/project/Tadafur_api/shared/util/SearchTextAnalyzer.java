@@ -0,0 +1,184 @@
+package com.project.Tadafur_api.shared.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Turns Arabic and English text into the terms of the search index, so that a query
+ * matches the indexed text however either was spelled.
+ *
+ * Text is NFKC-normalized (which also folds the Arabic presentation forms) and lower-cased.
+ * Arabic is then normalized the way the common light normalizers do it: diacritics and
+ * tatweel are removed, alef variants become bare alef, alef maksura and Farsi yeh become
+ * yeh, taa marbuta becomes heh, and Arabic-Indic digits become ASCII digits. Terms are
+ * runs of letters and digits. Arabic terms lose a leading definite article (with an
+ * attached wa, bi, ka, fa or li), and English terms go through a light suffix stemmer for
+ * plurals and -ed and -ing. Single characters and the most common words are dropped.
+ */
+public final class SearchTextAnalyzer {
+
+    private static final char ALEF = '\u0627';
+    private static final char YEH = '\u064A';
+    private static final char HEH = '\u0647';
+    private static final char TATWEEL = '\u0640';
+
+    private static final String[] ARABIC_ARTICLES = {
+            "وال", "بال", "كال", "فال",
+            "لل", "ال"};
+
+    /**
+     * Already normalized, so that they are compared with normalized terms.
+     */
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "of", "for", "to", "in", "on", "an", "at", "by", "with", "or", "is", "are", "be",
+            "في", "من", "الي", "عن",
+            "ان", "او", "مع", "هذا", "هذه");
+
+    private SearchTextAnalyzer() {
+    }
+
+    /**
+     * The terms of {@code text} in order, with repetitions; empty for null.
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        forEachWord(text, word -> {
+            String term = stem(word);
+            if (term.length() > 1 && !STOP_WORDS.contains(term)) {
+                terms.add(term);
+            }
+        });
+        return terms;
+    }
+
+    /**
+     * The normalized but unstemmed words of {@code text}, for prefix matching of a word
+     * that is still being typed.
+     */
+    public static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        forEachWord(text, words::add);
+        return words;
+    }
+
+    /**
+     * Lower-cases {@code text} and folds its Arabic spelling variants.
+     */
+    public static String normalize(String text) {
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder out = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (isArabicDiacritic(c) || c == TATWEEL) {
+                continue;
+            }
+            switch (c) {
+                case '\u0622', '\u0623', '\u0625', '\u0671' -> out.append(ALEF);    // alef with madda, hamza above, hamza below, wasla
+                case '\u0649', '\u06CC' -> out.append(YEH);                        // alef maksura, Farsi yeh
+                case '\u0629' -> out.append(HEH);                                  // taa marbuta
+                default -> {
+                    if (c >= '\u0660' && c <= '\u0669') {
+                        out.append((char) ('0' + c - '\u0660'));
+                    } else if (c >= '\u06F0' && c <= '\u06F9') {
+                        out.append((char) ('0' + c - '\u06F0'));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private static void forEachWord(String text, Consumer<String> action) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                action.accept(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+    }
+
+    private static boolean isArabicDiacritic(char c) {
+        return (c >= '\u064B' && c <= '\u065F') || c == '\u0670' || (c >= '\u0610' && c <= '\u061A');
+    }
+
+    static String stem(String word) {
+        if (isAsciiLetters(word)) {
+            return stemEnglish(word);
+        }
+        for (String article : ARABIC_ARTICLES) {
+            if (word.startsWith(article) && word.length() - article.length() >= 2) {
+                return word.substring(article.length());
+            }
+        }
+        return word;
+    }
+
+    private static boolean isAsciiLetters(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Strips plural endings, then -ing and -ed: "strategies" becomes "strategy", "planned"
+     * and "planning" become "plan". Both the index and the queries go through it, so
+     * consistency matters more than producing dictionary words.
+     */
+    private static String stemEnglish(String word) {
+        String w = word;
+        if (w.length() <= 3) {
+            return w;
+        }
+        if (w.endsWith("ies") && w.length() > 4) {
+            w = w.substring(0, w.length() - 3) + "y";
+        } else if (w.endsWith("sses") || w.endsWith("xes") || w.endsWith("zes") || w.endsWith("ches") || w.endsWith("shes")) {
+            w = w.substring(0, w.length() - 2);
+        } else if (w.endsWith("s") && !w.endsWith("ss") && !w.endsWith("us") && !w.endsWith("is")) {
+            w = w.substring(0, w.length() - 1);
+        }
+        if (w.endsWith("ing") && hasVowel(w, w.length() - 3) && w.length() - 3 >= 3) {
+            w = undouble(w.substring(0, w.length() - 3));
+        } else if (w.endsWith("ed") && hasVowel(w, w.length() - 2) && w.length() - 2 >= 3) {
+            w = undouble(w.substring(0, w.length() - 2));
+        }
+        return w;
+    }
+
+    private static boolean hasVowel(String word, int end) {
+        for (int i = 0; i < end; i++) {
+            if ("aeiouy".indexOf(word.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * "plann" becomes "plan"; doubled l, s and z stay ("install", "pass").
+     */
+    private static String undouble(String stem) {
+        int n = stem.length();
+        if (n >= 2 && stem.charAt(n - 1) == stem.charAt(n - 2) && "aeiouylsz".indexOf(stem.charAt(n - 1)) < 0) {
+            return stem.substring(0, n - 1);
+        }
+        return stem;
+    }
+}
@@ -0,0 +1,59 @@
+package com.project.Tadafur_api.shared.util;
+
+import java.util.Arrays;
+
+/**
+ * Parsing of the integer arrays that native queries return as text through
+ * {@code array_to_string(column, ',')}.
+ */
+public final class SqlArrayUtils {
+
+    private static final int[] EMPTY = new int[0];
+
+    private SqlArrayUtils() {
+    }
+
+    /**
+     * Parses a comma-separated list such as {@code 3,1,3} into its distinct values in
+     * first-seen order ({@code [3, 1]}), ignoring blanks around and between the values.
+     *
+     * @return an empty array for null or a blank value.
+     * @throws NumberFormatException if a value is not an integer.
+     */
+    public static int[] parseIntArray(String value) {
+        if (value == null || value.isBlank()) {
+            return EMPTY;
+        }
+        int[] values = new int[4];
+        int size = 0;
+        int start = 0;
+        while (start <= value.length()) {
+            int end = value.indexOf(',', start);
+            if (end < 0) {
+                end = value.length();
+            }
+            String part = value.substring(start, end).trim();
+            if (!part.isEmpty()) {
+                int parsed = Integer.parseInt(part);
+                if (!contains(values, size, parsed)) {
+                    if (size == values.length) {
+                        values = Arrays.copyOf(values, size * 2);
+                    }
+                    values[size++] = parsed;
+                }
+            }
+            start = end + 1;
+        }
+        return size == 0 ? EMPTY : Arrays.copyOf(values, size);
+    }
+
+    // The arrays hold a handful of ids, so a linear scan beats hashing.
+    private static boolean contains(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,46 @@
+package com.project.Tadafur_api.shared.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Decodes the JSONB translation documents ({"en": "...", "ar": "..."}) that native
+ * queries return as raw text.
+ *
+ * A single {@link ObjectReader} is shared by all callers; readers are immutable and
+ * thread-safe, so there is no per-row mapper construction.
+ */
+@Slf4j
+@Component
+public class TranslationCodec {
+
+    private final ObjectReader mapReader;
+
+    public TranslationCodec(ObjectMapper objectMapper) {
+        this.mapReader = objectMapper.readerFor(new TypeReference<Map<String, String>>() {});
+    }
+
+    /**
+     * Decodes the whole document, for callers that return every translation.
+     *
+     * @return the translations, or an empty map if the document is empty or malformed.
+     */
+    public Map<String, String> decode(String json) {
+        if (json == null || json.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            return mapReader.readValue(json);
+        } catch (IOException e) {
+            log.error("Error parsing translations JSON: {}", json, e);
+            return Collections.emptyMap();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.project.Tadafur_api.application.service.analytics;
+
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class XlsxReportWriterTest {
+
+    @Test
+    void opensInASpreadsheetReader() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XlsxReportWriter writer = new XlsxReportWriter(out)) {
+            writer.writeHeader(List.of("id", "name", "budget", "end"));
+            writer.writeRow(1L, "تحول رقمي & <نمو>", new BigDecimal("1500.25"), LocalDate.of(2024, 3, 31));
+            writer.writeRow(2L, "=1+1", null, null);
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(workbook.getNumberOfSheets()).isEqualTo(1);
+            assertThat(workbook.getStylesSource()).isNotNull();
+            assertThat(workbook.getNumCellStyles()).isEqualTo(1);
+            XSSFSheet sheet = workbook.getSheet("Report");
+            assertThat(sheet.getPhysicalNumberOfRows()).isEqualTo(3);
+
+            XSSFRow header = sheet.getRow(0);
+            assertThat(header.getCell(0).getStringCellValue()).isEqualTo("id");
+            assertThat(header.getCell(3).getStringCellValue()).isEqualTo("end");
+
+            XSSFRow first = sheet.getRow(1);
+            assertThat(first.getCell(0).getCellType()).isEqualTo(CellType.NUMERIC);
+            assertThat(first.getCell(0).getNumericCellValue()).isEqualTo(1.0);
+            assertThat(first.getCell(1).getStringCellValue()).isEqualTo("تحول رقمي & <نمو>");
+            assertThat(first.getCell(2).getNumericCellValue()).isEqualTo(1500.25);
+            assertThat(first.getCell(3).getStringCellValue()).isEqualTo("2024-03-31");
+
+            XSSFRow second = sheet.getRow(2);
+            assertThat(second.getCell(1).getCellType()).isEqualTo(CellType.STRING);
+            assertThat(second.getCell(1).getStringCellValue()).isEqualTo("=1+1");
+        }
+    }
+
+    @Test
+    void dropsControlCharactersXmlDoesNotAllow() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XlsxReportWriter writer = new XlsxReportWriter(out)) {
+            writer.writeRow("a\u0001b\u0000c\td");
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(workbook.getSheetAt(0).getRow(0).getCell(0).getStringCellValue()).isEqualTo("abc\td");
+        }
+    }
+
+    @Test
+    void continuesOnANewSheetWithTheHeaderAtTheRowLimit() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XlsxReportWriter writer = new XlsxReportWriter(out, 3)) {
+            writer.writeHeader(List.of("id"));
+            for (long id = 1; id <= 5; id++) {
+                writer.writeRow(id);
+            }
+        }
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(workbook.getNumberOfSheets()).isEqualTo(3);
+            assertThat(workbook.getSheet("Report").getPhysicalNumberOfRows()).isEqualTo(3);
+            XSSFSheet second = workbook.getSheet("Report 2");
+            assertThat(second.getRow(0).getCell(0).getStringCellValue()).isEqualTo("id");
+            assertThat(second.getRow(1).getCell(0).getNumericCellValue()).isEqualTo(3.0);
+            assertThat(second.getRow(2).getCell(0).getNumericCellValue()).isEqualTo(4.0);
+            assertThat(workbook.getSheet("Report 3").getRow(1).getCell(0).getNumericCellValue()).isEqualTo(5.0);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.project.Tadafur_api.application.service.strategy;
+
+import com.project.Tadafur_api.application.dto.strategy.response.hierarchy.GoalHierarchyDto;
+import com.project.Tadafur_api.application.dto.strategy.response.hierarchy.PerspectiveHierarchyDto;
+import com.project.Tadafur_api.application.dto.strategy.response.hierarchy.StrategyHierarchyDto;
+import com.project.Tadafur_api.application.service.strategy.FlatHierarchyAssembler.Level;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository.FlatHierarchyResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlatHierarchyAssemblerTest {
+
+    private static final Function<String, String> NAMES = name -> name == null ? "Unknown" : name;
+
+    @Test
+    void emptyInputGivesNoStrategies() {
+        assertThat(FlatHierarchyAssembler.assemble(List.<Row>of().iterator(), NAMES)).isEmpty();
+
+        List<String> events = new ArrayList<>();
+        FlatHierarchyAssembler.walk(List.<Row>of().iterator(), recorder(events));
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void sortedRowsBecomeOneNodePerIdInRowOrder() {
+        List<StrategyHierarchyDto> strategies = FlatHierarchyAssembler.assemble(List.of(
+                row(1L, 10L, 100L, 1000L, 10000L, 100000L),
+                row(1L, 10L, 100L, 1000L, 10000L, 100001L),
+                row(1L, 10L, 101L, 1001L, 10001L, 100002L),
+                row(1L, 11L, 102L, 1002L, 10002L, 100003L),
+                row(2L, 12L, 103L, 1003L, 10003L, 100004L)).iterator(), NAMES);
+
+        assertThat(strategies).extracting(StrategyHierarchyDto::getId).containsExactly(1L, 2L);
+        StrategyHierarchyDto first = strategies.get(0);
+        assertThat(first.getName()).isEqualTo("s1");
+        assertThat(first.getPerspectives()).extracting(PerspectiveHierarchyDto::getId).containsExactly(10L, 11L);
+        assertThat(first.getPerspectives().get(0).getGoals()).extracting(GoalHierarchyDto::getId)
+                .containsExactly(100L, 101L);
+        assertThat(first.getPerspectives().get(0).getGoals().get(0).getPrograms().get(0).getInitiatives().get(0)
+                .getProjects()).extracting(p -> p.getId()).containsExactly(100000L, 100001L);
+    }
+
+    @Test
+    void childlessNodesEndThePathAndIgnoreDeeperIds() {
+        List<StrategyHierarchyDto> strategies = FlatHierarchyAssembler.assemble(List.of(
+                row(1L, null, null, null, null, null),
+                row(2L, 20L, null, 2000L, 20000L, 200000L),
+                row(3L, 30L, 300L, 3000L, null, null)).iterator(), NAMES);
+
+        assertThat(strategies).extracting(StrategyHierarchyDto::getId).containsExactly(1L, 2L, 3L);
+        assertThat(strategies.get(0).getPerspectives()).isEmpty();
+        assertThat(strategies.get(1).getPerspectives()).singleElement()
+                .satisfies(p -> assertThat(p.getGoals()).isEmpty());
+        assertThat(strategies.get(2).getPerspectives().get(0).getGoals().get(0).getPrograms()).singleElement()
+                .satisfies(p -> assertThat(p.getInitiatives()).isEmpty());
+    }
+
+    @Test
+    void walkOpensAndClosesEveryNodeOnce() {
+        List<String> events = new ArrayList<>();
+        FlatHierarchyAssembler.walk(List.of(
+                row(1L, 10L, null, null, null, null),
+                row(1L, 11L, null, null, null, null),
+                row(2L, null, null, null, null, null)).iterator(), recorder(events));
+
+        assertThat(events).containsExactly(
+                "open STRATEGY 1", "open PERSPECTIVE 10", "close PERSPECTIVE",
+                "open PERSPECTIVE 11", "close PERSPECTIVE", "close STRATEGY",
+                "open STRATEGY 2", "close STRATEGY");
+    }
+
+    @Test
+    void missingNamesGoThroughTheResolver() {
+        Row unnamed = new Row(1L, null, null, null, null, null, null, null, null, null, null, null);
+
+        assertThat(FlatHierarchyAssembler.assemble(List.of(unnamed).iterator(), NAMES))
+                .extracting(StrategyHierarchyDto::getName).containsExactly("Unknown");
+    }
+
+    private static FlatHierarchyAssembler.NodeVisitor recorder(List<String> events) {
+        return new FlatHierarchyAssembler.NodeVisitor() {
+            @Override
+            public void open(Level level, Long id, String name) {
+                events.add("open " + level + " " + id);
+            }
+
+            @Override
+            public void close(Level level) {
+                events.add("close " + level);
+            }
+        };
+    }
+
+    private static Row row(Long strategyId, Long perspectiveId, Long goalId, Long programId, Long initiativeId,
+                           Long projectId) {
+        return new Row(strategyId, name("s", strategyId), perspectiveId, name("p", perspectiveId),
+                goalId, name("g", goalId), programId, name("pr", programId),
+                initiativeId, name("i", initiativeId), projectId, name("pj", projectId));
+    }
+
+    private static String name(String prefix, Long id) {
+        return id == null ? null : prefix + id;
+    }
+
+    private record Row(Long strategyId, String strategyName, Long perspectiveId, String perspectiveName,
+                       Long goalId, String goalName, Long programId, String programName,
+                       Long initiativeId, String initiativeName, Long projectId, String projectName)
+            implements FlatHierarchyResult {
+
+        @Override public Long getStrategyId() { return strategyId; }
+        @Override public String getStrategyName() { return strategyName; }
+        @Override public Long getPerspectiveId() { return perspectiveId; }
+        @Override public String getPerspectiveName() { return perspectiveName; }
+        @Override public Long getGoalId() { return goalId; }
+        @Override public String getGoalName() { return goalName; }
+        @Override public Long getProgramId() { return programId; }
+        @Override public String getProgramName() { return programName; }
+        @Override public Long getInitiativeId() { return initiativeId; }
+        @Override public String getInitiativeName() { return initiativeName; }
+        @Override public Long getProjectId() { return projectId; }
+        @Override public String getProjectName() { return projectName; }
+    }
+}
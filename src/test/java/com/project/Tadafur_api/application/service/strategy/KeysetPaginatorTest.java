@@ -0,0 +1,249 @@
+package com.project.Tadafur_api.application.service.strategy;
+
+import com.project.Tadafur_api.shared.util.CursorCodec;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPaginatorTest {
+
+    private static final KeysetPaginator.SortKey ASC = new KeysetPaginator.SortKey("code", Integer.class, Sort.Direction.ASC);
+    private static final KeysetPaginator.SortKey DESC = new KeysetPaginator.SortKey("code", Integer.class, Sort.Direction.DESC);
+
+    @Test
+    void ascendingSeekReturnsEveryLaterRowWithNullsLast() {
+        assertSeeksFollowTheOrder(ASC, Comparator.comparing(Row::getCode, Comparator.nullsLast(Comparator.<Integer>naturalOrder()))
+                .thenComparing(Row::getId));
+    }
+
+    @Test
+    void descendingSeekReturnsEveryLaterRowWithNullsFirst() {
+        // The reverse of nulls last, as in Postgres' DESC default.
+        assertSeeksFollowTheOrder(DESC, Comparator.comparing(Row::getCode, Comparator.nullsLast(Comparator.<Integer>naturalOrder()))
+                .thenComparing(Row::getId)
+                .reversed());
+    }
+
+    @Test
+    void seekByIdOnlyComparesIds() {
+        List<Row> rows = rows();
+        Row middle = new Row(50L, null);
+        KeysetPaginator.SortKey idAsc = new KeysetPaginator.SortKey("id", Long.class, Sort.Direction.ASC);
+        KeysetPaginator.SortKey idDesc = new KeysetPaginator.SortKey("id", Long.class, Sort.Direction.DESC);
+        assertThat(matching(idAsc, middle, rows)).allMatch(r -> r.getId() > 50).hasSize(50);
+        assertThat(matching(idDesc, middle, rows)).allMatch(r -> r.getId() < 50).hasSize(49);
+    }
+
+    @Test
+    void pagesCoverEveryRowOnceAcrossTies() {
+        List<Row> rows = rows();
+        Comparator<Row> order = Comparator.comparing(Row::getCode, Comparator.nullsLast(Comparator.<Integer>naturalOrder()))
+                .thenComparing(Row::getId);
+        List<Row> seen = new ArrayList<>();
+        Row last = null;
+        while (true) {
+            List<Row> remaining = last == null ? rows : matching(ASC, last, rows);
+            List<Row> page = remaining.stream().sorted(order).limit(7).toList();
+            if (page.isEmpty()) {
+                break;
+            }
+            seen.addAll(page);
+            KeysetPaginator.Position next = ASC.decode(encode(ASC, page.get(page.size() - 1)));
+            last = new Row(next.id(), (Integer) next.value());
+        }
+        assertThat(seen).containsExactlyElementsOf(rows.stream().sorted(order).toList());
+    }
+
+    @Test
+    void cursorsRoundTripIncludingNullValues() {
+        Row row = new Row(12L, null);
+        KeysetPaginator.Position position = DESC.decode(encode(DESC, row));
+        assertThat(position.value()).isNull();
+        assertThat(position.id()).isEqualTo(12L);
+        assertThat(ASC.decode(encode(ASC, new Row(3L, -4))).value()).isEqualTo(-4);
+    }
+
+    @Test
+    void tamperedCursorsAreRejected() {
+        String valid = encode(ASC, new Row(5L, 1));
+        List<String> tampered = List.of(
+                "not base64!",
+                valid.substring(0, valid.length() - 2),
+                CursorCodec.encode("code", "asc", 1),
+                CursorCodec.encode("code", "asc", 1, 5, 6),
+                CursorCodec.encode("name", "asc", 1, 5),
+                CursorCodec.encode("code", "desc", 1, 5),
+                CursorCodec.encode("code", "asc", "one", 5),
+                CursorCodec.encode("code", "asc", 1, "five"),
+                CursorCodec.encode("code", "asc", 1, null),
+                CursorCodec.encode("code", "asc", "1.5", 5));
+        for (String cursor : tampered) {
+            assertThatThrownBy(() -> ASC.decode(cursor)).as(cursor)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Invalid cursor.");
+        }
+    }
+
+    /**
+     * For every row, seeking past it must return exactly the rows after it in {@code order}.
+     */
+    private static void assertSeeksFollowTheOrder(KeysetPaginator.SortKey key, Comparator<Row> order) {
+        List<Row> rows = rows();
+        List<Row> sorted = rows.stream().sorted(order).toList();
+        for (int i = 0; i < sorted.size(); i++) {
+            Row position = sorted.get(i);
+            assertThat(matching(key, position, rows).stream().sorted(order).toList())
+                    .as("after %s", position)
+                    .containsExactlyElementsOf(sorted.subList(i + 1, sorted.size()));
+        }
+    }
+
+    /**
+     * 100 rows with ids 1..100 in random order and few distinct codes, so that most codes
+     * are shared, plus some nulls.
+     */
+    private static List<Row> rows() {
+        Random random = new Random(42);
+        List<Row> rows = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            int code = random.nextInt(8);
+            rows.add(new Row(id, code == 0 ? null : code - 3));
+        }
+        Collections.shuffle(rows, random);
+        return rows;
+    }
+
+    private static String encode(KeysetPaginator.SortKey key, Row row) {
+        return key.encode(row.getCode(), row.getId());
+    }
+
+    private static List<Row> matching(KeysetPaginator.SortKey key, Row after, List<Row> rows) {
+        KeysetPaginator.Position position = new KeysetPaginator.Position(after.getCode(), after.getId());
+        Predicate predicate = KeysetPaginator.<Row>seek(key, position).toPredicate(root(), null, criteriaBuilder());
+        Condition condition = (Condition) Proxy.getInvocationHandler(predicate);
+        List<Row> matching = new ArrayList<>();
+        for (Row row : rows) {
+            if (condition.test(row)) {
+                matching.add(row);
+            }
+        }
+        return matching;
+    }
+
+    // --- A CriteriaBuilder that evaluates the predicates it builds in memory, with SQL null semantics ---
+
+    @SuppressWarnings("unchecked")
+    private static Root<Row> root() {
+        return proxy(Root.class, (proxy, method, args) -> {
+            if (method.getName().equals("get") && args.length == 1 && args[0] instanceof String field) {
+                return proxy(Path.class, new Field(field));
+            }
+            throw new UnsupportedOperationException(method.toString());
+        });
+    }
+
+    private static CriteriaBuilder criteriaBuilder() {
+        return proxy(CriteriaBuilder.class, (proxy, method, args) -> switch (method.getName()) {
+            case "greaterThan" -> compare(args, c -> c > 0);
+            case "lessThan" -> compare(args, c -> c < 0);
+            case "equal" -> compare(args, c -> c == 0);
+            case "isNull" -> condition(row -> field(args[0]).read(row) == null);
+            case "isNotNull" -> condition(row -> field(args[0]).read(row) != null);
+            case "and" -> condition(row -> Arrays.stream(operands(args)).allMatch(p -> p.test(row)));
+            case "or" -> condition(row -> Arrays.stream(operands(args)).anyMatch(p -> p.test(row)));
+            default -> throw new UnsupportedOperationException(method.toString());
+        });
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static Predicate compare(Object[] args, java.util.function.IntPredicate outcome) {
+        Field field = field(args[0]);
+        Comparable bound = (Comparable) args[1];
+        return condition(row -> {
+            Comparable value = (Comparable) field.read(row);
+            return value != null && outcome.test(value.compareTo(bound));
+        });
+    }
+
+    private static Condition[] operands(Object[] args) {
+        Object[] operands = args.length == 1 && args[0] instanceof Object[] array ? array : args;
+        return Arrays.stream(operands).map(p -> (Condition) Proxy.getInvocationHandler(p)).toArray(Condition[]::new);
+    }
+
+    private static Field field(Object path) {
+        return (Field) Proxy.getInvocationHandler(path);
+    }
+
+    private static Predicate condition(java.util.function.Predicate<Row> test) {
+        return proxy(Predicate.class, new Condition(test));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(KeysetPaginatorTest.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    private record Field(String name) implements InvocationHandler {
+
+        Object read(Row row) {
+            if (name.equals("id")) {
+                return row.getId();
+            }
+            return row.getCode();
+        }
+
+        @Override
+        public Object invoke(Object proxy, java.lang.reflect.Method method, Object[] args) {
+            throw new UnsupportedOperationException(method.toString());
+        }
+    }
+
+    private record Condition(java.util.function.Predicate<Row> test) implements InvocationHandler {
+
+        boolean test(Row row) {
+            return test.test(row);
+        }
+
+        @Override
+        public Object invoke(Object proxy, java.lang.reflect.Method method, Object[] args) {
+            throw new UnsupportedOperationException(method.toString());
+        }
+    }
+
+    private static final class Row {
+        private final Long id;
+        private final Integer code;
+
+        Row(Long id, Integer code) {
+            this.id = id;
+            this.code = code;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Integer getCode() {
+            return code;
+        }
+
+        @Override
+        public String toString() {
+            return "Row(" + id + ", " + code + ")";
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.project.Tadafur_api.domain.strategy.service;
+
+import com.project.Tadafur_api.domain.strategy.repository.BudgetPaymentRepository;
+import com.project.Tadafur_api.domain.strategy.repository.BudgetPaymentRepository.PaymentWatermark;
+import com.project.Tadafur_api.domain.strategy.repository.BudgetPaymentRepository.ProjectPaymentDelta;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository.HierarchyBudgetRow;
+import com.project.Tadafur_api.domain.strategy.service.BudgetAggregationService.BudgetRollup;
+import com.project.Tadafur_api.domain.strategy.service.BudgetAggregationService.SourceAllocation;
+import com.project.Tadafur_api.domain.strategy.service.BudgetAggregationService.SourceBreakdown;
+import com.project.Tadafur_api.domain.strategy.service.BudgetAggregationService.SourceShare;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Table;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Watermarks;
+import com.project.Tadafur_api.domain.strategy.valueobject.HierarchyLevel;
+import com.project.Tadafur_api.domain.strategy.valueobject.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BudgetAggregationServiceTest {
+
+    private final List<HierarchyBudgetRow> hierarchy = new ArrayList<>();
+    /** The PROJECT rows of budget_payments, by id. */
+    private final Map<Long, Payment> payments = new TreeMap<>();
+    private int hierarchyVersion = 1;
+    private int paymentVersion = 1;
+
+    private StrategyRepository strategyRepository;
+    private BudgetPaymentRepository budgetPaymentRepository;
+    private BudgetAggregationService service;
+
+    @BeforeEach
+    void setUp() {
+        hierarchy.addAll(List.of(
+                row(HierarchyLevel.STRATEGY, 1, null, null, "2,1", "35.0001", "170"),
+                row(HierarchyLevel.STRATEGY, 2, null, null, null, "40", "20"),
+                row(HierarchyLevel.PERSPECTIVE, 11, 1L, null, null, null, null),
+                row(HierarchyLevel.PERSPECTIVE, 12, 2L, null, null, null, null),
+                row(HierarchyLevel.GOAL, 21, 11L, null, null, null, null),
+                row(HierarchyLevel.GOAL, 22, 12L, null, null, null, null),
+                row(HierarchyLevel.PROGRAM, 31, 21L, null, null, null, null),
+                row(HierarchyLevel.PROGRAM, 32, 22L, null, null, null, null),
+                row(HierarchyLevel.INITIATIVE, 41, 31L, null, null, null, null),
+                row(HierarchyLevel.INITIATIVE, 42, 32L, null, null, null, null),
+                row(HierarchyLevel.PROJECT, 51, 41L, "10.0001", null, null, null),
+                row(HierarchyLevel.PROJECT, 52, 41L, "25", "3", null, null),
+                row(HierarchyLevel.PROJECT, 53, 42L, "30", null, null, null)));
+        pay(1, 51, "100", 10);
+        pay(2, 51, "50", 11);
+        pay(4, 52, "20", 12);
+        pay(5, 53, "20", 13);
+
+        strategyRepository = mock(StrategyRepository.class);
+        budgetPaymentRepository = mock(BudgetPaymentRepository.class);
+        TableWatermarks tableWatermarks = mock(TableWatermarks.class);
+        when(tableWatermarks.current()).thenAnswer(invocation -> watermarks());
+        when(strategyRepository.getHierarchyBudgetRows()).thenAnswer(invocation -> List.copyOf(hierarchy));
+        when(budgetPaymentRepository.getProjectPaymentDeltas(anyLong()))
+                .thenAnswer(invocation -> deltas(invocation.getArgument(0)));
+        when(budgetPaymentRepository.getProjectPaymentWatermark(anyLong()))
+                .thenAnswer(invocation -> watermark(invocation.getArgument(0)));
+        service = new BudgetAggregationService(strategyRepository, budgetPaymentRepository, tableWatermarks);
+    }
+
+    @Test
+    void sumsEverySubtree() {
+        assertThat(rollup(HierarchyLevel.PROJECT, 51).totalBudget()).isEqualByComparingTo("10.0001");
+        assertThat(rollup(HierarchyLevel.PROJECT, 51).totalPayments()).isEqualByComparingTo("150");
+        assertThat(rollup(HierarchyLevel.INITIATIVE, 41).totalBudget()).isEqualByComparingTo("35.0001");
+        assertThat(rollup(HierarchyLevel.INITIATIVE, 41).totalPayments()).isEqualByComparingTo("170");
+        assertThat(rollup(HierarchyLevel.STRATEGY, 1).totalBudget()).isEqualByComparingTo("35.0001");
+        assertThat(rollup(HierarchyLevel.STRATEGY, 2).totalPayments()).isEqualByComparingTo("20");
+        assertThat(service.getTotalPayments(HierarchyLevel.GOAL, new long[]{22, 99, 21}))
+                .containsExactly(Money.toMinorUnits(new BigDecimal("20")), 0, Money.toMinorUnits(new BigDecimal("170")));
+        assertThat(service.getRollup(HierarchyLevel.GOAL, 99L)).isEmpty();
+    }
+
+    @Test
+    void findsStoredTotalsThatDiffer() {
+        assertThat(service.findDiscrepancies(HierarchyLevel.STRATEGY))
+                .extracting(BudgetRollup::id)
+                .containsExactly(2L);
+        // Nothing is stored for the levels below.
+        assertThat(service.findDiscrepancies(HierarchyLevel.PROJECT)).hasSize(3);
+    }
+
+    @Test
+    void newPaymentsAreAddedToTheProjectAndItsAncestors() {
+        Map<String, Object> before = totals();
+        pay(6, 51, "7.5", 14);
+        pay(7, 53, "2.25", 15);
+        pay(8, 99, "1000", 16);
+        tick();
+
+        assertThat(rollup(HierarchyLevel.PROJECT, 51).totalPayments()).isEqualByComparingTo("157.5");
+        assertThat(rollup(HierarchyLevel.STRATEGY, 1).totalPayments()).isEqualByComparingTo("177.5");
+        assertThat(rollup(HierarchyLevel.STRATEGY, 2).totalPayments()).isEqualByComparingTo("22.25");
+        assertThat(totals()).isNotEqualTo(before);
+        verify(strategyRepository, times(1)).getHierarchyBudgetRows();
+        assertIncrementalMatchesRecompute();
+    }
+
+    @Test
+    void successiveIncrementsKeepMatchingARecompute() {
+        long id = 10;
+        for (int round = 0; round < 5; round++) {
+            for (long project = 51; project <= 53; project++) {
+                pay(id, project, "0.0" + (id % 10) + "3", id + 100);
+                id++;
+            }
+            tick();
+        }
+        verify(strategyRepository, times(1)).getHierarchyBudgetRows();
+        assertIncrementalMatchesRecompute();
+    }
+
+    @Test
+    void anEditedPaymentForcesARecompute() {
+        totals();
+        payments.put(2L, new Payment(2, 51, new BigDecimal("60"), 20));
+        tick();
+
+        verify(strategyRepository, times(2)).getHierarchyBudgetRows();
+        assertThat(rollup(HierarchyLevel.STRATEGY, 1).totalPayments()).isEqualByComparingTo("180");
+    }
+
+    @Test
+    void aPaymentCommittedBelowTheLastSeenIdForcesARecompute() {
+        totals();
+        pay(3, 53, "5", 21);
+        tick();
+
+        verify(strategyRepository, times(2)).getHierarchyBudgetRows();
+        assertThat(rollup(HierarchyLevel.STRATEGY, 2).totalPayments()).isEqualByComparingTo("25");
+    }
+
+    @Test
+    void aDeletedPaymentForcesARecompute() {
+        totals();
+        payments.remove(1L);
+        tick();
+
+        verify(strategyRepository, times(2)).getHierarchyBudgetRows();
+        assertThat(rollup(HierarchyLevel.STRATEGY, 1).totalPayments()).isEqualByComparingTo("70");
+    }
+
+    @Test
+    void aHierarchyChangeForcesARecompute() {
+        totals();
+        hierarchy.add(row(HierarchyLevel.PROJECT, 54, 42L, "5", null, null, null));
+        hierarchyVersion++;
+        service.onWatermarks(watermarks());
+
+        verify(strategyRepository, times(2)).getHierarchyBudgetRows();
+        assertThat(rollup(HierarchyLevel.STRATEGY, 2).totalBudget()).isEqualByComparingTo("35");
+    }
+
+    @Test
+    void anUnchangedPaymentTableIsNotPolled() {
+        totals();
+        service.onWatermarks(watermarks());
+
+        verify(budgetPaymentRepository, never()).getProjectPaymentWatermark(anyLong());
+        verify(budgetPaymentRepository, times(1)).getProjectPaymentDeltas(anyLong());
+    }
+
+    @Test
+    void breaksTotalsDownByEffectiveSource() {
+        // Project 51 inherits sources 2 and 1 from its strategy, project 52 has its own.
+        SourceBreakdown split = service.getSourceBreakdown(HierarchyLevel.STRATEGY, 1L, SourceAllocation.SPLIT).orElseThrow();
+        assertThat(split.projectCount()).isEqualTo(2);
+        assertThat(split.sources()).containsExactly(
+                new SourceShare(1, 1, money("5"), money("75")),
+                // The minor unit left over by the split goes to the first source.
+                new SourceShare(2, 1, money("5.0001"), money("75")),
+                new SourceShare(3, 1, money("25"), money("20")));
+
+        SourceBreakdown full = service.getSourceBreakdown(HierarchyLevel.INITIATIVE, 41L, SourceAllocation.FULL).orElseThrow();
+        assertThat(full.sources()).extracting(SourceShare::budget)
+                .containsExactly(money("10.0001"), money("10.0001"), money("25"));
+
+        SourceBreakdown unassigned = service.getSourceBreakdown(HierarchyLevel.STRATEGY, 2L, SourceAllocation.SPLIT).orElseThrow();
+        assertThat(unassigned.sources()).containsExactly(new SourceShare(null, 1, money("30"), money("20")));
+    }
+
+    private void assertIncrementalMatchesRecompute() {
+        Map<String, Object> incremental = totals();
+        service.recomputeAll();
+        assertThat(incremental).isEqualTo(totals());
+    }
+
+    /**
+     * Every roll-up and source breakdown, keyed by node.
+     */
+    private Map<String, Object> totals() {
+        Map<String, Object> totals = new LinkedHashMap<>();
+        for (HierarchyBudgetRow row : hierarchy) {
+            HierarchyLevel level = HierarchyLevel.ofOrdinal(row.getLevel());
+            totals.put(level + " " + row.getId(), service.getRollup(level, row.getId()).orElseThrow());
+            totals.put(level + " " + row.getId() + " sources",
+                    service.getSourceBreakdown(level, row.getId(), SourceAllocation.SPLIT).orElseThrow());
+        }
+        return totals;
+    }
+
+    private BudgetRollup rollup(HierarchyLevel level, long id) {
+        return service.getRollup(level, id).orElseThrow();
+    }
+
+    private void tick() {
+        paymentVersion++;
+        service.onWatermarks(watermarks());
+    }
+
+    private Watermarks watermarks() {
+        List<String> parts = new ArrayList<>();
+        for (Table table : Table.values()) {
+            parts.add(table == Table.BUDGET_PAYMENT ? "p" + paymentVersion : "h" + hierarchyVersion);
+        }
+        return new Watermarks(parts);
+    }
+
+    private void pay(long id, long projectId, String amount, long xmin) {
+        payments.put(id, new Payment(id, projectId, new BigDecimal(amount), xmin));
+    }
+
+    private List<ProjectPaymentDelta> deltas(long afterId) {
+        Map<Long, List<Payment>> byProject = new TreeMap<>();
+        for (Payment payment : payments.values()) {
+            if (payment.id() > afterId) {
+                byProject.computeIfAbsent(payment.projectId(), p -> new ArrayList<>()).add(payment);
+            }
+        }
+        List<ProjectPaymentDelta> deltas = new ArrayList<>();
+        byProject.forEach((projectId, paid) -> deltas.add(new ProjectPaymentDelta() {
+            public Long getProjectId() {
+                return projectId;
+            }
+
+            public BigDecimal getTotal() {
+                return paid.stream().map(Payment::amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+            }
+
+            public Long getPaymentCount() {
+                return (long) paid.size();
+            }
+
+            public Long getXminSum() {
+                return paid.stream().mapToLong(Payment::xmin).sum();
+            }
+
+            public Long getMaxId() {
+                return paid.stream().mapToLong(Payment::id).max().orElseThrow();
+            }
+        }));
+        return deltas;
+    }
+
+    private PaymentWatermark watermark(long upToId) {
+        List<Payment> counted = payments.values().stream().filter(p -> p.id() <= upToId).toList();
+        return new PaymentWatermark() {
+            public Long getPaymentCount() {
+                return (long) counted.size();
+            }
+
+            public Long getXminSum() {
+                return counted.stream().mapToLong(Payment::xmin).sum();
+            }
+        };
+    }
+
+    private static Money money(String amount) {
+        return Money.of(new BigDecimal(amount));
+    }
+
+    private static HierarchyBudgetRow row(HierarchyLevel level, long id, Long parentId, String plannedTotalBudget,
+                                          String budgetSources, String storedBudget, String storedPayments) {
+        return new HierarchyBudgetRow() {
+            public Integer getLevel() {
+                return level.ordinal();
+            }
+
+            public Long getId() {
+                return id;
+            }
+
+            public Long getParentId() {
+                return parentId;
+            }
+
+            public BigDecimal getPlannedTotalBudget() {
+                return plannedTotalBudget == null ? null : new BigDecimal(plannedTotalBudget);
+            }
+
+            public BigDecimal getCalculatedTotalBudget() {
+                return storedBudget == null ? null : new BigDecimal(storedBudget);
+            }
+
+            public BigDecimal getCalculatedTotalPayments() {
+                return storedPayments == null ? null : new BigDecimal(storedPayments);
+            }
+
+            public String getBudgetSources() {
+                return budgetSources;
+            }
+        };
+    }
+
+    private record Payment(long id, long projectId, BigDecimal amount, long xmin) {
+    }
+}
@@ -0,0 +1,240 @@
+package com.project.Tadafur_api.domain.strategy.service;
+
+import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository;
+import com.project.Tadafur_api.domain.strategy.repository.ProjectRepository.ProjectProgressRow;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository.HierarchyProgressRow;
+import com.project.Tadafur_api.domain.strategy.service.ProgressCalculationService.ProgressRollup;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Table;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Watermarks;
+import com.project.Tadafur_api.domain.strategy.valueobject.HierarchyLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProgressCalculationServiceTest {
+
+    private final List<HierarchyProgressRow> upper = List.of(
+            upper(HierarchyLevel.STRATEGY, 1, null),
+            upper(HierarchyLevel.PERSPECTIVE, 11, 1L),
+            upper(HierarchyLevel.GOAL, 21, 11L),
+            upper(HierarchyLevel.PROGRAM, 31, 21L),
+            upper(HierarchyLevel.INITIATIVE, 41, 31L),
+            upper(HierarchyLevel.INITIATIVE, 42, 31L),
+            upper(HierarchyLevel.INITIATIVE, 43, 31L));
+    private final List<Project> projects = new ArrayList<>();
+    private int projectVersion = 1;
+
+    private StrategyRepository strategyRepository;
+    private ProgressCalculationService service;
+
+    @BeforeEach
+    void setUp() {
+        projects.addAll(List.of(
+                new Project(51, 41, 60.0, "50", "20", null, null, null),
+                new Project(52, 41, 40.0, "80", "40", "100", null, null),
+                // No contribution next to siblings with one, so it weighs nothing under EFFORT.
+                new Project(53, 41, null, null, "60", null, null, "10"),
+                new Project(54, 42, null, "30", "30", null, null, null),
+                new Project(55, 42, null, "90", null, null, null, null)));
+        strategyRepository = mock(StrategyRepository.class);
+        service = newService(strategyRepository);
+    }
+
+    @Test
+    void projectsTakeTheManualValueThenTheMeasuredOneThenTheCalculatedOne() {
+        assertThat(rollup(HierarchyLevel.PROJECT, 51).effortProgress()).isEqualByComparingTo("50");
+        assertThat(rollup(HierarchyLevel.PROJECT, 52).effortProgress()).isEqualByComparingTo("100");
+        assertThat(rollup(HierarchyLevel.PROJECT, 53).effortProgress()).isEqualByComparingTo("10");
+        assertThat(rollup(HierarchyLevel.PROJECT, 55).averageProgress()).isNull();
+        assertThat(rollup(HierarchyLevel.PROJECT, 55).hybridProgress()).isEqualByComparingTo("90");
+    }
+
+    @Test
+    void effortWeighsChildrenByContributionAndIgnoresChildrenWithout() {
+        // (60 * 50 + 40 * 100) / 100; project 53 weighs nothing.
+        assertThat(rollup(HierarchyLevel.INITIATIVE, 41).effortProgress()).isEqualByComparingTo("70");
+        assertThat(rollup(HierarchyLevel.INITIATIVE, 41).averageProgress()).isEqualByComparingTo("40");
+        assertThat(rollup(HierarchyLevel.INITIATIVE, 41).hybridProgress()).isEqualByComparingTo("55");
+    }
+
+    @Test
+    void effortWeighsChildrenEquallyWhenNoneHasAContribution() {
+        assertThat(rollup(HierarchyLevel.INITIATIVE, 42).effortProgress()).isEqualByComparingTo("60");
+        // Project 55 has no average value and is left out.
+        assertThat(rollup(HierarchyLevel.INITIATIVE, 42).averageProgress()).isEqualByComparingTo("30");
+    }
+
+    @Test
+    void childrenWithoutAValueAreLeftOutOfTheMean() {
+        assertThat(rollup(HierarchyLevel.INITIATIVE, 43).hybridProgress()).isNull();
+        assertThat(rollup(HierarchyLevel.PROGRAM, 31).effortProgress()).isEqualByComparingTo("65");
+        assertThat(rollup(HierarchyLevel.PROGRAM, 31).averageProgress()).isEqualByComparingTo("35");
+        assertThat(rollup(HierarchyLevel.STRATEGY, 1).hybridProgress()).isEqualByComparingTo("50");
+    }
+
+    @Test
+    void incrementalUpdatesMatchARecomputeExactly() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            int changes = 1 + random.nextInt(3);
+            for (int c = 0; c < changes; c++) {
+                int i = random.nextInt(projects.size());
+                projects.set(i, projects.get(i).withProgress(value(random), value(random), value(random), value(random)));
+            }
+            tick();
+            assertThat(rollups(service)).as("round %d", round).isEqualTo(rollups(newService(mock(StrategyRepository.class))));
+        }
+        verify(strategyRepository, times(1)).getUpperHierarchyProgressRows();
+    }
+
+    @Test
+    void aReweightedProjectForcesARecompute() {
+        rollups(service);
+        projects.set(2, new Project(53, 41, 100.0, null, "60", null, null, "10"));
+        tick();
+
+        verify(strategyRepository, times(2)).getUpperHierarchyProgressRows();
+        // (60 * 50 + 40 * 100 + 100 * 10) / 200
+        assertThat(rollup(HierarchyLevel.INITIATIVE, 41).effortProgress()).isEqualByComparingTo("40");
+    }
+
+    /**
+     * A value with up to three decimals, or null one time in four.
+     */
+    private static String value(Random random) {
+        return random.nextInt(4) == 0 ? null : BigDecimal.valueOf(random.nextInt(100_001), 3).toPlainString();
+    }
+
+    private ProgressCalculationService newService(StrategyRepository strategyRepository) {
+        ProjectRepository projectRepository = mock(ProjectRepository.class);
+        TableWatermarks tableWatermarks = mock(TableWatermarks.class);
+        when(tableWatermarks.current()).thenAnswer(invocation -> watermarks());
+        when(strategyRepository.getUpperHierarchyProgressRows()).thenReturn(upper);
+        when(projectRepository.getProjectProgressRows())
+                .thenAnswer(invocation -> projects.stream().map(Project::row).toList());
+        return new ProgressCalculationService(strategyRepository, projectRepository, tableWatermarks);
+    }
+
+    private Map<String, ProgressRollup> rollups(ProgressCalculationService service) {
+        Map<String, ProgressRollup> rollups = new LinkedHashMap<>();
+        for (HierarchyProgressRow row : upper) {
+            HierarchyLevel level = HierarchyLevel.ofOrdinal(row.getLevel());
+            rollups.put(level + " " + row.getId(), service.getRollup(level, row.getId()).orElseThrow());
+        }
+        for (Project project : projects) {
+            rollups.put("PROJECT " + project.id(), service.getRollup(HierarchyLevel.PROJECT, project.id()).orElseThrow());
+        }
+        return rollups;
+    }
+
+    private ProgressRollup rollup(HierarchyLevel level, long id) {
+        return service.getRollup(level, id).orElseThrow();
+    }
+
+    private void tick() {
+        projectVersion++;
+        service.onWatermarks(watermarks());
+    }
+
+    private Watermarks watermarks() {
+        List<String> parts = new ArrayList<>();
+        for (Table table : Table.values()) {
+            parts.add(table == Table.PROJECT ? "p" + projectVersion : "h1");
+        }
+        return new Watermarks(parts);
+    }
+
+    private static HierarchyProgressRow upper(HierarchyLevel level, long id, Long parentId) {
+        return new HierarchyProgressRow() {
+            public Integer getLevel() {
+                return level.ordinal();
+            }
+
+            public Long getId() {
+                return id;
+            }
+
+            public Long getParentId() {
+                return parentId;
+            }
+
+            public Double getContributionPercent() {
+                return null;
+            }
+
+            public BigDecimal getCalculatedProgressPercent() {
+                return null;
+            }
+
+            public BigDecimal getHybridProgressPercent() {
+                return null;
+            }
+        };
+    }
+
+    private record Project(long id, long parentId, Double contributionPercent, String byEffort, String byAverage,
+                           String manualByEffort, String manualByAverage, String calculated) {
+
+        Project withProgress(String byEffort, String byAverage, String manualByEffort, String manualByAverage) {
+            return new Project(id, parentId, contributionPercent, byEffort, byAverage, manualByEffort, manualByAverage,
+                    calculated);
+        }
+
+        ProjectProgressRow row() {
+            return new ProjectProgressRow() {
+                public Long getId() {
+                    return id;
+                }
+
+                public Long getParentId() {
+                    return parentId;
+                }
+
+                public Double getContributionPercent() {
+                    return contributionPercent;
+                }
+
+                public BigDecimal getProgressByEffort() {
+                    return decimal(byEffort);
+                }
+
+                public BigDecimal getProgressByAverage() {
+                    return decimal(byAverage);
+                }
+
+                public BigDecimal getManualProgressByEffort() {
+                    return decimal(manualByEffort);
+                }
+
+                public BigDecimal getManualProgressByAverage() {
+                    return decimal(manualByAverage);
+                }
+
+                public BigDecimal getCalculatedProgressPercent() {
+                    return decimal(calculated);
+                }
+
+                public BigDecimal getHybridProgressPercent() {
+                    return null;
+                }
+            };
+        }
+
+        private static BigDecimal decimal(String value) {
+            return value == null ? null : new BigDecimal(value);
+        }
+    }
+}
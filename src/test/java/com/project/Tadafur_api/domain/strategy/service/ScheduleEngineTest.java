@@ -0,0 +1,94 @@
+package com.project.Tadafur_api.domain.strategy.service;
+
+import com.project.Tadafur_api.domain.strategy.valueobject.Timeline;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleEngineTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 15);
+    private static final int TODAY_DAY = Timeline.toEpochDay(TODAY);
+
+    @Test
+    void missingDatesSurviveTheColumns() {
+        ScheduleEngine.Columns columns = new ScheduleEngine.Columns(4);
+        Timeline epoch = Timeline.of(LocalDate.of(1970, 1, 1), LocalDate.of(1970, 1, 1));
+        Timeline noEnd = Timeline.of(TODAY, null);
+        columns.set(0, 1, 7L, epoch, true);
+        columns.set(1, 2, null, noEnd, true);
+        columns.set(2, 3, 7L, Timeline.NONE, false);
+        columns.set(3, 4, 8L, Timeline.of(null, TODAY), true);
+
+        assertThat(columns.timeline(0)).isEqualTo(epoch);
+        assertThat(columns.timeline(1)).isEqualTo(noEnd);
+        assertThat(columns.timeline(2)).isSameAs(Timeline.NONE);
+        assertThat(columns.timeline(3).hasStart()).isFalse();
+        assertThat(columns.timeline(3).endDate()).isEqualTo(TODAY);
+        assertThat(columns.ownerId(0)).isEqualTo(7L);
+        assertThat(columns.ownerId(1)).isNull();
+        assertThat(columns.ownedBy(2, 7L)).isTrue();
+    }
+
+    @Test
+    void onlyOpenProjectsWithAnEndDateAreDelayed() {
+        ScheduleEngine.Columns columns = new ScheduleEngine.Columns(5);
+        columns.set(0, 1, 1L, Timeline.of(TODAY.minusDays(30), TODAY.minusDays(10)), true);
+        columns.set(1, 2, 1L, Timeline.of(TODAY.minusDays(30), TODAY.minusDays(10)), false);
+        columns.set(2, 3, 1L, Timeline.of(TODAY.minusDays(30), null), true);
+        columns.set(3, 4, 2L, Timeline.of(TODAY.minusDays(30), TODAY), true);
+        columns.set(4, 5, 2L, Timeline.of(TODAY.minusDays(30), TODAY.minusDays(1)), true);
+
+        int[] delays = new int[columns.size()];
+        ScheduleEngine.delayDays(columns, TODAY_DAY, delays);
+        assertThat(delays).containsExactly(10, 0, 0, 0, 1);
+
+        int[] slack = new int[columns.size()];
+        ScheduleEngine.slackDays(columns, TODAY_DAY, slack);
+        assertThat(slack).containsExactly(-10, 0, 0, 0, -1);
+    }
+
+    @Test
+    void columnMeasuresMatchTheTimelineMethods() {
+        Timeline[] timelines = {
+                Timeline.of(TODAY.minusDays(9), TODAY),
+                Timeline.of(TODAY.plusDays(1), TODAY.plusDays(10)),
+                Timeline.of(TODAY.minusDays(20), TODAY.minusDays(5)),
+                Timeline.of(TODAY, TODAY.minusDays(1)),
+                Timeline.of(null, TODAY.minusDays(3)),
+        };
+        ScheduleEngine.Columns columns = new ScheduleEngine.Columns(timelines.length);
+        for (int i = 0; i < timelines.length; i++) {
+            columns.set(i, i + 1, null, timelines[i], true);
+        }
+        int[] delays = new int[timelines.length];
+        float[] elapsed = new float[timelines.length];
+        ScheduleEngine.delayDays(columns, TODAY_DAY, delays);
+        ScheduleEngine.percentTimeElapsed(columns, TODAY_DAY, elapsed);
+        for (int i = 0; i < timelines.length; i++) {
+            assertThat(delays[i]).as("delay of %s", timelines[i]).isEqualTo(timelines[i].delayDays(TODAY_DAY));
+            assertThat(elapsed[i]).as("elapsed of %s", timelines[i]).isEqualTo(timelines[i].percentTimeElapsed(TODAY_DAY));
+        }
+        assertThat(elapsed).containsExactly(100f, 0f, 100f, 0f, 0f);
+    }
+
+    @Test
+    void summariesCountDelayedProjects() {
+        ScheduleEngine.Columns columns = new ScheduleEngine.Columns(4);
+        columns.set(0, 1, 1L, Timeline.of(null, TODAY.minusDays(4)), true);
+        columns.set(1, 2, 1L, Timeline.of(null, TODAY), true);
+        columns.set(2, 3, 2L, Timeline.of(null, TODAY.minusDays(2)), true);
+        columns.set(3, 4, 2L, Timeline.NONE, true);
+        int[] delays = new int[columns.size()];
+        ScheduleEngine.delayDays(columns, TODAY_DAY, delays);
+
+        assertThat(ScheduleEngine.summarize(delays))
+                .isEqualTo(new ScheduleEngine.Summary(4, 2, 6, 4));
+        assertThat(ScheduleEngine.summarize(delays).averageDelayDays()).isEqualTo(3.0);
+        assertThat(ScheduleEngine.summarize(columns, delays, 2L))
+                .isEqualTo(new ScheduleEngine.Summary(2, 1, 2, 2));
+        assertThat(ScheduleEngine.summarize(columns, delays, 99L).averageDelayDays()).isZero();
+    }
+}
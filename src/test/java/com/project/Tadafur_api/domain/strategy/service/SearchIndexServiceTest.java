@@ -0,0 +1,277 @@
+package com.project.Tadafur_api.domain.strategy.service;
+
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository.SearchDocumentRow;
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository.SearchVersionRow;
+import com.project.Tadafur_api.domain.strategy.service.SearchIndexService.Hit;
+import com.project.Tadafur_api.domain.strategy.service.SearchIndexService.Kind;
+import com.project.Tadafur_api.domain.strategy.service.SearchIndexService.SearchResult;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Watermarks;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SearchIndexServiceTest {
+
+    /** The searchable rows of each kind by id, as the repository returns them. */
+    private final Map<Kind, Map<Long, SearchDocumentRow>> table = new EnumMap<>(Kind.class);
+    private int version = 1;
+
+    private StrategyRepository repository;
+    private TableWatermarks tableWatermarks;
+    private SearchIndexService index;
+
+    @BeforeEach
+    void setUp() {
+        for (Kind kind : Kind.values()) {
+            table.put(kind, new TreeMap<>());
+        }
+        repository = mock(StrategyRepository.class);
+        tableWatermarks = mock(TableWatermarks.class);
+        when(tableWatermarks.current()).thenAnswer(invocation -> watermarks(String.valueOf(version)));
+        when(repository.getSearchDocuments(anyInt()))
+                .thenAnswer(invocation -> List.copyOf(rows(invocation.getArgument(0)).values()));
+        when(repository.getSearchDocumentsByIds(anyInt(), anyCollection())).thenAnswer(invocation -> {
+            Map<Long, SearchDocumentRow> rows = rows(invocation.getArgument(0));
+            Collection<Long> ids = invocation.getArgument(1);
+            return ids.stream().filter(rows::containsKey).map(rows::get).toList();
+        });
+        when(repository.getSearchVersions(anyInt())).thenAnswer(invocation -> rows(invocation.getArgument(0))
+                .values().stream().map(SearchIndexServiceTest::versionOf).toList());
+        index = new SearchIndexService(repository, tableWatermarks);
+    }
+
+    @Test
+    void matchesArabicSpellingVariantsAndArticles() {
+        documents(Kind.GOAL,
+                row(1, "تطوير الاستراتيجية الوطنية", null),
+                row(2, "رفع كفاءة المستشفى", null),
+                row(3, "خطة التشغيل", null));
+
+        assertThat(ids(search("إستراتيجيّة"))).containsExactly(1L);
+        assertThat(ids(search("مستشفي"))).containsExactly(2L);
+        assertThat(ids(search("والخطه"))).containsExactly(3L);
+    }
+
+    @Test
+    void matchesEnglishInflections() {
+        documents(Kind.PROJECT,
+                row(1, "Strategic planning", null),
+                row(2, "Planned maintenance", null),
+                row(3, "Budget strategies", null));
+
+        assertThat(ids(search("plans"))).containsExactly(1L, 2L);
+        assertThat(ids(search("strategy"))).containsExactly(3L);
+    }
+
+    @Test
+    void everyQueryWordMustMatch() {
+        documents(Kind.PROJECT,
+                row(1, "Hospital budget", null),
+                row(2, "Hospital staffing", null));
+
+        assertThat(ids(search("hospital budget"))).containsExactly(1L);
+        assertThat(ids(search("hospital clinic"))).isEmpty();
+    }
+
+    @Test
+    void theLastWordAlsoMatchesAsAPrefixWhileTyping() {
+        documents(Kind.INITIATIVE,
+                row(1, "Digital transformation", null),
+                row(2, "Transport network", null),
+                row(3, "Water network", null));
+
+        assertThat(ids(search("tran"))).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(ids(search("network transf"))).isEmpty();
+        assertThat(ids(search("network transp"))).containsExactly(2L);
+        // A finished word (followed by a space) must match whole.
+        assertThat(ids(search("tran "))).isEmpty();
+    }
+
+    @Test
+    void anExactMatchRanksAboveAPrefixMatch() {
+        documents(Kind.INITIATIVE,
+                row(1, "Digital transformation", null),
+                row(2, "Tran", null));
+
+        assertThat(ids(search("tran"))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void ranksWithBm25() {
+        documents(Kind.PROJECT,
+                row(1, "Quality program", "Improve quality of schools"),
+                row(2, "Schools", "Quality"),
+                row(3, "Quality", null),
+                row(4, "Road works", "Quality"),
+                row(5, "Road works", "Quality assurance of roads, bridges, tunnels and traffic signals"));
+
+        List<Hit> hits = search("quality").hits();
+        // A name occurrence outweighs a description one, and a longer text weighs less.
+        assertThat(hits).extracting(Hit::id).containsExactly(3L, 1L, 2L, 4L, 5L);
+        assertThat(hits).isSortedAccordingTo((a, b) -> Float.compare(b.score(), a.score()));
+        assertThat(hits.get(1).score()).isGreaterThan(hits.get(2).score());
+    }
+
+    @Test
+    void filtersByKindAndPages() {
+        documents(Kind.GOAL, row(1, "Health goal", null));
+        documents(Kind.PROJECT, row(1, "Health project", null), row(2, "Health clinic", null));
+
+        assertThat(index.search("health", Set.of(Kind.GOAL), 0, 10).hits())
+                .containsExactly(new Hit(Kind.GOAL, 1, search("health").hits().get(0).score()));
+        SearchResult page = index.search("health", Set.of(), 1, 1);
+        assertThat(page.totalMatches()).isEqualTo(3);
+        assertThat(page.hits()).hasSize(1);
+        assertThat(index.search("health", Set.of(), 5, 10).hits()).isEmpty();
+    }
+
+    @Test
+    void ranksAndCountsEveryMatch() {
+        // Many weak matches in the kinds that come first, and the best one in the last.
+        List<SearchDocumentRow> weak = new ArrayList<>();
+        for (int id = 1; id <= 6000; id++) {
+            weak.add(row(id, "Plan " + id, "Common words and common filler about the quarterly plan"));
+        }
+        documents(Kind.STRATEGY, weak.toArray(SearchDocumentRow[]::new));
+        documents(Kind.WORK_ITEM, row(7, "Common", null));
+
+        SearchResult result = index.search("common", Set.of(), 0, 10);
+        assertThat(result.totalMatches()).isEqualTo(6001);
+        assertThat(result.hits()).hasSize(10);
+        assertThat(result.hits().get(0)).extracting(Hit::kind, Hit::id).containsExactly(Kind.WORK_ITEM, 7L);
+
+        SearchResult lastPage = index.search("common", Set.of(), 6000, 10);
+        assertThat(lastPage.hits()).extracting(Hit::id).containsExactly(6000L);
+        assertThat(ids(index.search("common 42 ", Set.of(), 0, 10))).containsExactly(42L);
+    }
+
+    @Test
+    void incrementalUpdatesRankLikeAFullLoad() {
+        Random random = new Random(11);
+        String[] words = {"health", "hospital", "school", "road", "water", "digital", "budget", "plan", "الخطة",
+                "مستشفى", "تطوير", "transport", "transformation", "training"};
+        for (int id = 1; id <= 300; id++) {
+            Kind kind = Kind.values()[random.nextInt(Kind.values().length)];
+            table.get(kind).put((long) id, row(id, 1, text(random, words, 3), text(random, words, 8)));
+        }
+        List<String> queries = List.of("health", "road budget", "tran", "hospital tr", "مستشفي", "plan ", "water dig");
+        for (int round = 0; round < 25; round++) {
+            for (int change = 0; change < 1 + random.nextInt(6); change++) {
+                Kind kind = Kind.values()[random.nextInt(Kind.values().length)];
+                long id = 1 + random.nextInt(400);
+                if (random.nextInt(4) == 0) {
+                    table.get(kind).remove(id);
+                } else {
+                    table.get(kind).put(id, row(id, round + 2, text(random, words, 3), text(random, words, 8)));
+                }
+            }
+            version++;
+            index.onWatermarks(watermarks(String.valueOf(version)));
+
+            SearchIndexService fullLoad = new SearchIndexService(repository, tableWatermarks);
+            for (String query : queries) {
+                assertThat(index.search(query, Set.of(), 0, 500)).as("round %d, %s", round, query)
+                        .isEqualTo(fullLoad.search(query, Set.of(), 0, 500));
+            }
+        }
+    }
+
+    @Test
+    void rejectsAQueryWithoutSearchableWords() {
+        assertThatThrownBy(() -> search("the of ,")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void keepsServingTheLoadedIndexWhenARefreshFails() {
+        documents(Kind.PROJECT, row(1, "Hospital budget", null));
+        assertThat(ids(search("hospital"))).containsExactly(1L);
+
+        when(repository.getSearchVersions(anyInt())).thenThrow(new IllegalStateException("database down"));
+        index.onWatermarks(watermarks("2"));
+
+        assertThat(ids(search("hospital"))).containsExactly(1L);
+    }
+
+    private SearchResult search(String query) {
+        return index.search(query, Set.of(), 0, 100);
+    }
+
+    private void documents(Kind kind, SearchDocumentRow... rows) {
+        for (SearchDocumentRow row : rows) {
+            table.get(kind).put(row.getId(), row);
+        }
+    }
+
+    private Map<Long, SearchDocumentRow> rows(int kind) {
+        return table.get(Kind.values()[kind]);
+    }
+
+    private static String text(Random random, String[] words, int count) {
+        List<String> picked = new ArrayList<>();
+        for (int i = 0; i < 1 + random.nextInt(count); i++) {
+            picked.add(words[random.nextInt(words.length)]);
+        }
+        return String.join(" ", picked);
+    }
+
+    private static List<Long> ids(SearchResult result) {
+        return result.hits().stream().map(Hit::id).toList();
+    }
+
+    private static Watermarks watermarks(String value) {
+        return new Watermarks(Collections.nCopies(TableWatermarks.Table.values().length, value));
+    }
+
+    private static SearchDocumentRow row(long id, String name, String description) {
+        return row(id, 1, name, description);
+    }
+
+    private static SearchDocumentRow row(long id, long version, String name, String description) {
+        return new SearchDocumentRow() {
+            public Long getId() {
+                return id;
+            }
+
+            public Long getVersion() {
+                return version;
+            }
+
+            public String getName() {
+                return name;
+            }
+
+            public String getDescription() {
+                return description;
+            }
+        };
+    }
+
+    private static SearchVersionRow versionOf(SearchDocumentRow row) {
+        return new SearchVersionRow() {
+            public Long getId() {
+                return row.getId();
+            }
+
+            public Long getVersion() {
+                return row.getVersion();
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.project.Tadafur_api.domain.strategy.service;
+
+import com.project.Tadafur_api.domain.strategy.repository.StrategyRepository;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Listener;
+import com.project.Tadafur_api.domain.strategy.service.TableWatermarks.Table;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TableWatermarksTest {
+
+    private StrategyRepository strategyRepository;
+    private TableWatermarks tableWatermarks;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        strategyRepository = mock(StrategyRepository.class);
+        ObjectProvider<Listener> listeners = mock(ObjectProvider.class);
+        when(listeners.orderedStream()).thenAnswer(invocation -> Stream.empty());
+        tableWatermarks = new TableWatermarks(strategyRepository, listeners);
+    }
+
+    @Test
+    void tablesAreOnlyScannedWhenTheirActivityMoved() {
+        when(strategyRepository.getTableActivity()).thenReturn("1|0|0|0|0|0|0|0");
+        when(strategyRepository.getTableWatermarks()).thenReturn("1:5|0:0|0:0|0:0|0:0|0:0|0:0|0:0");
+        tableWatermarks.tick();
+        tableWatermarks.tick();
+        verify(strategyRepository, times(1)).getTableWatermarks();
+
+        when(strategyRepository.getTableActivity()).thenReturn("2|0|0|0|0|0|0|0");
+        when(strategyRepository.getTableWatermarks()).thenReturn("1:6|0:0|0:0|0:0|0:0|0:0|0:0|0:0");
+        tableWatermarks.tick();
+
+        verify(strategyRepository, times(2)).getTableWatermarks();
+        assertThat(tableWatermarks.current().of(Table.STRATEGY)).isEqualTo("1:6");
+    }
+}
@@ -0,0 +1,94 @@
+package com.project.Tadafur_api.domain.strategy.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void minorUnitsAreAtScaleFour() {
+        assertThat(Money.of(new BigDecimal("1")).minorUnits()).isEqualTo(10_000L);
+        assertThat(Money.of(new BigDecimal("12.3456")).minorUnits()).isEqualTo(123_456L);
+        assertThat(Money.of(new BigDecimal("0.0001")).minorUnits()).isEqualTo(1L);
+        assertThat(Money.of(new BigDecimal("1.50000")).minorUnits()).isEqualTo(15_000L);
+        assertThat(Money.ofMinorUnits(123_456L).toBigDecimal()).isEqualByComparingTo("12.3456");
+    }
+
+    @Test
+    void exactConversionRejectsMoreDecimals() {
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.00001"))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.toMinorUnits(new BigDecimal("1.23456"))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void roundIsHalfUpAtScaleFour() {
+        assertThat(Money.round(new BigDecimal("1.00005")).minorUnits()).isEqualTo(10_001L);
+        assertThat(Money.round(new BigDecimal("1.00004")).minorUnits()).isEqualTo(10_000L);
+        assertThat(Money.round(new BigDecimal("-1.00005")).minorUnits()).isEqualTo(-10_001L);
+        assertThat(Money.round(new BigDecimal("2.5")).minorUnits()).isEqualTo(25_000L);
+    }
+
+    @Test
+    void outputHasTheFewestDecimalsButAtLeastTwo() {
+        assertThat(Money.toBigDecimal(15_000_000L)).hasToString("1500.00");
+        assertThat(Money.toBigDecimal(123_450L)).hasToString("12.345");
+        assertThat(Money.toBigDecimal(123_456L)).hasToString("12.3456");
+        assertThat(Money.toBigDecimal(-5_000L)).hasToString("-0.50");
+        assertThat(Money.toBigDecimal(0L)).hasToString("0.00");
+    }
+
+    @Test
+    void zeroAndNegativeAmounts() {
+        assertThat(Money.ofMinorUnits(0)).isSameAs(Money.ZERO);
+        assertThat(Money.of(new BigDecimal("0.0000"))).isSameAs(Money.ZERO);
+        assertThat(Money.ZERO.signum()).isZero();
+        assertThat(Money.ZERO.isNegative()).isFalse();
+
+        Money negative = Money.of(new BigDecimal("-3.25"));
+        assertThat(negative.isNegative()).isTrue();
+        assertThat(negative.signum()).isEqualTo(-1);
+        assertThat(negative.add(Money.of(new BigDecimal("3.25")))).isEqualTo(Money.ZERO);
+        assertThat(Money.ZERO.subtract(Money.of(BigDecimal.ONE))).hasToString("-1.00");
+        assertThat(negative.compareTo(Money.ZERO)).isNegative();
+    }
+
+    @Test
+    void arithmeticThrowsOnOverflowInsteadOfWrapping() {
+        Money max = Money.ofMinorUnits(Long.MAX_VALUE);
+        Money min = Money.ofMinorUnits(Long.MIN_VALUE);
+        assertThatThrownBy(() -> max.add(Money.ofMinorUnits(1))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> min.subtract(Money.ofMinorUnits(1))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.accumulator().add(max).add(max)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.accumulator().addMinorUnits(Long.MIN_VALUE).subtract(Money.ofMinorUnits(1)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void conversionThrowsForAmountsOutOfRange() {
+        BigDecimal tooLarge = new BigDecimal("1000000000000000");
+        assertThatThrownBy(() -> Money.of(tooLarge)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.round(tooLarge.negate())).isInstanceOf(ArithmeticException.class);
+        assertThat(Money.of(new BigDecimal("922337203685477.5807")).minorUnits()).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    void accumulatorSumsExactly() {
+        Money.Accumulator sum = Money.accumulator();
+        for (int i = 0; i < 10; i++) {
+            sum.add(new BigDecimal("0.1"));
+        }
+        sum.add(Money.of(new BigDecimal("-0.5"))).addMinorUnits(1);
+        assertThat(sum.total().minorUnits()).isEqualTo(5_001L);
+        assertThat(sum.toBigDecimal()).hasToString("0.5001");
+    }
+
+    @Test
+    void equalityIgnoresTheInputScale() {
+        assertThat(Money.of(new BigDecimal("1.5"))).isEqualTo(Money.of(new BigDecimal("1.5000")))
+                .hasSameHashCodeAs(Money.of(new BigDecimal("1.50")));
+    }
+}
@@ -0,0 +1,95 @@
+package com.project.Tadafur_api.domain.strategy.valueobject;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimelineTest {
+
+    private static final LocalDate END = LocalDate.of(2024, 3, 31);
+
+    @Test
+    void epochDaysRoundTrip() {
+        assertThat(Timeline.toEpochDay(LocalDate.of(1970, 1, 1))).isZero();
+        assertThat(Timeline.toEpochDay(LocalDate.of(1969, 12, 31))).isEqualTo(-1);
+        assertThat(Timeline.toEpochDay(LocalDate.of(2024, 2, 29)) + 1).isEqualTo(Timeline.toEpochDay(LocalDate.of(2024, 3, 1)));
+        assertThat(Timeline.toEpochDay(null)).isEqualTo(Timeline.UNSET);
+        assertThat(Timeline.toDate(Timeline.UNSET)).isNull();
+
+        Timeline timeline = Timeline.of(LocalDate.of(1969, 6, 1), END);
+        assertThat(timeline.startDate()).isEqualTo(LocalDate.of(1969, 6, 1));
+        assertThat(timeline.endDate()).isEqualTo(END);
+        assertThat(timeline).isEqualTo(Timeline.ofEpochDays(timeline.startDay(), timeline.endDay()));
+    }
+
+    @Test
+    void bothEndsAreInclusive() {
+        Timeline oneDay = Timeline.of(END, END);
+        assertThat(oneDay.isScheduled()).isTrue();
+        assertThat(oneDay.durationDays()).isEqualTo(1);
+        assertThat(Timeline.of(LocalDate.of(2024, 3, 1), END).durationDays()).isEqualTo(31);
+        assertThat(oneDay.contains(day(END))).isTrue();
+        assertThat(oneDay.contains(day(END) + 1)).isFalse();
+        assertThat(oneDay.contains(day(END) - 1)).isFalse();
+    }
+
+    @Test
+    void openEndedTimelines() {
+        assertThat(Timeline.of(null, null)).isSameAs(Timeline.NONE);
+
+        Timeline noEnd = Timeline.of(LocalDate.of(2024, 1, 1), null);
+        assertThat(noEnd.hasStart()).isTrue();
+        assertThat(noEnd.hasEnd()).isFalse();
+        assertThat(noEnd.isScheduled()).isFalse();
+        assertThat(noEnd.durationDays()).isZero();
+        assertThat(noEnd.delayDays(day(END) + 1000)).isZero();
+        assertThat(noEnd.slackDays(day(END))).isZero();
+        assertThat(noEnd.percentTimeElapsed(day(END))).isZero();
+        assertThat(noEnd.contains(day(END) + 1000)).isTrue();
+        assertThat(noEnd.contains(day(LocalDate.of(2023, 12, 31)))).isFalse();
+
+        Timeline noStart = Timeline.of(null, END);
+        assertThat(noStart.isScheduled()).isFalse();
+        assertThat(noStart.delayDays(day(END) + 3)).isEqualTo(3);
+        assertThat(noStart.contains(day(LocalDate.of(1900, 1, 1)))).isTrue();
+        assertThat(noStart.contains(day(END) + 1)).isFalse();
+    }
+
+    @Test
+    void endBeforeStartIsNotScheduled() {
+        Timeline reversed = Timeline.of(END, END.minusDays(1));
+        assertThat(reversed.isScheduled()).isFalse();
+        assertThat(reversed.durationDays()).isZero();
+        assertThat(reversed.percentTimeElapsed(day(END))).isZero();
+    }
+
+    @Test
+    void overdueStartsTheDayAfterTheEndDate() {
+        Timeline timeline = Timeline.of(LocalDate.of(2024, 3, 1), END);
+        assertThat(timeline.delayDays(day(END) - 1)).isZero();
+        assertThat(timeline.delayDays(day(END))).isZero();
+        assertThat(timeline.delayDays(day(END) + 1)).isEqualTo(1);
+        assertThat(timeline.delayDays(day(END) + 30)).isEqualTo(30);
+
+        assertThat(timeline.slackDays(day(END) - 1)).isEqualTo(1);
+        assertThat(timeline.slackDays(day(END))).isZero();
+        assertThat(timeline.slackDays(day(END) + 1)).isEqualTo(-1);
+    }
+
+    @Test
+    void percentTimeElapsedCountsTodayAsElapsed() {
+        Timeline timeline = Timeline.of(LocalDate.of(2024, 3, 22), END);
+        int start = timeline.startDay();
+        assertThat(timeline.percentTimeElapsed(start - 1)).isZero();
+        assertThat(timeline.percentTimeElapsed(start)).isEqualTo(10f);
+        assertThat(timeline.percentTimeElapsed(start + 4)).isEqualTo(50f);
+        assertThat(timeline.percentTimeElapsed(day(END))).isEqualTo(100f);
+        assertThat(timeline.percentTimeElapsed(day(END) + 10)).isEqualTo(100f);
+    }
+
+    private static int day(LocalDate date) {
+        return Timeline.toEpochDay(date);
+    }
+}
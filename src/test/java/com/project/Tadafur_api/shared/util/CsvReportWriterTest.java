@@ -0,0 +1,62 @@
+package com.project.Tadafur_api.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvReportWriterTest {
+
+    @Test
+    void startsWithAByteOrderMarkAndEndsRowsWithCrLf() throws IOException {
+        String csv = write(writer -> {
+            writer.writeHeader(List.of("id", "name"));
+            writer.writeRow(1L, "تحول رقمي");
+        });
+        assertThat(csv).isEqualTo("﻿id,name\r\n1,تحول رقمي\r\n");
+    }
+
+    @Test
+    void quotesCellsWithSeparatorsQuotesOrLineBreaks() throws IOException {
+        String csv = write(writer -> writer.writeRow("a,b", "say \"hi\"", "two\nlines", "plain"));
+        assertThat(csv).isEqualTo("﻿\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\",plain\r\n");
+    }
+
+    @Test
+    void writesNullsNumbersAndDates() throws IOException {
+        String csv = write(writer -> writer.writeRow(null, new BigDecimal("1E+3"), new BigDecimal("-12.50"), 3.5,
+                LocalDate.of(2024, 3, 31)));
+        assertThat(csv).isEqualTo("﻿,1000,-12.50,3.5,2024-03-31\r\n");
+    }
+
+    @Test
+    void prefixesTextThatWouldRunAsAFormula() throws IOException {
+        String csv = write(writer -> writer.writeRow("=HYPERLINK(\"http://x\")", "+1", "-1", "@SUM(A1)", "\tx", "\rx",
+                "a=b", ""));
+        assertThat(csv).isEqualTo("﻿\"'=HYPERLINK(\"\"http://x\"\")\",'+1,'-1,'@SUM(A1),'\tx,\"'\rx\",a=b,\r\n");
+    }
+
+    @Test
+    void doesNotPrefixNegativeNumbers() throws IOException {
+        String csv = write(writer -> writer.writeRow(-5, new BigDecimal("-0.25")));
+        assertThat(csv).isEqualTo("﻿-5,-0.25\r\n");
+    }
+
+    private static String write(Rows rows) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvReportWriter writer = new CsvReportWriter(out)) {
+            rows.write(writer);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private interface Rows {
+        void write(CsvReportWriter writer) throws IOException;
+    }
+}
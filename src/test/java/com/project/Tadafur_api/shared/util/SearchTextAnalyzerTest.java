@@ -0,0 +1,58 @@
+package com.project.Tadafur_api.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchTextAnalyzerTest {
+
+    @Test
+    void foldsArabicSpellingVariants() {
+        assertThat(SearchTextAnalyzer.normalize("أإآٱ")).isEqualTo("اااا");
+        assertThat(SearchTextAnalyzer.normalize("مستشفى")).isEqualTo("مستشفي");
+        assertThat(SearchTextAnalyzer.normalize("خطة")).isEqualTo("خطه");
+        assertThat(SearchTextAnalyzer.normalize("مُبَادَرَة")).isEqualTo("مبادره");
+        assertThat(SearchTextAnalyzer.normalize("مـــبادرة")).isEqualTo("مبادره");
+        assertThat(SearchTextAnalyzer.normalize("٢٠٣٠ ۲۰۳۰")).isEqualTo("2030 2030");
+        assertThat(SearchTextAnalyzer.normalize("ﻻ")).isEqualTo("لا");
+    }
+
+    @Test
+    void spellingVariantsGiveTheSameTerms() {
+        assertThat(SearchTextAnalyzer.terms("الإستراتيجيّة")).isEqualTo(SearchTextAnalyzer.terms("الاستراتيجية"));
+        assertThat(SearchTextAnalyzer.terms("أهداف")).isEqualTo(SearchTextAnalyzer.terms("اهداف"));
+    }
+
+    @Test
+    void stripsTheArabicDefiniteArticle() {
+        assertThat(SearchTextAnalyzer.terms("الخطة")).containsExactly("خطه");
+        assertThat(SearchTextAnalyzer.terms("والخطة بالمشروع كالمبادرة فالهدف")).containsExactly("خطه", "مشروع", "مبادره", "هدف");
+        assertThat(SearchTextAnalyzer.terms("للتنمية")).containsExactly("تنميه");
+        // Too little would be left after the article.
+        assertThat(SearchTextAnalyzer.stem("الم")).isEqualTo("الم");
+    }
+
+    @Test
+    void stemsEnglishPluralsAndVerbForms() {
+        assertThat(SearchTextAnalyzer.terms("Strategies")).containsExactly("strategy");
+        assertThat(SearchTextAnalyzer.terms("planned planning plans")).containsExactly("plan", "plan", "plan");
+        assertThat(SearchTextAnalyzer.terms("classes boxes churches")).containsExactly("class", "box", "church");
+        assertThat(SearchTextAnalyzer.terms("status analysis process")).containsExactly("status", "analysis", "process");
+        assertThat(SearchTextAnalyzer.terms("installing passed")).containsExactly("install", "pass");
+        assertThat(SearchTextAnalyzer.terms("red sing")).containsExactly("red", "sing");
+    }
+
+    @Test
+    void dropsStopWordsAndSingleCharacters() {
+        assertThat(SearchTextAnalyzer.terms("The plan of a goal")).containsExactly("plan", "goal");
+        assertThat(SearchTextAnalyzer.terms("في الخطة من أجل")).containsExactly("خطه", "اجل");
+        assertThat(SearchTextAnalyzer.terms(null)).isEmpty();
+        assertThat(SearchTextAnalyzer.terms("  ,. ")).isEmpty();
+    }
+
+    @Test
+    void wordsAreNormalizedButNotStemmed() {
+        assertThat(SearchTextAnalyzer.words("Planning, the STRATEGIES!")).containsExactly("planning", "the", "strategies");
+        assertThat(SearchTextAnalyzer.words("الخطة")).containsExactly("الخطه");
+    }
+}
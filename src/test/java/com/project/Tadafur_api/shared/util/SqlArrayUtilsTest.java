@@ -0,0 +1,28 @@
+package com.project.Tadafur_api.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlArrayUtilsTest {
+
+    @Test
+    void parsesDistinctValuesInOrder() {
+        assertThat(SqlArrayUtils.parseIntArray("3,1,3")).containsExactly(3, 1);
+        assertThat(SqlArrayUtils.parseIntArray(" 7 , ,-2,")).containsExactly(7, -2);
+        assertThat(SqlArrayUtils.parseIntArray("1,2,3,4,5,6")).containsExactly(1, 2, 3, 4, 5, 6);
+    }
+
+    @Test
+    void nullAndBlankAreEmpty() {
+        assertThat(SqlArrayUtils.parseIntArray(null)).isEmpty();
+        assertThat(SqlArrayUtils.parseIntArray(" ")).isEmpty();
+        assertThat(SqlArrayUtils.parseIntArray(",")).isEmpty();
+    }
+
+    @Test
+    void rejectsNonIntegers() {
+        assertThatThrownBy(() -> SqlArrayUtils.parseIntArray("1,a")).isInstanceOf(NumberFormatException.class);
+    }
+}